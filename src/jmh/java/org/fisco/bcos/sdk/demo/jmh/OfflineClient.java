@@ -0,0 +1,63 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.jmh;
+
+import java.lang.reflect.Proxy;
+import java.math.BigInteger;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+
+/**
+ * A {@link Client} that never touches the network, for benchmarks of the client side codecs: it
+ * answers the few getters the transaction and receipt code reads, everything else throws.
+ */
+final class OfflineClient {
+    static final String GROUP = "group0";
+    static final String CHAIN = "chain0";
+    static final long BLOCK_LIMIT = 500;
+
+    private OfflineClient() {}
+
+    static Client create(CryptoSuite cryptoSuite) {
+        return (Client)
+                Proxy.newProxyInstance(
+                        Client.class.getClassLoader(),
+                        new Class<?>[] {Client.class},
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                                case "getCryptoSuite":
+                                    return cryptoSuite;
+                                case "getCryptoType":
+                                    return cryptoSuite.getCryptoTypeConfig();
+                                case "isWASM":
+                                    return false;
+                                case "getGroup":
+                                    return GROUP;
+                                case "getChainId":
+                                    return CHAIN;
+                                case "getBlockLimit":
+                                    return BigInteger.valueOf(BLOCK_LIMIT);
+                                case "toString":
+                                    return "OfflineClient";
+                                case "hashCode":
+                                    return System.identityHashCode(proxy);
+                                case "equals":
+                                    return proxy == args[0];
+                                default:
+                                    throw new UnsupportedOperationException(
+                                            method.getName() + " is not available offline");
+                            }
+                        });
+    }
+}
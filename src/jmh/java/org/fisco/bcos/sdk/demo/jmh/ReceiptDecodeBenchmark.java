@@ -0,0 +1,123 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.jmh;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.demo.contract.TigerHoleV2;
+import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.transaction.codec.decode.TransactionDecoderInterface;
+import org.fisco.bcos.sdk.v3.transaction.codec.decode.TransactionDecoderService;
+import org.fisco.bcos.sdk.v3.transaction.model.dto.TransactionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Receipt decoding on the client: {@code decodeReceiptWithValues} as {@code LegoTransaction} and
+ * {@code LegoTransactionDemo.TestCallback} run it, the event logs alone, and the typed event
+ * parsers of the generated wrappers. The receipts come from {@link ReceiptFixtures}; {@code logs}
+ * is the number of log entries per receipt and {@code width} the length of the arrays and strings
+ * in them. Scores are receipts per second on one thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceiptDecodeBenchmark {
+    @Param({"ecdsa", "sm"})
+    public String cryptoType;
+
+    @Param({"1", "32"})
+    public int logs;
+
+    @Param({"4", "32"})
+    public int width;
+
+    private CryptoSuite cryptoSuite;
+    private TransactionDecoderInterface decoder;
+    private TigerHoleV2 tigerHole;
+    private TransactionReceipt batchTransferReceipt;
+    private TransactionReceipt tigerHoleReceipt;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cryptoSuite =
+                new CryptoSuite(
+                        cryptoType.equals("sm") ? CryptoType.SM_TYPE : CryptoType.ECDSA_TYPE);
+        decoder = new TransactionDecoderService(cryptoSuite, false);
+        tigerHole =
+                TigerHoleV2.load(
+                        ReceiptFixtures.CONTRACT_ADDRESS,
+                        OfflineClient.create(cryptoSuite),
+                        cryptoSuite.getCryptoKeyPair());
+        ReceiptFixtures fixtures = new ReceiptFixtures(cryptoSuite);
+        batchTransferReceipt = fixtures.batchTransferReceipt(logs, width);
+        tigerHoleReceipt = fixtures.tigerHoleReceipt(logs);
+    }
+
+    @Benchmark
+    public TransactionResponse decodeReceiptWithValues() throws ContractCodecException {
+        return decoder.decodeReceiptWithValues(
+                ReceiptFixtures.BATCH_TRANSFER_ABI,
+                ReceiptFixtures.FUNC_BATCHTRANSFER,
+                batchTransferReceipt);
+    }
+
+    /** Builds the decoder for every receipt, as {@code LegoTransaction.decodeReceipt} does. */
+    @Benchmark
+    public TransactionResponse decodeReceiptWithNewDecoder() throws ContractCodecException {
+        return new TransactionDecoderService(cryptoSuite, false)
+                .decodeReceiptWithValues(
+                        ReceiptFixtures.BATCH_TRANSFER_ABI,
+                        ReceiptFixtures.FUNC_BATCHTRANSFER,
+                        batchTransferReceipt);
+    }
+
+    @Benchmark
+    public Map<String, List<List<Object>>> decodeEvents() throws ContractCodecException {
+        return decoder.decodeEvents(
+                ReceiptFixtures.BATCH_TRANSFER_ABI, batchTransferReceipt.getLogEntries());
+    }
+
+    @Benchmark
+    public List<TigerHoleV2.CardSendedLogEventResponse> getCardSendedLogEvents() {
+        return tigerHole.getCardSendedLogEvents(tigerHoleReceipt);
+    }
+
+    /** Every event parser of the wrapper over the same receipt. */
+    @Benchmark
+    public void getAllTigerHoleEvents(Blackhole blackhole) {
+        blackhole.consume(tigerHole.getCardSendedLogEvents(tigerHoleReceipt));
+        blackhole.consume(tigerHole.getFromUserSendedLogEvents(tigerHoleReceipt));
+        blackhole.consume(tigerHole.getTigerIDReceivedLogEvents(tigerHoleReceipt));
+        blackhole.consume(tigerHole.getToUserOwnedLogEvents(tigerHoleReceipt));
+    }
+}
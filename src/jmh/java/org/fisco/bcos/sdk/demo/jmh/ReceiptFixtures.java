@@ -0,0 +1,197 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.fisco.bcos.sdk.demo.contract.TigerHoleV2;
+import org.fisco.bcos.sdk.v3.codec.EventEncoder;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicArray;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Event;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int256;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+
+/**
+ * Builds realistic receipts without a node, for the receipt decoding benchmarks: the event logs of
+ * {@link TigerHoleV2}, and a batch transfer whose input, output and logs carry strings and dynamic
+ * arrays, described by {@link #BATCH_TRANSFER_ABI}. The content is deterministic, so the same
+ * arguments give the same receipts; {@link #main} dumps them as JSON for a look or for other tools.
+ */
+@SuppressWarnings("rawtypes")
+public final class ReceiptFixtures {
+    public static final String CONTRACT_ADDRESS = "0x6849f21d1e455e9f0712b1e99fa4fcd23758e8f1";
+    public static final String SENDER = "0x8f4b2fa0c0e5e3d0b3e8b2a5d1a4c9e0f7b6a5d4";
+    public static final String FUNC_BATCHTRANSFER = "batchTransfer";
+
+    /**
+     * function batchTransfer(string[] receivers, uint256[] amounts, string memo) returns (uint256
+     * total, string[] failed); event Transfer(address indexed sender, string memo, uint256[]
+     * amounts, string[] receivers)
+     */
+    public static final String BATCH_TRANSFER_ABI =
+            "[{\"inputs\":[{\"internalType\":\"string[]\",\"name\":\"receivers\",\"type\":\"string[]\"},{\"internalType\":\"uint256[]\",\"name\":\"amounts\",\"type\":\"uint256[]\"},{\"internalType\":\"string\",\"name\":\"memo\",\"type\":\"string\"}],\"name\":\"batchTransfer\",\"outputs\":[{\"internalType\":\"uint256\",\"name\":\"total\",\"type\":\"uint256\"},{\"internalType\":\"string[]\",\"name\":\"failed\",\"type\":\"string[]\"}],\"stateMutability\":\"nonpayable\",\"type\":\"function\"},"
+                    + "{\"anonymous\":false,\"inputs\":[{\"indexed\":true,\"internalType\":\"address\",\"name\":\"sender\",\"type\":\"address\"},{\"indexed\":false,\"internalType\":\"string\",\"name\":\"memo\",\"type\":\"string\"},{\"indexed\":false,\"internalType\":\"uint256[]\",\"name\":\"amounts\",\"type\":\"uint256[]\"},{\"indexed\":false,\"internalType\":\"string[]\",\"name\":\"receivers\",\"type\":\"string[]\"}],\"name\":\"Transfer\",\"type\":\"event\"}]";
+
+    private static final String TRANSFER_EVENT_SIGNATURE =
+            "Transfer(address,string,uint256[],string[])";
+    private static final Event[] TIGER_HOLE_EVENTS = {
+        TigerHoleV2.CARDSENDEDLOG_EVENT,
+        TigerHoleV2.FROMUSERSENDEDLOG_EVENT,
+        TigerHoleV2.TIGERIDRECEIVEDLOG_EVENT,
+        TigerHoleV2.TOUSEROWNEDLOG_EVENT
+    };
+
+    private final FunctionEncoder functionEncoder;
+    private final EventEncoder eventEncoder;
+
+    public ReceiptFixtures(CryptoSuite cryptoSuite) {
+        this.functionEncoder = new FunctionEncoder(cryptoSuite);
+        this.eventEncoder = new EventEncoder(cryptoSuite);
+    }
+
+    /**
+     * @param logs number of log entries, the four TigerHoleV2 events in turn
+     * @return a receipt {@code TigerHoleV2.getXxxEvents} parse
+     */
+    public TransactionReceipt tigerHoleReceipt(int logs) {
+        List<TransactionReceipt.Logs> entries = new ArrayList<>(logs);
+        for (int i = 0; i < logs; ++i) {
+            Event event = TIGER_HOLE_EVENTS[i % TIGER_HOLE_EVENTS.length];
+            Type value =
+                    event == TigerHoleV2.TIGERIDRECEIVEDLOG_EVENT
+                            ? new Int256(BigInteger.valueOf(-i))
+                            : new Uint256(BigInteger.valueOf(i));
+            entries.add(log(eventEncoder.encode(event), null, Collections.singletonList(value)));
+        }
+        return receipt("0x", "0x", entries);
+    }
+
+    /**
+     * @param logs number of Transfer log entries
+     * @param width length of every array, and of every string in tens of characters
+     * @return a {@link #FUNC_BATCHTRANSFER} receipt of {@link #BATCH_TRANSFER_ABI}
+     */
+    public TransactionReceipt batchTransferReceipt(int logs, int width) {
+        List<Utf8String> receivers = new ArrayList<>(width);
+        List<Uint256> amounts = new ArrayList<>(width);
+        for (int i = 0; i < width; ++i) {
+            receivers.add(new Utf8String(text("receiver-" + i + "-", width)));
+            amounts.add(new Uint256(BigInteger.valueOf(1000L + i)));
+        }
+        Utf8String memo = new Utf8String(text("memo-", width));
+        DynamicArray<Utf8String> receiverArray = new DynamicArray<>(Utf8String.class, receivers);
+        DynamicArray<Uint256> amountArray = new DynamicArray<>(Uint256.class, amounts);
+
+        String input =
+                Hex.toHexStringWithPrefix(
+                        functionEncoder.encode(
+                                new Function(
+                                        FUNC_BATCHTRANSFER,
+                                        Arrays.<Type>asList(receiverArray, amountArray, memo),
+                                        Collections.<TypeReference<?>>emptyList())));
+        String output =
+                Hex.toHexStringWithPrefix(
+                        FunctionEncoder.encodeParameters(
+                                Arrays.<Type>asList(
+                                        new Uint256(BigInteger.valueOf(width)),
+                                        new DynamicArray<>(
+                                                Utf8String.class, receivers.subList(0, width / 2))),
+                                null));
+        String topic = eventEncoder.buildEventSignature(TRANSFER_EVENT_SIGNATURE);
+        String senderTopic = "0x000000000000000000000000" + Hex.trimPrefix(SENDER);
+        List<TransactionReceipt.Logs> entries = new ArrayList<>(logs);
+        for (int i = 0; i < logs; ++i) {
+            entries.add(
+                    log(topic, senderTopic, Arrays.<Type>asList(memo, amountArray, receiverArray)));
+        }
+        return receipt(input, output, entries);
+    }
+
+    private static String text(String prefix, int tens) {
+        StringBuilder text = new StringBuilder(prefix);
+        for (int i = 0; i < tens; ++i) {
+            text.append("0123456789");
+        }
+        return text.toString();
+    }
+
+    private static TransactionReceipt.Logs log(String topic, String indexed, List<Type> data) {
+        TransactionReceipt.Logs log = new TransactionReceipt.Logs();
+        log.setAddress(CONTRACT_ADDRESS);
+        log.setTopics(indexed == null ? Arrays.asList(topic) : Arrays.asList(topic, indexed));
+        log.setData(Hex.toHexStringWithPrefix(FunctionEncoder.encodeParameters(data, null)));
+        log.setBlockNumber("100");
+        return log;
+    }
+
+    private static TransactionReceipt receipt(
+            String input, String output, List<TransactionReceipt.Logs> logs) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setVersion("0");
+        receipt.setTransactionHash(
+                "0x1b7e5c2b8a9d4f3e6c0a1d2e3f4a5b6c7d8e9f0a1b2c3d4e5f6a7b8c9d0e1f2a");
+        receipt.setBlockNumber("100");
+        receipt.setFrom(SENDER);
+        receipt.setTo(CONTRACT_ADDRESS);
+        receipt.setGasUsed("21000");
+        receipt.setContractAddress("");
+        receipt.setStatus(0);
+        receipt.setInput(input);
+        receipt.setOutput(output);
+        receipt.setLogEntries(logs);
+        return receipt;
+    }
+
+    public static void Usage() {
+        System.out.println(" Usage:");
+        System.out.println("===== ReceiptFixtures ===========");
+        System.out.println(
+                " \t java -cp 'build/classes/java/jmh:build/classes/java/main:dist/lib/*' org.fisco.bcos.sdk.demo.jmh.ReceiptFixtures [ecdsa|sm] [logs] [width] [file]");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            Usage();
+            return;
+        }
+        CryptoSuite cryptoSuite =
+                new CryptoSuite(args[0].equals("sm") ? CryptoType.SM_TYPE : CryptoType.ECDSA_TYPE);
+        int logs = Integer.parseInt(args[1]);
+        int width = Integer.parseInt(args[2]);
+        ReceiptFixtures fixtures = new ReceiptFixtures(cryptoSuite);
+        Map<String, Object> dump = new LinkedHashMap<>();
+        dump.put("abi", BATCH_TRANSFER_ABI);
+        dump.put("batchTransfer", fixtures.batchTransferReceipt(logs, width));
+        dump.put("tigerHole", fixtures.tigerHoleReceipt(logs));
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(args[3]), dump);
+        System.out.println("====== Receipt fixtures written to " + args[3] + " ======");
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.jmh;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.demo.contract.ParallelOk;
+import org.fisco.bcos.sdk.demo.contract.SmallBankPrecompiled;
+import org.fisco.bcos.sdk.demo.transaction.BasicAbiTransaction;
+import org.fisco.bcos.sdk.jni.common.JniException;
+import org.fisco.bcos.sdk.jni.utilities.tx.TransactionBuilderJniObj;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.codec.ContractCodec;
+import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.transaction.codec.encode.TransactionEncoderService;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The client side steps of building a transaction, one benchmark each: ABI encoding through the
+ * generated wrappers and through {@link ContractCodec}, {@link
+ * BasicAbiTransaction#makeRawTransaction}, {@link BasicAbiTransaction#calcRawTransactionHash},
+ * signing, {@link BasicAbiTransaction#encodeRawTransactionWithSignature} and hex conversion, plus
+ * the whole chain as the perf drivers run it for every request. The throughput of {@link
+ * #buildSignedTransaction} times the cores of the client host bounds the TPS one demo client can
+ * offer the chain.
+ *
+ * <p>{@code cryptoType} switches between ECDSA/keccak256 and SM2/SM3. Run with {@code -prof gc}
+ * (the default of the {@code jmh} gradle task) for the allocation rate of each step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBuildBenchmark {
+    private static final String TO = "0x6849f21d1e455e9f0712b1e99fa4fcd23758e8f1";
+
+    @Param({"ecdsa", "sm"})
+    public String cryptoType;
+
+    private CryptoSuite cryptoSuite;
+    private CryptoKeyPair keyPair;
+    private Client client;
+    private FunctionEncoder functionEncoder;
+    private ContractCodec contractCodec;
+    private BasicAbiTransaction abiTx;
+    private String from;
+    private String to;
+    private BigInteger amount;
+
+    private long rawTransaction;
+    private byte[] hash;
+    private SignatureResult signature;
+    private byte[] input;
+    private String inputHex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ContractCodecException, JniException {
+        cryptoSuite =
+                new CryptoSuite(
+                        cryptoType.equals("sm") ? CryptoType.SM_TYPE : CryptoType.ECDSA_TYPE);
+        keyPair = cryptoSuite.generateRandomKeyPair();
+        client = OfflineClient.create(cryptoSuite);
+        functionEncoder = new FunctionEncoder(cryptoSuite);
+        contractCodec = new ContractCodec(cryptoSuite, false);
+        from = "user" + 1024;
+        to = "user" + 2048;
+        amount = BigInteger.valueOf(100);
+        abiTx =
+                new BasicAbiTransaction(
+                                "ParallelOk",
+                                ParallelOk.getABI(false),
+                                ParallelOk.FUNC_TRANSFER,
+                                TO,
+                                Arrays.<Object>asList(from, to, amount))
+                        .setTools(
+                                cryptoSuite,
+                                contractCodec,
+                                new TransactionEncoderService(cryptoSuite));
+
+        input = functionEncoder.encode(parallelOkTransfer());
+        inputHex = Hex.toHexString(input);
+        rawTransaction = abiTx.makeRawTransaction(client, OfflineClient.CHAIN, OfflineClient.GROUP);
+        hash = abiTx.calcRawTransactionHash(rawTransaction);
+        signature = cryptoSuite.sign(hash, keyPair);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TransactionBuilderJniObj.destroyTransactionData(rawTransaction);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Function parallelOkTransfer() {
+        return new Function(
+                ParallelOk.FUNC_TRANSFER,
+                Arrays.<Type>asList(new Utf8String(from), new Utf8String(to), new Uint256(amount)),
+                Collections.<TypeReference<?>>emptyList(),
+                4);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Function smallBankSendPayment() {
+        return new Function(
+                SmallBankPrecompiled.FUNC_SENDPAYMENT,
+                Arrays.<Type>asList(new Utf8String(from), new Utf8String(to), new Uint256(amount)),
+                Collections.<TypeReference<?>>emptyList());
+    }
+
+    @Benchmark
+    public byte[] encodeParallelOkTransfer() {
+        return functionEncoder.encode(parallelOkTransfer());
+    }
+
+    @Benchmark
+    public byte[] encodeSmallBankSendPayment() {
+        return functionEncoder.encode(smallBankSendPayment());
+    }
+
+    /**
+     * The ABI JSON path of {@code LegoTransaction}, parsing the method out of the ABI each time.
+     */
+    @Benchmark
+    public byte[] encodeMethodInput() throws ContractCodecException {
+        return abiTx.encodeMethodInput(contractCodec);
+    }
+
+    @Benchmark
+    public long makeRawTransaction() throws ContractCodecException, JniException {
+        long created = abiTx.makeRawTransaction(client, OfflineClient.CHAIN, OfflineClient.GROUP);
+        TransactionBuilderJniObj.destroyTransactionData(created);
+        return created;
+    }
+
+    @Benchmark
+    public byte[] calcRawTransactionHash() throws JniException {
+        return abiTx.calcRawTransactionHash(rawTransaction);
+    }
+
+    @Benchmark
+    public SignatureResult sign() {
+        return cryptoSuite.sign(hash, keyPair);
+    }
+
+    @Benchmark
+    public byte[] encodeRawTransactionWithSignature() throws JniException {
+        return abiTx.encodeRawTransactionWithSignature(rawTransaction, signature, false);
+    }
+
+    @Benchmark
+    public String hexEncode() {
+        return Hex.toHexString(input);
+    }
+
+    @Benchmark
+    public byte[] hexDecode() {
+        return Hex.decode(inputHex);
+    }
+
+    /** All of the above for one ParallelOk transfer, as {@code LegoTransaction} sends it. */
+    @Benchmark
+    public String buildSignedTransaction() throws ContractCodecException, JniException {
+        long created = abiTx.makeRawTransaction(client, OfflineClient.CHAIN, OfflineClient.GROUP);
+        try {
+            SignatureResult signed =
+                    cryptoSuite.sign(abiTx.calcRawTransactionHash(created), keyPair);
+            return Hex.toHexString(abiTx.encodeRawTransactionWithSignature(created, signed, false));
+        } finally {
+            TransactionBuilderJniObj.destroyTransactionData(created);
+        }
+    }
+}
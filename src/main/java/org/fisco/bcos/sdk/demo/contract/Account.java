@@ -12,7 +12,6 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple1;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple2;
-import org.fisco.bcos.sdk.v3.contract.Contract;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -21,7 +20,7 @@ import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
 
 @SuppressWarnings("unchecked")
-public class Account extends Contract {
+public class Account extends TracedContract {
     public static final String[] BINARY_ARRAY = {
         "608060405234801561001057600080fd5b506105ad806100206000396000f3fe608060405234801561001057600080fd5b506004361061004b5760003560e01c8062a8efc714610050578063a9059cbb1461006c578063b69ef8a814610088578063d91921ed146100a6575b600080fd5b61006a6004803603810190610065919061039f565b6100c2565b005b61008660048036038101906100819190610363565b6100e0565b005b610090610218565b60405161009d9190610492565b60405180910390f35b6100c060048036038101906100bb919061039f565b610221565b005b6100d78160005461023f90919063ffffffff16565b60008190555050565b3073ffffffffffffffffffffffffffffffffffffffff168273ffffffffffffffffffffffffffffffffffffffff16146101995760008054905060008390508073ffffffffffffffffffffffffffffffffffffffff1663d91921ed846040518263ffffffff1660e01b81526004016101579190610492565b600060405180830381600087803b15801561017157600080fd5b505af1158015610185573d6000803e3d6000fd5b505050508282036000819055505050610214565b6101a2816100c2565b60008290508073ffffffffffffffffffffffffffffffffffffffff1663d91921ed836040518263ffffffff1660e01b81526004016101e09190610492565b600060405180830381600087803b1580156101fa57600080fd5b505af115801561020e573d6000803e3d6000fd5b50505050505b5050565b60008054905090565b6102368160005461028990919063ffffffff16565b60008190555050565b600061028183836040518060400160405280601e81526020017f536166654d6174683a207375627472616374696f6e206f766572666c6f7700008152506102de565b905092915050565b6000808284019050838110156102d4576040517f08c379a00000000000000000000000000000000000000000000000000000000081526004016102cb90610472565b60405180910390fd5b8091505092915050565b6000838311158290610326576040517f08c379a000000000000000000000000000000000000000000000000000000000815260040161031d9190610450565b60405180910390fd5b5060008385039050809150509392505050565b60008135905061034881610549565b92915050565b60008135905061035d81610560565b92915050565b6000806040838503121561037657600080fd5b600061038485828601610339565b92505060206103958582860161034e565b9150509250929050565b6000602082840312156103b157600080fd5b60006103bf8482850161034e565b91505092915050565b60006103d3826104ad565b6103dd81856104b8565b93506103ed818560208601610505565b6103f681610538565b840191505092915050565b600061040e601b836104b8565b91507f536166654d6174683a206164646974696f6e206f766572666c6f7700000000006000830152602082019050919050565b61044a816104fb565b82525050565b6000602082019050818103600083015261046a81846103c8565b905092915050565b6000602082019050818103600083015261048b81610401565b9050919050565b60006020820190506104a76000830184610441565b92915050565b600081519050919050565b600082825260208201905092915050565b60006104d4826104db565b9050919050565b600073ffffffffffffffffffffffffffffffffffffffff82169050919050565b6000819050919050565b60005b83811015610523578082015181840152602081019050610508565b83811115610532576000848401525b50505050565b6000601f19601f8301169050919050565b610552816104c9565b811461055d57600080fd5b50565b610569816104fb565b811461057457600080fd5b5056fea2646970667358221220e9ddfe5545c1b64909c0799fd0f3870965ee87feb772f5491945a80ca7ddbe6164736f6c634300060a0033"
     };
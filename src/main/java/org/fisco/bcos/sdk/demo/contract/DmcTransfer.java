@@ -14,7 +14,6 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple1;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple2;
-import org.fisco.bcos.sdk.v3.contract.Contract;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -23,7 +22,7 @@ import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
 
 @SuppressWarnings("unchecked")
-public class DmcTransfer extends Contract {
+public class DmcTransfer extends TracedContract {
     public static final String[] BINARY_ARRAY = {
         "608060405234801561001057600080fd5b506106bb806100206000396000f3fe608060405234801561001057600080fd5b50600436106100565760003560e01c8062a8efc71461005b5780635e6eacaa14610070578063a6c2f8d614610083578063b69ef8a814610096578063d91921ed146100ab575b600080fd5b61006e61006936600461040a565b6100be565b005b61006e61007e366004610423565b6100d1565b61006e61009136600461048a565b610270565b60015460405190815260200160405180910390f35b61006e6100b936600461040a565b61029c565b6001546100cb90826102a9565b60015550565b816100db81610578565b9250506100e8600161029c565b816100f1575050565b336000818152602081815260408083208054825181850281018501909352808352919290919083018282801561015057602002820191906000526020600020905b81546001600160a01b03168152600190910190602001808311610132575b505050505090506000815185610166919061058f565b9050600082518261017791906105b1565b61018190876105d0565b905061018c8161029c565b60015460005b84518110156102645760008582815181106101af576101af6105e7565b6020908102919091010151604051632f37565560e11b815260048101879052891515602482015290915081906001600160a01b03821690635e6eacaa90604401600060405180830381600087803b15801561020957600080fd5b505af192505050801561021a575060015b61023a57881561022957600080fd5b61023386856105fd565b9350610251565b6001600160a01b0382163014156102515760015493505b50508061025d90610615565b9050610192565b50600155505050505050565b6001600160a01b038216600090815260208181526040909120825161029792840190610390565b505050565b6001546100cb90826102f2565b60006102eb83836040518060400160405280601e81526020017f536166654d6174683a207375627472616374696f6e206f766572666c6f770000815250610356565b9392505050565b6000806102ff83856105fd565b9050838110156102eb5760405162461bcd60e51b815260206004820152601b60248201527f536166654d6174683a206164646974696f6e206f766572666c6f77000000000060448201526064015b60405180910390fd5b6000818484111561037a5760405162461bcd60e51b815260040161034d9190610630565b50600061038784866105d0565b95945050505050565b8280548282559060005260206000209081019282156103e5579160200282015b828111156103e557825182546001600160a01b0319166001600160a01b039091161782556020909201916001909101906103b0565b506103f19291506103f5565b5090565b5b808211156103f157600081556001016103f6565b60006020828403121561041c57600080fd5b5035919050565b6000806040838503121561043657600080fd5b823591506020830135801515811461044d57600080fd5b809150509250929050565b80356001600160a01b038116811461046f57600080fd5b919050565b634e487b7160e01b600052604160045260246000fd5b6000806040838503121561049d57600080fd5b6104a683610458565b915060208084013567ffffffffffffffff808211156104c457600080fd5b818601915086601f8301126104d857600080fd5b8135818111156104ea576104ea610474565b8060051b604051601f19603f8301168101818110858211171561050f5761050f610474565b60405291825284820192508381018501918983111561052d57600080fd5b938501935b828510156105525761054385610458565b84529385019392850192610532565b8096505050505050509250929050565b634e487b7160e01b600052601160045260246000fd5b60008161058757610587610562565b506000190190565b6000826105ac57634e487b7160e01b600052601260045260246000fd5b500490565b60008160001904831182151516156105cb576105cb610562565b500290565b6000828210156105e2576105e2610562565b500390565b634e487b7160e01b600052603260045260246000fd5b6000821982111561061057610610610562565b500190565b600060001982141561062957610629610562565b5060010190565b600060208083528351808285015260005b8181101561065d57858101830151858201604001528201610641565b8181111561066f576000604083870101525b50601f01601f191692909201604001939250505056fea2646970667358221220f251accd35ac5422fce7a14f4bb7c98a95a8119a0e46010d983e76a725a0380264736f6c634300080b0033"
     };
@@ -17,7 +17,6 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int32;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple1;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple2;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple3;
-import org.fisco.bcos.sdk.v3.contract.Contract;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -26,7 +25,7 @@ import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
 
 @SuppressWarnings("unchecked")
-public class KVTableTest extends Contract {
+public class KVTableTest extends TracedContract {
     public static final String[] BINARY_ARRAY = {
         "60806040523480156200001157600080fd5b50600080546001600160a01b031916611002908117825560408051808201825260098152681d17dadd97dd195cdd60ba1b6020820152905163f23f63c960e01b815263f23f63c9916200006791600401620002df565b602060405180830381865afa15801562000085573d6000803e3d6000fd5b505050506040513d601f19601f82011682018060405250810190620000ab9190620002fb565b90506001600160a01b03811615620000e357600180546001600160a01b0319166001600160a01b0392909216919091179055620003a8565b6000805460408051808201825260098152681d17dadd97dd195cdd60ba1b6020820152905163b0e89adb60e01b81526001600160a01b039092169163b0e89adb91620001329160040162000326565b6020604051808303816000875af115801562000152573d6000803e3d6000fd5b505050506040513d601f19601f8201168201806040525081019062000178919062000383565b90508060030b600014620001d25760405162461bcd60e51b815260206004820152601360248201527f637265617465207461626c65206661696c656400000000000000000000000000604482015260640160405180910390fd5b6000805460408051808201825260098152681d17dadd97dd195cdd60ba1b6020820152905163f23f63c960e01b81526001600160a01b039092169163f23f63c9916200022191600401620002df565b602060405180830381865afa1580156200023f573d6000803e3d6000fd5b505050506040513d601f19601f82011682018060405250810190620002659190620002fb565b600180546001600160a01b0319166001600160a01b039290921691909117905550620003a8915050565b6000815180845260005b81811015620002b75760208185018101518683018201520162000299565b81811115620002ca576000602083870101525b50601f01601f19169290920160200192915050565b602081526000620002f460208301846200028f565b9392505050565b6000602082840312156200030e57600080fd5b81516001600160a01b0381168114620002f457600080fd5b6060815260006200033b60608301846200028f565b82810380602085015260028252611a5960f21b60208301526040810160408501525060096040820152686974656d5f6e616d6560b81b60608201526080810191505092915050565b6000602082840312156200039657600080fd5b81518060030b8114620002f457600080fd5b61087f80620003b86000396000f3fe608060405234801561001057600080fd5b506004361061004c5760003560e01c806355f150f1146100515780635d52d4d814610070578063693ec85e14610096578063e942b516146100b7575b600080fd5b6100596100ca565b6040516100679291906103b5565b60405180910390f35b61008361007e3660046104c8565b610192565b60405160039190910b8152602001610067565b6100a96100a4366004610550565b610213565b60405161006792919061058d565b6100836100c53660046105a8565b61029e565b6000805460408051808201825260098152681d17dadd97dd195cdd60ba1b602082015290516317435b5560e21b8152606093849390926001600160a01b0390911691635d0d6d549161011e9160040161060c565b600060405180830381865afa15801561013b573d6000803e3d6000fd5b505050506040513d6000823e601f3d908101601f19168201604052610163919081019061066b565b90508060000151816020015160008151811061018157610181610781565b602002602001015192509250509091565b6000805460405163b0e89adb60e01b815282916001600160a01b03169063b0e89adb906101c790889088908890600401610797565b6020604051808303816000875af11580156101e6573d6000803e3d6000fd5b505050506040513d601f19601f8201168201806040525081019061020a91906107da565b95945050505050565b60015460405163349f642f60e11b8152600091606091839183916001600160a01b039091169063693ec85e9061024d90889060040161060c565b600060405180830381865afa15801561026a573d6000803e3d6000fd5b505050506040513d6000823e601f3d908101601f1916820160405261029291908101906107fd565b90969095509350505050565b6001546040516374a15a8b60e11b815260009182916001600160a01b039091169063e942b516906102d590879087906004016103b5565b6020604051808303816000875af11580156102f4573d6000803e3d6000fd5b505050506040513d601f19601f8201168201806040525081019061031891906107da565b604051600382900b81529091507f0cf385eb927670d0229706269f568122463b7535b52bd98e52d4787771855d0d9060200160405180910390a19392505050565b60005b8381101561037457818101518382015260200161035c565b83811115610383576000848401525b50505050565b600081518084526103a1816020860160208601610359565b601f01601f19169290920160200192915050565b6040815260006103c86040830185610389565b828103602084015261020a8185610389565b634e487b7160e01b600052604160045260246000fd5b6040805190810167ffffffffffffffff81118282101715610413576104136103da565b60405290565b604051601f8201601f1916810167ffffffffffffffff81118282101715610442576104426103da565b604052919050565b600067ffffffffffffffff821115610464576104646103da565b50601f01601f191660200190565b600082601f83011261048357600080fd5b81356104966104918261044a565b610419565b8181528460208386010111156104ab57600080fd5b816020850160208301376000918101602001919091529392505050565b6000806000606084860312156104dd57600080fd5b833567ffffffffffffffff808211156104f557600080fd5b61050187838801610472565b9450602086013591508082111561051757600080fd5b61052387838801610472565b9350604086013591508082111561053957600080fd5b5061054686828701610472565b9150509250925092565b60006020828403121561056257600080fd5b813567ffffffffffffffff81111561057957600080fd5b61058584828501610472565b949350505050565b82151581526040602082015260006105856040830184610389565b600080604083850312156105bb57600080fd5b823567ffffffffffffffff808211156105d357600080fd5b6105df86838701610472565b935060208501359150808211156105f557600080fd5b5061060285828601610472565b9150509250929050565b60208152600061061f6020830184610389565b9392505050565b600082601f83011261063757600080fd5b81516106456104918261044a565b81815284602083860101111561065a57600080fd5b610585826020830160208701610359565b6000602080838503121561067e57600080fd5b825167ffffffffffffffff8082111561069657600080fd5b90840190604082870312156106aa57600080fd5b6106b26103f0565b8251828111156106c157600080fd5b6106cd88828601610626565b82525083830151828111156106e157600080fd5b80840193505086601f8401126106f657600080fd5b825182811115610708576107086103da565b8060051b610717868201610419565b918252848101860191868101908a84111561073157600080fd5b87870192505b8383101561076d5782518681111561074f5760008081fd5b61075d8c8a838b0101610626565b8352509187019190870190610737565b968401969096525090979650505050505050565b634e487b7160e01b600052603260045260246000fd5b6060815260006107aa6060830186610389565b82810360208401526107bc8186610389565b905082810360408401526107d08185610389565b9695505050505050565b6000602082840312156107ec57600080fd5b81518060030b811461061f57600080fd5b6000806040838503121561081057600080fd5b8251801515811461082057600080fd5b602084015190925067ffffffffffffffff81111561083d57600080fd5b6106028582860161062656fea2646970667358221220823002d48d97b52b2f7fe674037e1ad453852fefd144b461872ad455e5265caa64736f6c634300080b0033"
     };
@@ -14,7 +14,6 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint128;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple1;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple2;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple3;
-import org.fisco.bcos.sdk.v3.contract.Contract;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -23,7 +22,7 @@ import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
 
 @SuppressWarnings("unchecked")
-public class ParallelOkLiquid extends Contract {
+public class ParallelOkLiquid extends TracedContract {
     public static final String[] BINARY_ARRAY = {
         "0061736d010000000168106000017f60017f0060037f7f7f017f60027f7f0060047f7f7f7f0060037f7f7f0060057f7f7f7f7f0060047f7f7f7f017f60017f017f60027f7f017f60027f7f017e60037f7f7f017e60077f7f7f7f7f7f7f0060000060047f7f7e7e0060077f7f7f7e7e7e7f00026b060462636f730f67657443616c6c4461746153697a6500000462636f730b67657443616c6c4461746100010462636f730a67657453746f7261676500020462636f730666696e69736800030462636f730672657665727400030462636f730a73657453746f726167650004036463030503050501050304060303030706000800050504090401030303050504030104010704040603070a03030205030b0302030305030304010003030303010101050205050c010107000d080305010d030e0903030f020108030509080201030202020205030100110609017f01418080c0000b072604066d656d6f7279020009686173685f74797065004e066465706c6f79004f046d61696e00540a8b9701635601037f02400240200128020022022001280204470d00410021020c010b20012002410c6a36020002402001280208220341016a22042003490d00200120043602080c010b00000b20002002360204200020033602000b210002402002410c490d002002410b1008000b20002002360204200020013602000b040000000b210002402002410c490d002002410b1008000b20002002360204200020013602000ba10101047f230041206b2203240020012f01e2012104200341003a001820032004360214200341003602102003200341106a106420032d00082105200328020421062003280200210402400340200541ff01710d01200420064b0d01200320013602142003200236021020032004360218200420064f2105200420042006496a2104200341106a100b0c000b0b2000200136020420002002360200200341206a24000b6101047f230041206b22012400200041086a2202280200210320002802042104200141106a41086a200228020036020020012000290200370310200141086a200141106a1011200128020c220020033b01e00120002004360200200141206a24000b5f01027f02400240024020022802002203450d00200141016a22042001490d022000200336020420002004360200200020022f01e0013602080c010b200041003602040b024041940241e40120011b2201450d0020022001100d0b0f0b00000bf70101037f02402000450d00200110611a410028028c83402102200041786a220120012802002203417e713602000240024002402003417c71220420006b20044b0d00200041003602002000417c6a280200417c712204450d0120042d00004101710d012001106320042802002100024020012d0000410271450d002004200041027222003602000b200221012000417c71220020046b41786a20004d0d020b00000b02402003417c712204450d004100200420034102711b2203450d0020032d00004101710d0020002003280208417c7136020020032001410172360208200221010c010b200020023602000b4100200136028c83400b0b7201027f0240200241016a22042002490d000240200420014f0d00200120026b220520014b0d012005417f6a220120054b0d0120002004410c6c6a20002002410c6c6a2001410c6c10661a0b20002002410c6c6a22022003290200370200200241086a200341086a2802003602000f0b00000b6601027f0240200241016a22052002490d000240200520014f0d00200120026b220620014b0d012006417f6a220120064b0d01200020054103746a200020024103746a200141037410661a0b200020024103746a220220043a0004200220033602000f0b00000b3c01027f024020012802002202417f6a220320024b0d00200020033602002000200128020420012802084102746a41e4016a2802003602040f0b00000b3c01027f024020012802002202417f6a220320024b0d00200020033602002000200128020420012802084102746a41e4016a2802003602040f0b00000b3c01027f024020012802002202417f6a220320024b0d00200020033602002000200128020420012802084102746a41e4016a2802003602040f0b00000b7601037f230041106b2204240020002802082105200028020422002f01e2012106200441086a200141086a28020036020020042001290200370300200041046a200641016a220120052004100e20004188016a22062001200520022003100f200020013b01e201200441106a2400200620054103746a0ba20201057f230041106b2205240020002802082106200028020422072f01e2012108200541086a200141086a28020036020020052001290200370300200741046a200841016a220920062005100e20074188016a2009200620022003100f0240200641016a22012006490d00200141016a22022001490d0002402002200841026a22064f0d00200620016b220820064b0d012008417f6a220320084b0d01200741e4016a220820024102746a200820014102746a200341027410661a0b200720014102746a41e4016a2004360200200720093b01e20120012006200120064b1b2106200028020021000240034020062001460d01200520073602042005200036020020052001360208200141016a21012005100b0c000b0b200541106a24000f0b00000b2301017f024041e401101622000d0000000b200041003b01e2012000410036020020000b080020004104101b0b2301017f0240419402101622000d0000000b200041003b01e2012000410036020020000b7201017f230041106b220324000240024020014100480d000240024020020d00200341086a200141011019200328020c2102200328020821010c010b2003200141014101101a20032802042102200328020021010b20010d010b00000b2000200136020020002002360204200341106a24000b3501017f230041106b22032400200341086a200120024100101a200020032802083602002000200328020c360204200341106a24000b4b000240024020010d00410021010c010b20012002101b2102024002402003450d002002450d0120024100200110671a0c020b20020d010b410021020b20002001360204200020023602000b7c01027f230041106b220224002000106121002002410028028c834036020c0240200020012002410c6a106222030d00200220002001105f4100210320022802000d0020022802042203200228020c3602082002200336020c200020012002410c6a106221030b4100200228020c36028c8340200241106a240020030b840201037f230041106b22042400024002402002450d0002400240024020014100480d00200328020022050d01200420012002101920042802042105200428020021030c020b20004101360200200041086a41003602000c030b0240200328020422060d00200441086a200120024100101a200428020c2105200428020821030c010b024020012002101b22030d00410021030c010b20032005200610651a20052006100d200121050b024002402003450d0020002003360204410021010c010b2000200136020441012101200221050b20002001360200200041086a20053602000c010b2000200136020420004101360200200041086a41003602000b200441106a24000b2601017f024020002802004100200028020422001b2201450d002000450d0020012000100d0b0b5301037f230041106b2202240020012802002103200241086a2001280208220141001018200228020821042000200228020c3602042000200436020020042003200110651a20002001360208200241106a24000b7100024002400240024020014105490d002001417b6a0e020102030b20004204370200200041086a20013602000f0b20004205370200200041086a41053602000f0b2000428580808010370200200041086a41003602000f0b2000428680808010370200200041086a200141796a3602000bb20101037f230041206b220224000240024020002802042203200028020822046b20014f0d00200420016a22012004490d01200320036a22042003490d0120042001200420014b1b22014108200141084b1b2101024002402003450d00200241106a41086a410136020020022003360214200220002802003602100c010b200241003602100b200220014101200241106a101c20022802004101460d01200020022902043702000b200241206a24000f0b00000b3601017f2000200210202000280200200028020822036a2001200210651a0240200320026a220220034f0d0000000b200020023602080b4701027f230041106b22032400200341086a200241001018200328020821042000200328020c3602042000200436020020042001200210651a20002002360208200341106a24000b1d00024020012003470d0020002002200110651a0f0b200120031024000b040000000b040000000ba10301027f02402001418102490d00418002210403402004450d010240024020042001490d0020012004470d010c030b200020046a2c000041bf7f4a0d020b2004417f6a21040c000b0b0240200220014b0d00200320014b0d00200220034b0d00024002402002450d00024020022001490d0020022001460d010c020b200020026a2c00004140480d010b200321020b034002400240024020020d00410021020c010b024020022001490d0020012002470d02200121020c010b200020026a2c00004140480d010b200120026b220420014b0d022004450d02200020026a22022c00002201417f4a0d0241002105200220046a22032100024020044101460d00200241026a210020022d0001413f7141067421050b200141ff017141e001490d024100210220032104024020002003460d00200041016a210420002d0000413f7121020b200141ff017141f001490d02200141ff017121012002200572210041002102024020042003460d0020042d0000413f7121020b20004106742001411274418080f0007172200272418080c400471a0c020b2002417f6a21020c000b0b00000b040000000b1f01017f41002104024020012003470d0020002002200110684521040b20040bfc0101067f4100210441012105410121064100210703400240024002402006220820046a22062008490d00200620024f0d01200720046a22092007490d00200920024f0d0002400240200120066a2d000041ff01712206200120096a2d000022094b2003710d00200620094f200372450d0020062009460d01200841016a22062008490d024101210541002104200821070c050b200441016a22062004490d01200820066a22062008490d01200620076b220520064b0d010c030b200441016a22092004490d00200921042008210620092005470d03200820056a220620084f0d020b00000b20002005360204200020073602000f0b410021040c000b0b3701017f230041106b22042400200441086a4100200320012002102b200020042802083602002000200428020c360204200441106a24000b470002400240200120024b0d000240200220044b0d00200220016b220420024b0d02200020043602042000200320016a3602000f0b200220041008000b20012002102c000b",
         "00000b040000000bb30201087f41002104410121054101210641002107024003400240024002402006220820046a22062008490d00200620014f0d04200841016a22062008490d00200620046a22092006490d00200120096b220920014b0d00200920014f0d00200741016a220a2007490d00200a20046a220b200a490d002001200b6b220a20014b0d00200a20014f0d0002400240200020096a2d000041ff017122092000200a6a2d0000220a4b2003710d002009200a4f200372450d002009200a460d014101210541002104200821070c040b200441016a22062004490d01200820066a22062008490d01200620076b220520064b0d010c020b200441016a22062004490d00024020062005460d0020062104200821060c030b200820056a220620084f0d010b00000b410021040b20052002470d000b0b20070b3501017e42002102024003402001450d012001417f6a210142012000310000423f83862002842102200041016a21000c000b0b20020ba00201027f230041306b22022400024002401000220341034b0d002001450d0020004181083b01000c010b2002200310302002280200220310010240024002402001450d0020022002280208220136021420022003360210024020014104490d002002410036021c200241106a2002411c6a410410310d00200241206a20022802141030200241106a2002280220220120022802281031450d02200241206a101d0b200041003a0001410121010c020b200041003a0000200041046a4100360200200041086a2002290300370200200041106a200241086a2802003602000c020b200228021c21032000410c6a2002290224370200200041086a2001360200200041046a2003360200410021010b200020013a00002002101d0b200241306a24000b3602017f017e230041106b22022400200241086a200141011018200229030821032000200136020820002003370200200241106a24000b3a01037f02402000280204220320024922040d002001200220002802002205200210232000200320026b3602042000200520026a3602000b20040b8b0102027f017e230041106b2203240002400240200220026a22042002490d00200341086a20044100101820032903082105200041003602082000200537020003402002450d02200020012d0000220441047641b482c0006a2d0000103320002004410f7141b482c0006a2d000010332002417f6a2102200141016a21010c000b0b00000b200341106a24000bab0201027f230041106b2202240002400240024002400240200141ff004b0d000240200028020822032000280204470d00200041011020200028020821030b200028020020036a20013a0000200341016a22012003490d01200020013602080c040b2002410036020c2001418010490d0102402001418080044f0d0020022001413f71418001723a000e20022001410c7641e001723a000c20022001410676413f71418001723a000d410321010c030b20022001413f71418001723a000f2002200141127641f001723a000c20022001410676413f71418001723a000e20022001410c76413f71418001723a000d410421010c020b00000b20022001413f71418001723a000d2002200141067641c001723a000c410221010b20002002410c6a200110210b200241106a24000b190020002001200210022200ad422086200045ad84428006840bc10905037f017e047f027e017f230041206b22022400200241003a0008024002400240024002400240024002402001200241086a410110310d000240024020022d0008220341037122044103460d0002400240024020040e03000201000b200341027621030c030b200220033a000d200241013a000c200220013602082002410036021c200241086a2002411c6a410410360d03200228021c220341ffff034d0d03200341027621030c020b200220033a000d200241013a000c20022001360208200241003b011c200241086a2002411c6a410210360d0220022f011c220341ff014d0d02200341027621030c010b200341044f0d0120022001103720022802000d012002280204220341ffffffff034d0d010b20012802042003490d00200241086a20031030024020012002280208220320022802101031450d00200241086a101d0c010b4100200229020c2205422088a7220641796a2201200120064b1b2107200341036a417c7120036b2108410021010340200120064f0d070240024002400240200320016a2d0000220441187441187522094100480d002008417f460d03200820016b4103710d030340200120074f0d03200320016a220441046a280200200428020072418081828478710d03200141086a22042001490d02200421010c000b0b42808080808020210a428080808010210b024002400240024002402004418080c0006a2d0000417e6a0e030002010e0b200141016a22042006490d024200210a0c0c0b4200210a200141016a220c20064f0d0b2003200c6a2d0000210c0240024002400240200441907e6a0e050100000002000b200c41ff017141bf014b0d0c2009410f6a41ff017141024b0d0c200c41187441187541004e0d0c0c020b200c41f0006a41ff017141304f0d0b0c010b200c411874411875417f4a0d0a200c41ff0171418f014b0d0a0b200141026a220420064f0d0b200320046a2d000041c00171418001470d084200210b200141036a220420064f0d0c200320046a2d000041c00171418001460d02428080808080e000210a0c0a0b4200210a200141016a220c20064f0d0a2003200c6a2d0000210c0240024002400240200441e001460d00200441ed01460d012009411f6a41ff0171410c490d02200c41ff017141bf014b0d0c200941fe017141ee01470d0c200c41187441187541004e0d0c0c030b200c41e0017141a001470d0b0c020b200c411874411875417f4a0d0a200c41ff017141a0014f0d0a0c010b200c411874411875417f4a0d09200c41ff017141bf014b0d090b4200210b200141026a220420064f0d0b200320046a2d000041c00171418001470d070c010b42808080808020210a428080808010210b200320046a2d000041c00171418001470d0a0b200441016a21010c030b00000b20012006200120064b1b21040340024020042001470d00200421010c030b200320016a2c00004100480d02200141016a21010c000b0b200141016a21010c000b0b200041003602000c060b428080808080c000210a0c010b42808080808020210a0b428080808010210b0c010b4200210b0b200a200b842001ad84210a0b024020012006490d0020002005370204200020033602000c010b2002200a3702142002200537020c20022003360208200241086a101d200041003602000b200241206a24000b4301017f20002f01042103200041003a0004024020034101710d0020002802002001200210310f0b200120034108763a00002000280200200141016a2002417f6a10310b4d01027f230041106b22022400410021032002410036020c0240024020012002410c6a410410310d00200228020c21010c010b410121030b2000200136020420002003360200200241106a24000b6f01037f230041106b220224000240024041002802908340220320016a22042003490d002004418080014b0d00200241086a2003200410392002280208200228020c20002001102341002802908340220320016a220120034f0d010b00000b410020013602908340200241106a24000b5001017f02400240200120024b0d0002402002418080014b0d00200220016b220320024b0d022000200336020420002001419483c0006a3602000f0b2002418080011008000b20012002102c000b00000b4601017f230041106b22022400200241086a41002802908340103b20022002280208200228020c2001103c2000200228020036020020002002280204360204200241106a24000b3a01017f230041106b22022400200241086a419483c000418080012001103c200020022802083602002000200228020c360204200241106a24000b21000240200320024d0d00200320021008000b20002003360204200020013602000b3601017f230041106b22012400200141086a41002802908340103b200020012802083602002000200128020c360204200141106a24000b2d01027f230041106b22002400200041086a410041002802908340103920002802082101200041106a240020010ba50101037f230041106b220224000240024002402001280208220341046a22042003490d002001280200210120002004104002402003413f4b0d002000200341027410410c030b0240200341ffff004b0d00200220034102744101723b010e20002002410e6a410210210c030b200341ffffffff034b0d012003410274410272200010420c020b00000b2000410310412003200010420b2000200120031021200241106a24000b3602017f017e230041106b22022400200241086a200141001018200229030821032000410036020820002003370200200241106a24000b2601017f230041106b22022400200220013a000f20002002410f6a41011021200241106a24000b2601017f230041106b220224002002200036020c20012002410c6a41041021200241106a24000b940202037f017e230041306b22012400200141086a41084100101820012802082102200128020c2103200041146a41023a0000200042083702082000200336020420002002360200200242e2c2b18be6edd8b2f30037000020014109410010182001410036022820012001290300370320200141206a41c482c000410810210240200128022822022001280224470d00200141206a41011020200128022821020b200128022020026a41243a00000240200241016a220320024f0d0000000b200141186a2003360200200120012903202204370310200041003602182000411c6a2004370200200041246a2003360200200041286a4109360200200041346a42003702002000412c6a4100360200200141306a24000b30002000101d0240200041146a2d00004102460d00200041106a2802004108100d0b2000411c6a101d200041306a10450ba30301067f230041306b22012400200028020421022000410036020402402002450d0020002802002103024003402003450d01200141003602282001200236022420012003360220200141186a200141206a1012200128021c2102200128021821030c000b0b20002802082104410021050340024020040d00410021030340200141206a20032002100c20012802242202450d03200128022021030c000b0b2004417f6a21044100210620052100200221030340024002400240200020032f01e2014f0d00200041016a2105024020060d00200321020c020b200120053602282001200336022420012006360220200141106a200141206a101220012802142102200128021021060340024020060d00410021050c030b200141003602282001200236022420012006360220200141086a200141206a1012200128020c2102200128020821060c000b0b200141206a20062003100c200128022422020d01410021020b20032000410c6c6a41046a101d200320004103746a4188016a2802004118100d0c020b20012802282100200128022021",
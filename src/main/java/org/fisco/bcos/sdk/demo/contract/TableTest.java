@@ -17,7 +17,6 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int32;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple1;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple2;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple3;
-import org.fisco.bcos.sdk.v3.contract.Contract;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -26,7 +25,7 @@ import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
 
 @SuppressWarnings("unchecked")
-public class TableTest extends Contract {
+public class TableTest extends TracedContract {
     public static final String[] BINARY_ARRAY = {
         "60806040523480156200001157600080fd5b5060408051808201825260068152651d17dd195cdd60d21b6020820152905163f23f63c960e01b81526000916110029163f23f63c991620000559160040162000385565b602060405180830381865afa15801562000073573d6000803e3d6000fd5b505050506040513d601f19601f82011682018060405250810190620000999190620003a1565b90506001600160a01b03811615620000d157600080546001600160a01b0319166001600160a01b0392909216919091179055620004a4565b60408051600280825260608201909252600091816020015b6060815260200190600190039081620000e9579050509050604051806040016040528060048152602001636e616d6560e01b81525081600081518110620001345762000134620003cc565b60200260200101819052506040518060400160405280600381526020016261676560e81b81525081600181518110620001715762000171620003cc565b602090810291909101810191909152604080516080810182526002818301908152611a5960f21b606083015281528083018490528151808301835260068152651d17dd195cdd60d21b9381019390935290516318d2d28f60e11b81529091600091611002916331a5a51e91620001ed91908690600401620003e2565b6020604051808303816000875af11580156200020d573d6000803e3d6000fd5b505050506040513d601f19601f820116820180604052508101906200023391906200047f565b90508060030b600014620002825760405162461bcd60e51b815260206004820152601260248201527118dc99585d19481d18589b194819985a5b1960721b604482015260640160405180910390fd5b60408051808201825260068152651d17dd195cdd60d21b6020820152905163f23f63c960e01b81526000916110029163f23f63c991620002c59160040162000385565b602060405180830381865afa158015620002e3573d6000803e3d6000fd5b505050506040513d601f19601f82011682018060405250810190620003099190620003a1565b600080546001600160a01b0319166001600160a01b039290921691909117905550620004a49350505050565b6000815180845260005b818110156200035d576020818501810151868301820152016200033f565b8181111562000370576000602083870101525b50601f01601f19169290920160200192915050565b6020815260006200039a602083018462000335565b9392505050565b600060208284031215620003b457600080fd5b81516001600160a01b03811681146200039a57600080fd5b634e487b7160e01b600052603260045260246000fd5b604081526000620003f7604083018562000335565b60208382038185015284516040835262000415604084018262000335565b9050818601518382038385015281935080518083528383019450838160051b840101848301925060005b828110156200047157601f198583030187526200045e82855162000335565b968601969386019391506001016200043f565b509998505050505050505050565b6000602082840312156200049257600080fd5b81518060030b81146200039a57600080fd5b610dcb80620004b46000396000f3fe608060405234801561001057600080fd5b50600436106100625760003560e01c80632fe99bdc1461006757806331c3e4561461009257806355f150f1146100a55780636a5bae4e146100bb57806380599e4b146100dc578063fcd7e3c1146100ef575b600080fd5b61007a6100753660046107c5565b610110565b60405160039190910b81526020015b60405180910390f35b61007a6100a03660046107c5565b61024d565b6100ad6103e0565b6040516100899291906108a9565b6100ce6100c936600461093f565b61047d565b604051908152602001610089565b61007a6100ea366004610a37565b610545565b6101026100fd366004610a37565b6105f9565b604051610089929190610a74565b60408051600280825260608201909252600091829190816020015b606081526020019060019003908161012b579050509050838160008151811061015657610156610aa2565b6020026020010181905250828160018151811061017557610175610aa2565b602090810291909101810191909152604080518082018252878152918201839052600080549151635c6e105f60e01b815290916001600160a01b031690635c6e105f906101c6908590600401610b32565b6020604051808303816000875af11580156101e5573d6000803e3d6000fd5b505050506040513d601f19601f820116820180604052508101906102099190610b4c565b604051600382900b81529091507fc57b01fa77f41df77eaab79a0e2623fab2e7ae3e9530d9b1cab225ad65f2b7ce9060200160405180910390a19695505050505050565b60408051600280825260608201909252600091829190816020015b6040805180820190915260608082526020820152815260200190600190039081610268575050604080516080810182526004918101918252636e616d6560e01b60608201529081526020810186905281519192509082906000906102ce576102ce610aa2565b602002602001018190525060405180604001604052806040518060400160405280600381526020016261676560e81b8152508152602001848152508160018151811061031c5761031c610aa2565b6020908102919091010152600080546040516341ffd75f60e01b81526001600160a01b03909116906341ffd75f9061035a9089908690600401610b6f565b6020604051808303816000875af1158015610379573d6000803e3d6000fd5b505050506040513d601f19601f8201168201806040525081019061039d9190610b4c565b604051600382900b81529091507f8e5890af40fc24a059396aca2f83d6ce41fcef086876548fa4fb8ec27e9d292a9060200160405180910390a195945050505050565b60408051808201825260068152651d17dd195cdd60d21b602082015290516317435b5560e21b8152606091829160009161100291635d0d6d549161042691600401610c04565b600060405180830381865afa158015610443573d6000803e3d6000fd5b505050506040513d6000823e601f3d908101601f1916820160405261046b9190810190610d3b565b80516020909101519094909350915050565b6040805180820182528381526020810183905290516318d2d28f60e11b8152600091908290611002906331a5a51e906104bc9089908690600401610d70565b6020604051808303816000875af11580156104db573d6000803e3d6000fd5b505050506040513d601f19601f820116820180604052508101906104ff9190610b4c565b604051600382900b81529091507fb5636cd912a73dcdb5b570dbe331dfa3e6435c93e029e642def2c8e40dacf2109060200160405180910390a160030b95945050505050565b600080546040516380599e4b60e01b815282916001600160a01b0316906380599e4b90610576908690600401610c04565b6020604051808303816000875af1158015610595573d6000803e3d6000fd5b505050506040513d601f19601f820116820180604052508101906105b99190610b4c565b604051600382900b81529091507f4b930e280fe29620bdff00c88155d46d6d82a39f45dd5c3ea114dc31573581129060200160405180910390a192915050565b6000805460405163fcd7e3c160e01b8152606092839290916001600160a01b039091169063fcd7e3c190610631908790600401610c04565b600060405180830381865afa15801561064e573d6000803e3d6000fd5b505050506040513d6000823e601f3d908101601f191682016040526106769190810190610d3b565b9050606080826020015151600214156106cc5782602001516000815181106106a0576106a0610aa2565b6020026020010151915082602001516001815181106106c1576106c1610aa2565b602002602001015190505b909590945092505050565b634e487b7160e01b600052604160045260246000fd5b6040805190810167ffffffffffffffff81118282101715610710576107106106d7565b60405290565b604051601f8201601f1916810167ffffffffffffffff8111828210171561073f5761073f6106d7565b604052919050565b600067ffffffffffffffff821115610761576107616106d7565b50601f01601f191660200190565b600082601f83011261078057600080fd5b813561079361078e82610747565b610716565b8181528460208386010111156107a857600080fd5b816020850160208301376000918101602001919091529392505050565b6000806000606084860312156107da57600080fd5b833567ffffffffffffffff808211156107f257600080fd5b6107fe8783880161076f565b9450602086013591508082111561081457600080fd5b6108208783880161076f565b9350604086013591508082111561083657600080fd5b506108438682870161076f565b9150509250925092565b60005b83811015610868578181015183820152602001610850565b83811115610877576000848401525b50505050565b6000815180845261089581602086016020860161084d565b601f01601f19169290920160200192915050565b6040815260006108bc604083018561087d565b6020838203818501528185518084528284019150828160051b85010183880160005b8381101561090c57601f198784030185526108fa83835161087d565b948601949250908501906001016108de565b50909998505050505050505050565b600067ffffffffffffffff821115610935576109356106d7565b5060051b60200190565b60008060006060848603121561095457600080fd5b833567ffffffffffffffff8082111561096c57600080fd5b6109788783880161076f565b945060209150818601358181111561098f57600080fd5b61099b8882890161076f565b9450506040860135818111156109b057600080fd5b8601601f810188136109c157600080fd5b80356109cf61078e8261091b565b81815260059190911b8201840190848101908a8311156109ee57600080fd5b8584015b83811015610a2657803586811115610a0a5760008081fd5b610a188d898389010161076f565b8452509186019186016109f2565b508096505050505050509250925092565b600060208284031215610a4957600080fd5b813567ffffffffffffffff811115610a6057600080fd5b610a6c8482850161076f565b949350505050565b604081526000610a87604083018561087d565b8281036020840152610a99818561087d565b95945050505050565b634e487b7160e01b600052603260045260246000fd5b6000815160408452610acd604085018261087d565b9050602080840151858303828701528281518085528385019150838160051b860101848401935060005b82811015610b2557601f19878303018452610b1382865161087d565b94860194938601939150600101610af7565b5098975050505050505050565b602081526000610b456020830184610ab8565b939250505056",
         "5b600060208284031215610b5e57600080fd5b81518060030b8114610b4557600080fd5b60006040808352610b828184018661087d565b6020848203818601528186518084528284019150828160051b85010183890160005b83811015610bf457868303601f1901855281518051898552610bc88a86018261087d565b91880151858303868a0152919050610be0818361087d565b968801969450505090850190600101610ba4565b50909a9950505050505050505050565b602081526000610b45602083018461087d565b600082601f830112610c2857600080fd5b8151610c3661078e82610747565b818152846020838601011115610c4b57600080fd5b610a6c82602083016020870161084d565b600060408284031215610c6e57600080fd5b610c766106ed565b9050815167ffffffffffffffff80821115610c9057600080fd5b610c9c85838601610c17565b8352602091508184015181811115610cb357600080fd5b8401601f81018613610cc457600080fd5b8051610cd261078e8261091b565b81815260059190911b82018401908481019088831115610cf157600080fd5b8584015b83811015610d2957805186811115610d0d5760008081fd5b610d1b8b8983890101610c17565b845250918601918601610cf5565b50808688015250505050505092915050565b600060208284031215610d4d57600080fd5b815167ffffffffffffffff811115610d6457600080fd5b610a6c84828501610c5c565b604081526000610d83604083018561087d565b8281036020840152610a998185610ab856fea2646970667358221220c2e1f3814c013d89b0a6671201a2a3c0916478bf6bccc97db6ffa76c045d775764736f6c634300080b0033"
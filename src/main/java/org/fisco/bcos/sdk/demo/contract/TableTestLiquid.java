@@ -15,7 +15,6 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int32;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple1;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple2;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple3;
-import org.fisco.bcos.sdk.v3.contract.Contract;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -24,7 +23,7 @@ import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
 
 @SuppressWarnings("unchecked")
-public class TableTestLiquid extends Contract {
+public class TableTestLiquid extends TracedContract {
     public static final String[] BINARY_ARRAY = {
         "0061736d0100000001711160037f7f7f017f60027f7f017f60047f7f7f7f006000017f60017f0060047f7f7f7f017f60027f7f0060077f7f7f7f7f7f7f0060037f7f7f0060027f7f017e60000060037f7f7f017e60017f017f60047f7f7f7f017e60067f7f7f7f7f7f0060057f7f7f7f7f0060057f7f7f7f7f017f02b0010a0462636f730a73657453746f7261676500020462636f730f67657443616c6c4461746153697a6500030462636f730b67657443616c6c4461746100040462636f730463616c6c00050462636f731167657452657475726e4461746153697a6500030462636f730d67657452657475726e4461746100040462636f730a67657453746f7261676500000462636f730666696e69736800060462636f730672657665727400060462636f73036c6f670007038703850306040404080606060606060609090404040404040706080606080004040404060604060606040406040406030a0a040404040604060602080606060606060808080808080b020404040406060606080406060802040808080806060808080404040c0c0c0606060c040c080408040c04080808060806080608080c0c04040404040606060608080806040406060606040608060404060606080808020c0c060406060c0c060306060604060606060108050106020804040c03060406060c0606060806040806080604060804020d060602050306060e0f020f08060806080208060c06060c08060c0601040f000f0606080c0606020a0606060006060606060606080108060108010c01060606000606060608020808080a0c08020402020f04060a060a0c0608080608060606040608080601080501001004040c020000020c0c0c010c0c0208040808080601020f0f0e0801080c0f08080f05020f0e0f02090501040008050200060202010101000f0f0f0f04000b100c020c01010001010808080000000405017001171705030100110609017f01418080c0000b072604066d656d6f7279020009686173685f747970650035066465706c6f790036046d61696e00370930010041010b161af30159d6028a01f7028901f602940193029901d102f502eb02ec02fe0284038503fd028603870388030a94ba0285035e01027f230041106b2202240020002802042103200028020021002001280200210141bcbec00010d501200141bcbec000109a01200241086a41bcbec00041f080c00010e701200020032002280208200228020c10d601200241106a24000b4201017f230041206b22012400200141106a2000280200108e02200141086a200141106a10b4022001280208200128020c10d801200141106a100c200141206a24000b0c00200010b702200010a9020b4201017f230041206b22012400200141106a2000280200108b01200141086a200141106a10b4022001280208200128020c10d801200141106a100c200141206a24000bb10201027f230041e0006b220324002002280204210420022802002102200341286a200128020010ee0110b402024002402003280228200328022c2002200410db010d00024010dc01220241818001490d00200341306a4100200210d001200341206a200341306a10b5022003280220200328022410dd01200341186a200341306a10b40220032003290318370340200341c8006a200341c0006a1097012000200341c8006a100f200341306a100c0c020b02402002450d00200341106a41bcbec000418081c00010e9012003280210200328021410dd010b41bcbec000200210e401200341086a41bcbec00041002802bcbe4041d080c00010e80120032003290308370330200341c8006a200341306a1097012000200341c8006a100f0c010b200041810a3b01000b200341e0006a24000b5a00024002402001280200450d00200041046a2001290200370200200041146a200141106a2902003702002000410c6a200141086a290200370200410021010c010b200010c20141ff01713a0001410121010b200020013a00000bed0102027f017e230041306b220224002001280204210320012802002101200241106a41bcbec00041e080c00010e90102400240200120032002280210200228021410d7012204a74101710d0041bcbec0002004422088a710e40141002101200241086a41bcbec00041002802bcbe4041d080c00010e80120022002290308370328200241186a200241286a103f024002402002280218450d00200041046a20022903183702002000410c6a200241206a2802003602000c010b200010c20141ff01713a0001410121010b200020013a00000c010b200041013a0000200020044208883c00010b200241306a24000bee0102027f017e230041306b220224002001280204210320012802002101200241106a41bcbec00041e080c00010e90102400240200120032002280210200228021410d7012204a74101710d0041bcbec0002004422088a710e40141002101200241086a41bcbec00041002802bcbe4041d080c00010e80120022002290308370328200241186a200241286a10ed01024002402002280218450d00200041046a20022903183702002000410c6a200241206a2802003602000c010b200010c20141ff01713a0001410121010b200020013a00000c010b200041013a0000200020044208883c00010b200241306a24000b5d01027f230041106b2202240020002802042103200028020021002001280200210141bcbec00010d501200141bcbec000103c200241086a41bcbec00041f080c00010e701200020032002280208200228020c10d601200241106a24000bee0102027f017e230041306b220224002001280204210320012802002101200241106a41bcbec00041e080c00010e90102400240200120032002280210200228021410d7012204a74101710d0041bcbec0002004422088a710e40141002101200241086a41bcbec00041002802bcbe4041d080c00010e80120022002290308370328200241186a200241286a10a101024002402002280218450d00200041046a20022903183702002000410c6a200241206a2802003602000c010b200010c20141ff01713a0001410121010b200020013a00000c010b200041013a0000200020044208883c00010b200241306a24000b7801017f230041206b220224002002200136020c2002200036020841bcbec00010d501200241086a41bcbec00010b601200241106a200241086a10b701200241bcbec00041002802bcbe40419081c00010e801200228020020022802042002280210200228021810da01200241106a1068200241206a24000b5e01027f230041106b2202240020002802042103200028020021002001280200210141bcbec00010d501200141bcbec000109c01200241086a41bcbec00041f080c00010e701200020032002280208200228020c10d601200241106a24000beb0202027f037e230041d0006b220224002001280204210320012802002101200241306a200028020010ee0110b40202400240200228023020022802342001200310db01450d004201210442800a2105420021060c010b024010dc01220141818001490d00200241386a4100200110d001200241286a200241386a10b5022002280228200228022c10dd01200241206a200241386a10b40220022002290320370348200241186a200241c8006a108e012002280218200228021c101722044280807c832106200442807e832105200241386a100c0c010b02402001450d00200241106a41bcbec000418081c00010e9012002280210200228021410dd010b41bcbec000200110e401200241086a41bcbec00041002802bcbe4041d080c00010e801200220022903083703382002200241386a108e0120022802002002280204101722044280807c832106200442807e8321050b200241d0006a240020054280fe0383200684200442ff0183840b3501027e0240024020000d0042002102420021030c010b10c20141ff0171ad4208862103420121020b20022001ad422086842003840b4201017f230041206b22012400200141106a2000280200109801200141086a200141106a10b4022001280208200128020c10d801200141106a100c200141206a24000b4201017f230041206b22012400200141106a200028020010f201200141086a200141106a10b4022001280208200128020c10d901200141106a100c200141206a24000b02000b0c00200010b702200010a9020bad0101017f2000101b0240200041146a2d00004102460d00024020002802102201280200450d002001101b200028021021010b200110ae02101d0b200041186a101b02402000412c6a2d00004102460d00024020002802282201280200450d002001101b200028022821010b200110ae02101d0b200041306a101b0240200041c4006a2d00004102460d00024020002802402201280200450d002001101b200028024021010b200110ae02101d0b0b0b002000410c410410b9010bfe0603077f017e077f230041206b22072400024002402005417f6a220820054b0d002005200128021022096b220a20054b210b2001280214210c2001280208210d2001290300210e034002400240200c20086a220f200c490d000240200f2003490d00200120033602144100210f0c050b200e2002200f6a310000423f8388420183500d01200741186a200d200d200128021c221020061b200d20104b1b200510dd022007280218220f200728021c2211200f20114b1b2112200f2005200f20054b1b2113024002400240024002400240034002402012200f470d00200741106a4100201020061b200d10e002200741086a2007280210200728021410e102200728020c417f6a210f2007280208211202400240024002400240034002402012200f41016a490d00200c20056a220f200c490d022001200f360214024020060d002001410036021c0b2000200c360204200041086a200f3602004101210f0c130b200f20054f0d02200c200f6a2211200c490d03201120034f0d042004200f6a2114200f417f6a210f20142d000041ff0171200220116a2d0000460d000b200c20096a220f200c490d042001200f360214200f210c20060d0f0240200b0d002001200a36021c200f210c0c100b41b082c000412141ac85c00010d202000b41f083c000411c41bc85c00010d202000b200f200541ec84c00010d302000b41f083c000411c41fc84c00010d202000b20112003418c85c00010d302000b41f083c000411c419c85c00010d202000b2013200f460d01200c200f6a2211200c490d02201120034f0d032004200f6a2114200f41016a2215210f20142d000041ff0171200220116a2d0000460d000b2015417f6a2211200d6b220f20114b0d03200f41016a2211200f490d04200c20116a220f200c490d052001200f360214200f210c20060d082001410036021c200f210c0c080b20132005419c84c00010d302000b41f083c000411c41ac84c00010d202000b2011200341bc84c00010d302000b41b082c000412141cc84c00010d202000b41f083c000411c41cc84c00010d202000b41f083c000411c41dc84c00010d202000b41f083c000411c41e083c00010d202000b0240200c20056a220f200c490d002001200f360214200f210c20060d012001410036021c200f210c0c010b0b41f083c000411c418c",
         "84c00010d202000b41b082c000412141d083c00010d202000b2000200f360200200741206a24000b1600024020000d0041cc85c000412b200110d202000b0b5101017f230041106b2203240002402001280200450d0020002001290200370200200041086a200141086a280200360200200341106a24000f0b41f785c000412b200341086a41a486c000200210e202000b7401017f0240200028020822022000280204470d0020004101102e200028020821020b20002802002002410c6c6a22022001290200370200200241086a200141086a28020036020002402000280208220141016a22022001490d00200020023602080f0b41f083c000411c41c087c00010d202000b840101017f0240200028020822022000280204470d0020004101102d200028020821020b2000280200200241186c6a22022001290200370200200241106a200141106a290200370200200241086a200141086a29020037020002402000280208220141016a22022001490d00200020023602080f0b41f083c000411c41c087c00010d202000b4901027f230041106b22032400200341086a2002410010a002200328020821042000200328020c36020420002004360200200420012002108c031a20002002360208200341106a24000b2801017f02402000280208220320014b0d0020012003200210d302000b20002802002001410c6c6a0b17002000108801200041186a108601200041306a1087010b2900200041f087c0004105107c200041186a41f587c0004102107b200041306a41f787c000410a107a0be30201037f230041e0006b22012400200141386a418188c000410610b902200041306a2202200141386a10aa01200141386a418788c000411210ef01200141206a200141386a41e488c0001020200041186a2203200141206a10a80120014200370214200141002802b48640360210200141386a41f488c000410410b902200141106a200141386a1021200141386a41f888c000410310b902200141106a200141386a1021200141206a41fb88c000410210b902200141346a200141106a41086a2802003602002001200129031037022c200310a6012103200141d0006a200210ac0110aa02200141386a41106a200141206a41106a290300370300200141386a41086a200141206a41086a29030037030020012001290320370338200141086a2003200141d0006a200141386a1040200141386a41fd88c000410e10ef01200141d0006a200141386a418c89c00010202000200141d0006a10ab01200141e0006a24000bf42505027f017e027f017e087f23004190036b22012400200141d0006a1026200141d0026a410110c3010240024002400240024002400240024002400240024002400240024020012d00d0024101460d0020014198016a41086a200141e0026a28020022023602002001200141d0026a41086a29030022033703980120012802d4022104200141a8016a41086a2002360200200120033703a801200441afd2efe47d460d02200441c4a58a987e460d0520044180b3f9dc04460d04200441b18693b705460d03200441fcaf8f8f7c460d01200120043602d002200041046a200141d0026a4104102320004100360200200141a8016a101b200141d0006a101c0c0d0b200041023602000c0b0b200141086a200141a8016a10b402200120012903083703e001200141c0026a200141e0016a10ed0102400240024020012802c002450d00200141f0016a41086a2204200141c0026a41086a280200360200200120012903c0023703f001200141d0006a10ad012102200141a0026a41086a22052004280200360200200120012903f0013703a002200141d0026a2002200141a0026a10a40120012802d002450d07200141a0026a41106a200141d0026a41106a22022903003703002005200141d0026a41086a290300370300200120012903d0023703a002200141a0026a410c6a2104200141b4026a280200450d01200141d0026a2004410041ac89c000102410aa02200141d0026a410c6a2004410141bc89c000102410aa020c020b200141d0026a41047241fb88c000410210b902200141d0026a41106a220420012802e00120012802e4011023200141a0026a41086a200141d0026a41086a2903002203370300200141a0026a41106a2004290300220637030020014180026a41086a2204200337030020014180026a41106a2202200637030020014180026a41186a2205200141d0026a41186a280200360200200141013602d002200120012903d00237038002200041186a2005280200360200200041106a2002290300370200200041086a200429030037020020002001290380023702000c0b0b20024200370300200142003702d402200141002802bc864022023602dc02200120023602d0020b200141a0026a101b200410302004106a200141d0026a105020004103360200200141d0026a101b200141dc026a101b0c090b200141186a200141a8016a10b402200120012903183703c001200141c0026a200141c0016a10ed01024002400240024020012802c002450d00200141d0016a41086a200141c0026a41086a2204280200360200200120012903c0023703d001200141c0026a200141c0016a10ed0120012802c002450d01200141e0016a41086a2004280200360200200120012903c0023703e001200141c0026a200141c0016a10ed0120012802c002450d02200141f0016a41086a2205200141c0026a41086a2204280200360200200120012903c0023703f0012004200141d0016a41086a280200360200200120012903d0013703c0022001420037028402200141002802b4864036028002200141d0026a41086a2202200141e0016a41086a280200360200200120012903e0013703d00220014180026a200141d0026a102120022005280200360200200120012903f0013703d00220014180026a200141d0026a1021200141a0026a41086a22052004280200360200200141b4026a20014180026a41086a280200360200200120012903c0023703a00220012001290380023702ac02200141d0006a10a7012104200141d0026a41106a200141a0026a41106a29030037030020022005290300370300200120012903a0023703d002200141106a2004200141d0026a10a20120012802142104200128021041cc89c000101f2004103b200120043602d002200141d0006a1025200141d0026a1051200041033602000c0c0b200141d0026a41047241fb88c000410210b902200141d0026a41106a220420012802c00120012802c4011023200141a0026a41086a200141d0026a41086a2903002203370300200141a0026a41106a2004290300220637030020014180026a41086a2204200337030020014180026a41106a2202200637030020014180026a41186a2205200141d0026a41186a280200360200200141013602d002200120012903d00237038002200041186a2005280200360200200041106a2002290300370200200041086a200429030037020020002001290380023702000c0b0b200141d0026a41047241f488c000410410b902200141d0026a41106a220420012802c00120012802c4011023200141a0026a41086a200141d0026a41086a2903002203370300200141a0026a41106a2004290300220637030020014180026a41086a2204200337030020014180026a41106a2202200637030020014180026a41186a2205200141d0026a41186a280200360200200141013602d002200120012903d00237038002200041186a2005280200360200200041106a2002290300370200200041086a200429030037020020002001290380023702000c010b200141d0026a41047241f888c000410310b902200141d0026a41106a220420012802c00120012802c4011023200141a0026a41086a200141d0026a41086a2903002203370300200141a0026a41106a2004290300220637030020014180026a41086a2204200337030020014180026a41106a2202200637030020014180026a41186a2205200141d0026a41186a280200360200200141013602d002200120012903d00237038002200041186a2005280200360200200041106a2002290300370200200041086a20042903003702002000200129038002370200200141e0016a101b0b200141d0016a101b0c080b200141286a200141a8016a10b402200120012903283703b801200141c0026a200141b8016a10ed01024002400240024020012802c002450d00200141c0016a41086a200141c0026a41086a2204280200360200200120012903c0023703c001200141c0026a200141b8016a10ed0120012802c002450d01200141d0016a41086a2004280200360200200120012903c0023703d001200141c0026a200141b8016a10ed0120012802c002450d02200141e0016a41086a2202200141c0026a41086a2204280200360200200120012903c0023703e001200141f0016a41086a2205200141c0016a41086a280200360200200120012903c0013703f0012004200141d0016a41086a280200360200200120012903d0013703c0022001420037028402200141002802b4864036028002200141d0026a41f488c000410410b902200141e4026a22072004280200360200200120012903c0023702dc0220014180026a200141d0026a1022200141d0026a41f888c000410310b90220072002280200360200200120012903e0013702dc0220014180026a200141d0026a1022200141d0006a10a7012104200141a0026a41086a2005280200360200200120012903f0013703a002200141d0026a41086a20014180026a41086a28020036020020012001290380023703d002200141206a2004200141a0026a200141d0026a10a50120012802242104200128022041dc89c000101f20041039200120043602d002200141d0006a1025200141d0026a1051200041033602000c0b0b200141d0026a41047241fb88c000410210b902200141d0026a41106a220420012802b80120012802bc011023200141a0026a41086a200141d0026a41086a2903002203370300200141a0026a41106a2004290300220637030020014180026a41086a2204200337030020014180026a41106a2202200637030020014180026a41186a2205200141d0026a41186a280200360200200141013602d002200120012903d00237038002200041186a2005280200360200200041106a2002290300370200200041086a200429030037020020002001290380023702000c0a0b200141d0026a41047241f488c000410410b902200141d0026a41106a220420012802b80120012802bc011023200141a0026a41086a200141d0026a41086a2903002203370300200141a0026a41106a2004290300220637030020014180026a41086a2204200337030020014180026a41106a2202200637030020014180026a41186a2205200141d0026a41186a280200360200200141013602d002200120012903d00237038002200041186a2005280200360200200041106a2002290300370200200041086a200429030037020020002001290380023702000c010b200141d0026a41047241f888c000410310b902200141d0026a41106a220420012802b80120012802bc011023200141a0026a41086a200141d0026a41086a2903002203370300200141a0",
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.contract;
+
+import org.fisco.bcos.sdk.demo.perf.collector.PhaseTracer;
+import org.fisco.bcos.sdk.demo.perf.runner.SenderPool;
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
+import org.fisco.bcos.sdk.v3.contract.Contract;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.fisco.bcos.sdk.v3.transaction.manager.TransactionProcessor;
+
+/**
+ * Base of the wrappers driven by the perf demos. Transactions sampled by {@link PhaseTracer} are
+ * sent through the same encode, sign and push steps as {@link Contract}, with each step timed.
+ *
+ * <p>With a {@link SenderPool}, the default one of {@code -Dperf.senders} or {@link #setSenders},
+ * every asynchronous or pre-signed transaction is signed by the next sender of the pool instead of
+ * the credential of the wrapper. Synchronous transactions, e.g. of the setup, keep the credential.
+ */
+public abstract class TracedContract extends Contract {
+    private volatile SenderPool senders;
+
+    protected TracedContract(
+            String contractBinary,
+            String contractAddress,
+            Client client,
+            CryptoKeyPair credential,
+            TransactionProcessor transactionProcessor) {
+        super(contractBinary, contractAddress, client, credential, transactionProcessor);
+        this.senders = SenderPool.getDefault(client.getCryptoSuite());
+    }
+
+    protected TracedContract(
+            String contractBinary,
+            String contractAddress,
+            Client client,
+            CryptoKeyPair credential) {
+        super(contractBinary, contractAddress, client, credential);
+        this.senders = SenderPool.getDefault(client.getCryptoSuite());
+    }
+
+    public SenderPool getSenders() {
+        return senders;
+    }
+
+    /** @param senders null to sign with the credential of this wrapper */
+    public void setSenders(SenderPool senders) {
+        this.senders = senders;
+    }
+
+    @Override
+    protected String asyncExecuteTransaction(Function function, TransactionCallback callback) {
+        PhaseTracer.Trace trace = PhaseTracer.getInstance().sample();
+        SenderPool pool = senders;
+        if (trace == null && pool == null) {
+            return super.asyncExecuteTransaction(function, callback);
+        }
+        CryptoKeyPair sender = pool == null ? credential : pool.next();
+        byte[] data = functionEncoder.encode(function);
+        int attribute =
+                generateTxAttributeWithDagFlag(
+                        function.getName(), function.getTransactionAttribute());
+        if (trace == null) {
+            return transactionProcessor.sendTransactionAsync(
+                    contractAddress, data, sender, attribute, callback);
+        }
+        trace.mark(PhaseTracer.Phase.ENCODE);
+        TxPair txPair =
+                transactionProcessor.createSignedTransaction(
+                        contractAddress, data, sender, attribute);
+        trace.mark(PhaseTracer.Phase.SIGN);
+        client.sendTransactionAsync(txPair.getSignedTx(), false, trace.push(callback));
+        trace.pushed();
+        return txPair.getTxHash();
+    }
+
+    @Override
+    protected String createSignedTransaction(Function function) {
+        SenderPool pool = senders;
+        if (pool == null) {
+            return super.createSignedTransaction(function);
+        }
+        int attribute =
+                generateTxAttributeWithDagFlag(
+                        function.getName(), function.getTransactionAttribute());
+        return transactionProcessor
+                .createSignedTransaction(
+                        contractAddress, functionEncoder.encode(function), pool.next(), attribute)
+                .getSignedTx();
+    }
+}
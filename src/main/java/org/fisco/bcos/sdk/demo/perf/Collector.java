@@ -13,8 +13,20 @@
  */
 package org.fisco.bcos.sdk.demo.perf;
 
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.CollectorReport;
+import org.fisco.bcos.sdk.demo.perf.collector.Dashboard;
+import org.fisco.bcos.sdk.demo.perf.collector.ErrorBreakdown;
+import org.fisco.bcos.sdk.demo.perf.collector.LatencyHistogram;
+import org.fisco.bcos.sdk.demo.perf.collector.MetricsServer;
+import org.fisco.bcos.sdk.demo.perf.collector.MetricsSource;
+import org.fisco.bcos.sdk.demo.perf.collector.RunInstrumentation;
+import org.fisco.bcos.sdk.demo.perf.collector.TimeSeriesRecorder;
+import org.fisco.bcos.sdk.demo.perf.collector.WarmupTracker;
+import org.fisco.bcos.sdk.demo.perf.result.RunResult;
 import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
 import org.fisco.bcos.sdk.v3.model.PrecompiledRetCode;
 import org.fisco.bcos.sdk.v3.model.RetCode;
@@ -25,20 +37,24 @@ import org.slf4j.LoggerFactory;
 
 public class Collector {
     private static Logger logger = LoggerFactory.getLogger(Collector.class);
-    private AtomicLong less50 = new AtomicLong(0);
-    private AtomicLong less100 = new AtomicLong(0);
-    private AtomicLong less200 = new AtomicLong(0);
-    private AtomicLong less400 = new AtomicLong(0);
-    private AtomicLong less1000 = new AtomicLong(0);
-    private AtomicLong less2000 = new AtomicLong(0);
-    private AtomicLong timeout2000 = new AtomicLong(0);
-    private AtomicLong totalCost = new AtomicLong(0);
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram responseLatency = new LatencyHistogram();
+    private double[] percentiles = CollectorReport.DEFAULT_PERCENTILES;
+    private WarmupTracker warmup = WarmupTracker.fromSystemProperty();
 
     private Integer total = 0;
     private AtomicInteger received = new AtomicInteger(0);
 
     private AtomicInteger error = new AtomicInteger(0);
     private Long startTimestamp = System.currentTimeMillis();
+    private final LongAdder sent = new LongAdder();
+    private Dashboard dashboard = null;
+    private final ErrorBreakdown errorBreakdown = new ErrorBreakdown();
+    private final RunInstrumentation instrumentation;
+
+    public Collector() {
+        instrumentation = new RunInstrumentation("Collector", metricsSource());
+    }
 
     public Integer getTotal() {
         return total;
@@ -60,31 +76,155 @@ public class Collector {
         return error;
     }
 
+    /** Counts a request handed to the SDK, for the send rate of the time series. */
+    public void onSent() {
+        sent.increment();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    /**
+     * Starts sampling this collector every second into {@code file}, see {@link
+     * TimeSeriesRecorder}. Without an explicit call, {@link #setStartTimestamp(Long)} starts it
+     * when {@code -Dperf.timeSeries} is set.
+     */
+    public void startTimeSeries(String file) {
+        instrumentation.startTimeSeries(file);
+    }
+
+    public void stopTimeSeries() {
+        instrumentation.stopTimeSeries();
+    }
+
+    /**
+     * Writes the outcome of the run to {@code file} at the report, see {@link RunResult}. Without
+     * an explicit call, {@link #setStartTimestamp(Long)} sets it when {@code -Dperf.result} is set.
+     */
+    public void setResultFile(String file) {
+        instrumentation.setResultFile(file);
+    }
+
+    /**
+     * Shows the progress of this collector on one live status line until {@link #report()}, see
+     * {@link Dashboard}. Off with {@code -Dperf.dashboard=false}.
+     */
+    public synchronized void startDashboard(String name) {
+        if (dashboard != null) {
+            return;
+        }
+        dashboard = Dashboard.fromSystemProperty(name, metricsSource(), () -> total);
+        dashboard.start();
+    }
+
+    public synchronized void stopDashboard() {
+        if (dashboard != null) {
+            dashboard.stop();
+            dashboard = null;
+        }
+    }
+
+    private MetricsSource metricsSource() {
+        return new MetricsSource() {
+            @Override
+            public long getSent() {
+                return sent.sum();
+            }
+
+            @Override
+            public long getReceived() {
+                return latency.getTotalCount() + warmup.getMessages();
+            }
+
+            @Override
+            public long getErrors() {
+                return error.get() + warmup.getError().get();
+            }
+
+            @Override
+            public void addLatency(LatencyHistogram into) {
+                into.add(latency);
+                into.add(warmup.getLatency());
+            }
+
+            @Override
+            public void addResponseLatency(LatencyHistogram into) {
+                into.add(responseLatency);
+                into.add(warmup.getResponseLatency());
+            }
+
+            @Override
+            public Map<String, Long> getErrorCounts() {
+                return errorBreakdown.getCounts();
+            }
+        };
+    }
+
+    /** @return service time: from the actual send to the response */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /** @return response time: from the intended send time to the response, open-loop only */
+    public LatencyHistogram getResponseLatency() {
+        return responseLatency;
+    }
+
+    public void setPercentiles(double... percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public ErrorBreakdown getErrorBreakdown() {
+        return errorBreakdown;
+    }
+
+    public WarmupTracker getWarmup() {
+        return warmup;
+    }
+
+    /** Replaces the warmup taken from {@code -Dperf.warmup}. */
+    public void setWarmup(WarmupTracker warmup) {
+        this.warmup = warmup;
+    }
+
+    /** @param cost request latency in nanoseconds, see {@link System#nanoTime()} */
     public void onRpcMessage(JsonRpcResponse response, Long cost) {
         try {
-            boolean errorMessage = false;
+            String cause = null;
             if (response.getError() != null && response.getError().getCode() != 0) {
                 logger.warn("receive error jsonRpcResponse: {}", response);
-                errorMessage = true;
+                cause = ErrorBreakdown.classify(response.getError());
             }
-            stat(errorMessage, cost);
+            stat(cause, cause != null, cost, null);
         } catch (Exception e) {
             logger.error("onRpcMessage exception: {}", e.getMessage());
         }
     }
 
+    /** @param cost transaction latency in nanoseconds, see {@link System#nanoTime()} */
     public void onMessage(TransactionReceipt receipt, Long cost) {
+        onMessage(receipt, cost, null);
+    }
+
+    /**
+     * @param cost service time in nanoseconds
+     * @param responseTime nanoseconds since the intended send time, see {@link
+     *     org.fisco.bcos.sdk.demo.perf.runner.OpenLoopScheduler}
+     */
+    public void onMessage(TransactionReceipt receipt, Long cost, Long responseTime) {
         try {
-            boolean errorMessage = false;
+            BlockObserver.onReceipt(receipt, cost);
+            String cause = null;
             if (!receipt.isStatusOK()) {
                 logger.error(
                         "error receipt, status: {}, output: {}, message: {}",
                         receipt.getStatus(),
                         receipt.getOutput(),
                         receipt.getMessage());
-                errorMessage = true;
+                cause = ErrorBreakdown.classify(receipt);
             }
-            stat(errorMessage, cost);
+            stat(cause, cause != null, cost, responseTime);
         } catch (Exception e) {
             logger.error("error:", e);
         }
@@ -92,13 +232,13 @@ public class Collector {
 
     public void onPrecompiledMessage(RetCode retCode, Long cost) {
         try {
-            boolean errorMessage = false;
+            String cause = null;
             if (retCode.getCode() != PrecompiledRetCode.CODE_SUCCESS.code) {
                 logger.error(
                         "error retCode, code: {}, message: {}", retCode.code, retCode.getMessage());
-                errorMessage = true;
+                cause = ErrorBreakdown.classify(retCode);
             }
-            stat(errorMessage, cost);
+            stat(cause, cause != null, cost, null);
         } catch (Exception e) {
             logger.error("error:", e);
         }
@@ -106,112 +246,102 @@ public class Collector {
 
     public void onAuthCheckMessage(TransactionReceipt receipt, Long cost) {
         try {
-            boolean errorMessage = false;
+            BlockObserver.onReceipt(receipt, cost);
             if (!receipt.isStatusOK()) {
-                if (receipt.getStatus() == TransactionReceiptStatus.PermissionDenied.code) {
-                    stat(false, cost);
-                    return;
+                // the auth tests expect the denial, count it apart rather than as a success
+                boolean errorMessage =
+                        receipt.getStatus() != TransactionReceiptStatus.PermissionDenied.code;
+                if (errorMessage) {
+                    logger.error(
+                            "error receipt, status: {}, output: {}, message: {}",
+                            receipt.getStatus(),
+                            receipt.getOutput(),
+                            receipt.getMessage());
                 }
-                logger.error(
-                        "error receipt, status: {}, output: {}, message: {}",
-                        receipt.getStatus(),
-                        receipt.getOutput(),
-                        receipt.getMessage());
-                errorMessage = true;
+                stat(ErrorBreakdown.classify(receipt), errorMessage, cost, null);
+                return;
             }
-            stat(errorMessage, cost);
+            stat(null, false, cost, null);
         } catch (Exception e) {
             logger.error("error:", e);
         }
     }
 
+    /** @param cost latency in nanoseconds */
     public void stat(boolean errorMessage, Long cost) {
+        stat(errorMessage, cost, null);
+    }
+
+    public void stat(boolean errorMessage, Long cost, Long responseTime) {
+        stat(errorMessage ? ErrorBreakdown.UNCLASSIFIED : null, errorMessage, cost, responseTime);
+    }
+
+    /**
+     * @param cause the {@link ErrorBreakdown} cause of a failed or otherwise notable response, null
+     *     for a plain success
+     */
+    private void stat(String cause, boolean errorMessage, Long cost, Long responseTime) {
+        if (warmup.record(startTimestamp, errorMessage, cost, responseTime)) {
+            return;
+        }
         if (errorMessage) {
             error.addAndGet(1);
         }
-
-        if (cost < 50) {
-            less50.incrementAndGet();
-        } else if (cost < 100) {
-            less100.incrementAndGet();
-        } else if (cost < 200) {
-            less200.incrementAndGet();
-        } else if (cost < 400) {
-            less400.incrementAndGet();
-        } else if (cost < 1000) {
-            less1000.incrementAndGet();
-        } else if (cost < 2000) {
-            less2000.incrementAndGet();
-        } else {
-            timeout2000.incrementAndGet();
+        if (cause != null) {
+            errorBreakdown.record(cause, errorMessage, cost);
+        }
+        latency.record(cost);
+        if (responseTime != null) {
+            responseLatency.record(responseTime);
         }
-
-        totalCost.addAndGet(cost);
     }
 
     public void report() {
+        stopDashboard();
+        stopTimeSeries();
         System.out.println("total");
 
-        long totalTime = System.currentTimeMillis() - startTimestamp;
+        long endTimestamp = System.currentTimeMillis();
+        long totalTime = endTimestamp - warmup.getMeasureStart(startTimestamp);
+        long measured = total - warmup.getMessages();
 
         System.out.println("===================================================================");
 
-        System.out.println("Total transactions:  " + total);
+        System.out.println("Total transactions:  " + measured);
         System.out.println("Total time: " + totalTime + "ms");
-        System.out.println("TPS(include error requests): " + total / ((double) totalTime / 1000));
+        System.out.println(
+                "TPS(include error requests): " + measured / ((double) totalTime / 1000));
         System.out.println(
                 "TPS(exclude error requests): "
-                        + (total - error.get()) / ((double) totalTime / 1000));
-        System.out.println("Avg time cost: " + totalCost.get() / total + "ms");
+                        + (measured - error.get()) / ((double) totalTime / 1000));
         System.out.println("Errors: " + error.get());
-
-        System.out.println("Time area:");
-        System.out.println(
-                "0    < time <  50ms   : "
-                        + less50
-                        + "  : "
-                        + (double) less50.get() / total * 100
-                        + "%");
-        System.out.println(
-                "50   < time <  100ms  : "
-                        + less100
-                        + "  : "
-                        + (double) less100.get() / total * 100
-                        + "%");
-        System.out.println(
-                "100  < time <  200ms  : "
-                        + less200
-                        + "  : "
-                        + (double) less200.get() / total * 100
-                        + "%");
-        System.out.println(
-                "200  < time <  400ms  : "
-                        + less400
-                        + "  : "
-                        + (double) less400.get() / total * 100
-                        + "%");
-        System.out.println(
-                "400  < time <  1000ms : "
-                        + less1000
-                        + "  : "
-                        + (double) less1000.get() / total * 100
-                        + "%");
-        System.out.println(
-                "1000 < time <  2000ms : "
-                        + less2000
-                        + "  : "
-                        + (double) less2000.get() / total * 100
-                        + "%");
-        System.out.println(
-                "2000 < time           : "
-                        + timeout2000
-                        + "  : "
-                        + (double) timeout2000.get() / total * 100
-                        + "%");
+        errorBreakdown.report();
+        CollectorReport.printLatency(latency, responseLatency, percentiles);
+        instrumentation.report(
+                warmup.getMeasureStart(startTimestamp),
+                endTimestamp,
+                getSent() - warmup.getMessages(),
+                measured);
+        warmup.report(startTimestamp, percentiles);
+        instrumentation.writeResult(
+                warmup.getMeasureStart(startTimestamp),
+                measured,
+                error.get(),
+                totalTime,
+                latency,
+                responseLatency,
+                percentiles,
+                errorBreakdown.getCounts());
     }
 
     public void setStartTimestamp(Long startTimestamp) {
         this.startTimestamp = startTimestamp;
+        instrumentation.onStart();
+    }
+
+    /** Exposes this collector on the {@link MetricsServer}, if one is running. */
+    public void registerMetrics() {
+        instrumentation.registerMetrics();
     }
 
     public Long getStartTimestamp() {
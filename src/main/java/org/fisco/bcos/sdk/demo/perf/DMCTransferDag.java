@@ -22,10 +22,13 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.fisco.bcos.sdk.demo.contract.DmcTransfer;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
+import org.fisco.bcos.sdk.demo.perf.runner.DriverThreadPool;
+import org.fisco.bcos.sdk.demo.perf.runner.InFlightWindow;
+import org.fisco.bcos.sdk.demo.perf.runner.OpenLoopScheduler;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
@@ -41,7 +44,7 @@ public class DMCTransferDag {
         System.out.println(" Usage:");
         System.out.println("===== Executor Single Contract Integration Test===========");
         System.out.println(
-                " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.DMCTransferDag [groupId] [startNodeNum] [count] [qps] [allowRevert].");
+                " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.DMCTransferDag [groupId] [startNodeNum] [count] [qps] [allowRevert] [maxInFlight(optional)] [targetLatencyMs(optional)].");
     }
 
     private static final Long INIT_BALANCE = 0L;
@@ -59,7 +62,7 @@ public class DMCTransferDag {
                 Usage();
                 return;
             }
-            if (args.length > 5) {
+            if (args.length > 7) {
                 System.out.println("Please set the parameters as specified!");
                 return;
             }
@@ -69,16 +72,30 @@ public class DMCTransferDag {
             Integer count = Integer.valueOf(args[2]);
             Integer qps = Integer.valueOf(args[3]);
             boolean allowRevert = Boolean.valueOf(args[4]);
+            int maxInFlight = args.length > 5 ? Integer.valueOf(args[5]) : 0;
+            long targetLatencyMs = args.length > 6 ? Long.valueOf(args[6]) : 0;
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
 
             ThreadPoolService threadPoolService =
-                    new ThreadPoolService(
+                    new DriverThreadPool(
                             "ExecutorDagContractClient",
                             Runtime.getRuntime().availableProcessors());
 
-            start(sdk, groupId, startNodeNum, count, qps, allowRevert, threadPoolService);
+            ResourceProfiler.registerExecutor(
+                    "ExecutorDagContractClient", threadPoolService.getThreadPool());
+
+            start(
+                    sdk,
+                    groupId,
+                    startNodeNum,
+                    count,
+                    qps,
+                    allowRevert,
+                    InFlightWindow.create(maxInFlight, targetLatencyMs),
+                    threadPoolService);
             threadPoolService.getThreadPool().awaitTermination(0, TimeUnit.SECONDS);
             System.exit(0);
         } catch (Exception e) {
@@ -94,6 +111,7 @@ public class DMCTransferDag {
             Integer count,
             Integer qps,
             boolean allowRevert,
+            InFlightWindow window,
             ThreadPoolService threadPoolService)
             throws IOException, InterruptedException, ContractException {
         System.out.println(
@@ -105,6 +123,7 @@ public class DMCTransferDag {
                         + ", groupId: "
                         + groupId);
         RateLimiter limiter = RateLimiter.create(qps.intValue());
+        OpenLoopScheduler scheduler = new OpenLoopScheduler(qps.intValue());
         DmcTransfer[] contracts = new DmcTransfer[startNodeNum + 5];
         // List<String> contractsAddr = new ArrayList<>();
         String[] contractsAddr = new String[startNodeNum + 5];
@@ -171,43 +190,27 @@ public class DMCTransferDag {
         System.out.println("Create contract and generate call relationship finished!");
 
         System.out.println("Sending transactions...");
-        ProgressBar sendedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar errorBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Errors :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch transactionLatch = new CountDownLatch(count);
         AtomicLong totalCost = new AtomicLong(0);
         Collector collector = new Collector();
         collector.setTotal(count);
+        collector.startDashboard("DMCTransferDag");
         final Random random = new Random();
         AtomicInteger expectBalance = new AtomicInteger(0);
 
+        window.startMonitor(1000);
         for (int i = 0; i < count; ) {
             for (int j = 0; j < startNodeNum && i < count; ++j) {
                 int finalJ = j;
+                final long intendedStartTime = scheduler.acquire();
+                window.acquire();
                 threadPoolService
                         .getThreadPool()
                         .execute(
                                 new Runnable() {
                                     @Override
                                     public void run() {
-                                        limiter.acquire();
-                                        long now = System.currentTimeMillis();
+                                        long now = System.nanoTime();
                                         contracts[finalJ].takeShare(
                                                 BigInteger.valueOf(9),
                                                 allowRevert,
@@ -215,31 +218,30 @@ public class DMCTransferDag {
                                                     @Override
                                                     public void onResponse(
                                                             TransactionReceipt receipt) {
-                                                        long cost =
-                                                                System.currentTimeMillis() - now;
-                                                        collector.onMessage(receipt, cost);
+                                                        long end = System.nanoTime();
+                                                        long cost = end - now;
+                                                        window.release(cost);
+                                                        collector.onMessage(
+                                                                receipt,
+                                                                cost,
+                                                                end - intendedStartTime);
 
-                                                        receivedBar.step();
-                                                        if (!receipt.isStatusOK()) {
-                                                            errorBar.step();
-                                                        }
                                                         transactionLatch.countDown();
                                                         totalCost.addAndGet(
-                                                                System.currentTimeMillis() - now);
+                                                                System.nanoTime() - now);
                                                         expectBalance.addAndGet(9);
                                                     }
                                                 });
-                                        sendedBar.step();
+                                        collector.onSent();
                                     }
                                 });
                 ++i;
             }
         }
         transactionLatch.await();
-        sendedBar.close();
-        receivedBar.close();
-        errorBar.close();
+        window.stop();
         collector.report();
+        window.report(60);
 
         System.out.println("Sending transactions finished!");
 
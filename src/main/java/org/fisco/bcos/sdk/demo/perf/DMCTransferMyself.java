@@ -23,10 +23,11 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.fisco.bcos.sdk.demo.contract.DmcTransfer;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
+import org.fisco.bcos.sdk.demo.perf.runner.OpenLoopScheduler;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
@@ -73,12 +74,16 @@ public class DMCTransferMyself {
 
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
 
             ThreadPoolService threadPoolService =
                     new ThreadPoolService(
                             "DMCTransferMyselfClient", Runtime.getRuntime().availableProcessors());
 
+            ResourceProfiler.registerExecutor(
+                    "DMCTransferMyselfClient", threadPoolService.getThreadPool());
+
             start(sdk, groupId, contractsNum, count, qps, allowRevert, threadPoolService);
             threadPoolService.getThreadPool().awaitTermination(0, TimeUnit.SECONDS);
             System.exit(0);
@@ -106,6 +111,7 @@ public class DMCTransferMyself {
                         + ", groupId: "
                         + groupId);
         RateLimiter limiter = RateLimiter.create(qps.intValue());
+        OpenLoopScheduler scheduler = new OpenLoopScheduler(qps.intValue());
 
         DmcTransfer[] contracts = new DmcTransfer[contractsNum];
         final Random random = new Random();
@@ -168,34 +174,16 @@ public class DMCTransferMyself {
         System.out.println("Create contract and generate call relationship finished!");
 
         System.out.println("Sending transactions...");
-        ProgressBar sendedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar errorBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Errors :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch transactionLatch = new CountDownLatch(count);
         AtomicLong totalCost = new AtomicLong(0);
         AtomicInteger expectBalance = new AtomicInteger(0);
 
         Collector collector = new Collector();
         collector.setTotal(count);
+        collector.startDashboard("DMCTransferMyself");
         for (int i = 0; i < count; ) {
             for (int j = 0; j < contractsNum && i < count; ++j, ++i) {
-                limiter.acquire();
+                final long intendedStartTime = scheduler.acquire();
                 final int index = j;
                 threadPoolService
                         .getThreadPool()
@@ -204,7 +192,7 @@ public class DMCTransferMyself {
                                     @Override
                                     public void run() {
                                         // DmcTransfer contract = contracts[index];
-                                        long now = System.currentTimeMillis();
+                                        long now = System.nanoTime();
                                         contracts[index].takeShare(
                                                 BigInteger.valueOf(2),
                                                 allowRevert,
@@ -212,21 +200,20 @@ public class DMCTransferMyself {
                                                     @Override
                                                     public void onResponse(
                                                             TransactionReceipt receipt) {
-                                                        long cost =
-                                                                System.currentTimeMillis() - now;
-                                                        collector.onMessage(receipt, cost);
-                                                        receivedBar.step();
-                                                        if (!receipt.isStatusOK()) {
-                                                            errorBar.step();
-                                                        }
+                                                        long end = System.nanoTime();
+                                                        long cost = end - now;
+                                                        collector.onMessage(
+                                                                receipt,
+                                                                cost,
+                                                                end - intendedStartTime);
                                                         transactionLatch.countDown();
                                                         totalCost.addAndGet(
-                                                                System.currentTimeMillis() - now);
+                                                                System.nanoTime() - now);
                                                         expectBalance.addAndGet(2);
                                                     }
                                                 });
 
-                                        sendedBar.step();
+                                        collector.onSent();
                                     }
                                 });
             }
@@ -234,9 +221,6 @@ public class DMCTransferMyself {
         transactionLatch.await();
 
         System.out.println("Sending transactions finished!");
-        sendedBar.close();
-        receivedBar.close();
-        errorBar.close();
         collector.report();
 
         AtomicInteger total = new AtomicInteger();
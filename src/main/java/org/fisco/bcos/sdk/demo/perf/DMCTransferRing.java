@@ -22,10 +22,11 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.fisco.bcos.sdk.demo.contract.DmcTransfer;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
+import org.fisco.bcos.sdk.demo.perf.runner.OpenLoopScheduler;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
@@ -72,7 +73,8 @@ public class DMCTransferRing {
 
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
             if (nodeNum < 2) {
                 System.out.println(
                         "The number of nodes is too small to form a star network, and a larger number of nodes is required! ");
@@ -83,6 +85,9 @@ public class DMCTransferRing {
                     new ThreadPoolService(
                             "DMCTransferRingClient", Runtime.getRuntime().availableProcessors());
 
+            ResourceProfiler.registerExecutor(
+                    "DMCTransferRingClient", threadPoolService.getThreadPool());
+
             start(sdk, groupId, nodeNum, count, qps, allowRevert, threadPoolService);
             threadPoolService.getThreadPool().awaitTermination(0, TimeUnit.SECONDS);
             System.exit(0);
@@ -110,6 +115,7 @@ public class DMCTransferRing {
                         + ", groupId: "
                         + groupId);
         RateLimiter limiter = RateLimiter.create(qps.intValue());
+        OpenLoopScheduler scheduler = new OpenLoopScheduler(qps.intValue());
         DmcTransfer[] contracts = new DmcTransfer[nodeNum];
         String[] contractsAddr = new String[nodeNum];
 
@@ -215,29 +221,11 @@ public class DMCTransferRing {
         System.out.println("Create contract and generate call relationship finished!");
 
         System.out.println("Sending transactions...");
-        ProgressBar sendedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar errorBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Errors :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch transactionLatch = new CountDownLatch(count);
         AtomicLong totalCost = new AtomicLong(0);
         Collector collector = new Collector();
         collector.setTotal(count);
+        collector.startDashboard("DMCTransferRing");
         final Random random = new Random();
         random.setSeed(System.currentTimeMillis());
 
@@ -248,14 +236,14 @@ public class DMCTransferRing {
                 if (j == 0) {
                     index = 0;
                     int finalI = i;
+                    final long intendedStartTime = scheduler.acquire();
                     threadPoolService
                             .getThreadPool()
                             .execute(
                                     new Runnable() {
                                         @Override
                                         public void run() {
-                                            limiter.acquire();
-                                            long now = System.currentTimeMillis();
+                                            long now = System.nanoTime();
                                             // System.out.println("the tx num is " + finalI + ",
                                             // index is " + index);
                                             contracts[index].takeShare(
@@ -265,35 +253,31 @@ public class DMCTransferRing {
                                                         @Override
                                                         public void onResponse(
                                                                 TransactionReceipt receipt) {
-                                                            long cost =
-                                                                    System.currentTimeMillis()
-                                                                            - now;
-                                                            collector.onMessage(receipt, cost);
-                                                            receivedBar.step();
-                                                            if (!receipt.isStatusOK()) {
-                                                                errorBar.step();
-                                                                // System.out.println(receipt.getStatus());
-                                                            }
+                                                            long end = System.nanoTime();
+                                                            long cost = end - now;
+                                                            collector.onMessage(
+                                                                    receipt,
+                                                                    cost,
+                                                                    end - intendedStartTime);
                                                             transactionLatch.countDown();
                                                             totalCost.addAndGet(
-                                                                    System.currentTimeMillis()
-                                                                            - now);
+                                                                    System.nanoTime() - now);
                                                         }
                                                     });
-                                            sendedBar.step();
+                                            collector.onSent();
                                         }
                                     });
                 } else {
                     index = nodeNum - 1;
                     int finalI = i;
+                    final long intendedStartTime = scheduler.acquire();
                     threadPoolService
                             .getThreadPool()
                             .execute(
                                     new Runnable() {
                                         @Override
                                         public void run() {
-                                            limiter.acquire();
-                                            long now = System.currentTimeMillis();
+                                            long now = System.nanoTime();
                                             // System.out.println("the tx num is " + finalI + ",
                                             // index is " + index);
                                             contracts[index].takeShare(
@@ -303,31 +287,24 @@ public class DMCTransferRing {
                                                         @Override
                                                         public void onResponse(
                                                                 TransactionReceipt receipt) {
-                                                            long cost =
-                                                                    System.currentTimeMillis()
-                                                                            - now;
-                                                            collector.onMessage(receipt, cost);
-                                                            receivedBar.step();
-                                                            if (!receipt.isStatusOK()) {
-                                                                errorBar.step();
-                                                                // System.out.println(receipt.getStatus());
-                                                            }
+                                                            long end = System.nanoTime();
+                                                            long cost = end - now;
+                                                            collector.onMessage(
+                                                                    receipt,
+                                                                    cost,
+                                                                    end - intendedStartTime);
                                                             transactionLatch.countDown();
                                                             totalCost.addAndGet(
-                                                                    System.currentTimeMillis()
-                                                                            - now);
+                                                                    System.nanoTime() - now);
                                                         }
                                                     });
-                                            sendedBar.step();
+                                            collector.onSent();
                                         }
                                     });
                 }
             }
         }
         transactionLatch.await();
-        sendedBar.close();
-        receivedBar.close();
-        errorBar.close();
         collector.report();
         System.out.println("Sending transactions finished!");
 
@@ -22,10 +22,11 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.fisco.bcos.sdk.demo.contract.DmcTransfer;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
+import org.fisco.bcos.sdk.demo.perf.runner.OpenLoopScheduler;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
@@ -72,7 +73,8 @@ public class DMCTransferStar {
 
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
             String userAddr = sdk.getConfig().getAccountConfig().getAccountAddress();
             if (nodeNum < 3) {
                 System.out.println(
@@ -84,6 +86,9 @@ public class DMCTransferStar {
                     new ThreadPoolService(
                             "DMCTransferStarClient", Runtime.getRuntime().availableProcessors());
 
+            ResourceProfiler.registerExecutor(
+                    "DMCTransferStarClient", threadPoolService.getThreadPool());
+
             start(sdk, groupId, nodeNum, count, qps, allowRevert, threadPoolService);
             threadPoolService.getThreadPool().awaitTermination(0, TimeUnit.SECONDS);
             System.exit(0);
@@ -111,6 +116,7 @@ public class DMCTransferStar {
                         + ", groupId: "
                         + groupId);
         RateLimiter limiter = RateLimiter.create(qps.intValue());
+        OpenLoopScheduler scheduler = new OpenLoopScheduler(qps.intValue());
         DmcTransfer[] contracts = new DmcTransfer[nodeNum];
         String[] contractsAddr = new String[nodeNum];
 
@@ -171,36 +177,18 @@ public class DMCTransferStar {
         System.out.println("Create contract and generate call relationship finished!");
 
         System.out.println("Sending transactions...");
-        ProgressBar sendedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar errorBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Errors :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch transactionLatch = new CountDownLatch(count);
         AtomicLong totalCost = new AtomicLong(0);
         AtomicInteger expectBalance = new AtomicInteger(0);
         Collector collector = new Collector();
         collector.setTotal(count);
+        collector.startDashboard("DMCTransferStar");
         final Random random = new Random();
         random.setSeed(System.currentTimeMillis());
 
         for (int i = 0; i < count; ) {
             for (int j = 1; j < nodeNum && i < count; ++j, ++i) {
-                limiter.acquire();
+                final long intendedStartTime = scheduler.acquire();
                 final int fromIndex = j;
                 threadPoolService
                         .getThreadPool()
@@ -209,7 +197,7 @@ public class DMCTransferStar {
                                     @Override
                                     public void run() {
                                         DmcTransfer contract = contracts[fromIndex];
-                                        long now = System.currentTimeMillis();
+                                        long now = System.nanoTime();
                                         contract.takeShare(
                                                 BigInteger.valueOf(2),
                                                 allowRevert,
@@ -217,31 +205,27 @@ public class DMCTransferStar {
                                                     @Override
                                                     public void onResponse(
                                                             TransactionReceipt receipt) {
-                                                        long cost =
-                                                                System.currentTimeMillis() - now;
-                                                        collector.onMessage(receipt, cost);
+                                                        long end = System.nanoTime();
+                                                        long cost = end - now;
+                                                        collector.onMessage(
+                                                                receipt,
+                                                                cost,
+                                                                end - intendedStartTime);
 
-                                                        receivedBar.step();
-                                                        if (!receipt.isStatusOK()) {
-                                                            errorBar.step();
-                                                        }
                                                         transactionLatch.countDown();
                                                         totalCost.addAndGet(
-                                                                System.currentTimeMillis() - now);
+                                                                System.nanoTime() - now);
                                                         expectBalance.addAndGet(2);
                                                     }
                                                 });
 
-                                        sendedBar.step();
+                                        collector.onSent();
                                     }
                                 });
             }
         }
 
         transactionLatch.await();
-        sendedBar.close();
-        receivedBar.close();
-        errorBar.close();
         collector.report();
         System.out.println("Sending transactions finished!");
 
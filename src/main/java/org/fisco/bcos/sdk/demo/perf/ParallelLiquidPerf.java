@@ -18,8 +18,11 @@ import java.math.BigInteger;
 import java.net.URL;
 import java.util.Random;
 import org.fisco.bcos.sdk.demo.contract.ParallelOkLiquid;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
 import org.fisco.bcos.sdk.demo.perf.model.DagUserInfo;
 import org.fisco.bcos.sdk.demo.perf.parallel.ParallelLiquidDemo;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
@@ -60,9 +63,11 @@ public class ParallelLiquidPerf {
 
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
             dagUserInfo.setFile(userFile);
             ThreadPoolService threadPoolService = new ThreadPoolService("ParallelLiquid", 1000000);
+            ResourceProfiler.registerExecutor("ParallelLiquid", threadPoolService.getThreadPool());
             parallelLiquidPerf(groupId, command, count, qps, threadPoolService);
         } catch (Exception e) {
             System.out.println("ParallelLiquid test failed, error info: " + e.getMessage());
@@ -17,9 +17,13 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.net.URL;
 import org.fisco.bcos.sdk.demo.contract.ParallelOk;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
 import org.fisco.bcos.sdk.demo.perf.model.DagUserInfo;
 import org.fisco.bcos.sdk.demo.perf.parallel.DagPrecompiledDemo;
 import org.fisco.bcos.sdk.demo.perf.parallel.ParallelOkDemo;
+import org.fisco.bcos.sdk.demo.perf.replay.SignedTxWriter;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
@@ -78,12 +82,14 @@ public class ParallelOkPerf {
 
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
 
             dagUserInfo.setFile(userFile);
             ThreadPoolService threadPoolService =
                     new ThreadPoolService(
                             "ParallelOkPerf", Runtime.getRuntime().availableProcessors());
+            ResourceProfiler.registerExecutor("ParallelOkPerf", threadPoolService.getThreadPool());
 
             if (perfType.compareToIgnoreCase("parallelok") == 0) {
                 parallelOkPerf(
@@ -117,7 +123,7 @@ public class ParallelOkPerf {
             Integer conflictPercent,
             ThreadPoolService threadPoolService,
             boolean isParallel)
-            throws IOException, InterruptedException, ContractException {
+            throws Exception {
         System.out.println(
                 "====== ParallelOk trans, count: "
                         + count
@@ -168,8 +174,9 @@ public class ParallelOkPerf {
                                 client.getCryptoSuite().getCryptoKeyPair());
                 parallelOkDemo = new ParallelOkDemo(parallelOk, dagUserInfo, threadPoolService);
                 parallelOkDemo.generateTransferTxs(
+                        client,
                         BigInteger.valueOf(count),
-                        "parallelOKTxs.txt",
+                        "parallelOKTxs" + SignedTxWriter.getExtension(),
                         BigInteger.valueOf(qps),
                         BigInteger.valueOf(conflictPercent));
                 break;
@@ -187,7 +194,7 @@ public class ParallelOkPerf {
             Integer qps,
             Integer conflictPercent,
             ThreadPoolService threadPoolService)
-            throws IOException, InterruptedException, ContractException {
+            throws Exception {
         System.out.println(
                 "====== DagTransfer trans, count: "
                         + count
@@ -213,8 +220,9 @@ public class ParallelOkPerf {
                 dagUserInfo.loadDagTransferUser();
                 dagPrecompiledDemo = new DagPrecompiledDemo(client, dagUserInfo, threadPoolService);
                 dagPrecompiledDemo.generateTransferTxs(
+                        client,
                         BigInteger.valueOf(count),
-                        "dagTxs.txt",
+                        "dagTxs" + SignedTxWriter.getExtension(),
                         BigInteger.valueOf(qps),
                         BigInteger.valueOf(conflictPercent));
                 break;
@@ -14,10 +14,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.fisco.bcos.sdk.demo.contract.Account;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.Dashboard;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
@@ -74,11 +75,14 @@ public class PerformanceAuthContractTest {
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
             random.setSeed(System.currentTimeMillis());
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
             ThreadPoolService threadPoolService =
                     new ThreadPoolService(
                             "PerformanceAuthContractTest",
                             Runtime.getRuntime().availableProcessors());
+            ResourceProfiler.registerExecutor(
+                    "PerformanceAuthContractTest", threadPoolService.getThreadPool());
 
             // new contracts, write to a list
             contractList = deployContracts(contractCount, threadPoolService);
@@ -113,20 +117,8 @@ public class PerformanceAuthContractTest {
         RateLimiter limiter = RateLimiter.create(DEFAULT_QPS_LIMIT);
 
         System.out.println("Deploy contracts...");
-        ProgressBar sentBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(contractCount)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(contractCount)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch countDownLatch = new CountDownLatch(contractCount);
+        Dashboard dashboard = Dashboard.start("Deploy contracts", countDownLatch);
         for (int i = 0; i < contractCount; ++i) {
             final int index = i;
             limiter.acquire();
@@ -171,7 +163,6 @@ public class PerformanceAuthContractTest {
                                                                                                 initBalance));
                                                                                 countDownLatch
                                                                                         .countDown();
-                                                                                receivedBar.step();
                                                                             }
                                                                         });
                                                     } catch (ContractCodecException e) {
@@ -179,15 +170,13 @@ public class PerformanceAuthContractTest {
                                                     }
                                                 }
                                             });
-                                    sentBar.step();
                                 } catch (ContractCodecException e) {
                                     e.printStackTrace();
                                 }
                             });
         }
         countDownLatch.await();
-        sentBar.close();
-        receivedBar.close();
+        dashboard.stop();
         System.out.println("Create account finished!");
 
         return Arrays.asList(contracts);
@@ -202,22 +191,10 @@ public class PerformanceAuthContractTest {
         byte[] func = Arrays.copyOfRange(hash, 0, 4);
         RateLimiter limiter = RateLimiter.create(DEFAULT_QPS_LIMIT);
 
-        ProgressBar sentBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(contractList.size())
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(contractList.size())
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch countDownLatch = new CountDownLatch(contractList.size());
         Collector collector = new Collector();
         collector.setTotal(contractList.size());
+        collector.startDashboard("Set contract acl");
 
         for (Account account : contractList) {
             limiter.acquire();
@@ -225,7 +202,7 @@ public class PerformanceAuthContractTest {
                     .getThreadPool()
                     .execute(
                             () -> {
-                                long now = System.currentTimeMillis();
+                                long now = System.nanoTime();
                                 authManager.asyncSetMethodAuthType(
                                         account.getContractAddress(),
                                         func,
@@ -233,18 +210,15 @@ public class PerformanceAuthContractTest {
                                                 ? AuthType.BLACK_LIST
                                                 : AuthType.WHITE_LIST,
                                         retCode -> {
-                                            long cost = System.currentTimeMillis() - now;
+                                            long cost = System.nanoTime() - now;
                                             collector.onPrecompiledMessage(retCode, cost);
-                                            receivedBar.step();
 
                                             countDownLatch.countDown();
                                         });
-                                sentBar.step();
+                                collector.onSent();
                             });
         }
         countDownLatch.await();
-        sentBar.close();
-        receivedBar.close();
         collector.report();
         System.out.println("Set contract acl finished!");
     }
@@ -255,19 +229,6 @@ public class PerformanceAuthContractTest {
         RateLimiter limiter = RateLimiter.create(qps);
 
         System.out.println("Sending transactions...");
-        ProgressBar sentBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         System.out.println(
                 "====== Start send transaction test, tx count: "
                         + count
@@ -280,6 +241,7 @@ public class PerformanceAuthContractTest {
 
         Collector collector = new Collector();
         collector.setTotal(count);
+        collector.startDashboard("PerformanceAuthContractTest");
 
         for (int i = 0; i < count; i++) {
             final int index = i % contractList.size();
@@ -289,7 +251,7 @@ public class PerformanceAuthContractTest {
                     .execute(
                             () -> {
                                 limiter.acquire();
-                                long now = System.currentTimeMillis();
+                                long now = System.nanoTime();
 
                                 final long value = Math.abs(random.nextLong() % 1000);
                                 account.addBalance(
@@ -297,9 +259,8 @@ public class PerformanceAuthContractTest {
                                         new TransactionCallback() {
                                             @Override
                                             public void onResponse(TransactionReceipt receipt) {
-                                                long cost = System.currentTimeMillis() - now;
+                                                long cost = System.nanoTime() - now;
                                                 collector.onAuthCheckMessage(receipt, cost);
-                                                receivedBar.step();
                                                 transactionLatch.countDown();
                                                 if (receipt.isStatusOK()) {
                                                     accountLedger
@@ -308,13 +269,11 @@ public class PerformanceAuthContractTest {
                                                 }
                                             }
                                         });
-                                sentBar.step();
+                                collector.onSent();
                             });
         }
         transactionLatch.await();
 
-        sentBar.close();
-        receivedBar.close();
         collector.report();
 
         System.out.println("Sending transactions finished!");
@@ -14,10 +14,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.fisco.bcos.sdk.demo.contract.Account;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.Dashboard;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
@@ -81,11 +82,14 @@ public class PerformanceAuthTransferTest {
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
             random.setSeed(System.currentTimeMillis());
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
             ThreadPoolService threadPoolService =
                     new ThreadPoolService(
                             "PerformanceAuthTransferTest",
                             Runtime.getRuntime().availableProcessors());
+            ResourceProfiler.registerExecutor(
+                    "PerformanceAuthTransferTest", threadPoolService.getThreadPool());
 
             // new contracts, write to a list
             contractList = deployContracts(contractCount, threadPoolService);
@@ -123,20 +127,8 @@ public class PerformanceAuthTransferTest {
         RateLimiter limiter = RateLimiter.create(DEFAULT_QPS_LIMIT);
 
         System.out.println("Deploy contracts...");
-        ProgressBar sentBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(contractCount)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(contractCount)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch countDownLatch = new CountDownLatch(contractCount);
+        Dashboard dashboard = Dashboard.start("Deploy contracts", countDownLatch);
         for (int i = 0; i < contractCount; ++i) {
             List<CryptoKeyPair> cryptoKeyPairs = new ArrayList<>();
             for (int i1 = 0; i1 < addressPerContract; i1++) {
@@ -184,7 +176,6 @@ public class PerformanceAuthTransferTest {
                                                                                                 initBalance));
                                                                                 countDownLatch
                                                                                         .countDown();
-                                                                                receivedBar.step();
                                                                             }
                                                                         });
                                                     } catch (ContractCodecException e) {
@@ -192,15 +183,13 @@ public class PerformanceAuthTransferTest {
                                                     }
                                                 }
                                             });
-                                    sentBar.step();
                                 } catch (ContractCodecException e) {
                                     e.printStackTrace();
                                 }
                             });
         }
         countDownLatch.await();
-        sentBar.close();
-        receivedBar.close();
+        dashboard.stop();
         System.out.println("Create account finished!");
 
         return Arrays.asList(contracts);
@@ -215,22 +204,10 @@ public class PerformanceAuthTransferTest {
         byte[] func = Arrays.copyOfRange(hash, 0, 4);
         RateLimiter limiter = RateLimiter.create(DEFAULT_QPS_LIMIT);
 
-        ProgressBar sentBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(contractList.size())
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(contractList.size())
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch countDownLatch = new CountDownLatch(contractList.size());
         Collector collector = new Collector();
         collector.setTotal(contractList.size());
+        collector.startDashboard("Set contract acl");
 
         for (String account : contractList) {
             limiter.acquire();
@@ -238,7 +215,7 @@ public class PerformanceAuthTransferTest {
                     .getThreadPool()
                     .execute(
                             () -> {
-                                long now = System.currentTimeMillis();
+                                long now = System.nanoTime();
                                 authManager.asyncSetMethodAuthType(
                                         account,
                                         func,
@@ -246,18 +223,15 @@ public class PerformanceAuthTransferTest {
                                                 ? AuthType.BLACK_LIST
                                                 : AuthType.WHITE_LIST,
                                         retCode -> {
-                                            long cost = System.currentTimeMillis() - now;
+                                            long cost = System.nanoTime() - now;
                                             collector.onPrecompiledMessage(retCode, cost);
-                                            receivedBar.step();
 
                                             countDownLatch.countDown();
                                         });
-                                sentBar.step();
+                                collector.onSent();
                             });
         }
         countDownLatch.await();
-        sentBar.close();
-        receivedBar.close();
         collector.report();
         System.out.println("Set contract acl finished!");
     }
@@ -276,21 +250,9 @@ public class PerformanceAuthTransferTest {
         byte[] func = Arrays.copyOfRange(hash, 0, 4);
         RateLimiter limiter = RateLimiter.create(DEFAULT_QPS_LIMIT);
 
-        ProgressBar sentBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax((long) contractList.size() * addressPerContract)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax((long) contractList.size() * addressPerContract)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch countDownLatch =
                 new CountDownLatch(contractList.size() * addressPerContract);
+        Dashboard dashboard = Dashboard.start("Set contract acl method", countDownLatch);
 
         for (String account : contractList) {
             for (CryptoKeyPair address : contractAclMap.get(account)) {
@@ -306,16 +268,13 @@ public class PerformanceAuthTransferTest {
                                             address.getAddress(),
                                             isOpen,
                                             retCode -> {
-                                                receivedBar.step();
                                                 countDownLatch.countDown();
                                             });
-                                    sentBar.step();
                                 });
             }
         }
         countDownLatch.await();
-        sentBar.close();
-        receivedBar.close();
+        dashboard.stop();
         System.out.println("Set contract acl method finished!");
     }
 
@@ -327,19 +286,6 @@ public class PerformanceAuthTransferTest {
         int sendContractCount = count / addressPerContract;
 
         System.out.println("Sending transactions...");
-        ProgressBar sentBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         System.out.println(
                 "====== Start send transaction test, tx count: "
                         + count
@@ -376,6 +322,7 @@ public class PerformanceAuthTransferTest {
 
         Collector collector = new Collector();
         collector.setTotal(count);
+        collector.startDashboard("PerformanceAuthTransferTest");
 
         for (int i = 0; i < count; i++) {
             Tuple2<AssembleTransactionProcessor, String> assembleTransactionProcessorTuple =
@@ -388,7 +335,7 @@ public class PerformanceAuthTransferTest {
                     .getThreadPool()
                     .execute(
                             () -> {
-                                long now = System.currentTimeMillis();
+                                long now = System.nanoTime();
 
                                 final long value = Math.abs(random.nextLong() % 1000);
                                 try {
@@ -400,9 +347,8 @@ public class PerformanceAuthTransferTest {
                                             new TransactionCallback() {
                                                 @Override
                                                 public void onResponse(TransactionReceipt receipt) {
-                                                    long cost = System.currentTimeMillis() - now;
+                                                    long cost = System.nanoTime() - now;
                                                     collector.onAuthCheckMessage(receipt, cost);
-                                                    receivedBar.step();
                                                     transactionLatch.countDown();
                                                     if (receipt.isStatusOK()) {
                                                         accountLedger.get(address).addAndGet(value);
@@ -411,16 +357,13 @@ public class PerformanceAuthTransferTest {
                                             });
                                 } catch (ContractCodecException e) {
                                     e.printStackTrace();
-                                    receivedBar.step();
                                     transactionLatch.countDown();
                                 }
-                                sentBar.step();
+                                collector.onSent();
                             });
         }
         transactionLatch.await();
 
-        sentBar.close();
-        receivedBar.close();
         collector.report();
 
         System.out.println("Sending transactions finished!");
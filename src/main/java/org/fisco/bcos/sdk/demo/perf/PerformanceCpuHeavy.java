@@ -13,30 +13,20 @@
  */
 package org.fisco.bcos.sdk.demo.perf;
 
-import com.google.common.util.concurrent.RateLimiter;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.net.URL;
-import java.util.Random;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
-import org.fisco.bcos.sdk.demo.contract.CpuHeavyContract;
 import org.fisco.bcos.sdk.demo.contract.CpuHeavyPrecompiled;
-import org.fisco.bcos.sdk.demo.contract.ParallelCpuHeavy;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.replay.PreSignPipeline;
+import org.fisco.bcos.sdk.demo.perf.replay.SignedTxWriter;
+import org.fisco.bcos.sdk.demo.perf.runner.BenchmarkRunner;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
-import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
-import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
-import org.fisco.bcos.sdk.v3.utils.ThreadPoolService;
 
 public class PerformanceCpuHeavy {
     private static final int DEFAULT_SORT_ARRAY_SIZE = 100000;
@@ -90,56 +80,42 @@ public class PerformanceCpuHeavy {
                 Usage();
                 return;
             }
-            boolean isPrecompiled = type.equals("precompiled");
-
-            String configFile = configUrl.getPath();
-            BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
-
-            ThreadPoolService threadPoolService =
-                    new ThreadPoolService(
-                            "CpuHeavyClient", Runtime.getRuntime().availableProcessors());
-
-            start(
-                    groupId,
-                    isPrecompiled,
-                    contractsNum,
-                    count,
-                    qps,
-                    enableParallel,
-                    sortArraySize,
-                    threadPoolService);
-
-            threadPoolService.getThreadPool().awaitTermination(0, TimeUnit.SECONDS);
-            System.exit(0);
+            BenchmarkRunner.main(
+                    new String[] {
+                        "--workload=cpuheavy",
+                        "--group=" + groupId,
+                        "--type=" + type,
+                        "--contracts=" + contractsNum,
+                        "--count=" + count,
+                        "--qps=" + qps,
+                        "--parallel=" + enableParallel,
+                        "--sort-size=" + sortArraySize
+                    });
         } catch (Exception e) {
             e.printStackTrace();
             System.exit(0);
         }
     }
 
-    public static void generatePrecompiledTxs(String[] args, URL configUrl) throws IOException {
+    public static void generatePrecompiledTxs(String[] args, URL configUrl) throws Exception {
         String command = args[0];
         if (!command.equals("generate")) {
             return;
         }
-        String txsFile = "cpuHeavyPrecompiledTxs.txt";
+        String txsFile = "cpuHeavyPrecompiledTxs" + SignedTxWriter.getExtension();
         String groupId = args[1];
         int contractsNum = Integer.valueOf(args[2]).intValue();
         Integer count = Integer.valueOf(args[3]).intValue();
 
         String configFile = configUrl.getPath();
         BcosSDK sdk = BcosSDK.build(configFile);
-        client = sdk.getClient(groupId);
+        client = ClientPool.fromSystemProperty(sdk, groupId);
+        BlockObserver.fromSystemProperty(client);
         boolean enableDAG = Boolean.valueOf(args[4]);
         Integer sortArraySize = DEFAULT_SORT_ARRAY_SIZE;
         if (args.length == 6) {
             sortArraySize = Integer.valueOf(args[5]).intValue();
         }
-        File file = new File(txsFile);
-        if (!file.exists()) {
-            file.createNewFile();
-        }
         System.out.println(
                 "PerformanceCpuHeavy: test generateTransferTxs, count: "
                         + count
@@ -151,194 +127,36 @@ public class PerformanceCpuHeavy {
 
         CpuHeavyPrecompiled[] contracts = new CpuHeavyPrecompiled[contractsNum];
 
-        final Random random = new Random();
-        random.setSeed(System.currentTimeMillis());
-        ProgressBar generateBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Generate   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
         // precompiled
         for (int i = 0; i < contractsNum; ++i) {
             contracts[i] =
                     CpuHeavyPrecompiled.load(i, client, client.getCryptoSuite().getCryptoKeyPair());
             (contracts[i]).setEnableDAG(enableDAG);
         }
-        FileWriter fileWriter = new FileWriter(file.getName(), true);
-        BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
-        for (int i = 0; i < count; ++i) {
-            final int index = i % contracts.length;
-            final long signature = i; // See ParallelCpuHeavy.sol
-            CpuHeavyPrecompiled contract = contracts[index];
-            String txData =
-                    contract.getSignedTransactionForSort(
-                            BigInteger.valueOf(sortArraySize.longValue()),
-                            BigInteger.valueOf(signature));
-            bufferedWriter.write(txData);
-            bufferedWriter.newLine();
-            generateBar.step();
-        }
-        generateBar.close();
-        bufferedWriter.close();
+        SignedTxWriter txWriter =
+                SignedTxWriter.open(
+                        txsFile,
+                        client,
+                        contractsNum == 1 ? contracts[0].getContractAddress() : null);
+        final BigInteger arraySize = BigInteger.valueOf(sortArraySize.longValue());
+        PreSignPipeline.fromSystemProperty()
+                .run(
+                        count,
+                        thread -> {
+                            CryptoKeyPair keyPair = PreSignPipeline.copyKeyPair(client);
+                            CpuHeavyPrecompiled[] signers = new CpuHeavyPrecompiled[contractsNum];
+                            for (int k = 0; k < contractsNum; ++k) {
+                                signers[k] = CpuHeavyPrecompiled.load(k, client, keyPair);
+                                signers[k].setEnableDAG(enableDAG);
+                            }
+                            // the signature is the index, see ParallelCpuHeavy.sol
+                            return i ->
+                                    signers[(int) (i % contractsNum)].getSignedTransactionForSort(
+                                            arraySize, BigInteger.valueOf(i));
+                        },
+                        txWriter);
+        txWriter.close();
         System.exit(0);
         System.out.println("===================================================================");
     }
-
-    public static void start(
-            String groupId,
-            boolean isPrecompiled,
-            int contractsNum,
-            int count,
-            Integer qps,
-            boolean enableParallel,
-            Integer sortArraySize,
-            ThreadPoolService threadPoolService)
-            throws IOException, InterruptedException, ContractException {
-        System.out.println(
-                "====== Start "
-                        + (isPrecompiled ? "precompiled" : "solidity")
-                        + " test, contracts num: "
-                        + contractsNum
-                        + ", count: "
-                        + count
-                        + ", qps:"
-                        + qps
-                        + ", groupId: "
-                        + groupId
-                        + ", enableParallel: "
-                        + enableParallel);
-
-        RateLimiter limiter = RateLimiter.create(qps.intValue());
-
-        CpuHeavyContract[] contracts = new CpuHeavyContract[contractsNum];
-
-        final Random random = new Random();
-        random.setSeed(System.currentTimeMillis());
-
-        if (!isPrecompiled) {
-            // solidity
-            System.out.println("Create contract...");
-            CountDownLatch userLatch = new CountDownLatch(contractsNum);
-            for (int i = 0; i < contractsNum; ++i) {
-                final int index = i;
-                threadPoolService
-                        .getThreadPool()
-                        .execute(
-                                new Runnable() {
-                                    public void run() {
-                                        ParallelCpuHeavy contract;
-                                        try {
-                                            long initBalance = Math.abs(random.nextLong());
-
-                                            limiter.acquire();
-                                            contract =
-                                                    ParallelCpuHeavy.deploy(
-                                                            client,
-                                                            client.getCryptoSuite()
-                                                                    .getCryptoKeyPair());
-                                            if (enableParallel) {
-                                                contract.enableParallel();
-                                            }
-
-                                            contracts[index] = contract;
-                                            userLatch.countDown();
-                                        } catch (ContractException e) {
-                                            e.printStackTrace();
-                                        }
-                                    }
-                                });
-            }
-            userLatch.await();
-            System.out.println("Create contract finished!");
-        } else {
-            // precompiled
-            for (int i = 0; i < contractsNum; ++i) {
-                contracts[i] =
-                        CpuHeavyPrecompiled.load(
-                                i, client, client.getCryptoSuite().getCryptoKeyPair());
-                (contracts[i]).setEnableDAG(enableParallel);
-            }
-        }
-
-        System.out.println("Sending transactions...");
-        ProgressBar sendedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar errorBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Errors :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
-        CountDownLatch transactionLatch = new CountDownLatch(count);
-        AtomicLong totalCost = new AtomicLong(0);
-        Collector collector = new Collector();
-        collector.setTotal(count);
-
-        for (int i = 0; i < count; ++i) {
-            limiter.acquire();
-
-            final int index = i % contracts.length;
-            final long signature = i; // See ParallelCpuHeavy.sol
-            threadPoolService
-                    .getThreadPool()
-                    .execute(
-                            new Runnable() {
-                                @Override
-                                public void run() {
-                                    CpuHeavyContract contract = contracts[index];
-
-                                    long now = System.currentTimeMillis();
-
-                                    final long value = Math.abs(random.nextLong() % 1000);
-
-                                    contract.sort(
-                                            BigInteger.valueOf(sortArraySize.longValue()),
-                                            BigInteger.valueOf(signature),
-                                            new TransactionCallback() {
-                                                @Override
-                                                public void onResponse(TransactionReceipt receipt) {
-                                                    long cost = System.currentTimeMillis() - now;
-                                                    collector.onMessage(receipt, cost);
-
-                                                    receivedBar.step();
-                                                    if (!receipt.isStatusOK()) {
-                                                        errorBar.step();
-                                                        // System.out.println(receipt.getStatus());
-                                                    }
-
-                                                    transactionLatch.countDown();
-                                                    totalCost.addAndGet(
-                                                            System.currentTimeMillis() - now);
-                                                }
-                                            });
-
-                                    sendedBar.step();
-                                }
-                            });
-        }
-        transactionLatch.await();
-
-        System.out.println("Sending transactions finished!");
-
-        sendedBar.close();
-        receivedBar.close();
-        errorBar.close();
-        collector.report();
-
-        // collector.
-        // System.out.println("Total elapsed: " + elapsed);
-        // System.out.println("TPS: " + (double) count / ((double) elapsed / 1000));
-    }
 }
@@ -13,31 +13,10 @@
  */
 package org.fisco.bcos.sdk.demo.perf;
 
-import com.google.common.util.concurrent.RateLimiter;
-import java.io.IOException;
-import java.math.BigInteger;
-import java.net.URL;
-import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
-import org.fisco.bcos.sdk.demo.contract.Account;
-import org.fisco.bcos.sdk.v3.BcosSDK;
-import org.fisco.bcos.sdk.v3.client.Client;
-import org.fisco.bcos.sdk.v3.model.ConstantConfig;
-import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
-import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
-import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
-import org.fisco.bcos.sdk.v3.utils.ThreadPoolService;
+import org.fisco.bcos.sdk.demo.perf.runner.BenchmarkRunner;
 
+/** Positional-argument entry of the {@code dmc} workload, see {@link BenchmarkRunner}. */
 public class PerformanceDMC {
-    private static Client client;
-
     public static void Usage() {
         System.out.println(" Usage:");
         System.out.println("===== PerformanceDMC test===========");
@@ -45,199 +24,18 @@ public class PerformanceDMC {
                 " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.PerformanceDMC [groupId] [userCount] [count] [qps].");
     }
 
-    public static void main(String[] args)
-            throws ContractException, IOException, InterruptedException {
-        try {
-            String configFileName = ConstantConfig.CONFIG_FILE_NAME;
-            URL configUrl = ParallelOkPerf.class.getClassLoader().getResource(configFileName);
-            if (configUrl == null) {
-                System.out.println("The configFile " + configFileName + " doesn't exist!");
-                return;
-            }
-
-            if (args.length < 4) {
-                Usage();
-                return;
-            }
-            String groupId = args[0];
-            int userCount = Integer.valueOf(args[1]).intValue();
-            Integer count = Integer.valueOf(args[2]).intValue();
-            Integer qps = Integer.valueOf(args[3]).intValue();
-
-            String configFile = configUrl.getPath();
-            BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
-            ThreadPoolService threadPoolService =
-                    new ThreadPoolService("DMCClient", Runtime.getRuntime().availableProcessors());
-
-            start(groupId, userCount, count, qps, threadPoolService);
-
-            threadPoolService.getThreadPool().awaitTermination(0, TimeUnit.SECONDS);
-            System.exit(0);
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.exit(0);
-        }
-    }
-
-    public static void start(
-            String groupId,
-            int userCount,
-            int count,
-            Integer qps,
-            ThreadPoolService threadPoolService)
-            throws IOException, InterruptedException, ContractException {
-        System.out.println(
-                "====== Start test, user count: "
-                        + userCount
-                        + ", count: "
-                        + count
-                        + ", qps:"
-                        + qps
-                        + ", groupId: "
-                        + groupId);
-
-        RateLimiter limiter = RateLimiter.create(qps.intValue());
-
-        Account[] accounts = new Account[userCount];
-        Map<Integer, AtomicLong> summary = new ConcurrentHashMap<Integer, AtomicLong>();
-
-        final Random random = new Random();
-        random.setSeed(System.currentTimeMillis());
-
-        System.out.println("Create account...");
-        CountDownLatch userLatch = new CountDownLatch(userCount);
-        for (int i = 0; i < userCount; ++i) {
-            final int index = i;
-            threadPoolService
-                    .getThreadPool()
-                    .execute(
-                            new Runnable() {
-                                public void run() {
-                                    Account account;
-                                    try {
-                                        long initBalance = Math.abs(random.nextLong());
-
-                                        limiter.acquire();
-                                        account =
-                                                Account.deploy(
-                                                        client,
-                                                        client.getCryptoSuite().getCryptoKeyPair());
-                                        account.addBalance(BigInteger.valueOf(initBalance));
-
-                                        accounts[index] = account;
-                                        summary.put(index, new AtomicLong(initBalance));
-                                        userLatch.countDown();
-                                    } catch (ContractException e) {
-                                        e.printStackTrace();
-                                    }
-                                }
-                            });
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            Usage();
+            return;
         }
-        userLatch.await();
-        System.out.println("Create account finished!");
-
-        System.out.println("Sending transactions...");
-        ProgressBar sendedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
-        CountDownLatch transactionLatch = new CountDownLatch(count);
-        AtomicLong totalCost = new AtomicLong(0);
-        Collector collector = new Collector();
-        collector.setTotal(count);
-
-        for (int i = 0; i < count; ++i) {
-            limiter.acquire();
-
-            final int index = i % accounts.length;
-            threadPoolService
-                    .getThreadPool()
-                    .execute(
-                            new Runnable() {
-                                @Override
-                                public void run() {
-                                    Account account = accounts[index];
-                                    long now = System.currentTimeMillis();
-
-                                    final long value = Math.abs(random.nextLong() % 1000);
-
-                                    account.addBalance(
-                                            BigInteger.valueOf(value),
-                                            new TransactionCallback() {
-                                                @Override
-                                                public void onResponse(TransactionReceipt receipt) {
-                                                    AtomicLong count = summary.get(index);
-                                                    count.addAndGet(value);
-
-                                                    long cost = System.currentTimeMillis() - now;
-                                                    collector.onMessage(receipt, cost);
-
-                                                    receivedBar.step();
-                                                    transactionLatch.countDown();
-                                                    totalCost.addAndGet(
-                                                            System.currentTimeMillis() - now);
-                                                }
-                                            });
-                                    sendedBar.step();
-                                }
-                            });
-        }
-        transactionLatch.await();
-
-        sendedBar.close();
-        receivedBar.close();
-        collector.report();
-
-        System.out.println("Sending transactions finished!");
-
-        /*
-        System.out.println("Checking result...");
-        CountDownLatch checkLatch = new CountDownLatch(count);
-        for (Map.Entry<Integer, AtomicLong> entry : summary.entrySet()) {
-            limiter.acquire();
-            final int index = entry.getKey().intValue();
-            final long expectBalance = entry.getValue().longValue();
-            threadPoolService
-                    .getThreadPool()
-                    .execute(
-                            new Runnable() {
-                                @Override
-                                public void run() {
-                                    try {
-                                        limiter.acquire();
-                                        BigInteger balance = accounts[index].balance();
-                                        if (balance.longValue() != expectBalance) {
-                                            System.out.println(
-                                                    "Check failed! Account["
-                                                            + index
-                                                            + "] balance: "
-                                                            + balance
-                                                            + " not equal to expected: "
-                                                            + expectBalance);
-                                        }
-
-                                        checkLatch.countDown();
-                                    } catch (ContractException e) {
-                                        e.printStackTrace();
-                                    }
-                                }
-                            });
-        }
-        System.out.println("Checking finished!");
-        */
-
-        // collector.
-        // System.out.println("Total elapsed: " + elapsed);
-        // System.out.println("TPS: " + (double) count / ((double) elapsed / 1000));
+        BenchmarkRunner.main(
+                new String[] {
+                    "--workload=dmc",
+                    "--group=" + args[0],
+                    "--users=" + args[1],
+                    "--count=" + args[2],
+                    "--qps=" + args[3]
+                });
     }
 }
@@ -7,11 +7,11 @@ import java.util.ArrayList;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.fisco.bcos.sdk.demo.contract.HelloExternal;
 import org.fisco.bcos.sdk.demo.contract.HelloWorld;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
@@ -58,10 +58,13 @@ public class PerformanceDeployTest {
 
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
             ThreadPoolService threadPoolService =
                     new ThreadPoolService(
                             "PerformanceDeployTest", Runtime.getRuntime().availableProcessors());
+            ResourceProfiler.registerExecutor(
+                    "PerformanceDeployTest", threadPoolService.getThreadPool());
 
             if (isExternal) {
                 externalDeploy(groupId, count, qps, threadPoolService);
@@ -113,22 +116,10 @@ public class PerformanceDeployTest {
         random.setSeed(System.currentTimeMillis());
 
         System.out.println("Sending transactions...");
-        ProgressBar sentBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch countDownLatch = new CountDownLatch(count);
         Collector collector = new Collector();
         collector.setTotal(count);
+        collector.startDashboard("PerformanceDeployTest");
 
         for (int i = 0; i < count; ++i) {
             limiter.acquire();
@@ -136,7 +127,7 @@ public class PerformanceDeployTest {
                     .getThreadPool()
                     .execute(
                             () -> {
-                                long now = System.currentTimeMillis();
+                                long now = System.nanoTime();
                                 try {
                                     assembleTransactionProcessor.deployAsync(
                                             HelloWorld.getABI(),
@@ -145,21 +136,18 @@ public class PerformanceDeployTest {
                                             new TransactionCallback() {
                                                 @Override
                                                 public void onResponse(TransactionReceipt receipt) {
-                                                    long cost = System.currentTimeMillis() - now;
+                                                    long cost = System.nanoTime() - now;
                                                     collector.onMessage(receipt, cost);
-                                                    receivedBar.step();
                                                     countDownLatch.countDown();
                                                 }
                                             });
-                                    sentBar.step();
+                                    collector.onSent();
                                 } catch (ContractCodecException e) {
                                     e.printStackTrace();
                                 }
                             });
         }
         countDownLatch.await();
-        sentBar.close();
-        receivedBar.close();
         collector.report();
 
         System.out.println("Create contracts finished!");
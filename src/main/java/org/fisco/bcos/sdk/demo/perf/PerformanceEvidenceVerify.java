@@ -20,10 +20,15 @@ import java.security.SecureRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.fisco.bcos.sdk.demo.contract.EvidenceVerify;
 import org.fisco.bcos.sdk.demo.perf.callback.PerformanceCallback;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ExceptionReceipt;
 import org.fisco.bcos.sdk.demo.perf.collector.PerformanceCollector;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.BcosSDKException;
 import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.config.exceptions.ConfigException;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.crypto.signature.ECDSASignatureResult;
@@ -74,7 +79,8 @@ public class PerformanceEvidenceVerify {
             BcosSDK sdk = BcosSDK.build(configFile);
 
             // build the client
-            Client client = sdk.getClient(groupId);
+            Client client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
 
             // deploy the HelloWorld
             System.out.println("====== Deploy EvidenceVerify ====== ");
@@ -96,6 +102,9 @@ public class PerformanceEvidenceVerify {
             ThreadPoolService threadPoolService =
                     new ThreadPoolService("PerformanceEvidenceVerify", 1000000);
 
+            ResourceProfiler.registerExecutor(
+                    "PerformanceEvidenceVerify", threadPoolService.getThreadPool());
+
             CryptoSuite ecdsaCryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
             for (Integer i = 0; i < count; ++i) {
                 limiter.acquire();
@@ -134,8 +143,8 @@ public class PerformanceEvidenceVerify {
                                                     signatureResult.getS(),
                                                     callback);
                                         } catch (Exception e) {
-                                            TransactionReceipt receipt = new TransactionReceipt();
-                                            receipt.setStatus(-1);
+                                            TransactionReceipt receipt =
+                                                    new ExceptionReceipt(e, e.getMessage());
                                             callback.onResponse(receipt);
                                             logger.info(e.getMessage());
                                         }
@@ -157,7 +166,7 @@ public class PerformanceEvidenceVerify {
             }
             threadPoolService.stop();
             System.exit(0);
-        } catch (BcosSDKException | ContractException | InterruptedException e) {
+        } catch (BcosSDKException | ConfigException | ContractException | InterruptedException e) {
             System.out.println(
                     "====== PerformanceEvidenceVerify test failed, error message: "
                             + e.getMessage());
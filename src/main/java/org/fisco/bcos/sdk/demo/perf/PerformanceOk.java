@@ -13,27 +13,10 @@
  */
 package org.fisco.bcos.sdk.demo.perf;
 
-import com.google.common.util.concurrent.RateLimiter;
-import java.math.BigInteger;
-import java.net.URL;
-import java.util.concurrent.atomic.AtomicInteger;
-import org.fisco.bcos.sdk.demo.contract.Ok;
-import org.fisco.bcos.sdk.demo.perf.callback.PerformanceCallback;
-import org.fisco.bcos.sdk.demo.perf.collector.PerformanceCollector;
-import org.fisco.bcos.sdk.v3.BcosSDK;
-import org.fisco.bcos.sdk.v3.BcosSDKException;
-import org.fisco.bcos.sdk.v3.client.Client;
-import org.fisco.bcos.sdk.v3.model.ConstantConfig;
-import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
-import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
-import org.fisco.bcos.sdk.v3.utils.ThreadPoolService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.fisco.bcos.sdk.demo.perf.runner.BenchmarkRunner;
 
+/** Positional-argument entry of the {@code ok} workload, see {@link BenchmarkRunner}. */
 public class PerformanceOk {
-    private static Logger logger = LoggerFactory.getLogger(PerformanceOk.class);
-    private static AtomicInteger sendedTransactions = new AtomicInteger(0);
-
     private static void Usage() {
         System.out.println(" Usage:");
         System.out.println(
@@ -41,92 +24,13 @@ public class PerformanceOk {
     }
 
     public static void main(String[] args) {
-        try {
-            String configFileName = ConstantConfig.CONFIG_FILE_NAME;
-            URL configUrl = PerformanceOk.class.getClassLoader().getResource(configFileName);
-
-            if (configUrl == null) {
-                System.out.println("The configFile " + configFileName + " doesn't exist!");
-                return;
-            }
-            if (args.length < 3) {
-                Usage();
-                return;
-            }
-            Integer count = Integer.valueOf(args[0]);
-            Integer qps = Integer.valueOf(args[1]);
-            String groupId = args[2];
-            System.out.println(
-                    "====== PerformanceOk trans, count: "
-                            + count
-                            + ", qps:"
-                            + qps
-                            + ", groupId: "
-                            + groupId);
-
-            String configFile = configUrl.getPath();
-            BcosSDK sdk = BcosSDK.build(configFile);
-
-            // build the client
-            Client client = sdk.getClient(groupId);
-
-            // deploy the HelloWorld
-            System.out.println("====== Deploy Ok ====== ");
-            Ok ok = Ok.deploy(client, client.getCryptoSuite().getCryptoKeyPair());
-            System.out.println(
-                    "====== Deploy Ok succ, address: " + ok.getContractAddress() + " ====== ");
-
-            PerformanceCollector collector = new PerformanceCollector();
-            collector.setTotal(count);
-            RateLimiter limiter = RateLimiter.create(qps);
-            Integer area = count / 10;
-            final Integer total = count;
-
-            System.out.println("====== PerformanceOk trans start ======");
-
-            ThreadPoolService threadPoolService = new ThreadPoolService("PerformanceOk", 1000000);
-
-            for (Integer i = 0; i < count; ++i) {
-                limiter.acquire();
-                threadPoolService
-                        .getThreadPool()
-                        .execute(
-                                new Runnable() {
-                                    @Override
-                                    public void run() {
-                                        PerformanceCallback callback = new PerformanceCallback();
-                                        callback.setTimeout(0);
-                                        callback.setCollector(collector);
-                                        try {
-                                            ok.trans(new BigInteger("4"), callback);
-                                        } catch (Exception e) {
-                                            TransactionReceipt receipt = new TransactionReceipt();
-                                            receipt.setStatus(-1);
-                                            callback.onResponse(receipt);
-                                            logger.info(e.getMessage());
-                                        }
-                                        int current = sendedTransactions.incrementAndGet();
-                                        if (current >= area && ((current % area) == 0)) {
-                                            System.out.println(
-                                                    "Already sended: "
-                                                            + current
-                                                            + "/"
-                                                            + total
-                                                            + " transactions");
-                                        }
-                                    }
-                                });
-            }
-            // wait to collect all the receipts
-            while (!collector.getReceived().equals(count)) {
-                Thread.sleep(1000);
-            }
-            threadPoolService.stop();
-            System.exit(0);
-        } catch (BcosSDKException | ContractException | InterruptedException e) {
-            System.out.println(
-                    "====== PerformanceOk test failed, error message: " + e.getMessage());
-            System.exit(0);
+        if (args.length < 3) {
+            Usage();
+            return;
         }
+        BenchmarkRunner.main(
+                new String[] {
+                    "--workload=ok", "--count=" + args[0], "--qps=" + args[1], "--group=" + args[2]
+                });
     }
 }
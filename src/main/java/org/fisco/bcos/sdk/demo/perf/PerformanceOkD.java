@@ -20,10 +20,15 @@ import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.fisco.bcos.sdk.demo.contract.OkD;
 import org.fisco.bcos.sdk.demo.perf.callback.PerformanceCallback;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ExceptionReceipt;
 import org.fisco.bcos.sdk.demo.perf.collector.PerformanceCollector;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.BcosSDKException;
 import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.config.exceptions.ConfigException;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
@@ -68,7 +73,8 @@ public class PerformanceOkD {
             BcosSDK sdk = BcosSDK.build(configFile);
 
             // build the client
-            Client client = sdk.getClient(groupId);
+            Client client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
 
             // deploy the HelloWorld
             System.out.println("====== Deploy OkD ====== ");
@@ -85,6 +91,8 @@ public class PerformanceOkD {
             System.out.println("====== PerformanceOkD trans start ======");
 
             ThreadPoolService threadPoolService = new ThreadPoolService("PerformanceOkD", 100000);
+
+            ResourceProfiler.registerExecutor("PerformanceOkD", threadPoolService.getThreadPool());
             Random random = new Random(System.currentTimeMillis());
             for (Integer i = 0; i < count; ++i) {
                 limiter.acquire();
@@ -103,8 +111,8 @@ public class PerformanceOkD {
                                                     new BigInteger("1"),
                                                     callback);
                                         } catch (Exception e) {
-                                            TransactionReceipt receipt = new TransactionReceipt();
-                                            receipt.setStatus(-1);
+                                            TransactionReceipt receipt =
+                                                    new ExceptionReceipt(e, e.getMessage());
                                             callback.onResponse(receipt);
                                             logger.info(e.getMessage());
                                         }
@@ -126,7 +134,7 @@ public class PerformanceOkD {
             }
             threadPoolService.stop();
             System.exit(0);
-        } catch (BcosSDKException | ContractException | InterruptedException e) {
+        } catch (BcosSDKException | ConfigException | ContractException | InterruptedException e) {
             System.out.println(
                     "====== PerformanceOkD test failed, error message: " + e.getMessage());
             System.exit(0);
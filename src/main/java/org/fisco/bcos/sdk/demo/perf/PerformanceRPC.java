@@ -4,7 +4,11 @@ import com.google.common.util.concurrent.RateLimiter;
 import java.net.URL;
 import java.security.SecureRandom;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
 import org.fisco.bcos.sdk.demo.perf.collector.PerformanceCollector;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
+import org.fisco.bcos.sdk.demo.perf.runner.DriverThreadPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
@@ -43,7 +47,8 @@ public class PerformanceRPC {
             String groupId = args[2];
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            Client client = sdk.getClient(groupId);
+            Client client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
 
             System.out.println("Start test...");
             System.out.println(
@@ -55,17 +60,19 @@ public class PerformanceRPC {
             RateLimiter limiter = RateLimiter.create(qps);
             Integer area = count / 10;
             final Integer total = count;
-            ThreadPoolService threadPoolService = new ThreadPoolService("PerformanceRPC", 1000000);
+            ThreadPoolService threadPoolService = new DriverThreadPool("PerformanceRPC", 1000000);
+            ResourceProfiler.registerExecutor("PerformanceRPC", threadPoolService.getThreadPool());
 
             System.out.println("Start test, total: " + count);
             for (Integer i = 0; i < count; ++i) {
+                // throttle before the submit, virtual threads would otherwise all start at once
+                limiter.acquire();
                 threadPoolService
                         .getThreadPool()
                         .execute(
                                 new Runnable() {
                                     @Override
                                     public void run() {
-                                        limiter.acquire();
                                         JsonRpcResponse response = new JsonRpcResponse();
                                         try {
                                             int random = new SecureRandom().nextInt(50000);
@@ -111,7 +118,7 @@ public class PerformanceRPC {
                                                     response = client.getPbftView();
                                             }
                                             Long cost = System.nanoTime() - startTime;
-                                            collector.onRpcMessage(response, cost / 1000000);
+                                            collector.onRpcMessage(response, cost);
 
                                         } catch (Exception e) {
                                             logger.error(
@@ -124,6 +131,7 @@ public class PerformanceRPC {
                                             collector.onRpcMessage(response, 0L);
                                         }
 
+                                        collector.onSent();
                                         int current = sended.incrementAndGet();
 
                                         if (current >= area && ((current % area) == 0)) {
@@ -19,10 +19,15 @@ import java.security.SecureRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.fisco.bcos.sdk.demo.contract.SM2EvidenceVerify;
 import org.fisco.bcos.sdk.demo.perf.callback.PerformanceCallback;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ExceptionReceipt;
 import org.fisco.bcos.sdk.demo.perf.collector.PerformanceCollector;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.BcosSDKException;
 import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.config.exceptions.ConfigException;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.crypto.signature.SM2SignatureResult;
@@ -73,7 +78,8 @@ public class PerformanceSM2EvidenceVerify {
             BcosSDK sdk = BcosSDK.build(configFile);
 
             // build the client
-            Client client = sdk.getClient(groupId);
+            Client client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
 
             // deploy the HelloWorld
             System.out.println("====== Deploy SM2EvidenceVerify ====== ");
@@ -95,6 +101,9 @@ public class PerformanceSM2EvidenceVerify {
             ThreadPoolService threadPoolService =
                     new ThreadPoolService("PerformanceSM2EvidenceVerify", 1000000);
 
+            ResourceProfiler.registerExecutor(
+                    "PerformanceSM2EvidenceVerify", threadPoolService.getThreadPool());
+
             CryptoSuite ecdsaCryptoSuite = new CryptoSuite(CryptoType.SM_TYPE);
             for (Integer i = 0; i < count; ++i) {
                 limiter.acquire();
@@ -133,8 +142,8 @@ public class PerformanceSM2EvidenceVerify {
                                                     signatureResult.getS(),
                                                     callback);
                                         } catch (Exception e) {
-                                            TransactionReceipt receipt = new TransactionReceipt();
-                                            receipt.setStatus(-1);
+                                            TransactionReceipt receipt =
+                                                    new ExceptionReceipt(e, e.getMessage());
                                             callback.onResponse(receipt);
                                             logger.info(e.getMessage());
                                         }
@@ -156,7 +165,7 @@ public class PerformanceSM2EvidenceVerify {
             }
             threadPoolService.stop();
             System.exit(0);
-        } catch (BcosSDKException | ContractException | InterruptedException e) {
+        } catch (BcosSDKException | ConfigException | ContractException | InterruptedException e) {
             System.out.println(
                     "====== PerformanceSM2EvidenceVerify test failed, error message: "
                             + e.getMessage());
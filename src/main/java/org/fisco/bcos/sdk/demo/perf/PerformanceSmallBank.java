@@ -14,26 +14,26 @@
 package org.fisco.bcos.sdk.demo.perf;
 
 import com.google.common.util.concurrent.RateLimiter;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.net.URL;
-import java.util.List;
 import java.util.Objects;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.fisco.bcos.sdk.demo.contract.SmallBankPrecompiled;
-import org.fisco.bcos.sdk.demo.perf.model.DagTransferUser;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
 import org.fisco.bcos.sdk.demo.perf.model.DagUserInfo;
+import org.fisco.bcos.sdk.demo.perf.replay.PreSignPipeline;
+import org.fisco.bcos.sdk.demo.perf.replay.SignedTxWriter;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
+import org.fisco.bcos.sdk.demo.perf.runner.OpenLoopScheduler;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
@@ -88,13 +88,15 @@ public class PerformanceSmallBank {
 
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
 
             dagUserInfo.setFile(userFile);
 
             ThreadPoolService threadPoolService =
                     new ThreadPoolService(
                             "SmallBankClient", Runtime.getRuntime().availableProcessors());
+            ResourceProfiler.registerExecutor("SmallBankClient", threadPoolService.getThreadPool());
 
             start(
                     groupId,
@@ -125,7 +127,7 @@ public class PerformanceSmallBank {
             String userFile,
             boolean enableParallel,
             ThreadPoolService threadPoolService)
-            throws IOException, InterruptedException, ContractException {
+            throws Exception {
         System.out.println(
                 "====== Start "
                         + (isPrecompiled ? "precompiled" : "solidity")
@@ -140,7 +142,7 @@ public class PerformanceSmallBank {
                         + ", enableParallel: "
                         + enableParallel);
 
-        RateLimiter limiter = RateLimiter.create(qps.intValue());
+        OpenLoopScheduler scheduler = new OpenLoopScheduler(qps.intValue());
         SmallBankPrecompiled[] contracts = new SmallBankPrecompiled[contractsNum];
 
         final Random random = new Random();
@@ -166,25 +168,6 @@ public class PerformanceSmallBank {
             txtotal = count;
         }
 
-        ProgressBar sendedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(txtotal)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(txtotal)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar errorBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Errors :")
-                        .setInitialMax(txtotal)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-
         CountDownLatch transactionLatch = new CountDownLatch((int) txtotal);
         AtomicLong totalCost = new AtomicLong(0);
         Collector collector = new Collector();
@@ -196,15 +179,13 @@ public class PerformanceSmallBank {
                 System.out.println("Start userAdd test...");
                 System.out.println(
                         "===================================================================");
+                collector.startDashboard("PerformanceSmallBank " + command);
 
                 for (int i = 0; i < count; ++i) {
-                    limiter.acquire();
+                    final long intendedStartTime = scheduler.acquire();
                     long seconds = System.currentTimeMillis() / 1000L;
                     String user = Long.toHexString(seconds) + Integer.toHexString(i);
                     BigInteger amount = BigInteger.valueOf(1000000000);
-                    DagTransferUser dtu = new DagTransferUser();
-                    dtu.setUser(user);
-                    dtu.setAmount(amount);
 
                     for (int j = 0; j < contractsNum; j++) {
                         final int index = j;
@@ -215,32 +196,29 @@ public class PerformanceSmallBank {
                                             @Override
                                             public void run() {
                                                 SmallBankPrecompiled contract = contracts[index];
-                                                long now = System.currentTimeMillis();
+                                                long now = System.nanoTime();
                                                 contract.updateBalance(
                                                         user,
                                                         amount,
                                                         new TransactionCallback() {
                                                             public void onResponse(
                                                                     TransactionReceipt receipt) {
-                                                                long cost =
-                                                                        System.currentTimeMillis()
-                                                                                - now;
-                                                                collector.onMessage(receipt, cost);
-                                                                receivedBar.step();
-                                                                if (!receipt.isStatusOK()) {
-                                                                    errorBar.step();
-                                                                }
+                                                                long end = System.nanoTime();
+                                                                long cost = end - now;
+                                                                collector.onMessage(
+                                                                        receipt,
+                                                                        cost,
+                                                                        end - intendedStartTime);
                                                                 transactionLatch.countDown();
                                                                 totalCost.addAndGet(
-                                                                        System.currentTimeMillis()
-                                                                                - now);
+                                                                        System.nanoTime() - now);
                                                             }
                                                         });
-                                                sendedBar.step();
+                                                collector.onSent();
                                             }
                                         });
                     }
-                    dagUserInfo.addUser(dtu);
+                    dagUserInfo.addUser(user, amount.longValue());
                 }
                 // save the user info
                 transactionLatch.await();
@@ -249,9 +227,6 @@ public class PerformanceSmallBank {
                 // }
                 System.out.println("Sending transactions finished!");
                 dagUserInfo.writeDagTransferUser();
-                sendedBar.close();
-                receivedBar.close();
-                errorBar.close();
                 collector.report();
                 System.exit(0);
                 break;
@@ -261,15 +236,17 @@ public class PerformanceSmallBank {
                     System.out.println("Start userTransfer test...");
                     System.out.println(
                             "===================================================================");
+                    collector.startDashboard("PerformanceSmallBank " + command);
                     RateLimiter rateLimiter = RateLimiter.create(qps.intValue());
                     dagUserInfo.loadDagTransferUser();
-                    List<DagTransferUser> allUser = dagUserInfo.getUserList();
+                    int userSize = dagUserInfo.size();
+                    System.out.println(
+                            "Key chooser: " + dagUserInfo.getKeyChooser().describe(userSize));
                     for (int i = 0; i < txtotal; ) {
-                        limiter.acquire();
-                        final int userindex = (i / contracts.length) % allUser.size();
+                        final int userindex = (i / contracts.length) % userSize;
                         for (int j = 0; j < contracts.length && i < txtotal; j++, i++) {
                             final int index = j % contracts.length;
-                            limiter.acquire();
+                            final long intendedStartTime = scheduler.acquire();
                             threadPoolService
                                     .getThreadPool()
                                     .execute(
@@ -278,41 +255,36 @@ public class PerformanceSmallBank {
                                                 public void run() {
                                                     SmallBankPrecompiled contract =
                                                             contracts[index];
-                                                    long now = System.currentTimeMillis();
+                                                    long now = System.nanoTime();
                                                     try {
-                                                        DagTransferUser from =
-                                                                dagUserInfo.getFrom(userindex);
-                                                        DagTransferUser to =
-                                                                dagUserInfo.getTo(userindex);
+                                                        int from = dagUserInfo.getFrom(userindex);
+                                                        int to = dagUserInfo.getTo(userindex, from);
                                                         int r = random.nextInt(10) + 1;
                                                         BigInteger amount = BigInteger.valueOf(r);
                                                         contract.sendPayment(
-                                                                from.getUser(),
-                                                                to.getUser(),
+                                                                dagUserInfo.getUser(from),
+                                                                dagUserInfo.getUser(to),
                                                                 amount,
                                                                 new TransactionCallback() {
                                                                     public void onResponse(
                                                                             TransactionReceipt
                                                                                     receipt) {
-                                                                        long cost =
-                                                                                System
-                                                                                                .currentTimeMillis()
-                                                                                        - now;
+                                                                        long end =
+                                                                                System.nanoTime();
+                                                                        long cost = end - now;
                                                                         collector.onMessage(
-                                                                                receipt, cost);
-                                                                        receivedBar.step();
-                                                                        if (!receipt.isStatusOK()) {
-                                                                            errorBar.step();
-                                                                        }
+                                                                                receipt,
+                                                                                cost,
+                                                                                end
+                                                                                        - intendedStartTime);
                                                                         transactionLatch
                                                                                 .countDown();
                                                                         totalCost.addAndGet(
-                                                                                System
-                                                                                                .currentTimeMillis()
+                                                                                System.nanoTime()
                                                                                         - now);
                                                                     }
                                                                 });
-                                                        sendedBar.step();
+                                                        collector.onSent();
                                                     } catch (Exception e) {
                                                         e.printStackTrace();
                                                     }
@@ -322,9 +294,6 @@ public class PerformanceSmallBank {
                     }
                     transactionLatch.await();
                     System.out.println("Sending transactions finished!");
-                    sendedBar.close();
-                    receivedBar.close();
-                    errorBar.close();
                     collector.report();
                     break;
                 }
@@ -333,15 +302,15 @@ public class PerformanceSmallBank {
                     System.out.println("Start userSave test...");
                     System.out.println(
                             "===================================================================");
+                    collector.startDashboard("PerformanceSmallBank " + command);
                     RateLimiter rateLimiter = RateLimiter.create(qps.intValue());
                     dagUserInfo.loadDagTransferUser();
-                    List<DagTransferUser> allUser = dagUserInfo.getUserList();
-                    for (int i = 0; i < allUser.size(); i++) {
+                    int userSize = dagUserInfo.size();
+                    for (int i = 0; i < userSize; i++) {
                         final int userIdx = i;
-                        limiter.acquire();
                         for (int j = 0; j < contracts.length; j++) {
                             final int contractIdx = j;
-                            limiter.acquire();
+                            final long intendedStartTime = scheduler.acquire();
                             threadPoolService
                                     .getThreadPool()
                                     .execute(
@@ -350,38 +319,34 @@ public class PerformanceSmallBank {
                                                 public void run() {
                                                     SmallBankPrecompiled contract =
                                                             contracts[contractIdx];
-                                                    long now = System.currentTimeMillis();
+                                                    long now = System.nanoTime();
                                                     try {
-                                                        DagTransferUser from =
-                                                                dagUserInfo.getFrom(userIdx);
+                                                        int from = dagUserInfo.getFrom(userIdx);
                                                         BigInteger amount =
                                                                 BigInteger.valueOf(1000000000);
                                                         contract.updateBalance(
-                                                                from.getUser(),
+                                                                dagUserInfo.getUser(from),
                                                                 amount,
                                                                 new TransactionCallback() {
                                                                     public void onResponse(
                                                                             TransactionReceipt
                                                                                     receipt) {
-                                                                        long cost =
-                                                                                System
-                                                                                                .currentTimeMillis()
-                                                                                        - now;
+                                                                        long end =
+                                                                                System.nanoTime();
+                                                                        long cost = end - now;
                                                                         collector.onMessage(
-                                                                                receipt, cost);
-                                                                        receivedBar.step();
-                                                                        if (!receipt.isStatusOK()) {
-                                                                            errorBar.step();
-                                                                        }
+                                                                                receipt,
+                                                                                cost,
+                                                                                end
+                                                                                        - intendedStartTime);
                                                                         transactionLatch
                                                                                 .countDown();
                                                                         totalCost.addAndGet(
-                                                                                System
-                                                                                                .currentTimeMillis()
+                                                                                System.nanoTime()
                                                                                         - now);
                                                                     }
                                                                 });
-                                                        sendedBar.step();
+                                                        collector.onSent();
                                                     } catch (Exception e) {
                                                         e.printStackTrace();
                                                     }
@@ -391,58 +356,62 @@ public class PerformanceSmallBank {
                     }
                     transactionLatch.await();
                     System.out.println("Sending transactions finished!");
-                    sendedBar.close();
-                    receivedBar.close();
-                    errorBar.close();
                     collector.report();
                     break;
                 }
             case "generate":
                 {
-                    String txsFile = "smallbank." + contractsNum + "." + count + ".txt";
+                    String txsFile =
+                            "smallbank."
+                                    + contractsNum
+                                    + "."
+                                    + count
+                                    + SignedTxWriter.getExtension();
                     System.out.println("Generating transactions -> " + txsFile);
                     dagUserInfo.loadDagTransferUser();
 
-                    File accountFile = new File(txsFile);
-                    if (!accountFile.exists()) {
-                        accountFile.createNewFile();
-                    }
-                    FileWriter fileWriter = new FileWriter(accountFile.getName(), true);
-                    BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
-
-                    List<DagTransferUser> allUser = dagUserInfo.getUserList();
-                    for (int i = 0; i < txtotal; ) {
-                        final int userindex = (i / contracts.length) % allUser.size();
-                        for (int j = 0; j < contracts.length && i < txtotal; j++, i++) {
-                            final int index = j % contracts.length;
-
-                            SmallBankPrecompiled contract = contracts[index];
-                            long now = System.currentTimeMillis();
-                            try {
-                                DagTransferUser from = dagUserInfo.getFrom(userindex);
-                                DagTransferUser to = dagUserInfo.getTo(userindex);
-                                int r = random.nextInt(10) + 1;
-                                BigInteger amount = BigInteger.valueOf(r);
-
-                                String txBytes =
-                                        contract.getSignedTransactionForSendPayment(
-                                                from.getUser(), to.getUser(), amount);
+                    SignedTxWriter txWriter =
+                            SignedTxWriter.open(
+                                    txsFile,
+                                    client,
+                                    contracts.length == 1
+                                            ? contracts[0].getContractAddress()
+                                            : null);
 
-                                bufferedWriter.write(txBytes);
-                                bufferedWriter.newLine();
-
-                                sendedBar.step();
-                                transactionLatch.countDown();
-                            } catch (Exception e) {
-                                e.printStackTrace();
-                            }
-                        }
-                    }
-                    transactionLatch.await();
-                    sendedBar.close();
-                    receivedBar.close();
-                    errorBar.close();
-                    bufferedWriter.close();
+                    int userSize = dagUserInfo.size();
+                    System.out.println(
+                            "Key chooser: " + dagUserInfo.getKeyChooser().describe(userSize));
+                    PreSignPipeline.fromSystemProperty()
+                            .run(
+                                    txtotal,
+                                    thread -> {
+                                        // every signer thread signs with its own objects
+                                        CryptoKeyPair keyPair = PreSignPipeline.copyKeyPair(client);
+                                        SmallBankPrecompiled[] signers =
+                                                new SmallBankPrecompiled[contracts.length];
+                                        for (int k = 0; k < signers.length; ++k) {
+                                            signers[k] =
+                                                    SmallBankPrecompiled.load(k, client, keyPair);
+                                            signers[k].setEnableDAG(enableParallel);
+                                        }
+                                        return index -> {
+                                            int userindex =
+                                                    (int) ((index / signers.length) % userSize);
+                                            int from = dagUserInfo.getFrom(userindex);
+                                            int to = dagUserInfo.getTo(userindex, from);
+                                            BigInteger amount =
+                                                    BigInteger.valueOf(
+                                                            ThreadLocalRandom.current().nextInt(10)
+                                                                    + 1);
+                                            return signers[(int) (index % signers.length)]
+                                                    .getSignedTransactionForSendPayment(
+                                                            dagUserInfo.getUser(from),
+                                                            dagUserInfo.getUser(to),
+                                                            amount);
+                                        };
+                                    },
+                                    txWriter);
+                    txWriter.close();
                     System.out.println("Generate transactions finished! File name: " + txsFile);
                     break;
                 }
@@ -451,9 +420,6 @@ public class PerformanceSmallBank {
                 Usage();
                 break;
         }
-        // sendedBar.close();
-        // receivedBar.close();
-        // errorBar.close();
         // collector.report();
     }
 }
@@ -22,10 +22,11 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.fisco.bcos.sdk.demo.contract.TableTestLiquid;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ExceptionReceipt;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
@@ -89,11 +90,12 @@ public class PerformanceTableLiquid {
             BcosSDK sdk = BcosSDK.build(configFile);
 
             // build the client
-            Client client = sdk.getClient(groupId);
+            Client client = ClientPool.fromSystemProperty(sdk, groupId);
             if (client == null) {
                 System.out.println("client is null");
                 return;
             }
+            BlockObserver.fromSystemProperty(client);
 
             // deploy the TableTest
             System.out.println("====== Deploy TableTest ====== ");
@@ -115,52 +117,39 @@ public class PerformanceTableLiquid {
 
             CountDownLatch countDownLatch = new CountDownLatch(count);
             RateLimiter limiter = RateLimiter.create(qps);
-            ProgressBar sentBar =
-                    new ProgressBarBuilder()
-                            .setTaskName("Send   :")
-                            .setInitialMax(count)
-                            .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                            .build();
-            ProgressBar receivedBar =
-                    new ProgressBarBuilder()
-                            .setTaskName("Receive:")
-                            .setInitialMax(count)
-                            .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                            .build();
-
             System.out.println("====== PerformanceTableLiquid " + command + " start ======");
             ThreadPoolService threadPoolService =
                     new ThreadPoolService(
                             "PerformanceTableLiquid", Runtime.getRuntime().availableProcessors());
+            ResourceProfiler.registerExecutor(
+                    "PerformanceTableLiquid", threadPoolService.getThreadPool());
 
             Collector collector = new Collector();
             collector.setTotal(count);
+            collector.startDashboard("PerformanceTableLiquid");
             for (int i = 0; i < count; ++i) {
                 limiter.acquire();
                 threadPoolService
                         .getThreadPool()
                         .execute(
                                 () -> {
-                                    long now = System.currentTimeMillis();
+                                    long now = System.nanoTime();
                                     callTableOperation(
                                             command,
                                             tableTestLiquid,
                                             new TransactionCallback() {
                                                 @Override
                                                 public void onResponse(TransactionReceipt receipt) {
-                                                    long cost = System.currentTimeMillis() - now;
+                                                    long cost = System.nanoTime() - now;
                                                     collector.onMessage(receipt, cost);
-                                                    receivedBar.step();
                                                     countDownLatch.countDown();
                                                 }
                                             });
-                                    sentBar.step();
+                                    collector.onSent();
                                 });
             }
             // wait to collect all the receipts
             countDownLatch.await();
-            receivedBar.close();
-            sentBar.close();
             collector.report();
             threadPoolService.stop();
             System.exit(0);
@@ -220,9 +209,7 @@ public class PerformanceTableLiquid {
             receipt.setStatus(0);
             callback.onResponse(receipt);
         } catch (Exception e) {
-            receipt.setStatus(-1);
-            receipt.setMessage(e.getMessage());
-            callback.onResponse(receipt);
+            callback.onResponse(new ExceptionReceipt(e, e.getMessage()));
         }
     }
 }
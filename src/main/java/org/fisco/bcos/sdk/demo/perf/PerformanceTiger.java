@@ -28,11 +28,11 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.fisco.bcos.sdk.demo.contract.TigerHoleV2;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple5;
@@ -77,9 +77,11 @@ public class PerformanceTiger {
 
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
             ExecutorService executor =
                     Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            ResourceProfiler.registerExecutor("PerformanceTiger", executor);
             limiter = RateLimiter.create(qps.intValue());
 
             start(groupId, count, qps, executor, isParallel);
@@ -97,19 +99,7 @@ public class PerformanceTiger {
         AtomicLong totalCost = new AtomicLong(0);
         Collector collector = new Collector();
         collector.setTotal(count);
-
-        ProgressBar sendedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
+        collector.startDashboard("Create seed users");
 
         Map<String, Integer> seedUsers = new ConcurrentHashMap<String, Integer>();
         final Random random = new Random();
@@ -131,7 +121,7 @@ public class PerformanceTiger {
                             String randomStr1 = RandomStringUtils.random(32);
                             String randomStr2 = RandomStringUtils.random(32);
 
-                            long now = System.currentTimeMillis();
+                            long now = System.nanoTime();
 
                             tigerHole.tradeTiger(
                                     openID,
@@ -167,22 +157,19 @@ public class PerformanceTiger {
                                                                 + receipt.getStatus());
                                             }
 
-                                            long cost = System.currentTimeMillis() - now;
+                                            long cost = System.nanoTime() - now;
                                             collector.onMessage(receipt, cost);
-                                            receivedBar.step();
                                             transactionLatch.countDown();
-                                            totalCost.addAndGet(System.currentTimeMillis() - now);
+                                            totalCost.addAndGet(System.nanoTime() - now);
                                         }
                                     });
 
-                            sendedBar.step();
+                            collector.onSent();
                         }
                     });
         }
         transactionLatch.await();
 
-        sendedBar.close();
-        receivedBar.close();
         collector.report();
 
         System.out.println("Create seed user finished!");
@@ -197,19 +184,7 @@ public class PerformanceTiger {
 
         int count = seedUsers.size() * 10;
         collector.setTotal(count);
-
-        ProgressBar sendedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
+        collector.startDashboard("Publish card");
 
         final Random random = new Random();
         CountDownLatch transactionLatch = new CountDownLatch(count);
@@ -231,7 +206,7 @@ public class PerformanceTiger {
                             final String cardID = RandomStringUtils.random(32);
                             int tigerID = tigerIDStart.addAndGet(1);
 
-                            long now = System.currentTimeMillis();
+                            long now = System.nanoTime();
 
                             tigerHole.tradeTiger(
                                     toOpenID,
@@ -307,22 +282,19 @@ public class PerformanceTiger {
                                                                 + receipt.getStatus());
                                             }
 
-                                            long cost = System.currentTimeMillis() - now;
+                                            long cost = System.nanoTime() - now;
                                             collector.onMessage(receipt, cost);
-                                            receivedBar.step();
                                             transactionLatch.countDown();
-                                            totalCost.addAndGet(System.currentTimeMillis() - now);
+                                            totalCost.addAndGet(System.nanoTime() - now);
                                         }
                                     });
 
-                            sendedBar.step();
+                            collector.onSent();
                         }
                     });
         }
         transactionLatch.await();
 
-        sendedBar.close();
-        receivedBar.close();
         collector.report();
 
         System.out.println("Publish card finished!");
@@ -336,19 +308,7 @@ public class PerformanceTiger {
 
         int count = seedUsers.size() * 10;
         collector.setTotal(count);
-
-        ProgressBar sendedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Send   :")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
-        ProgressBar receivedBar =
-                new ProgressBarBuilder()
-                        .setTaskName("Receive:")
-                        .setInitialMax(count)
-                        .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                        .build();
+        collector.startDashboard("Merge tigers");
 
         final Random random = new Random();
         CountDownLatch transactionLatch = new CountDownLatch(count);
@@ -369,7 +329,7 @@ public class PerformanceTiger {
                             final String toOpenID = RandomStringUtils.random(32);
                             int tigerID = tigerIDStart.addAndGet(1);
 
-                            long now = System.currentTimeMillis();
+                            long now = System.nanoTime();
 
                             List<BigInteger> tigerIDs = new ArrayList<BigInteger>();
                             int mergeCount = random.nextInt(10);
@@ -459,22 +419,19 @@ public class PerformanceTiger {
                                                                 + receipt.getStatus());
                                             }
 
-                                            long cost = System.currentTimeMillis() - now;
+                                            long cost = System.nanoTime() - now;
                                             collector.onMessage(receipt, cost);
-                                            receivedBar.step();
                                             transactionLatch.countDown();
-                                            totalCost.addAndGet(System.currentTimeMillis() - now);
+                                            totalCost.addAndGet(System.nanoTime() - now);
                                         }
                                     });
 
-                            sendedBar.step();
+                            collector.onSent();
                         }
                     });
         }
         transactionLatch.await();
 
-        sendedBar.close();
-        receivedBar.close();
         collector.report();
 
         System.out.println("mergeTigers finished!");
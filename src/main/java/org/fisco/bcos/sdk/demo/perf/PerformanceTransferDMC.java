@@ -14,9 +14,6 @@
 package org.fisco.bcos.sdk.demo.perf;
 
 import com.google.common.util.concurrent.RateLimiter;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.net.URL;
@@ -24,14 +21,21 @@ import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import me.tongfei.progressbar.ProgressBar;
-import me.tongfei.progressbar.ProgressBarBuilder;
-import me.tongfei.progressbar.ProgressBarStyle;
 import org.fisco.bcos.sdk.demo.contract.Account;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.model.KeyChooser;
+import org.fisco.bcos.sdk.demo.perf.replay.PreSignPipeline;
+import org.fisco.bcos.sdk.demo.perf.replay.SignedTxWriter;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
+import org.fisco.bcos.sdk.demo.perf.runner.InFlightWindow;
+import org.fisco.bcos.sdk.demo.perf.runner.OpenLoopScheduler;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.ConstantConfig;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
@@ -45,7 +49,7 @@ public class PerformanceTransferDMC {
         System.out.println(" Usage:");
         System.out.println("===== PerformanceDMC test===========");
         System.out.println(
-                " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.PerformanceTransferDMC [groupId] [userCount] [count] [qps]."
+                " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.PerformanceTransferDMC [groupId] [userCount] [count] [qps] [maxInFlight(optional)] [targetLatencyMs(optional)]."
                         + " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.PerformanceTransferDMC [groupId] [userCount] [count] [generate].");
     }
 
@@ -77,14 +81,25 @@ public class PerformanceTransferDMC {
             } else {
                 qps = Integer.valueOf(args[3]).intValue();
             }
+            int maxInFlight = args.length > 4 ? Integer.valueOf(args[4]) : 0;
+            long targetLatencyMs = args.length > 5 ? Long.valueOf(args[5]) : 0;
 
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            client = sdk.getClient(groupId);
+            client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
             ThreadPoolService threadPoolService =
                     new ThreadPoolService("DMCClient", Runtime.getRuntime().availableProcessors());
+            ResourceProfiler.registerExecutor("DMCClient", threadPoolService.getThreadPool());
 
-            start(groupId, userCount, count, qps, isGenerate, threadPoolService);
+            start(
+                    groupId,
+                    userCount,
+                    count,
+                    qps,
+                    isGenerate,
+                    InFlightWindow.create(maxInFlight, targetLatencyMs),
+                    threadPoolService);
 
             threadPoolService.getThreadPool().awaitTermination(0, TimeUnit.SECONDS);
             System.exit(0);
@@ -100,8 +115,9 @@ public class PerformanceTransferDMC {
             int count,
             Integer qps,
             boolean isGenerate,
+            InFlightWindow window,
             ThreadPoolService threadPoolService)
-            throws IOException, InterruptedException, ContractException {
+            throws Exception {
         System.out.println(
                 "====== Start test, user count: "
                         + userCount
@@ -153,6 +169,8 @@ public class PerformanceTransferDMC {
         }
         userLatch.await();
         System.out.println("Create account finished!");
+        KeyChooser keyChooser = KeyChooser.fromSystemProperty(KeyChooser.UNIFORM);
+        System.out.println("Key chooser: " + keyChooser.describe(accounts.length));
 
         if (isGenerate) {
             String accountTxFile =
@@ -162,70 +180,53 @@ public class PerformanceTransferDMC {
                             + count
                             + "."
                             + System.currentTimeMillis()
-                            + ".txt";
+                            + SignedTxWriter.getExtension();
             System.out.println("Generating transactions -> " + accountTxFile);
-            ProgressBar generateBar =
-                    new ProgressBarBuilder()
-                            .setTaskName("Generate   :")
-                            .setInitialMax(count)
-                            .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                            .build();
-
-            File accountFile = new File(accountTxFile);
-            if (!accountFile.exists()) {
-                accountFile.createNewFile();
-            }
-            FileWriter fileWriter = new FileWriter(accountFile.getName(), true);
-            BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
-
-            for (int i = 0; i < count; ++i) {
-                final int fromIndex = Math.abs(random.nextInt()) % accounts.length;
-                final int toIndex = Math.abs(random.nextInt()) % accounts.length;
-
-                Account account = accounts[fromIndex];
-
-                final long value = Math.abs(random.nextLong() % 1000);
-
-                String txBytes =
-                        account.getSignedTransactionForTransfer(
-                                accounts[toIndex].getContractAddress(), BigInteger.valueOf(value));
-
-                bufferedWriter.write(txBytes);
-                bufferedWriter.newLine();
-
-                generateBar.step();
-            }
-            generateBar.close();
+            SignedTxWriter txWriter = SignedTxWriter.open(accountTxFile, client, null);
+            PreSignPipeline.fromSystemProperty()
+                    .run(
+                            count,
+                            thread -> {
+                                CryptoKeyPair keyPair = PreSignPipeline.copyKeyPair(client);
+                                Account[] signers = new Account[accounts.length];
+                                for (int k = 0; k < accounts.length; ++k) {
+                                    signers[k] =
+                                            Account.load(
+                                                    accounts[k].getContractAddress(),
+                                                    client,
+                                                    keyPair);
+                                }
+                                return i -> {
+                                    int fromIndex = keyChooser.choose(i, signers.length);
+                                    int toIndex =
+                                            keyChooser.chooseOther(i, fromIndex, signers.length);
+                                    long value = ThreadLocalRandom.current().nextLong(1000);
+                                    return signers[fromIndex].getSignedTransactionForTransfer(
+                                            signers[toIndex].getContractAddress(),
+                                            BigInteger.valueOf(value));
+                                };
+                            },
+                            txWriter);
 
             System.out.println("Write DMC accounts transfer into file: " + accountTxFile);
-            bufferedWriter.close();
+            txWriter.close();
 
         } else {
             System.out.println("Sending transactions...");
-            ProgressBar sendedBar =
-                    new ProgressBarBuilder()
-                            .setTaskName("Send   :")
-                            .setInitialMax(count)
-                            .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                            .build();
-            ProgressBar receivedBar =
-                    new ProgressBarBuilder()
-                            .setTaskName("Receive:")
-                            .setInitialMax(count)
-                            .setStyle(ProgressBarStyle.UNICODE_BLOCK)
-                            .build();
-
             CountDownLatch transactionLatch = new CountDownLatch(count);
             AtomicLong totalCost = new AtomicLong(0);
             Collector collector = new Collector();
             collector.setTotal(count);
+            collector.startDashboard("PerformanceTransferDMC");
 
+            OpenLoopScheduler scheduler = new OpenLoopScheduler(qps.intValue());
+            window.startMonitor(1000);
             for (int i = 0; i < count; ++i) {
-                limiter.acquire();
+                final long intendedStartTime = scheduler.acquire();
+                window.acquire();
 
-                final int fromIndex = Math.abs(random.nextInt()) % accounts.length;
-                final int toIndex = Math.abs(random.nextInt()) % accounts.length;
-                // final int toIndex = (fromIndex + 1) % accounts.length;
+                final int fromIndex = keyChooser.choose(i, accounts.length);
+                final int toIndex = keyChooser.chooseOther(i, fromIndex, accounts.length);
                 threadPoolService
                         .getThreadPool()
                         .execute(
@@ -233,7 +234,7 @@ public class PerformanceTransferDMC {
                                     @Override
                                     public void run() {
                                         Account account = accounts[fromIndex];
-                                        long now = System.currentTimeMillis();
+                                        long now = System.nanoTime();
 
                                         final long value = Math.abs(random.nextLong() % 1000);
 
@@ -254,24 +255,27 @@ public class PerformanceTransferDMC {
                                                             toBalance.addAndGet(value);
                                                         }
 
-                                                        long cost =
-                                                                System.currentTimeMillis() - now;
-                                                        collector.onMessage(receipt, cost);
-                                                        receivedBar.step();
+                                                        long end = System.nanoTime();
+                                                        long cost = end - now;
+                                                        window.release(cost);
+                                                        collector.onMessage(
+                                                                receipt,
+                                                                cost,
+                                                                end - intendedStartTime);
                                                         transactionLatch.countDown();
                                                         totalCost.addAndGet(
-                                                                System.currentTimeMillis() - now);
+                                                                System.nanoTime() - now);
                                                     }
                                                 });
-                                        sendedBar.step();
+                                        collector.onSent();
                                     }
                                 });
             }
             transactionLatch.await();
 
-            sendedBar.close();
-            receivedBar.close();
+            window.stop();
             collector.report();
+            window.report(60);
 
             System.out.println("Sending transactions finished!");
 
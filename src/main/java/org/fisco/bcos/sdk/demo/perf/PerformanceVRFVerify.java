@@ -5,7 +5,11 @@ import java.net.URL;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.fisco.bcos.sdk.demo.contract.Curve25519VRFVerifyTest;
 import org.fisco.bcos.sdk.demo.perf.callback.PerformanceCallback;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ExceptionReceipt;
 import org.fisco.bcos.sdk.demo.perf.collector.PerformanceCollector;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
 import org.fisco.bcos.sdk.v3.BcosSDK;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.crypto.vrf.Curve25519VRF;
@@ -48,7 +52,8 @@ public class PerformanceVRFVerify {
             String groupId = args[2];
             String configFile = configUrl.getPath();
             BcosSDK sdk = BcosSDK.build(configFile);
-            Client client = sdk.getClient(groupId);
+            Client client = ClientPool.fromSystemProperty(sdk, groupId);
+            BlockObserver.fromSystemProperty(client);
 
             System.out.println("Start test...");
             System.out.println(
@@ -63,6 +68,8 @@ public class PerformanceVRFVerify {
             ThreadPoolService threadPoolService =
                     new ThreadPoolService(
                             "PerformanceVRFVerify", Runtime.getRuntime().availableProcessors());
+            ResourceProfiler.registerExecutor(
+                    "PerformanceVRFVerify", threadPoolService.getThreadPool());
 
             Curve25519VRFVerifyTest curve25519VRFVerifyTest =
                     Curve25519VRFVerifyTest.deploy(
@@ -93,12 +100,13 @@ public class PerformanceVRFVerify {
                                                     Hex.decode(vrfProof),
                                                     callback);
                                         } catch (Exception e) {
-                                            TransactionReceipt receipt = new TransactionReceipt();
-                                            receipt.setStatus(-1);
+                                            TransactionReceipt receipt =
+                                                    new ExceptionReceipt(e, e.getMessage());
                                             callback.onResponse(receipt);
                                             logger.info(e.getMessage());
                                         }
 
+                                        collector.onSent();
                                         int current = sended.incrementAndGet();
                                         if (current >= area && ((current % area) == 0)) {
                                             System.out.println(
@@ -13,9 +13,7 @@
  */
 package org.fisco.bcos.sdk.demo.perf.callback;
 
-import java.math.BigInteger;
 import org.fisco.bcos.sdk.demo.perf.collector.PerformanceCollector;
-import org.fisco.bcos.sdk.demo.perf.model.DagTransferUser;
 import org.fisco.bcos.sdk.demo.perf.model.DagUserInfo;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
@@ -27,15 +25,17 @@ public class ParallelOkCallback extends TransactionCallback {
     public static final String ADD_USER_CALLBACK = "add";
     public static final String TRANS_CALLBACK = "transfer";
     private Long startTime;
+    private Long intendedStartTime = null;
 
     private final PerformanceCollector collector;
     private final DagUserInfo dagUserInfo;
     private final String callbackType;
 
-    private DagTransferUser user = null;
-    private DagTransferUser fromUser = null;
-    private DagTransferUser toUser = null;
-    private BigInteger amount = null;
+    // the user to add, or the ledger ids of a transfer
+    private String user = null;
+    private int fromUser = -1;
+    private int toUser = -1;
+    private long amount = 0;
 
     public ParallelOkCallback(
             PerformanceCollector collector, DagUserInfo dagUserInfo, String callbackType) {
@@ -45,56 +45,64 @@ public class ParallelOkCallback extends TransactionCallback {
     }
 
     public void recordStartTime() {
-        this.startTime = System.currentTimeMillis();
+        this.startTime = System.nanoTime();
+    }
+
+    /** @param intendedStartTime scheduled send time from {@code OpenLoopScheduler.acquire()} */
+    public void recordStartTime(long intendedStartTime) {
+        recordStartTime();
+        this.intendedStartTime = intendedStartTime;
     }
 
     @Override
     public void onResponse(TransactionReceipt receipt) {
-        Long cost = System.currentTimeMillis() - startTime;
+        long now = System.nanoTime();
+        Long cost = now - startTime;
+        Long responseTime = intendedStartTime == null ? null : now - intendedStartTime;
         try {
             if (receipt.isStatusOK()) {
                 if (callbackType.compareTo(ADD_USER_CALLBACK) == 0) { // add test
-                    dagUserInfo.addUser(user);
+                    dagUserInfo.addUser(user, amount);
                 } else if (callbackType.compareTo(TRANS_CALLBACK) == 0) { // transfer test
-                    fromUser.decrease(amount);
-                    toUser.increase(amount);
+                    dagUserInfo.transfer(fromUser, toUser, amount);
                 }
             }
-            collector.onMessage(receipt, cost);
+            collector.onMessage(receipt, cost, responseTime);
         } catch (Exception e) {
             logger.error("onMessage error: ", e);
         }
     }
 
-    public DagTransferUser getFromUser() {
+    public int getFromUser() {
         return fromUser;
     }
 
-    public void setFromUser(DagTransferUser fromUser) {
+    public void setFromUser(int fromUser) {
         this.fromUser = fromUser;
     }
 
-    public DagTransferUser getToUser() {
+    public int getToUser() {
         return toUser;
     }
 
-    public void setToUser(DagTransferUser toUser) {
+    public void setToUser(int toUser) {
         this.toUser = toUser;
     }
 
-    public BigInteger getAmount() {
+    public long getAmount() {
         return amount;
     }
 
-    public void setAmount(BigInteger amount) {
+    /** @param amount the transferred amount, or the initial balance of the user to add */
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 
-    public DagTransferUser getUser() {
+    public String getUser() {
         return user;
     }
 
-    public void setUser(DagTransferUser user) {
+    public void setUser(String user) {
         this.user = user;
     }
 }
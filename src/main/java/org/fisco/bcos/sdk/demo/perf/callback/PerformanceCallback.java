@@ -22,7 +22,8 @@ import org.slf4j.LoggerFactory;
 public class PerformanceCallback extends TransactionCallback {
 
     private static Logger logger = LoggerFactory.getLogger(PerformanceCallback.class);
-    private Long startTime = System.currentTimeMillis();
+    private Long startTime = System.nanoTime();
+    private Long intendedStartTime = null;
 
     private PerformanceCollector collector;
 
@@ -36,12 +37,19 @@ public class PerformanceCallback extends TransactionCallback {
 
     public PerformanceCallback() {}
 
+    /** @param intendedStartTime scheduled send time from {@code OpenLoopScheduler.acquire()} */
+    public void setIntendedStartTime(Long intendedStartTime) {
+        this.intendedStartTime = intendedStartTime;
+    }
+
     @Override
     public void onResponse(TransactionReceipt receipt) {
-        Long cost = System.currentTimeMillis() - startTime;
+        long now = System.nanoTime();
+        Long cost = now - startTime;
+        Long responseTime = intendedStartTime == null ? null : now - intendedStartTime;
 
         try {
-            collector.onMessage(receipt, cost);
+            collector.onMessage(receipt, cost, responseTime);
         } catch (Exception e) {
             logger.error("onMessage error: ", e);
         }
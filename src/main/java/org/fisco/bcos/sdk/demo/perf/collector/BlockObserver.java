@@ -0,0 +1,310 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Follows the new blocks of the group while a perf driver runs and compares what the chain
+ * committed with what the client saw, so a growing txpool shows up as a gap between client and
+ * chain TPS instead of being guessed from the latency.
+ *
+ * <p>Enabled with {@code -Dperf.blockObserver=100} (poll interval in milliseconds, or {@code true}
+ * for the default) or {@code --block-observer} of the runner. The observer polls {@code
+ * getBlockNumber} and reads the transaction hashes of every new block. Each receipt passed to the
+ * collectors is matched with the head block when it was sent, giving its inclusion delay in blocks.
+ * The commit latency compares the block timestamp of the node with the local clock, so it is only
+ * meaningful when both clocks are synchronized.
+ */
+public class BlockObserver {
+    private static Logger logger = LoggerFactory.getLogger(BlockObserver.class);
+    public static final String PROPERTY = "perf.blockObserver";
+    public static final long DEFAULT_POLL_MILLIS = 100;
+    // head history used to find the head at send time, blocks further back count as unknown
+    private static final int HEAD_HISTORY = 1024;
+
+    private static volatile BlockObserver instance = null;
+
+    private final Client client;
+    private final long pollMillis;
+    private final List<Block> blocks = new ArrayList<>();
+    private final AtomicLongArray headNumbers = new AtomicLongArray(HEAD_HISTORY);
+    private final AtomicLongArray headNanos = new AtomicLongArray(HEAD_HISTORY);
+    private final LatencyHistogram inclusionDelay = new LatencyHistogram();
+    private volatile long head = -1;
+    private Thread poller;
+
+    private static class Block {
+        private final long number;
+        private final long timestamp;
+        private final int transactions;
+        private final long observedMillis;
+
+        private Block(long number, long timestamp, int transactions, long observedMillis) {
+            this.number = number;
+            this.timestamp = timestamp;
+            this.transactions = transactions;
+            this.observedMillis = observedMillis;
+        }
+    }
+
+    public BlockObserver(Client client, long pollMillis) {
+        this.client = client;
+        this.pollMillis = pollMillis;
+    }
+
+    /** @return the running observer, null if none was started */
+    public static BlockObserver getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts the process wide observer on {@code client}, or returns the one already running.
+     *
+     * @param pollMillis poll interval, 0 for {@link #DEFAULT_POLL_MILLIS}
+     */
+    public static synchronized BlockObserver start(Client client, long pollMillis) {
+        if (instance != null) {
+            return instance;
+        }
+        BlockObserver observer =
+                new BlockObserver(client, pollMillis > 0 ? pollMillis : DEFAULT_POLL_MILLIS);
+        observer.startPolling();
+        instance = observer;
+        return instance;
+    }
+
+    /** @return the observer started as {@code -Dperf.blockObserver} asks, null if it is not set */
+    public static BlockObserver fromSystemProperty(Client client) {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.trim().isEmpty() || value.trim().equals("false")) {
+            return instance;
+        }
+        long pollMillis = value.trim().equals("true") ? 0 : Long.parseLong(value.trim());
+        return start(client, pollMillis);
+    }
+
+    private void startPolling() {
+        long current = client.getBlockNumber().getBlockNumber().longValue();
+        recordHead(current);
+        poller =
+                new Thread(
+                        () -> {
+                            while (!Thread.currentThread().isInterrupted()) {
+                                try {
+                                    poll();
+                                    TimeUnit.MILLISECONDS.sleep(pollMillis);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                } catch (Exception e) {
+                                    logger.warn("poll blocks failed: {}", e.getMessage());
+                                }
+                            }
+                        },
+                        "BlockObserver");
+        poller.setDaemon(true);
+        poller.start();
+        System.out.println(
+                "====== Observing blocks from "
+                        + current
+                        + ", polling every "
+                        + pollMillis
+                        + "ms ======");
+    }
+
+    private void poll() {
+        long latest = client.getBlockNumber().getBlockNumber().longValue();
+        for (long number = head + 1; number <= latest; ++number) {
+            BcosBlock.Block block =
+                    client.getBlockByNumber(BigInteger.valueOf(number), false, true).getBlock();
+            long now = System.currentTimeMillis();
+            int transactions = block.getTransactions() == null ? 0 : block.getTransactions().size();
+            synchronized (blocks) {
+                blocks.add(new Block(number, block.getTimestamp(), transactions, now));
+            }
+            recordHead(number);
+        }
+    }
+
+    private void recordHead(long number) {
+        int slot = (int) (number % HEAD_HISTORY);
+        headNanos.set(slot, System.nanoTime());
+        headNumbers.set(slot, number);
+        head = number;
+    }
+
+    /** @return the head block the observer knew at {@code nanos}, -1 if it is too far back */
+    private long headAt(long nanos) {
+        long current = head;
+        for (long number = current; number >= 0 && number > current - HEAD_HISTORY; --number) {
+            int slot = (int) (number % HEAD_HISTORY);
+            if (headNumbers.get(slot) != number) {
+                return -1;
+            }
+            if (headNanos.get(slot) <= nanos) {
+                return number;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Records the inclusion delay of a receipt on the running observer, if any.
+     *
+     * @param cost nanoseconds since the transaction was sent
+     */
+    public static void onReceipt(TransactionReceipt receipt, long cost) {
+        BlockObserver observer = instance;
+        if (observer != null) {
+            observer.recordInclusion(receipt, cost);
+        }
+    }
+
+    /** Prints the chain side of the run if an observer is running. */
+    public static void report(long startMillis, long endMillis, long sent, long received) {
+        BlockObserver observer = instance;
+        if (observer != null) {
+            observer.print(startMillis, endMillis, sent, received);
+        }
+    }
+
+    /** Records the inclusion delay in blocks after the head known at send time. */
+    public void recordInclusion(TransactionReceipt receipt, long cost) {
+        long blockNumber = parseBlockNumber(receipt.getBlockNumber());
+        if (blockNumber < 0) {
+            return;
+        }
+        long sentAt = headAt(System.nanoTime() - cost);
+        if (sentAt >= 0 && blockNumber >= sentAt) {
+            inclusionDelay.record(blockNumber - sentAt);
+        }
+    }
+
+    private static long parseBlockNumber(String blockNumber) {
+        if (blockNumber == null || blockNumber.isEmpty()) {
+            return -1;
+        }
+        try {
+            if (blockNumber.startsWith("0x")) {
+                return Long.parseLong(blockNumber.substring(2), 16);
+            }
+            return Long.parseLong(blockNumber);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Prints the blocks observed between {@code startMillis} and {@code endMillis} next to the
+     * client side counts of the same window.
+     */
+    public void print(long startMillis, long endMillis, long sent, long received) {
+        List<Block> window = new ArrayList<>();
+        synchronized (blocks) {
+            for (Block block : blocks) {
+                if (block.observedMillis >= startMillis && block.observedMillis <= endMillis) {
+                    window.add(block);
+                }
+            }
+        }
+        double seconds = Math.max(1, endMillis - startMillis) / 1000.0;
+        long committed = 0;
+        LatencyHistogram transactions = new LatencyHistogram();
+        LatencyHistogram interval = new LatencyHistogram();
+        LatencyHistogram commitLatency = new LatencyHistogram();
+        Block previous = null;
+        for (Block block : window) {
+            committed += block.transactions;
+            transactions.record(block.transactions);
+            if (previous != null && previous.number + 1 == block.number) {
+                interval.record(block.timestamp - previous.timestamp, TimeUnit.MILLISECONDS);
+            }
+            commitLatency.record(block.observedMillis - block.timestamp, TimeUnit.MILLISECONDS);
+            previous = block;
+        }
+
+        System.out.println("Chain:");
+        if (window.isEmpty()) {
+            System.out.println("    no block observed during the run");
+            return;
+        }
+        double sendTps = sent / seconds;
+        double clientTps = received / seconds;
+        double chainTps = committed / seconds;
+        System.out.println(
+                "    blocks: "
+                        + window.get(0).number
+                        + " - "
+                        + window.get(window.size() - 1).number
+                        + " ("
+                        + window.size()
+                        + " blocks, "
+                        + committed
+                        + " transactions)");
+        System.out.println(String.format("    send rate : %.2f", sendTps));
+        System.out.println(String.format("    client TPS: %.2f", clientTps));
+        System.out.println(String.format("    chain TPS : %.2f", chainTps));
+        System.out.println(
+                String.format(
+                        "    gap       : %.2f (send rate - chain TPS, > 0 means the txpool grows)",
+                        sendTps - chainTps));
+        if (sent > 0) {
+            System.out.println(
+                    "    not committed at the end: "
+                            + Math.max(0, sent - committed)
+                            + " (sent - transactions in blocks, which count other senders too)");
+        }
+        System.out.println(
+                String.format(
+                        "    txs/block : mean %.1f, p50 %d, p99 %d, max %d",
+                        transactions.getMean(),
+                        transactions.getValueAtPercentile(50),
+                        transactions.getValueAtPercentile(99),
+                        transactions.getMax()));
+        if (interval.getTotalCount() > 0) {
+            System.out.println(
+                    "    block interval: mean "
+                            + CollectorReport.formatMillis(interval.getMean())
+                            + ", p50 "
+                            + CollectorReport.formatMillis(interval.getValueAtPercentile(50))
+                            + ", p99 "
+                            + CollectorReport.formatMillis(interval.getValueAtPercentile(99))
+                            + ", max "
+                            + CollectorReport.formatMillis(interval.getMax()));
+        }
+        System.out.println(
+                "    commit latency (block timestamp to observed): mean "
+                        + CollectorReport.formatMillis(commitLatency.getMean())
+                        + ", p99 "
+                        + CollectorReport.formatMillis(commitLatency.getValueAtPercentile(99)));
+        if (inclusionDelay.getTotalCount() > 0) {
+            System.out.println(
+                    String.format(
+                            "    inclusion delay (blocks after the head at send time): mean %.2f, p50 %d, p99 %d, max %d",
+                            inclusionDelay.getMean(),
+                            inclusionDelay.getValueAtPercentile(50),
+                            inclusionDelay.getValueAtPercentile(99),
+                            inclusionDelay.getMax()));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import java.util.concurrent.TimeUnit;
+
+/** Console output shared by {@code Collector} and {@link PerformanceCollector}. */
+public class CollectorReport {
+    public static final double[] DEFAULT_PERCENTILES = {50, 75, 90, 95, 99, 99.9, 99.99};
+
+    private static final long[] TIME_AREA_MS = {50, 100, 200, 400, 1000, 2000};
+
+    public static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public static String formatMillis(double nanos) {
+        return String.format("%.3fms", toMillis(nanos));
+    }
+
+    public static void printLatency(LatencyHistogram histogram, double[] percentiles) {
+        printLatency(histogram, new LatencyHistogram(), percentiles);
+    }
+
+    /**
+     * Prints service time and, when open-loop samples were recorded, response time side by side.
+     * The time area table follows the response time, which is what the caller experienced.
+     */
+    public static void printLatency(
+            LatencyHistogram service, LatencyHistogram response, double[] percentiles) {
+        boolean openLoop = response.getTotalCount() > 0;
+        LatencyHistogram histogram = openLoop ? response : service;
+        long count = histogram.getTotalCount();
+        if (!openLoop) {
+            System.out.println("Avg time cost: " + formatMillis(service.getMean()));
+            System.out.println("Latency percentiles:");
+        } else {
+            System.out.println(
+                    "Avg time cost: "
+                            + formatMillis(service.getMean())
+                            + " (service), "
+                            + formatMillis(response.getMean())
+                            + " (response)");
+            System.out.println(String.format("%-15s%-14s%s", "Latency:", "service", "response"));
+        }
+        printRow("min", service.getMin(), response.getMin(), openLoop);
+        for (double percentile : percentiles) {
+            printRow(
+                    "p" + formatPercentile(percentile),
+                    service.getValueAtPercentile(percentile),
+                    response.getValueAtPercentile(percentile),
+                    openLoop);
+        }
+        printRow("max", service.getMax(), response.getMax(), openLoop);
+
+        if (count == 0) {
+            return;
+        }
+        System.out.println("Time area:");
+        long lowerCount = 0;
+        long lowerBound = 0;
+        for (long upperBound : TIME_AREA_MS) {
+            long below = histogram.getCountBelow(TimeUnit.MILLISECONDS.toNanos(upperBound));
+            printArea(
+                    String.format("%-4d < time <  %dms", lowerBound, upperBound),
+                    below - lowerCount,
+                    count);
+            lowerCount = below;
+            lowerBound = upperBound;
+        }
+        printArea(String.format("%-4d < time        ", lowerBound), count - lowerCount, count);
+    }
+
+    public static String formatPercentile(double percentile) {
+        if (percentile == Math.rint(percentile)) {
+            return String.valueOf((long) percentile);
+        }
+        return String.valueOf(percentile);
+    }
+
+    private static void printRow(String name, long service, long response, boolean openLoop) {
+        if (!openLoop) {
+            System.out.println(String.format("    %-9s: %s", name, formatMillis(service)));
+            return;
+        }
+        System.out.println(
+                String.format(
+                        "    %-9s: %-14s%s", name, formatMillis(service), formatMillis(response)));
+    }
+
+    private static void printArea(String area, long areaCount, long count) {
+        System.out.println(
+                String.format("%-22s", area)
+                        + ": "
+                        + areaCount
+                        + "  : "
+                        + (double) areaCount / count * 100
+                        + "%");
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * One live status line for a running driver: sent, received, errors, in flight, TPS, p50/p99 and
+ * ETA. The callbacks never touch it; a daemon thread redraws it at a fixed rate from the counters
+ * of the collector, which are adders and lock-free histograms. TPS and percentiles cover the last
+ * {@link #WINDOW_MILLIS} milliseconds.
+ *
+ * <p>On a terminal the line is redrawn in place; otherwise (CI logs, {@code > file}) a plain line
+ * is printed every {@link #PLAIN_REFRESH_MILLIS} milliseconds. {@code -Dperf.dashboard=plain} or
+ * {@code tty} forces either form and {@code false} turns the dashboard off.
+ */
+public class Dashboard {
+    public static final String PROPERTY = "perf.dashboard";
+    public static final long TTY_REFRESH_MILLIS = 500;
+    public static final long PLAIN_REFRESH_MILLIS = 5000;
+    public static final long WINDOW_MILLIS = 5000;
+    private static final int BAR_WIDTH = 20;
+
+    private final String name;
+    private final MetricsSource source;
+    private final LongSupplier total;
+    private final boolean tty;
+    private final boolean enabled;
+    private final long refreshMillis;
+    private final long startNanos = System.nanoTime();
+    // snapshots of the last window, oldest first
+    private final ArrayDeque<Snapshot> window = new ArrayDeque<>();
+    private Thread painter;
+
+    private static class Snapshot {
+        private final long nanos;
+        private final long received;
+        private final LatencyHistogram latency;
+
+        private Snapshot(long nanos, long received, LatencyHistogram latency) {
+            this.nanos = nanos;
+            this.received = received;
+            this.latency = latency;
+        }
+    }
+
+    /** @param total expected responses, 0 or less when the run is bounded by time only */
+    public Dashboard(
+            String name, MetricsSource source, LongSupplier total, boolean tty, boolean enabled) {
+        this.name = name;
+        this.source = source;
+        this.total = total;
+        this.tty = tty;
+        this.enabled = enabled;
+        this.refreshMillis = tty ? TTY_REFRESH_MILLIS : PLAIN_REFRESH_MILLIS;
+    }
+
+    /** @return a dashboard in the form {@code -Dperf.dashboard} asks for */
+    public static Dashboard fromSystemProperty(
+            String name, MetricsSource source, LongSupplier total) {
+        String mode = System.getProperty(PROPERTY, "auto").trim();
+        switch (mode) {
+            case "false":
+                return new Dashboard(name, source, total, false, false);
+            case "plain":
+                return new Dashboard(name, source, total, false, true);
+            case "tty":
+                return new Dashboard(name, source, total, true, true);
+            default:
+                return new Dashboard(name, source, total, System.console() != null, true);
+        }
+    }
+
+    /**
+     * Starts a dashboard of a setup phase that has no collector, only a latch counted down once per
+     * response: deploying contracts, creating accounts.
+     */
+    public static Dashboard start(String name, CountDownLatch latch) {
+        long total = latch.getCount();
+        MetricsSource source =
+                new MetricsSource() {
+                    @Override
+                    public long getSent() {
+                        return 0;
+                    }
+
+                    @Override
+                    public long getReceived() {
+                        return total - latch.getCount();
+                    }
+
+                    @Override
+                    public long getErrors() {
+                        return 0;
+                    }
+
+                    @Override
+                    public void addLatency(LatencyHistogram into) {}
+
+                    @Override
+                    public void addResponseLatency(LatencyHistogram into) {}
+                };
+        Dashboard dashboard = fromSystemProperty(name, source, () -> total);
+        dashboard.start();
+        return dashboard;
+    }
+
+    public synchronized void start() {
+        if (!enabled || painter != null) {
+            return;
+        }
+        painter =
+                new Thread(
+                        () -> {
+                            try {
+                                while (!Thread.currentThread().isInterrupted()) {
+                                    TimeUnit.MILLISECONDS.sleep(refreshMillis);
+                                    paint(false);
+                                }
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        },
+                        "Dashboard");
+        painter.setDaemon(true);
+        painter.start();
+    }
+
+    /** Stops redrawing after a last line, leaving the cursor on a new line for the report. */
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            thread = painter;
+            painter = null;
+        }
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        paint(true);
+    }
+
+    private synchronized void paint(boolean last) {
+        long now = System.nanoTime();
+        long sent = source.getSent();
+        long received = source.getReceived();
+        long errors = source.getErrors();
+        LatencyHistogram latency = new LatencyHistogram();
+        source.addLatency(latency);
+        Snapshot current = new Snapshot(now, received, latency);
+        window.addLast(current);
+        while (window.size() > 2
+                && now - window.peekFirst().nanos > TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS)) {
+            window.removeFirst();
+        }
+        Snapshot oldest = window.peekFirst();
+        double seconds = (now - oldest.nanos) / 1e9;
+        if (oldest == current) {
+            // first paint, measure from the start
+            seconds = (now - startNanos) / 1e9;
+        }
+        double tps =
+                seconds > 0 ? (received - (oldest == current ? 0 : oldest.received)) / seconds : 0;
+        LatencyHistogram recent = oldest == current ? latency : latency.minus(oldest.latency);
+
+        long expected = total.getAsLong();
+        StringBuilder line = new StringBuilder();
+        line.append('[').append(name).append("] ");
+        if (expected > 0) {
+            double done = Math.min(1, (double) received / expected);
+            int filled = (int) (done * BAR_WIDTH);
+            if (tty) {
+                line.append('|');
+                for (int i = 0; i < BAR_WIDTH; ++i) {
+                    line.append(i < filled ? '#' : ' ');
+                }
+                line.append("| ");
+            }
+            line.append(String.format("%3.0f%% ", done * 100));
+        }
+        line.append(String.format("%ds", TimeUnit.NANOSECONDS.toSeconds(now - startNanos)));
+        if (sent > 0) {
+            line.append(" sent ").append(sent);
+        }
+        line.append(" recv ").append(received);
+        if (expected > 0) {
+            line.append('/').append(expected);
+        }
+        line.append(" err ").append(errors);
+        if (sent > 0) {
+            line.append(" in-flight ").append(Math.max(0, sent - received));
+        }
+        line.append(String.format(" | %.0f TPS", tps));
+        if (recent.getTotalCount() > 0) {
+            line.append(" p50 ")
+                    .append(CollectorReport.formatMillis(recent.getValueAtPercentile(50)))
+                    .append(" p99 ")
+                    .append(CollectorReport.formatMillis(recent.getValueAtPercentile(99)));
+        }
+        if (expected > 0 && received < expected && tps > 0) {
+            line.append(" | ETA ").append(formatDuration((long) ((expected - received) / tps)));
+        }
+
+        if (tty) {
+            // carriage return and erase the line, the status line is redrawn in place
+            System.out.print("\r\033[2K" + line + (last ? System.lineSeparator() : ""));
+            System.out.flush();
+        } else {
+            System.out.println(line);
+        }
+    }
+
+    private static String formatDuration(long seconds) {
+        if (seconds >= 3600) {
+            return String.format(
+                    "%d:%02d:%02d", seconds / 3600, (seconds % 3600) / 60, seconds % 60);
+        }
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+import org.fisco.bcos.sdk.v3.model.RetCode;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceiptStatus;
+
+/**
+ * Counts and latency of the failed requests per cause, so an overloaded run tells txpool full,
+ * block limit, nonce, revert and timeout failures apart from exceptions of the client itself.
+ *
+ * <p>A cause is {@code status:<code>:<name>} for a receipt, {@code rpc:<code>} for an RPC error,
+ * {@code precompiled:<code>} for a precompiled result and {@code exception:<class>} for a send that
+ * threw (see {@link ExceptionReceipt}). Outcomes a driver expects, like {@code PermissionDenied} in
+ * the auth tests, are listed apart and not counted as errors.
+ */
+public class ErrorBreakdown {
+    public static final String UNCLASSIFIED = "unclassified";
+
+    private static final Map<Integer, String> STATUS_NAMES = statusNames();
+
+    private final Map<String, Cause> causes = new ConcurrentHashMap<>();
+
+    private static class Cause {
+        private final boolean error;
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Cause(boolean error) {
+            this.error = error;
+        }
+    }
+
+    private static Map<Integer, String> statusNames() {
+        Map<Integer, String> names = new HashMap<>();
+        for (Field field : TransactionReceiptStatus.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == RetCode.class) {
+                try {
+                    names.putIfAbsent(((RetCode) field.get(null)).getCode(), field.getName());
+                } catch (IllegalAccessException e) {
+                    // public field, not reached
+                }
+            }
+        }
+        return names;
+    }
+
+    public static String classify(TransactionReceipt receipt) {
+        if (receipt instanceof ExceptionReceipt) {
+            return classify(((ExceptionReceipt) receipt).getException());
+        }
+        String name = STATUS_NAMES.get(receipt.getStatus());
+        return "status:" + receipt.getStatus() + (name == null ? "" : ":" + name);
+    }
+
+    public static String classify(JsonRpcResponse.Error error) {
+        return "rpc:" + error.getCode();
+    }
+
+    public static String classify(RetCode retCode) {
+        return "precompiled:" + retCode.getCode();
+    }
+
+    public static String classify(Throwable exception) {
+        Throwable cause = exception;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return "exception:" + cause.getClass().getSimpleName();
+    }
+
+    /**
+     * @param error false for an outcome the driver expects, reported apart from the errors
+     * @param cost latency in nanoseconds
+     */
+    public void record(String cause, boolean error, long cost) {
+        causes.computeIfAbsent(cause, key -> new Cause(error)).latency.record(cost);
+    }
+
+    /** @return the count per cause, sorted by cause */
+    public Map<String, Long> getCounts() {
+        if (causes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, Cause> entry : causes.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().latency.getTotalCount());
+        }
+        return counts;
+    }
+
+    public void report() {
+        if (causes.isEmpty()) {
+            return;
+        }
+        Map<String, Cause> sorted = new TreeMap<>(causes);
+        long errors = 0;
+        long total = 0;
+        for (Cause cause : sorted.values()) {
+            total += cause.latency.getTotalCount();
+            if (cause.error) {
+                errors += cause.latency.getTotalCount();
+            }
+        }
+        if (errors > 0) {
+            System.out.println("Errors by cause:");
+            print(sorted, true, errors);
+        }
+        if (errors < total) {
+            System.out.println("Expected outcomes (not counted as errors):");
+            print(sorted, false, 0);
+        }
+    }
+
+    private static void print(Map<String, Cause> causes, boolean error, long errors) {
+        for (Map.Entry<String, Cause> entry : causes.entrySet()) {
+            Cause cause = entry.getValue();
+            if (cause.error != error) {
+                continue;
+            }
+            long count = cause.latency.getTotalCount();
+            System.out.println(
+                    String.format(
+                            "    %-32s: %-10d%-9s avg %s, p99 %s",
+                            entry.getKey(),
+                            count,
+                            error ? String.format("%.2f%%", count * 100.0 / errors) : "",
+                            CollectorReport.formatMillis(cause.latency.getMean()),
+                            CollectorReport.formatMillis(cause.latency.getValueAtPercentile(99))));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+
+/**
+ * Failed receipt a driver hands to its callback when sending threw, so the collectors can count the
+ * failure by exception class in the {@link ErrorBreakdown}.
+ */
+public class ExceptionReceipt extends TransactionReceipt {
+    private final Throwable exception;
+
+    public ExceptionReceipt(Throwable exception, String message) {
+        this.exception = exception;
+        setStatus(-1);
+        setMessage(message);
+    }
+
+    public Throwable getException() {
+        return exception;
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free high dynamic range latency histogram, values in nanoseconds.
+ *
+ * <p>Every power of two is split into 64 linear sub-buckets, so a value is reported within 1/64
+ * (~1.6%) of what was recorded, from 1ns up to Long.MAX_VALUE. Recording is a single atomic
+ * increment plus two striped adders, which is safe to call from any SDK callback thread.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong(0);
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalValue.add(value);
+        long max = maxValue.get();
+        while (value > max && !maxValue.compareAndSet(max, value)) {
+            max = maxValue.get();
+        }
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    /** @return the sum of all recorded values */
+    public long getSum() {
+        return totalValue.sum();
+    }
+
+    public double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0 : (double) totalValue.sum() / count;
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public long getMin() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts.get(i) > 0) {
+                return valueFromIndex(i);
+            }
+        }
+        return 0;
+    }
+
+    /** @param percentile in the range [0, 100] */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        double p = Math.min(Math.max(percentile, 0.0), 100.0);
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * @return number of recorded values in the buckets below the one holding {@code nanos}, so
+     *     values within ~1.6% under the bound may be left out; it is bucket-accurate, not exact
+     */
+    public long getCountBelow(long nanos) {
+        long seen = 0;
+        int limit = indexOf(Math.max(0, nanos));
+        for (int i = 0; i < limit; i++) {
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+
+    /** Adds every value recorded by {@code other} into this histogram. */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        totalValue.add(other.totalValue.sum());
+        long otherMax = other.getMax();
+        long max = maxValue.get();
+        while (otherMax > max && !maxValue.compareAndSet(max, otherMax)) {
+            max = maxValue.get();
+        }
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    /**
+     * Returns the values recorded since {@code earlier}, which must be an older copy of this
+     * histogram. The max of the result is derived from its buckets.
+     */
+    public LatencyHistogram minus(LatencyHistogram earlier) {
+        LatencyHistogram delta = new LatencyHistogram();
+        int highest = -1;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts.get(i) - earlier.counts.get(i);
+            if (c > 0) {
+                delta.counts.set(i, c);
+                highest = i;
+            }
+        }
+        delta.totalCount.add(totalCount.sum() - earlier.totalCount.sum());
+        delta.totalValue.add(totalValue.sum() - earlier.totalValue.sum());
+        if (highest >= 0) {
+            delta.maxValue.set(Math.min(highestEquivalentValue(highest), getMax()));
+        }
+        return delta;
+    }
+
+    /**
+     * Sparse form of this histogram for another process, e.g. as JSON: the count of every non-empty
+     * bucket plus the sum and the max. {@link #decode(Map)} restores it losslessly.
+     */
+    public Map<String, Object> encode() {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts.get(i);
+            if (c != 0) {
+                buckets.put(String.valueOf(i), c);
+            }
+        }
+        Map<String, Object> encoded = new LinkedHashMap<>();
+        encoded.put("buckets", buckets);
+        encoded.put("sum", totalValue.sum());
+        encoded.put("max", maxValue.get());
+        return encoded;
+    }
+
+    /** @param encoded the output of {@link #encode()}, numbers may be of any boxed type */
+    public static LatencyHistogram decode(Map<String, ?> encoded) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Map<?, ?> buckets = (Map<?, ?>) encoded.get("buckets");
+        if (buckets != null) {
+            for (Map.Entry<?, ?> entry : buckets.entrySet()) {
+                int index = Integer.parseInt(entry.getKey().toString());
+                long c = ((Number) entry.getValue()).longValue();
+                if (index < 0 || index >= BUCKET_COUNT) {
+                    throw new IllegalArgumentException("invalid histogram bucket " + index);
+                }
+                histogram.counts.addAndGet(index, c);
+                histogram.totalCount.add(c);
+            }
+        }
+        Object sum = encoded.get("sum");
+        Object max = encoded.get("max");
+        histogram.totalValue.add(sum == null ? 0 : ((Number) sum).longValue());
+        histogram.maxValue.set(max == null ? 0 : ((Number) max).longValue());
+        return histogram;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+    }
+
+    static long valueFromIndex(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return subBucket << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        return valueFromIndex(index) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,391 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves the live counters of the collectors, the queue depth of the thread pools registered with
+ * {@link ResourceProfiler} and JVM heap and GC figures at {@code http://host:port/metrics} in the
+ * OpenMetrics text format, for a Prometheus to scrape during long runs.
+ *
+ * <p>Enabled with {@code -Dperf.metricsPort=9100} (or {@code --metrics-port} of the runner). A
+ * scrape reads the same adders and lock-free histograms as the final report, so serving it adds
+ * nothing to the response path. The server threads are daemons and never keep a finished run alive.
+ * The {@link PhaseTracer} histograms are served too when phase sampling is on.
+ */
+public class MetricsServer {
+    private static Logger logger = LoggerFactory.getLogger(MetricsServer.class);
+    public static final String PROPERTY = "perf.metricsPort";
+    private static final String CONTENT_TYPE =
+            "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final double[] BUCKET_SECONDS = {
+        0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30
+    };
+    // client side phases run in microseconds
+    private static final double[] PHASE_BUCKET_SECONDS = {
+        0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5
+    };
+
+    private static MetricsServer instance = null;
+
+    private final HttpServer server;
+    private final Map<String, MetricsSource> sources = new ConcurrentHashMap<>();
+
+    private MetricsServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(
+                Executors.newSingleThreadExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "MetricsServer");
+                            thread.setDaemon(true);
+                            return thread;
+                        }));
+    }
+
+    /** Starts the process wide server on {@code port}, or returns the one already running. */
+    public static synchronized MetricsServer start(int port) throws IOException {
+        if (instance != null) {
+            return instance;
+        }
+        MetricsServer metricsServer = new MetricsServer(port);
+        // the dispatcher thread inherits the daemon flag of the thread that starts the server
+        Thread starter = new Thread(metricsServer.server::start, "MetricsServer-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        instance = metricsServer;
+        System.out.println(
+                "====== Serving metrics at http://0.0.0.0:"
+                        + metricsServer.server.getAddress().getPort()
+                        + "/metrics ======");
+        return instance;
+    }
+
+    /**
+     * @return the running server, started on {@code -Dperf.metricsPort} on first use, or null when
+     *     the property is not set
+     */
+    public static synchronized MetricsServer fromSystemProperty() {
+        if (instance != null) {
+            return instance;
+        }
+        Integer port = Integer.getInteger(PROPERTY);
+        if (port == null) {
+            return null;
+        }
+        try {
+            return start(port);
+        } catch (IOException e) {
+            logger.warn("start metrics server on port {} failed: {}", port, e.getMessage());
+            System.out.println("WARN: start metrics server on port " + port + " failed: " + e);
+            return null;
+        }
+    }
+
+    /** Exposes {@code source} with the label {@code collector="name"} if a server is running. */
+    public static void registerCollector(String name, MetricsSource source) {
+        MetricsServer metricsServer = fromSystemProperty();
+        if (metricsServer != null) {
+            putUnique(metricsServer.sources, name, source);
+        }
+    }
+
+    private static synchronized <T> void putUnique(
+            Map<String, T> registered, String name, T value) {
+        String unique = name;
+        for (int i = 1; registered.containsKey(unique); ++i) {
+            unique = name + "-" + i;
+        }
+        registered.put(unique, value);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try {
+            body = scrape().getBytes(StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            logger.warn("scrape failed: ", e);
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    String scrape() {
+        StringBuilder out = new StringBuilder();
+        scrapeCollectors(out);
+        scrapePhases(out);
+        scrapeExecutors(out);
+        scrapeJvm(out);
+        out.append("# EOF\n");
+        return out.toString();
+    }
+
+    private void scrapeCollectors(StringBuilder out) {
+        if (sources.isEmpty()) {
+            return;
+        }
+        Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+        Map<String, LatencyHistogram> responseLatencies = new LinkedHashMap<>();
+        StringBuilder sent = new StringBuilder();
+        StringBuilder received = new StringBuilder();
+        StringBuilder errors = new StringBuilder();
+        StringBuilder inFlight = new StringBuilder();
+        StringBuilder causes = new StringBuilder();
+        for (Map.Entry<String, MetricsSource> entry : sources.entrySet()) {
+            String labels = label("collector", entry.getKey());
+            MetricsSource source = entry.getValue();
+            long sentCount = source.getSent();
+            long receivedCount = source.getReceived();
+            sample(sent, "perf_requests_sent_total", labels, sentCount);
+            sample(received, "perf_responses_total", labels, receivedCount);
+            sample(errors, "perf_errors_total", labels, source.getErrors());
+            for (Map.Entry<String, Long> cause : source.getErrorCounts().entrySet()) {
+                sample(
+                        causes,
+                        "perf_responses_by_cause_total",
+                        labels + "," + label("cause", cause.getKey()),
+                        cause.getValue());
+            }
+            if (sentCount > 0) {
+                sample(inFlight, "perf_in_flight", labels, Math.max(0, sentCount - receivedCount));
+            }
+            LatencyHistogram latency = new LatencyHistogram();
+            source.addLatency(latency);
+            latencies.put(labels, latency);
+            LatencyHistogram responseLatency = new LatencyHistogram();
+            source.addResponseLatency(responseLatency);
+            if (responseLatency.getTotalCount() > 0) {
+                responseLatencies.put(labels, responseLatency);
+            }
+        }
+        family(out, "perf_requests_sent", "counter", "Requests handed to the SDK", sent);
+        family(out, "perf_responses", "counter", "Responses received", received);
+        family(out, "perf_errors", "counter", "Responses with an error status", errors);
+        family(
+                out,
+                "perf_responses_by_cause",
+                "counter",
+                "Failed or expected non-success responses per receipt status, RPC error or exception",
+                causes);
+        family(out, "perf_in_flight", "gauge", "Requests sent and not answered yet", inFlight);
+        histogram(
+                out,
+                "perf_latency_seconds",
+                "Service time, from the send to the response",
+                latencies,
+                BUCKET_SECONDS);
+        histogram(
+                out,
+                "perf_response_time_seconds",
+                "Response time, from the intended send time to the response",
+                responseLatencies,
+                BUCKET_SECONDS);
+    }
+
+    private void scrapePhases(StringBuilder out) {
+        PhaseTracer tracer = PhaseTracer.getInstance();
+        if (!tracer.isEnabled()) {
+            return;
+        }
+        Map<String, LatencyHistogram> phases = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : tracer.getHistograms().entrySet()) {
+            phases.put(label("phase", entry.getKey()), entry.getValue());
+        }
+        histogram(
+                out,
+                "perf_phase_seconds",
+                "Time of sampled transactions in each phase of their lifecycle",
+                phases,
+                PHASE_BUCKET_SECONDS);
+    }
+
+    private void scrapeExecutors(StringBuilder out) {
+        StringBuilder queued = new StringBuilder();
+        StringBuilder active = new StringBuilder();
+        StringBuilder poolSize = new StringBuilder();
+        StringBuilder completed = new StringBuilder();
+        for (Map.Entry<String, ExecutorService> entry :
+                ResourceProfiler.getExecutors().entrySet()) {
+            if (!(entry.getValue() instanceof ThreadPoolExecutor)) {
+                continue;
+            }
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) entry.getValue();
+            String labels = label("executor", entry.getKey());
+            sample(queued, "perf_executor_queue_depth", labels, pool.getQueue().size());
+            sample(active, "perf_executor_active_threads", labels, pool.getActiveCount());
+            sample(poolSize, "perf_executor_pool_size", labels, pool.getPoolSize());
+            sample(
+                    completed,
+                    "perf_executor_completed_tasks_total",
+                    labels,
+                    pool.getCompletedTaskCount());
+        }
+        family(out, "perf_executor_queue_depth", "gauge", "Tasks waiting for a thread", queued);
+        family(out, "perf_executor_active_threads", "gauge", "Threads running a task", active);
+        family(out, "perf_executor_pool_size", "gauge", "Threads in the pool", poolSize);
+        family(
+                out,
+                "perf_executor_completed_tasks",
+                "counter",
+                "Tasks finished by the pool",
+                completed);
+    }
+
+    private void scrapeJvm(StringBuilder out) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        StringBuilder used = new StringBuilder();
+        StringBuilder committed = new StringBuilder();
+        StringBuilder max = new StringBuilder();
+        sample(used, "jvm_memory_used_bytes", label("area", "heap"), heap.getUsed());
+        sample(used, "jvm_memory_used_bytes", label("area", "nonheap"), nonHeap.getUsed());
+        sample(committed, "jvm_memory_committed_bytes", label("area", "heap"), heap.getCommitted());
+        sample(
+                committed,
+                "jvm_memory_committed_bytes",
+                label("area", "nonheap"),
+                nonHeap.getCommitted());
+        if (heap.getMax() >= 0) {
+            sample(max, "jvm_memory_max_bytes", label("area", "heap"), heap.getMax());
+        }
+        family(out, "jvm_memory_used_bytes", "gauge", "Used memory", used);
+        family(out, "jvm_memory_committed_bytes", "gauge", "Committed memory", committed);
+        family(out, "jvm_memory_max_bytes", "gauge", "Maximum memory", max);
+
+        StringBuilder collections = new StringBuilder();
+        StringBuilder collectionSeconds = new StringBuilder();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String labels = label("gc", gc.getName());
+            sample(
+                    collections,
+                    "jvm_gc_collections_total",
+                    labels,
+                    Math.max(0, gc.getCollectionCount()));
+            sample(
+                    collectionSeconds,
+                    "jvm_gc_collection_seconds_total",
+                    labels,
+                    seconds(TimeUnit.MILLISECONDS.toNanos(Math.max(0, gc.getCollectionTime()))));
+        }
+        family(out, "jvm_gc_collections", "counter", "Garbage collections", collections);
+        family(
+                out,
+                "jvm_gc_collection_seconds",
+                "counter",
+                "Time spent in garbage collections",
+                collectionSeconds);
+
+        StringBuilder threads = new StringBuilder();
+        sample(
+                threads,
+                "jvm_threads_live",
+                "",
+                ManagementFactory.getThreadMXBean().getThreadCount());
+        family(out, "jvm_threads_live", "gauge", "Live threads", threads);
+    }
+
+    private static void histogram(
+            StringBuilder out,
+            String name,
+            String help,
+            Map<String, LatencyHistogram> histograms,
+            double[] buckets) {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        StringBuilder samples = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            String labels = entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            long count = histogram.getTotalCount();
+            for (double bound : buckets) {
+                long nanos = (long) (bound * 1e9);
+                sample(
+                        samples,
+                        name + "_bucket",
+                        labels + ",le=\"" + format(bound) + "\"",
+                        histogram.getCountBelow(nanos + 1));
+            }
+            sample(samples, name + "_bucket", labels + ",le=\"+Inf\"", count);
+            sample(samples, name + "_count", labels, count);
+            sample(samples, name + "_sum", labels, seconds(histogram.getSum()));
+        }
+        family(out, name, "histogram", help, samples);
+    }
+
+    private static void family(
+            StringBuilder out, String name, String type, String help, StringBuilder samples) {
+        if (samples.length() == 0) {
+            return;
+        }
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        if (name.endsWith("_seconds")) {
+            out.append("# UNIT ").append(name).append(" seconds\n");
+        }
+        out.append(samples);
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, Object value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String label(String name, String value) {
+        return name
+                + "=\""
+                + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n")
+                + "\"";
+    }
+
+    private static String seconds(long nanos) {
+        return format(nanos / 1e9);
+    }
+
+    private static String format(double value) {
+        return Double.toString(value);
+    }
+}
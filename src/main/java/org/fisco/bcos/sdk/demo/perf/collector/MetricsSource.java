@@ -0,0 +1,41 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Cumulative counters of a collector, warmup included, for readers that poll them while the run
+ * goes on: the {@link TimeSeriesRecorder} and the {@link MetricsServer}.
+ */
+public interface MetricsSource {
+    /** @return requests sent so far, 0 if the driver does not report sends */
+    long getSent();
+
+    long getReceived();
+
+    long getErrors();
+
+    /** Adds every service time recorded so far into {@code into}. */
+    void addLatency(LatencyHistogram into);
+
+    /** Adds every response time recorded so far into {@code into}, open-loop drivers only. */
+    void addResponseLatency(LatencyHistogram into);
+
+    /** @return the {@link ErrorBreakdown} counts per cause, warmup excluded */
+    default Map<String, Long> getErrorCounts() {
+        return Collections.emptyMap();
+    }
+}
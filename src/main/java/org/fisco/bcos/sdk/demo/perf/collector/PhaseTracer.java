@@ -0,0 +1,195 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+
+/**
+ * Splits the time of a sampled share of the sent transactions into the lifecycle phases below, one
+ * histogram each, to tell whether the SDK host or the chain is the bottleneck.
+ *
+ * <p>Enabled with {@code -Dperf.phaseSample=N}, which traces one transaction in N (1 traces all of
+ * them). Unsampled transactions take the SDK path untouched; a sampled one costs a few {@code
+ * System.nanoTime()} calls and one extra callback object.
+ */
+public class PhaseTracer {
+    public static final String PROPERTY = "perf.phaseSample";
+
+    public enum Phase {
+        /** ABI encoding of the call (or building the raw transaction) */
+        ENCODE("encode"),
+        /** hashing and signing, up to the signed transaction bytes */
+        SIGN("sign"),
+        /** handing the signed transaction to the SDK network layer */
+        PUSH("push"),
+        /** network, consensus and execution, until the SDK hands the receipt to the callback */
+        CHAIN("chain"),
+        /** the benchmark callback itself, collector bookkeeping included */
+        CALLBACK("callback");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final PhaseTracer instance = new PhaseTracer(Integer.getInteger(PROPERTY, 0));
+
+    private final int sampleEvery;
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+
+    public PhaseTracer(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+        for (int i = 0; i < histograms.length; ++i) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /** @return the process wide tracer configured by {@code -Dperf.phaseSample} */
+    public static PhaseTracer getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return sampleEvery > 0;
+    }
+
+    /** @return a trace started now if this transaction is sampled, null otherwise */
+    public Trace sample() {
+        if (sampleEvery <= 0
+                || (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0)) {
+            return null;
+        }
+        return new Trace(System.nanoTime());
+    }
+
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /** @return the histograms keyed by phase label, in lifecycle order */
+    public Map<String, LatencyHistogram> getHistograms() {
+        Map<String, LatencyHistogram> result = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            result.put(phase.getLabel(), getHistogram(phase));
+        }
+        return result;
+    }
+
+    public void report() {
+        long traced = getHistogram(Phase.ENCODE).getTotalCount();
+        if (traced == 0) {
+            return;
+        }
+        System.out.println(
+                "Transaction phases (1 in " + sampleEvery + " sampled, " + traced + " traced):");
+        System.out.println(
+                String.format(
+                        "    %-9s  %-10s%-12s%-12s%-12s%-12s%s",
+                        "phase", "count", "mean", "p50", "p99", "max", "share"));
+        double total = 0;
+        for (LatencyHistogram histogram : histograms) {
+            total += histogram.getMean();
+        }
+        double client = 0;
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = getHistogram(phase);
+            if (phase != Phase.CHAIN) {
+                client += histogram.getMean();
+            }
+            System.out.println(
+                    String.format(
+                            "    %-9s: %-10d%-12s%-12s%-12s%-12s%.1f%%",
+                            phase.getLabel(),
+                            histogram.getTotalCount(),
+                            CollectorReport.formatMillis(histogram.getMean()),
+                            CollectorReport.formatMillis(histogram.getValueAtPercentile(50)),
+                            CollectorReport.formatMillis(histogram.getValueAtPercentile(99)),
+                            CollectorReport.formatMillis(histogram.getMax()),
+                            total > 0 ? histogram.getMean() / total * 100 : 0));
+        }
+        System.out.println(
+                "Client side: "
+                        + CollectorReport.formatMillis(client)
+                        + ", chain: "
+                        + CollectorReport.formatMillis(getHistogram(Phase.CHAIN).getMean())
+                        + " (mean per transaction)");
+    }
+
+    /** Timestamps of one sampled transaction; each {@link #mark} closes the phase that ran. */
+    public class Trace {
+        private long last;
+        private volatile long pushStart;
+        private volatile long pushEnd;
+
+        private Trace(long start) {
+            this.last = start;
+        }
+
+        /** Records the time since the previous mark as {@code phase}. */
+        public void mark(Phase phase) {
+            long now = System.nanoTime();
+            getHistogram(phase).record(now - last);
+            last = now;
+        }
+
+        /**
+         * Marks the start of the push and wraps {@code callback} to time the chain and the callback
+         * phases; call {@link #pushed()} once the push returned.
+         */
+        public TransactionCallback push(TransactionCallback callback) {
+            pushStart = System.nanoTime();
+            TransactionCallback traced =
+                    new TransactionCallback() {
+                        @Override
+                        public void onResponse(TransactionReceipt receipt) {
+                            long received = System.nanoTime();
+                            // the receipt may beat the return of the push call
+                            long pushed = pushEnd;
+                            getHistogram(Phase.CHAIN)
+                                    .record(received - (pushed != 0 ? pushed : pushStart));
+                            callback.onResponse(receipt);
+                            getHistogram(Phase.CALLBACK).record(System.nanoTime() - received);
+                        }
+
+                        @Override
+                        public void onError(int code, String message) {
+                            callback.onError(code, message);
+                        }
+
+                        @Override
+                        public void onTimeout() {
+                            callback.onTimeout();
+                        }
+                    };
+            traced.setTimeout(callback.getTimeout());
+            return traced;
+        }
+
+        public void pushed() {
+            long now = System.nanoTime();
+            getHistogram(Phase.PUSH).record(now - pushStart);
+            pushEnd = now;
+        }
+    }
+}
@@ -0,0 +1,477 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Samples the resources of the client process through the JMX MXBeans while a perf driver runs:
+ * process and host CPU, live threads, GC time, allocation rate, heap and resident memory, and the
+ * active and queued tasks of every registered thread pool. The report warns when the client rather
+ * than the node was the bottleneck, in which case the TPS only tells the limit of the load
+ * generator.
+ *
+ * <p>On by default with one sample per second; {@code -Dperf.resourceProfile=500} changes the
+ * interval in milliseconds and {@code false} turns it off. The allocation rate is the growth of the
+ * heap plus what the collections freed, taken from the GC notifications.
+ */
+public class ResourceProfiler {
+    private static Logger logger = LoggerFactory.getLogger(ResourceProfiler.class);
+    public static final String PROPERTY = "perf.resourceProfile";
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+    // thresholds of the bottleneck warnings
+    private static final double CPU_BOUND = 0.85;
+    private static final double GC_BOUND = 0.10;
+    private static final double POOL_BOUND = 0.5;
+    private static final double HOST_BOUND = 0.9;
+
+    private static final ResourceProfiler instance = new ResourceProfiler(intervalMillis());
+
+    private final long intervalMillis;
+    private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final Map<String, PoolStats> pools = new LinkedHashMap<>();
+    private final AtomicLong gcCount = new AtomicLong();
+    private final AtomicLong gcMillis = new AtomicLong();
+    private final AtomicLong gcMaxMillis = new AtomicLong();
+    private final AtomicLong gcFreedBytes = new AtomicLong();
+    private final int cores = Runtime.getRuntime().availableProcessors();
+    private volatile boolean gcNotifications = false;
+    private Thread sampler;
+
+    // aggregates since the last reset, guarded by this
+    private long startNanos;
+    private long lastNanos;
+    private long lastCpuNanos;
+    private long lastHeapUsed;
+    private long lastGcFreed;
+    private long lastGcCount;
+    private long lastGcMillis;
+    private long samples;
+    private long cpuNanos;
+    private double cpuMax;
+    private double hostCpuSum;
+    private long hostCpuSamples;
+    private long threadsSum;
+    private long threadsMax;
+    private long allocatedBytes;
+    private double allocationMax;
+    private long heapUsedMax;
+    private long residentMax;
+
+    private static class PoolStats {
+        private long samples;
+        private long size;
+        private long activeSum;
+        private long activeMax;
+        private long queuedSum;
+        private long queuedMax;
+        private long saturated;
+    }
+
+    public ResourceProfiler(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    private static long intervalMillis() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.trim().isEmpty() || value.trim().equals("true")) {
+            return DEFAULT_INTERVAL_MILLIS;
+        }
+        if (value.trim().equals("false")) {
+            return 0;
+        }
+        return Long.parseLong(value.trim());
+    }
+
+    /** @return the process wide profiler configured by {@code -Dperf.resourceProfile} */
+    public static ResourceProfiler getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return intervalMillis > 0;
+    }
+
+    /**
+     * Includes the active and queued tasks of {@code executor} in the profile, and serves them on
+     * the {@link MetricsServer} with {@code executor="name"}.
+     */
+    public static void registerExecutor(String name, ExecutorService executor) {
+        String unique = name;
+        synchronized (instance.executors) {
+            for (int i = 1; instance.executors.containsKey(unique); ++i) {
+                unique = name + "-" + i;
+            }
+            instance.executors.put(unique, executor);
+        }
+    }
+
+    /** @return the registered pools by name */
+    public static Map<String, ExecutorService> getExecutors() {
+        return instance.executors;
+    }
+
+    /** Starts sampling if it is enabled and not running yet. */
+    public synchronized void start() {
+        if (!isEnabled() || sampler != null) {
+            return;
+        }
+        listenToGc();
+        reset();
+        sampler =
+                new Thread(
+                        () -> {
+                            try {
+                                while (!Thread.currentThread().isInterrupted()) {
+                                    TimeUnit.MILLISECONDS.sleep(intervalMillis);
+                                    sample();
+                                }
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        },
+                        "ResourceProfiler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    private void listenToGc() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(gc instanceof NotificationEmitter)) {
+                continue;
+            }
+            try {
+                ((NotificationEmitter) gc)
+                        .addNotificationListener(
+                                (notification, handback) -> {
+                                    if (notification
+                                            .getType()
+                                            .equals(
+                                                    GarbageCollectionNotificationInfo
+                                                            .GARBAGE_COLLECTION_NOTIFICATION)) {
+                                        onGc(
+                                                GarbageCollectionNotificationInfo.from(
+                                                        (CompositeData)
+                                                                notification.getUserData()));
+                                    }
+                                },
+                                null,
+                                null);
+                gcNotifications = true;
+            } catch (RuntimeException | LinkageError e) {
+                // not a HotSpot JVM, GC time falls back to the collector totals and the
+                // allocation rate misses what the collections freed
+                logger.debug("listen to {} failed: {}", gc.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private void onGc(GarbageCollectionNotificationInfo info) {
+        long duration = info.getGcInfo().getDuration();
+        gcCount.incrementAndGet();
+        gcMillis.addAndGet(duration);
+        gcMaxMillis.accumulateAndGet(duration, Math::max);
+        long freed = 0;
+        for (Map.Entry<String, MemoryUsage> entry :
+                info.getGcInfo().getMemoryUsageBeforeGc().entrySet()) {
+            MemoryUsage after = info.getGcInfo().getMemoryUsageAfterGc().get(entry.getKey());
+            if (after != null) {
+                freed += entry.getValue().getUsed() - after.getUsed();
+            }
+        }
+        gcFreedBytes.addAndGet(Math.max(0, freed));
+    }
+
+    /** Drops what was sampled so far, so the profile covers the measured run only. */
+    public synchronized void reset() {
+        startNanos = System.nanoTime();
+        lastNanos = startNanos;
+        lastCpuNanos = processCpuNanos();
+        lastHeapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        lastGcFreed = gcFreedBytes.get();
+        lastGcCount = gcTotal(true);
+        lastGcMillis = gcTotal(false);
+        gcMaxMillis.set(0);
+        samples = 0;
+        cpuNanos = 0;
+        cpuMax = 0;
+        hostCpuSum = 0;
+        hostCpuSamples = 0;
+        threadsSum = 0;
+        threadsMax = 0;
+        allocatedBytes = 0;
+        allocationMax = 0;
+        heapUsedMax = 0;
+        residentMax = 0;
+        pools.clear();
+    }
+
+    private static long processCpuNanos() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    /**
+     * @return the resident set size of the process, -1 off Linux. Unlike the heap it includes the
+     *     stacks of the platform threads.
+     */
+    private static long residentBytes() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    // VmRSS:     123456 kB
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.trace("read /proc/self/status failed: {}", e.getMessage());
+        }
+        return -1;
+    }
+
+    private static double hostCpuLoad() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getSystemCpuLoad();
+        }
+        return -1;
+    }
+
+    private synchronized void sample() {
+        long now = System.nanoTime();
+        double seconds = (now - lastNanos) / 1e9;
+        if (seconds <= 0) {
+            return;
+        }
+        ++samples;
+        // the last sample of a report may be much shorter, keep it out of the maxima
+        boolean full = seconds * 2000 >= intervalMillis;
+        long processCpu = processCpuNanos();
+        if (processCpu >= 0 && lastCpuNanos >= 0) {
+            cpuNanos += processCpu - lastCpuNanos;
+            if (full) {
+                cpuMax = Math.max(cpuMax, (processCpu - lastCpuNanos) / 1e9 / seconds / cores);
+            }
+        }
+        lastCpuNanos = processCpu;
+        double hostCpu = hostCpuLoad();
+        if (hostCpu >= 0) {
+            hostCpuSum += hostCpu;
+            ++hostCpuSamples;
+        }
+        long threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        threadsSum += threads;
+        threadsMax = Math.max(threadsMax, threads);
+
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long freed = gcFreedBytes.get();
+        long allocated = Math.max(0, heapUsed - lastHeapUsed + freed - lastGcFreed);
+        allocatedBytes += allocated;
+        if (full) {
+            allocationMax = Math.max(allocationMax, allocated / seconds);
+        }
+        lastHeapUsed = heapUsed;
+        lastGcFreed = freed;
+        heapUsedMax = Math.max(heapUsedMax, heapUsed);
+        residentMax = Math.max(residentMax, residentBytes());
+
+        for (Map.Entry<String, ExecutorService> entry : executors.entrySet()) {
+            if (!(entry.getValue() instanceof ThreadPoolExecutor)) {
+                continue;
+            }
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) entry.getValue();
+            PoolStats stats = pools.computeIfAbsent(entry.getKey(), name -> new PoolStats());
+            int active = pool.getActiveCount();
+            int queued = pool.getQueue().size();
+            ++stats.samples;
+            stats.size = Math.max(stats.size, pool.getMaximumPoolSize());
+            stats.activeSum += active;
+            stats.activeMax = Math.max(stats.activeMax, active);
+            stats.queuedSum += queued;
+            stats.queuedMax = Math.max(stats.queuedMax, queued);
+            if (active >= pool.getCorePoolSize() && queued > 0) {
+                ++stats.saturated;
+            }
+        }
+        lastNanos = now;
+    }
+
+    /** @return collections or milliseconds in GC since start, from the notifications if any */
+    private long gcTotal(boolean count) {
+        if (gcNotifications) {
+            return count ? gcCount.get() : gcMillis.get();
+        }
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, count ? gc.getCollectionCount() : gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private long gcCount() {
+        return gcTotal(true) - lastGcCount;
+    }
+
+    private long gcMillis() {
+        return gcTotal(false) - lastGcMillis;
+    }
+
+    /** Prints the profile of the process, if the profiler ran. */
+    public static void report() {
+        if (instance.isEnabled()) {
+            instance.print();
+        }
+    }
+
+    /** @return the profile as plain values, for the run result; empty if nothing was sampled */
+    public synchronized Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (samples == 0) {
+            return summary;
+        }
+        double seconds = Math.max(1, lastNanos - startNanos) / 1e9;
+        summary.put("cores", cores);
+        summary.put("processCpuMean", cpuNanos / 1e9 / seconds / cores);
+        summary.put("processCpuMax", cpuMax);
+        if (hostCpuSamples > 0) {
+            summary.put("hostCpuMean", hostCpuSum / hostCpuSamples);
+        }
+        summary.put("threadsMean", (double) threadsSum / samples);
+        summary.put("threadsMax", threadsMax);
+        summary.put("gcCount", gcCount());
+        summary.put("gcMillis", gcMillis());
+        summary.put("gcTimeRatio", gcMillis() / 1000.0 / seconds);
+        summary.put("allocationBytesPerSecond", allocatedBytes / seconds);
+        summary.put("heapUsedMax", heapUsedMax);
+        if (residentMax > 0) {
+            summary.put("residentMax", residentMax);
+        }
+        Map<String, Object> poolSummary = new LinkedHashMap<>();
+        for (Map.Entry<String, PoolStats> entry : pools.entrySet()) {
+            PoolStats stats = entry.getValue();
+            Map<String, Object> pool = new LinkedHashMap<>();
+            pool.put("size", stats.size);
+            pool.put("activeMean", (double) stats.activeSum / stats.samples);
+            pool.put("activeMax", stats.activeMax);
+            pool.put("queuedMean", (double) stats.queuedSum / stats.samples);
+            pool.put("queuedMax", stats.queuedMax);
+            pool.put("saturatedRatio", (double) stats.saturated / stats.samples);
+            poolSummary.put(entry.getKey(), pool);
+        }
+        summary.put("pools", poolSummary);
+        return summary;
+    }
+
+    public synchronized void print() {
+        sample();
+        if (samples == 0) {
+            return;
+        }
+        double seconds = Math.max(1, lastNanos - startNanos) / 1e9;
+        double cpuMean = cpuNanos / 1e9 / seconds / cores;
+        double hostCpuMean = hostCpuSamples > 0 ? hostCpuSum / hostCpuSamples : -1;
+        long gcMillis = gcMillis();
+        double gcRatio = gcMillis / 1000.0 / seconds;
+        System.out.println("Client resources (" + samples + " samples):");
+        System.out.println(
+                String.format(
+                        "    process CPU : mean %.1f%%, max %.1f%% of %d cores%s",
+                        cpuMean * 100,
+                        cpuMax * 100,
+                        cores,
+                        hostCpuMean >= 0
+                                ? String.format(" (host %.1f%%)", hostCpuMean * 100)
+                                : ""));
+        System.out.println(
+                String.format(
+                        "    threads     : mean %.0f, max %d",
+                        (double) threadsSum / samples, threadsMax));
+        System.out.println(
+                String.format(
+                        "    GC          : %d collections, %dms (%.1f%% of the run), longest %dms",
+                        gcCount(), gcMillis, gcRatio * 100, gcMaxMillis.get()));
+        System.out.println(
+                String.format(
+                        "    allocation  : mean %.1f MB/s, max %.1f MB/s",
+                        allocatedBytes / seconds / 1e6, allocationMax / 1e6));
+        System.out.println(
+                String.format(
+                        "    memory      : heap max %.1f MB%s",
+                        heapUsedMax / 1e6,
+                        residentMax > 0
+                                ? String.format(", resident max %.1f MB", residentMax / 1e6)
+                                : ""));
+        for (Map.Entry<String, PoolStats> entry : pools.entrySet()) {
+            PoolStats stats = entry.getValue();
+            System.out.println(
+                    String.format(
+                            "    pool %s: %d threads, active mean %.1f max %d, queued mean %.0f max %d",
+                            entry.getKey(),
+                            stats.size,
+                            (double) stats.activeSum / stats.samples,
+                            stats.activeMax,
+                            (double) stats.queuedSum / stats.samples,
+                            stats.queuedMax));
+        }
+
+        if (cpuMean >= CPU_BOUND) {
+            System.out.println(
+                    String.format(
+                            "WARN: the client used %.0f%% of its CPU, the TPS above is likely the limit of the load generator, not of the node",
+                            cpuMean * 100));
+        } else if (hostCpuMean >= HOST_BOUND) {
+            System.out.println(
+                    String.format(
+                            "WARN: the host CPU was %.0f%% busy, other processes (a node on the same host?) compete with the client",
+                            hostCpuMean * 100));
+        }
+        if (gcRatio >= GC_BOUND) {
+            System.out.println(
+                    String.format(
+                            "WARN: the client spent %.0f%% of the run in GC, give it a larger heap (-Xmx) before trusting the TPS",
+                            gcRatio * 100));
+        }
+        for (Map.Entry<String, PoolStats> entry : pools.entrySet()) {
+            PoolStats stats = entry.getValue();
+            double saturated = (double) stats.saturated / stats.samples;
+            if (saturated >= POOL_BOUND) {
+                System.out.println(
+                        String.format(
+                                "WARN: pool %s had all threads busy with tasks queued in %.0f%% of the samples, the client was thread bound",
+                                entry.getKey(), saturated * 100));
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import java.io.IOException;
+import java.util.Map;
+import org.fisco.bcos.sdk.demo.perf.result.RunResult;
+import org.fisco.bcos.sdk.demo.perf.runner.ClientPool;
+import org.fisco.bcos.sdk.demo.perf.runner.SenderPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Everything a collector starts, resets and reports around its own counters: the time series, the
+ * run result, the metrics endpoint, the resource profiler and the reports of the phases, blocks,
+ * clients and senders. Shared by {@link org.fisco.bcos.sdk.demo.perf.Collector} and {@link
+ * PerformanceCollector}, which only differ in how they count.
+ */
+public class RunInstrumentation {
+    private static Logger logger = LoggerFactory.getLogger(RunInstrumentation.class);
+
+    private final String name;
+    private final MetricsSource source;
+    private TimeSeriesRecorder timeSeries = null;
+    private RunResult runResult = null;
+    private boolean metricsRegistered = false;
+
+    /** @param name the collector on the {@link MetricsServer} */
+    public RunInstrumentation(String name, MetricsSource source) {
+        this.name = name;
+        this.source = source;
+        ResourceProfiler.getInstance().start();
+    }
+
+    public MetricsSource getSource() {
+        return source;
+    }
+
+    /**
+     * Called at the start time of the run: starts what {@code -Dperf.timeSeries} and {@code
+     * -Dperf.result} ask for unless already started, resets the per-run state of the profiler and
+     * the client pool and registers the metrics.
+     */
+    public void onStart() {
+        startTimeSeries(System.getProperty(TimeSeriesRecorder.PROPERTY));
+        setResultFile(System.getProperty(RunResult.PROPERTY));
+        ResourceProfiler.getInstance().reset();
+        ClientPool.reset();
+        registerMetrics();
+    }
+
+    /**
+     * Starts sampling the source every second into {@code file}, see {@link TimeSeriesRecorder}.
+     */
+    public synchronized void startTimeSeries(String file) {
+        if (timeSeries != null || file == null || file.isEmpty()) {
+            return;
+        }
+        TimeSeriesRecorder recorder =
+                new TimeSeriesRecorder(file, source, TimeSeriesRecorder.DEFAULT_INTERVAL_MILLIS);
+        try {
+            recorder.start();
+            timeSeries = recorder;
+        } catch (IOException e) {
+            logger.warn("start time series {} failed: {}", recorder.getFile(), e.getMessage());
+        }
+    }
+
+    public synchronized void stopTimeSeries() {
+        if (timeSeries != null) {
+            timeSeries.stop();
+        }
+    }
+
+    /** Writes the outcome of the run to {@code file} at the report, see {@link RunResult}. */
+    public synchronized void setResultFile(String file) {
+        if (runResult != null || file == null || file.isEmpty()) {
+            return;
+        }
+        runResult = new RunResult(file, source);
+        runResult.start();
+    }
+
+    /** Exposes the source on the {@link MetricsServer}, if one is running. */
+    public synchronized void registerMetrics() {
+        if (!metricsRegistered) {
+            metricsRegistered = true;
+            MetricsServer.registerCollector(name, source);
+        }
+    }
+
+    /**
+     * Prints the reports that follow the latency of the collector.
+     *
+     * @param measureStart start of the measured run, after the warmup
+     * @param sent requests sent in the measured run
+     * @param received responses of the measured run
+     */
+    public void report(long measureStart, long endTimestamp, long sent, long received) {
+        PhaseTracer.getInstance().report();
+        BlockObserver.report(measureStart, endTimestamp, sent, received);
+        ClientPool.report();
+        SenderPool.report();
+        ResourceProfiler.report();
+    }
+
+    /**
+     * Writes the run result, if {@link #setResultFile(String)} or {@code -Dperf.result} set one.
+     *
+     * @param measureStart start of the measured run, after the warmup
+     */
+    public void writeResult(
+            long measureStart,
+            long transactions,
+            long errors,
+            long durationMillis,
+            LatencyHistogram latency,
+            LatencyHistogram responseLatency,
+            double[] percentiles,
+            Map<String, Long> errorCounts) {
+        RunResult result;
+        synchronized (this) {
+            if (runResult == null) {
+                // the driver never set a start time, the result goes without per-second samples
+                runResult = RunResult.fromSystemProperty(source);
+            }
+            result = runResult;
+        }
+        if (result != null) {
+            result.write(
+                    measureStart,
+                    transactions,
+                    errors,
+                    durationMillis,
+                    latency,
+                    responseLatency,
+                    percentiles,
+                    errorCounts);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Samples the counters of a collector once per interval and appends one row per sample to a CSV or
+ * JSON Lines file, so stalls and jitter during a run can be plotted afterwards.
+ *
+ * <p>The sampler only reads what the response callbacks already update (adders and lock-free
+ * histograms); the interval percentiles come from the difference of two histogram snapshots. The
+ * file is given with {@code -Dperf.timeSeries}: a path ending in {@code .csv} or {@code .jsonl}, or
+ * just {@code csv} / {@code jsonl} for a time stamped file in the working directory.
+ */
+public class TimeSeriesRecorder {
+    private static Logger logger = LoggerFactory.getLogger(TimeSeriesRecorder.class);
+    public static final String PROPERTY = "perf.timeSeries";
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String[] COLUMNS = {
+        "timestamp",
+        "elapsed_s",
+        "sent",
+        "received",
+        "errors",
+        "send_rate",
+        "receipt_rate",
+        "error_rate",
+        "in_flight",
+        "latency_mean_ms",
+        "latency_p50_ms",
+        "latency_p90_ms",
+        "latency_p99_ms",
+        "latency_max_ms",
+        "error_causes"
+    };
+
+    private final String file;
+    private final boolean json;
+    private final MetricsSource source;
+    private final long intervalMillis;
+    private BufferedWriter writer;
+    private Thread sampler;
+    private Thread shutdownHook;
+
+    private long startNanos;
+    private long lastNanos;
+    private long lastSent;
+    private long lastReceived;
+    private long lastErrors;
+    private LatencyHistogram lastLatency = new LatencyHistogram();
+
+    public TimeSeriesRecorder(String file, MetricsSource source, long intervalMillis) {
+        this.file = resolve(file);
+        this.json = this.file.endsWith(".jsonl") || this.file.endsWith(".json");
+        this.source = source;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /** @return a recorder for the file in {@code -Dperf.timeSeries}, null if it is not set */
+    public static TimeSeriesRecorder fromSystemProperty(MetricsSource source) {
+        String file = System.getProperty(PROPERTY);
+        if (file == null || file.trim().isEmpty()) {
+            return null;
+        }
+        return new TimeSeriesRecorder(file.trim(), source, DEFAULT_INTERVAL_MILLIS);
+    }
+
+    private static String resolve(String file) {
+        if (!file.equals("csv") && !file.equals("jsonl")) {
+            return file;
+        }
+        return "perf-timeseries-"
+                + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date())
+                + "."
+                + file;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public synchronized void start() throws IOException {
+        if (sampler != null) {
+            return;
+        }
+        writer = new BufferedWriter(new FileWriter(file));
+        if (!json) {
+            writer.write(String.join(",", COLUMNS));
+            writer.newLine();
+            writer.flush();
+        }
+        startNanos = System.nanoTime();
+        lastNanos = startNanos;
+        sampler =
+                new Thread(
+                        () -> {
+                            long next = System.nanoTime();
+                            try {
+                                while (!Thread.currentThread().isInterrupted()) {
+                                    next += TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+                                    long sleep = next - System.nanoTime();
+                                    if (sleep > 0) {
+                                        TimeUnit.NANOSECONDS.sleep(sleep);
+                                    }
+                                    sample();
+                                }
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        },
+                        "TimeSeriesRecorder");
+        sampler.setDaemon(true);
+        sampler.start();
+        // drivers often leave with System.exit, keep the tail of the series
+        shutdownHook = new Thread(this::close, "TimeSeriesRecorder-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        System.out.println("====== Recording time series to " + file + " ======");
+    }
+
+    /** Stops sampling after a last sample and closes the file. */
+    public void stop() {
+        Thread hook;
+        synchronized (this) {
+            hook = shutdownHook;
+            shutdownHook = null;
+        }
+        if (hook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // already shutting down, the hook closes the file
+                return;
+            }
+        }
+        close();
+    }
+
+    private void close() {
+        Thread thread;
+        synchronized (this) {
+            thread = sampler;
+            sampler = null;
+        }
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sample();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("close time series {} failed: {}", file, e.getMessage());
+        }
+    }
+
+    private synchronized void sample() {
+        long now = System.nanoTime();
+        double seconds = (now - lastNanos) / 1e9;
+        if (seconds <= 0) {
+            return;
+        }
+        long sent = source.getSent();
+        long received = source.getReceived();
+        long errors = source.getErrors();
+        LatencyHistogram latency = new LatencyHistogram();
+        source.addLatency(latency);
+        LatencyHistogram interval = latency.minus(lastLatency);
+
+        Object[] values = {
+            System.currentTimeMillis(),
+            round((now - startNanos) / 1e9),
+            sent,
+            received,
+            errors,
+            round((sent - lastSent) / seconds),
+            round((received - lastReceived) / seconds),
+            round((errors - lastErrors) / seconds),
+            sent > 0 ? Math.max(0, sent - received) : null,
+            millis(interval.getMean()),
+            millis(interval.getValueAtPercentile(50)),
+            millis(interval.getValueAtPercentile(90)),
+            millis(interval.getValueAtPercentile(99)),
+            millis(interval.getMax()),
+            json ? source.getErrorCounts() : causesCsv(source.getErrorCounts())
+        };
+        lastNanos = now;
+        lastSent = sent;
+        lastReceived = received;
+        lastErrors = errors;
+        lastLatency = latency;
+        try {
+            writer.write(json ? toJson(values) : toCsv(values));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.warn("write time series {} failed: {}", file, e.getMessage());
+        }
+    }
+
+    private static String toCsv(Object[] values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; ++i) {
+            if (i > 0) {
+                line.append(',');
+            }
+            if (values[i] != null) {
+                line.append(values[i]);
+            }
+        }
+        return line.toString();
+    }
+
+    private static String toJson(Object[] values) throws JsonProcessingException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; ++i) {
+            row.put(COLUMNS[i], values[i]);
+        }
+        return MAPPER.writeValueAsString(row);
+    }
+
+    /** Cumulative counts as {@code cause=count;cause=count}, the causes hold no commas. */
+    private static String causesCsv(Map<String, Long> counts) {
+        StringBuilder value = new StringBuilder();
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (value.length() > 0) {
+                value.append(';');
+            }
+            value.append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return value.toString();
+    }
+
+    private static BigDecimal millis(double nanos) {
+        return round(nanos / 1e6);
+    }
+
+    /** Three decimals, written the same way to CSV and as a JSON number. */
+    private static BigDecimal round(double value) {
+        return BigDecimal.valueOf(value).setScale(3, RoundingMode.HALF_UP);
+    }
+}
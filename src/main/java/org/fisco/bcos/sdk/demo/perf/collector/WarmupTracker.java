@@ -0,0 +1,154 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.fisco.bcos.sdk.demo.perf.runner.RunnerOptions;
+
+/**
+ * Keeps the first responses of a run, while JIT, TLS sessions and SDK caches are still cold, out of
+ * the measured statistics. Warmup ends after a number of responses, after a duration since the
+ * collector start, or when {@link #end()} is called for a warmup driven by the caller.
+ *
+ * <p>Every driver picks the default up from {@code -Dperf.warmup=1000} (responses) or {@code
+ * -Dperf.warmup=10s} (duration).
+ */
+public class WarmupTracker {
+    public static final String PROPERTY = "perf.warmup";
+
+    private final long count;
+    private final long durationMillis;
+    private volatile boolean active = false;
+    private volatile long endTimestamp = 0;
+    private final AtomicLong seen = new AtomicLong(0);
+
+    private final LongAdder messages = new LongAdder();
+    private final AtomicInteger error = new AtomicInteger(0);
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram responseLatency = new LatencyHistogram();
+
+    public WarmupTracker(long count, long durationMillis) {
+        this.count = count;
+        this.durationMillis = durationMillis;
+    }
+
+    /** @param spec a response count such as {@code 1000} or a duration such as {@code 10s} */
+    public static WarmupTracker parse(String spec) {
+        if (spec == null || spec.trim().isEmpty()) {
+            return new WarmupTracker(0, 0);
+        }
+        String value = spec.trim();
+        if (value.chars().allMatch(Character::isDigit)) {
+            return new WarmupTracker(Long.parseLong(value), 0);
+        }
+        return new WarmupTracker(0, RunnerOptions.parseDurationMillis("warmup", value));
+    }
+
+    public static WarmupTracker fromSystemProperty() {
+        return parse(System.getProperty(PROPERTY));
+    }
+
+    /** Records every response as warmup until {@link #end()}. */
+    public void begin() {
+        active = true;
+    }
+
+    public void end() {
+        active = false;
+        endTimestamp = System.currentTimeMillis();
+    }
+
+    public boolean isEnabled() {
+        return active || count > 0 || durationMillis > 0 || endTimestamp != 0;
+    }
+
+    /**
+     * Records the response here if it still belongs to the warmup.
+     *
+     * @return true when the response was taken as warmup
+     */
+    public boolean record(long startTimestamp, boolean errorMessage, Long cost, Long responseTime) {
+        if (!active) {
+            if (endTimestamp != 0 || (count <= 0 && durationMillis <= 0)) {
+                return false;
+            }
+            if (durationMillis > 0) {
+                if (System.currentTimeMillis() - startTimestamp >= durationMillis) {
+                    endTimestamp = startTimestamp + durationMillis;
+                    return false;
+                }
+            } else {
+                long n = seen.incrementAndGet();
+                if (n > count) {
+                    return false;
+                }
+                if (n == count) {
+                    endTimestamp = System.currentTimeMillis();
+                }
+            }
+        }
+        messages.increment();
+        if (errorMessage) {
+            error.incrementAndGet();
+        }
+        latency.record(cost);
+        if (responseTime != null) {
+            responseLatency.record(responseTime);
+        }
+        return true;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getMessages() {
+        return messages.sum();
+    }
+
+    public AtomicInteger getError() {
+        return error;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram getResponseLatency() {
+        return responseLatency;
+    }
+
+    /** @return when the measured part of the run started, in milliseconds */
+    public long getMeasureStart(long startTimestamp) {
+        return endTimestamp != 0 ? endTimestamp : startTimestamp;
+    }
+
+    public void report(long startTimestamp, double[] percentiles) {
+        if (!isEnabled()) {
+            return;
+        }
+        long end = endTimestamp != 0 ? endTimestamp : System.currentTimeMillis();
+        System.out.println("------------------------------ Warmup -----------------------------");
+        System.out.println("Warmup transactions: " + getMessages());
+        System.out.println("Warmup time: " + Math.max(0, end - startTimestamp) + "ms");
+        System.out.println("Warmup errors: " + error.get());
+        CollectorReport.printLatency(latency, responseLatency, percentiles);
+    }
+}
@@ -19,20 +19,24 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Users of the parallel transfer demos, stored in a {@link UserLedger} and persisted as the
+ * contract address followed by one user name per line.
+ */
 public class DagUserInfo {
     private static Logger logger = LoggerFactory.getLogger(DagUserInfo.class);
 
-    private List<DagTransferUser> userList = new ArrayList<DagTransferUser>();
+    private final UserLedger ledger = new UserLedger();
 
     private String file = null;
 
     private String parallelokAddr = "";
 
+    private KeyChooser keyChooser = KeyChooser.fromSystemProperty(KeyChooser.SEQUENTIAL);
+
     public void setContractAddr(String addr) {
         this.parallelokAddr = addr;
     }
@@ -41,12 +45,8 @@ public class DagUserInfo {
         return this.parallelokAddr;
     }
 
-    public List<DagTransferUser> getUserList() {
-        return userList;
-    }
-
-    public void setUserList(List<DagTransferUser> userList) {
-        this.userList = userList;
+    public UserLedger getLedger() {
+        return ledger;
     }
 
     public String getFile() {
@@ -57,27 +57,68 @@ public class DagUserInfo {
         this.file = file;
     }
 
-    public synchronized void addUser(DagTransferUser user) {
-        userList.add(user);
+    public KeyChooser getKeyChooser() {
+        return keyChooser;
+    }
+
+    /** Replaces the chooser of {@code -Dperf.keyChooser}, sequential by default. */
+    public void setKeyChooser(KeyChooser keyChooser) {
+        this.keyChooser = keyChooser;
+    }
+
+    /** @return the id of the new user */
+    public int addUser(String user, long amount) {
+        return ledger.addUser(user, amount);
+    }
+
+    public int size() {
+        return ledger.size();
     }
 
     public boolean isEmpty() {
-        return userList.isEmpty();
+        return ledger.size() == 0;
+    }
+
+    public String getUser(int id) {
+        return ledger.getUser(id);
+    }
+
+    public long getAmount(int id) {
+        return ledger.getBalance(id);
+    }
+
+    public void setAmount(int id, long amount) {
+        ledger.setBalance(id, amount);
+    }
+
+    /** Moves {@code amount} from {@code from} to {@code to} in the local ledger. */
+    public void transfer(int from, int to, long amount) {
+        ledger.decrease(from, amount);
+        ledger.increase(to, amount);
     }
 
-    public DagTransferUser getFrom(int idx) {
+    /** @return the id of the user sending the idx-th transfer, see {@link KeyChooser} */
+    public int getFrom(int idx) {
         assert !isEmpty() : "Has no user.";
-        return userList.get(idx % userList.size());
+        return keyChooser.choose(idx, ledger.size());
     }
 
-    public DagTransferUser getTo(int idx) {
+    /**
+     * @param from the sender of the idx-th transfer, from {@link #getFrom(int)}
+     * @return the id of the user receiving the idx-th transfer, never {@code from} when there are
+     *     two users or more; half the users away for the sequential chooser
+     */
+    public int getTo(int idx, int from) {
         assert !isEmpty() : "Has no user.";
-        int mid = userList.size() / 2;
-        return userList.get((idx + mid) % userList.size());
+        return keyChooser.chooseOther(idx, from, ledger.size());
     }
 
-    public DagTransferUser getNext(int idx) {
-        return userList.get((idx + 1) % userList.size());
+    /**
+     * @return the id after {@code from}, the receiver of a conflicting transfer: with the
+     *     sequential chooser transfer i then pays the sender of transfer i + 1
+     */
+    public int getNext(int from) {
+        return (from + 1) % ledger.size();
     }
 
     public void writeDagTransferUser() throws IOException {
@@ -94,9 +135,8 @@ public class DagUserInfo {
             bw.write(parallelokAddr + "\n");
 
             // And write user
-            for (int i = 0; i < userList.size(); i++) {
-                bw.write(userList.get(i).getUser() + "\n");
-                logger.trace(" write user , user is {}", userList.get(i).getUser());
+            for (int i = 0; i < ledger.size(); i++) {
+                bw.write(ledger.getUser(i) + "\n");
             }
 
             bw.flush();
@@ -107,8 +147,8 @@ public class DagUserInfo {
             }
         }
 
-        logger.info("file {}, load end, count is {}.", file, userList.size());
-        System.out.println(" Write DagTransferUser end, count is " + userList.size());
+        logger.info("file {}, load end, count is {}.", file, ledger.size());
+        System.out.println(" Write DagTransferUser end, count is " + ledger.size());
     }
 
     public void loadDagTransferUser() throws IOException {
@@ -130,10 +170,8 @@ public class DagUserInfo {
             while ((line = br.readLine()) != null) {
                 line = line.trim();
                 if (!line.isEmpty()) {
-                    DagTransferUser user = new DagTransferUser();
-                    user.setUser(line);
-                    addUser(user);
-                    // System.out.println("load DagTransferUser ==>> " + line);
+                    // the balance is set when the accounts are queried
+                    ledger.addUser(line, 0);
                 }
             }
 
@@ -143,8 +181,8 @@ public class DagUserInfo {
             }
         }
 
-        logger.info("file {}, load end, count is {}.", file, userList.size());
+        logger.info("file {}, load end, count is {}.", file, ledger.size());
 
-        System.out.println("Load DagTransferUser end, count is " + userList.size());
+        System.out.println("Load DagTransferUser end, count is " + ledger.size());
     }
 }
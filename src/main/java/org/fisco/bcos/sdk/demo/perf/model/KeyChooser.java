@@ -0,0 +1,244 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the keys (users, accounts) a request touches out of {@code size} keys, to model skewed
+ * traffic and the contention it causes in parallel execution:
+ *
+ * <ul>
+ *   <li>{@code sequential}: key {@code index % size}, the other key half the key space away
+ *   <li>{@code uniform}: every key equally likely
+ *   <li>{@code zipfian[:theta]}: key k with a probability proportional to 1 / (k + 1)^theta, theta
+ *       in (0, 1), 0.99 by default; key 0 is the hottest
+ *   <li>{@code hotspot[:ops:keys]}: a fraction {@code ops} of the requests on the first fraction
+ *       {@code keys} of the keys, the rest uniform over the others; 0.9:0.1 by default
+ * </ul>
+ *
+ * <p>Selected with {@code -Dperf.keyChooser}, e.g. {@code -Dperf.keyChooser=hotspot:0.8:0.01}.
+ */
+public abstract class KeyChooser {
+    public static final String PROPERTY = "perf.keyChooser";
+    public static final String SEQUENTIAL = "sequential";
+    public static final String UNIFORM = "uniform";
+    public static final String ZIPFIAN = "zipfian";
+    public static final String HOTSPOT = "hotspot";
+
+    private static final int DESCRIBE_SAMPLES = 100000;
+    private static final int MAX_REDRAWS = 64;
+
+    /** @return the key of request {@code index}, in [0, size) */
+    public abstract int choose(long index, int size);
+
+    /**
+     * @return the second key of request {@code index}, e.g. the receiver of a transfer: drawn again
+     *     until it differs from {@code from}, the first key, unless there is only one key
+     */
+    public int chooseOther(long index, int from, int size) {
+        if (size < 2) {
+            return from;
+        }
+        for (int i = 0; i < MAX_REDRAWS; ++i) {
+            int other = choose(index, size);
+            if (other != from) {
+                return other;
+            }
+        }
+        // the distribution keeps landing on from, e.g. a single hot key taking every request
+        return (from + 1) % size;
+    }
+
+    /** @param spec one of the forms listed above, parameters separated by colons */
+    public static KeyChooser parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        double[] parameters = new double[parts.length - 1];
+        try {
+            for (int i = 1; i < parts.length; ++i) {
+                parameters[i - 1] = Double.parseDouble(parts[i]);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid key chooser " + spec);
+        }
+        switch (parts[0].toLowerCase()) {
+            case SEQUENTIAL:
+                return new Sequential();
+            case UNIFORM:
+                return new Uniform();
+            case ZIPFIAN:
+                return new Zipfian(parameters.length > 0 ? parameters[0] : 0.99);
+            case HOTSPOT:
+                return new Hotspot(
+                        parameters.length > 0 ? parameters[0] : 0.9,
+                        parameters.length > 1 ? parameters[1] : 0.1);
+            default:
+                throw new IllegalArgumentException("key chooser " + spec + " not supported!");
+        }
+    }
+
+    /**
+     * @param defaultSpec what the driver did before, used unless {@code -Dperf.keyChooser} is set
+     */
+    public static KeyChooser fromSystemProperty(String defaultSpec) {
+        return parse(System.getProperty(PROPERTY, defaultSpec));
+    }
+
+    /**
+     * @return the chooser and the share of the requests its hottest keys get over {@code size}
+     *     keys, measured on a sample, e.g. to print next to the throughput it led to
+     */
+    public String describe(int size) {
+        if (size <= 0) {
+            return toString();
+        }
+        int[] hits = new int[size];
+        for (int i = 0; i < DESCRIBE_SAMPLES; ++i) {
+            hits[choose(i, size)]++;
+        }
+        Arrays.sort(hits);
+        int top = Math.max(1, size / 100);
+        long topHits = 0;
+        for (int i = size - top; i < size; ++i) {
+            topHits += hits[i];
+        }
+        return String.format(
+                "%s over %d keys, hottest key %.2f%%, hottest 1%% (%d keys) %.2f%% of the requests",
+                this,
+                size,
+                hits[size - 1] * 100.0 / DESCRIBE_SAMPLES,
+                top,
+                topHits * 100.0 / DESCRIBE_SAMPLES);
+    }
+
+    private static class Sequential extends KeyChooser {
+        @Override
+        public int choose(long index, int size) {
+            return (int) (index % size);
+        }
+
+        @Override
+        public int chooseOther(long index, int from, int size) {
+            return (from + size / 2) % size;
+        }
+
+        @Override
+        public String toString() {
+            return SEQUENTIAL;
+        }
+    }
+
+    private static class Uniform extends KeyChooser {
+        @Override
+        public int choose(long index, int size) {
+            return ThreadLocalRandom.current().nextInt(size);
+        }
+
+        @Override
+        public String toString() {
+            return UNIFORM;
+        }
+    }
+
+    /** The generator of Gray et al., "Quickly Generating Billion-Record Synthetic Databases". */
+    private static class Zipfian extends KeyChooser {
+        private final double theta;
+        private volatile Constants constants;
+
+        /** Depend on the number of keys only, computed once per key space in O(size). */
+        private static class Constants {
+            private final int size;
+            private final double zetan;
+            private final double eta;
+            private final double alpha;
+            private final double zeta2;
+
+            Constants(int size, double theta) {
+                double sum = 0;
+                for (int i = 1; i <= size; ++i) {
+                    sum += 1 / Math.pow(i, theta);
+                }
+                this.size = size;
+                this.zeta2 = 1 + Math.pow(0.5, theta);
+                this.zetan = sum;
+                this.alpha = 1 / (1 - theta);
+                this.eta = (1 - Math.pow(2.0 / size, 1 - theta)) / (1 - zeta2 / zetan);
+            }
+        }
+
+        Zipfian(double theta) {
+            if (theta <= 0 || theta >= 1) {
+                throw new IllegalArgumentException("zipfian theta must be in (0, 1), got " + theta);
+            }
+            this.theta = theta;
+        }
+
+        @Override
+        public int choose(long index, int size) {
+            Constants current = constants;
+            if (current == null || current.size != size) {
+                current = new Constants(size, theta);
+                constants = current;
+            }
+            double u = ThreadLocalRandom.current().nextDouble();
+            double uz = u * current.zetan;
+            if (uz < 1) {
+                return 0;
+            }
+            if (uz < current.zeta2) {
+                return Math.min(1, size - 1);
+            }
+            int key = (int) (size * Math.pow(current.eta * u - current.eta + 1, current.alpha));
+            return Math.min(key, size - 1);
+        }
+
+        @Override
+        public String toString() {
+            return ZIPFIAN + ":" + theta;
+        }
+    }
+
+    private static class Hotspot extends KeyChooser {
+        private final double hotOps;
+        private final double hotKeys;
+
+        Hotspot(double hotOps, double hotKeys) {
+            if (hotOps < 0 || hotOps > 1 || hotKeys <= 0 || hotKeys > 1) {
+                throw new IllegalArgumentException(
+                        "hotspot expects ops in [0, 1] and keys in (0, 1], got "
+                                + hotOps
+                                + ":"
+                                + hotKeys);
+            }
+            this.hotOps = hotOps;
+            this.hotKeys = hotKeys;
+        }
+
+        @Override
+        public int choose(long index, int size) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int hot = Math.max(1, (int) Math.round(size * hotKeys));
+            if (hot >= size || random.nextDouble() < hotOps) {
+                return random.nextInt(Math.min(hot, size));
+            }
+            return hot + random.nextInt(size - hot);
+        }
+
+        @Override
+        public String toString() {
+            return HOTSPOT + ":" + hotOps + ":" + hotKeys;
+        }
+    }
+}
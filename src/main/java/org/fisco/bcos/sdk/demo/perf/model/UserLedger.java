@@ -0,0 +1,106 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Append-only table of users and their local balances, addressed by a dense int id.
+ *
+ * <p>Users are kept in shards of 65536. A shard stores the balances in an {@link AtomicLongArray}
+ * and the names back to back in one byte array, so a user costs about 12 bytes plus the length of
+ * its name and no object of its own. Balance updates are single atomic adds and take no lock; only
+ * {@link #addUser(String, long)} is synchronized.
+ */
+public class UserLedger {
+    private static final int SHARD_BITS = 16;
+    private static final int SHARD_SIZE = 1 << SHARD_BITS;
+    private static final int SHARD_MASK = SHARD_SIZE - 1;
+
+    private static class Shard {
+        private final AtomicLongArray balances = new AtomicLongArray(SHARD_SIZE);
+        private final int[] nameEnds = new int[SHARD_SIZE];
+        private volatile byte[] names = new byte[SHARD_SIZE * 8];
+    }
+
+    private Shard[] shards = new Shard[16];
+    // written last by addUser, so reading it first makes the users below it visible
+    private volatile int size = 0;
+
+    /** @return the id of the new user */
+    public synchronized int addUser(String name, long balance) {
+        int id = size;
+        if (id == Integer.MAX_VALUE) {
+            throw new IllegalStateException("too many users");
+        }
+        int shardIndex = id >>> SHARD_BITS;
+        if (shardIndex == shards.length) {
+            shards = Arrays.copyOf(shards, shardIndex * 2);
+        }
+        if (shards[shardIndex] == null) {
+            shards[shardIndex] = new Shard();
+        }
+        Shard shard = shards[shardIndex];
+        int offset = id & SHARD_MASK;
+        int start = offset == 0 ? 0 : shard.nameEnds[offset - 1];
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] names = shard.names;
+        if (start + bytes.length > names.length) {
+            names = Arrays.copyOf(names, Math.max(start + bytes.length, names.length * 2));
+        }
+        System.arraycopy(bytes, 0, names, start, bytes.length);
+        shard.names = names;
+        shard.nameEnds[offset] = start + bytes.length;
+        shard.balances.set(offset, balance);
+        size = id + 1;
+        return id;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getUser(int id) {
+        Shard shard = shard(id);
+        int offset = id & SHARD_MASK;
+        int start = offset == 0 ? 0 : shard.nameEnds[offset - 1];
+        return new String(
+                shard.names, start, shard.nameEnds[offset] - start, StandardCharsets.UTF_8);
+    }
+
+    public long getBalance(int id) {
+        return shard(id).balances.get(id & SHARD_MASK);
+    }
+
+    public void setBalance(int id, long balance) {
+        shard(id).balances.set(id & SHARD_MASK, balance);
+    }
+
+    public void increase(int id, long amount) {
+        shard(id).balances.addAndGet(id & SHARD_MASK, amount);
+    }
+
+    public void decrease(int id, long amount) {
+        shard(id).balances.addAndGet(id & SHARD_MASK, -amount);
+    }
+
+    private Shard shard(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("user " + id + " out of range, size " + size);
+        }
+        return shards[id >>> SHARD_BITS];
+    }
+}
@@ -14,21 +14,19 @@
 package org.fisco.bcos.sdk.demo.perf.parallel;
 
 import com.google.common.util.concurrent.RateLimiter;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.fisco.bcos.sdk.demo.contract.DagTransfer;
 import org.fisco.bcos.sdk.demo.perf.callback.ParallelOkCallback;
+import org.fisco.bcos.sdk.demo.perf.collector.ExceptionReceipt;
 import org.fisco.bcos.sdk.demo.perf.collector.PerformanceCollector;
-import org.fisco.bcos.sdk.demo.perf.model.DagTransferUser;
 import org.fisco.bcos.sdk.demo.perf.model.DagUserInfo;
+import org.fisco.bcos.sdk.demo.perf.replay.PreSignPipeline;
+import org.fisco.bcos.sdk.demo.perf.replay.SignedTxWriter;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple2;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
@@ -80,20 +78,19 @@ public class DagPrecompiledDemo {
                             () -> {
                                 String user =
                                         Long.toHexString(seconds) + Integer.toHexString(index);
-                                BigInteger amount = BigInteger.valueOf(1000000000);
-                                DagTransferUser dtu = new DagTransferUser();
-                                dtu.setUser(user);
-                                dtu.setAmount(amount);
+                                long amount = 1000000000L;
                                 ParallelOkCallback callback =
                                         new ParallelOkCallback(
                                                 collector,
                                                 dagUserInfo,
                                                 ParallelOkCallback.ADD_USER_CALLBACK);
-                                callback.setUser(dtu);
+                                callback.setUser(user);
+                                callback.setAmount(amount);
                                 try {
                                     callback.recordStartTime();
                                     callback.setTimeout(0);
-                                    dagTransfer.userAdd(user, amount, callback);
+                                    dagTransfer.userAdd(user, BigInteger.valueOf(amount), callback);
+                                    collector.onSent();
                                     int current = sended.incrementAndGet();
                                     if (current >= area && ((current % area) == 0)) {
                                         System.out.println(
@@ -104,8 +101,8 @@ public class DagPrecompiledDemo {
                                                         + " transactions");
                                     }
                                 } catch (Exception e) {
-                                    TransactionReceipt receipt = new TransactionReceipt();
-                                    receipt.setStatus(-1);
+                                    TransactionReceipt receipt =
+                                            new ExceptionReceipt(e, e.getMessage());
                                     callback.onResponse(receipt);
                                     logger.error(
                                             "dagTransfer add failed, error info: {}",
@@ -132,10 +129,10 @@ public class DagPrecompiledDemo {
     public void queryAccountInfo(BigInteger qps) throws InterruptedException {
         System.out.println("Start queryAccountInfo...");
         // get the user
-        List<DagTransferUser> allUser = dagUserInfo.getUserList();
+        int userSize = dagUserInfo.size();
         RateLimiter rateLimiter = RateLimiter.create(qps.intValue());
         AtomicInteger getted = new AtomicInteger(0);
-        for (Integer i = 0; i < allUser.size(); i++) {
+        for (Integer i = 0; i < userSize; i++) {
             final Integer index = i;
             rateLimiter.acquire();
             threadPoolService
@@ -146,20 +143,20 @@ public class DagPrecompiledDemo {
                                 public void run() {
                                     try {
                                         Tuple2<BigInteger, BigInteger> result =
-                                                dagTransfer.userBalance(
-                                                        allUser.get(index).getUser());
+                                                dagTransfer.userBalance(dagUserInfo.getUser(index));
 
                                         if (result.getValue1().compareTo(new BigInteger("0"))
                                                 == 0) {
-                                            allUser.get(index).setAmount(result.getValue2());
+                                            dagUserInfo.setAmount(
+                                                    index, result.getValue2().longValueExact());
                                         } else {
                                             System.out.println(
                                                     " Query failed, user is "
-                                                            + allUser.get(index).getUser());
+                                                            + dagUserInfo.getUser(index));
                                             System.exit(0);
                                         }
                                         int all = getted.incrementAndGet();
-                                        if (all >= allUser.size()) {
+                                        if (all >= userSize) {
                                             System.out.println(
                                                     dateFormat.format(new Date())
                                                             + " Query account finished");
@@ -167,24 +164,24 @@ public class DagPrecompiledDemo {
                                     } catch (Exception e) {
                                         System.out.println(
                                                 " Query failed, user is "
-                                                        + allUser.get(index).getUser());
+                                                        + dagUserInfo.getUser(index));
                                         System.exit(0);
                                     }
                                 }
                             });
         }
-        while (getted.get() < allUser.size()) {
+        while (getted.get() < userSize) {
             Thread.sleep(50);
         }
     }
 
     public void generateTransferTxs(
-            BigInteger count, String txsFile, BigInteger qps, BigInteger conflictPercent)
-            throws InterruptedException, IOException {
-        File file = new File(txsFile);
-        if (!file.exists()) {
-            file.createNewFile();
-        }
+            Client client,
+            BigInteger count,
+            String txsFile,
+            BigInteger qps,
+            BigInteger conflictPercent)
+            throws Exception {
         System.out.println(
                 "DagPrecompiledDemo: test generateTransferTxs, count: "
                         + count
@@ -192,56 +189,50 @@ public class DagPrecompiledDemo {
                         + txsFile);
         System.out.println("===================================================================");
         queryAccountInfo(qps);
-        FileWriter fileWriter = new FileWriter(file.getName(), true);
-        BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
+        System.out.println(
+                "Key chooser: " + dagUserInfo.getKeyChooser().describe(dagUserInfo.size()));
+        SignedTxWriter txWriter =
+                SignedTxWriter.open(txsFile, client, dagTransfer.getContractAddress());
         System.out.println(
                 "DagPrecompiledDemo: start generateTransferTxs, count: "
                         + count
                         + ", txsFile: "
                         + txsFile);
-        AtomicInteger generated = new AtomicInteger(0);
-        Integer area = count.intValue() / 10;
-        for (Integer i = 0; i < count.intValue(); i++) {
-            final Integer index = i;
-
-            DagTransferUser from = dagUserInfo.getFrom(index);
-            DagTransferUser to = dagUserInfo.getTo(index);
-            if ((conflictPercent.intValue() > 0)
-                    && (index <= (conflictPercent.intValue() * count.intValue()) / 100)) {
-                to = dagUserInfo.getNext(index);
-            }
-            Random random = new Random();
-            int r = random.nextInt(100) + 1;
-            BigInteger amount = BigInteger.valueOf(r);
-            String txData =
-                    dagTransfer.getSignedTransactionForUserTransfer(
-                            from.getUser(), to.getUser(), amount);
-            try {
-                bufferedWriter.write(txData);
-                bufferedWriter.newLine();
-                generated.incrementAndGet();
-                if (generated.get() >= area && ((generated.get() % area) == 0)) {
-                    System.out.println(
-                            "Already generated: "
-                                    + generated.get()
-                                    + "/"
-                                    + count
-                                    + " transactions");
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-
-        while (generated.intValue() < count.intValue()) {
-            Thread.sleep(2000);
-        }
+        int conflicts =
+                conflictPercent.intValue() > 0
+                        ? conflictPercent.intValue() * count.intValue() / 100
+                        : -1;
+        PreSignPipeline.fromSystemProperty()
+                .run(
+                        count.longValue(),
+                        thread -> {
+                            DagTransfer signer =
+                                    DagTransfer.load(
+                                            DAG_TRANSFER_ADDR,
+                                            client,
+                                            PreSignPipeline.copyKeyPair(client));
+                            signer.setEnableDAG(true);
+                            return i -> {
+                                int index = (int) i;
+                                int from = dagUserInfo.getFrom(index);
+                                int to =
+                                        index <= conflicts
+                                                ? dagUserInfo.getNext(from)
+                                                : dagUserInfo.getTo(index, from);
+                                BigInteger amount =
+                                        BigInteger.valueOf(
+                                                ThreadLocalRandom.current().nextInt(100) + 1);
+                                return signer.getSignedTransactionForUserTransfer(
+                                        dagUserInfo.getUser(from), dagUserInfo.getUser(to), amount);
+                            };
+                        },
+                        txWriter);
         System.out.println(
                 "DagPrecompiledDemo: generateTransferTxs success ! count: "
                         + count
                         + ", txsFile: "
                         + txsFile);
-        bufferedWriter.close();
+        txWriter.close();
         System.exit(0);
     }
 
@@ -249,6 +240,8 @@ public class DagPrecompiledDemo {
         System.out.println("Start userTransfer test...");
         System.out.println("===================================================================");
         queryAccountInfo(qps);
+        System.out.println(
+                "Key chooser: " + dagUserInfo.getKeyChooser().describe(dagUserInfo.size()));
         long startTime = System.currentTimeMillis();
         AtomicInteger sended = new AtomicInteger(0);
         AtomicInteger sendFailed = new AtomicInteger(0);
@@ -272,19 +265,21 @@ public class DagPrecompiledDemo {
                                                     dagUserInfo,
                                                     ParallelOkCallback.TRANS_CALLBACK);
                                     try {
-                                        DagTransferUser from = dagUserInfo.getFrom(index);
-                                        DagTransferUser to = dagUserInfo.getTo(index);
-                                        Random random = new Random();
-                                        int r = random.nextInt(100) + 1;
-                                        BigInteger amount = BigInteger.valueOf(r);
+                                        int from = dagUserInfo.getFrom(index);
+                                        int to = dagUserInfo.getTo(index, from);
+                                        long amount = ThreadLocalRandom.current().nextInt(100) + 1;
                                         callback.setFromUser(from);
                                         callback.setToUser(to);
                                         callback.setAmount(amount);
                                         callback.setTimeout(0);
                                         callback.recordStartTime();
                                         dagTransfer.userTransfer(
-                                                from.getUser(), to.getUser(), amount, callback);
+                                                dagUserInfo.getUser(from),
+                                                dagUserInfo.getUser(to),
+                                                BigInteger.valueOf(amount),
+                                                callback);
                                         long elapsed = System.currentTimeMillis() - startTime;
+                                        collector.onSent();
                                         sended.incrementAndGet();
                                         double sendSpeed = sended.get() / ((double) elapsed / 1000);
                                         if (sended.get() >= area && ((sended.get() % area) == 0)) {
@@ -299,11 +294,11 @@ public class DagPrecompiledDemo {
                                         logger.warn(
                                                 "userTransfer failed, error info: {}",
                                                 e.getMessage());
-                                        TransactionReceipt receipt = new TransactionReceipt();
-                                        receipt.setStatus(-1);
-                                        receipt.setMessage(
-                                                "userTransfer failed, error info: "
-                                                        + e.getMessage());
+                                        TransactionReceipt receipt =
+                                                new ExceptionReceipt(
+                                                        e,
+                                                        "userTransfer failed, error info: "
+                                                                + e.getMessage());
                                         callback.onResponse(receipt);
                                         sendFailed.incrementAndGet();
                                     }
@@ -329,8 +324,8 @@ public class DagPrecompiledDemo {
         AtomicInteger verify_success = new AtomicInteger(0);
         AtomicInteger verify_failed = new AtomicInteger(0);
 
-        List<DagTransferUser> allUser = dagUserInfo.getUserList();
-        for (Integer i = 0; i < allUser.size(); i++) {
+        int userSize = dagUserInfo.size();
+        for (Integer i = 0; i < userSize; i++) {
             final Integer index = i;
             rateLimiter.acquire();
             threadPoolService
@@ -341,11 +336,11 @@ public class DagPrecompiledDemo {
                                 public void run() {
                                     try {
                                         Tuple2<BigInteger, BigInteger> result =
-                                                dagTransfer.userBalance(
-                                                        allUser.get(index).getUser());
+                                                dagTransfer.userBalance(dagUserInfo.getUser(index));
 
-                                        String user = allUser.get(index).getUser();
-                                        BigInteger local = allUser.get(index).getAmount();
+                                        String user = dagUserInfo.getUser(index);
+                                        BigInteger local =
+                                                BigInteger.valueOf(dagUserInfo.getAmount(index));
                                         BigInteger remote = result.getValue2();
 
                                         if (result.getValue1().compareTo(new BigInteger("0"))
@@ -379,11 +374,11 @@ public class DagPrecompiledDemo {
                                 }
                             });
         }
-        while (verify_success.get() + verify_failed.get() < allUser.size()) {
+        while (verify_success.get() + verify_failed.get() < userSize) {
             Thread.sleep(40);
         }
         System.out.println("validation:");
-        System.out.println(" \tuser count is " + allUser.size());
+        System.out.println(" \tuser count is " + userSize);
         System.out.println(" \tverify_success count is " + verify_success);
         System.out.println(" \tverify_failed count is " + verify_failed);
     }
@@ -5,13 +5,12 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.fisco.bcos.sdk.demo.contract.ParallelOkLiquid;
 import org.fisco.bcos.sdk.demo.perf.callback.ParallelOkCallback;
+import org.fisco.bcos.sdk.demo.perf.collector.ExceptionReceipt;
 import org.fisco.bcos.sdk.demo.perf.collector.PerformanceCollector;
-import org.fisco.bcos.sdk.demo.perf.model.DagTransferUser;
 import org.fisco.bcos.sdk.demo.perf.model.DagUserInfo;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
@@ -45,8 +44,7 @@ public class ParallelLiquidDemo {
         AtomicInteger verifyFailed = new AtomicInteger(0);
         AtomicInteger verifySuccess = new AtomicInteger(0);
 
-        final List<DagTransferUser> userInfo = dagUserInfo.getUserList();
-        int userSize = userInfo.size();
+        int userSize = dagUserInfo.size();
         for (int i = 0; i < userSize; i++) {
             rateLimiter.acquire();
             final int userIndex = i;
@@ -55,10 +53,10 @@ public class ParallelLiquidDemo {
                     .execute(
                             () -> {
                                 try {
-                                    String user = userInfo.get(userIndex).getUser();
+                                    String user = dagUserInfo.getUser(userIndex);
                                     BigInteger balance = parallelOkLiquid.balance_of(user);
-                                    BigInteger localAmount = userInfo.get(userIndex).getAmount();
-                                    if (localAmount.compareTo(balance) != 0) {
+                                    long localAmount = dagUserInfo.getAmount(userIndex);
+                                    if (BigInteger.valueOf(localAmount).compareTo(balance) != 0) {
                                         logger.error(
                                                 "local balance is not the same as the remote, user: {}, local balance: {}, remote balance: {}",
                                                 user,
@@ -109,20 +107,20 @@ public class ParallelLiquidDemo {
                                 String user =
                                         Long.toHexString(currentSeconds)
                                                 + Integer.toHexString(index);
-                                BigInteger amount = BigInteger.valueOf(1000000000);
-                                DagTransferUser dtu = new DagTransferUser();
-                                dtu.setUser(user);
-                                dtu.setAmount(amount);
+                                long amount = 1000000000L;
                                 ParallelOkCallback callback =
                                         new ParallelOkCallback(
                                                 collector,
                                                 dagUserInfo,
                                                 ParallelOkCallback.ADD_USER_CALLBACK);
                                 callback.setTimeout(0);
-                                callback.setUser(dtu);
+                                callback.setUser(user);
+                                callback.setAmount(amount);
                                 try {
                                     callback.recordStartTime();
-                                    parallelOkLiquid.set(user, amount, callback);
+                                    parallelOkLiquid.set(
+                                            user, BigInteger.valueOf(amount), callback);
+                                    collector.onSent();
                                     int current = sent.incrementAndGet();
 
                                     if (current >= area && ((current % area) == 0)) {
@@ -141,10 +139,11 @@ public class ParallelLiquidDemo {
                                 } catch (Exception e) {
                                     logger.warn("addUser failed, error info: {}", e.getMessage());
                                     sendFailed.incrementAndGet();
-                                    TransactionReceipt receipt = new TransactionReceipt();
-                                    receipt.setStatus(-1);
-                                    receipt.setMessage(
-                                            "userAdd failed, error info: " + e.getMessage());
+                                    TransactionReceipt receipt =
+                                            new ExceptionReceipt(
+                                                    e,
+                                                    "userAdd failed, error info: "
+                                                            + e.getMessage());
                                     callback.onResponse(receipt);
                                 }
                             });
@@ -163,10 +162,10 @@ public class ParallelLiquidDemo {
     }
 
     public void queryAccount(BigInteger qps) throws InterruptedException {
-        final List<DagTransferUser> allUsers = dagUserInfo.getUserList();
+        int userSize = dagUserInfo.size();
         RateLimiter rateLimiter = RateLimiter.create(qps.intValue());
         AtomicInteger sent = new AtomicInteger(0);
-        for (int i = 0; i < allUsers.size(); i++) {
+        for (int i = 0; i < userSize; i++) {
             final int index = i;
             rateLimiter.acquire();
             threadPoolService
@@ -175,11 +174,10 @@ public class ParallelLiquidDemo {
                             () -> {
                                 try {
                                     BigInteger result =
-                                            parallelOkLiquid.balance_of(
-                                                    allUsers.get(index).getUser());
-                                    allUsers.get(index).setAmount(result);
+                                            parallelOkLiquid.balance_of(dagUserInfo.getUser(index));
+                                    dagUserInfo.setAmount(index, result.longValueExact());
                                     int all = sent.incrementAndGet();
-                                    if (all >= allUsers.size()) {
+                                    if (all >= userSize) {
                                         System.out.println(
                                                 dateFormat.format(new Date())
                                                         + " Query account finished");
@@ -187,13 +185,13 @@ public class ParallelLiquidDemo {
                                 } catch (ContractException exception) {
                                     logger.warn(
                                             "queryAccount for {} failed, error info: {}",
-                                            allUsers.get(index).getUser(),
+                                            dagUserInfo.getUser(index),
                                             exception.getMessage());
                                     System.exit(0);
                                 }
                             });
         }
-        while (sent.get() < allUsers.size()) {
+        while (sent.get() < userSize) {
             Thread.sleep(50);
         }
     }
@@ -215,25 +213,27 @@ public class ParallelLiquidDemo {
                     .getThreadPool()
                     .execute(
                             () -> {
+                                ParallelOkCallback callback =
+                                        new ParallelOkCallback(
+                                                collector,
+                                                dagUserInfo,
+                                                ParallelOkCallback.TRANS_CALLBACK);
+                                callback.setTimeout(0);
+                                callback.recordStartTime();
                                 try {
-                                    int r = new Random().nextInt(100);
-                                    BigInteger amount = BigInteger.valueOf(r);
-
-                                    ParallelOkCallback callback =
-                                            new ParallelOkCallback(
-                                                    collector,
-                                                    dagUserInfo,
-                                                    ParallelOkCallback.TRANS_CALLBACK);
-                                    callback.setTimeout(0);
-                                    DagTransferUser from = dagUserInfo.getFrom(index);
-                                    DagTransferUser to = dagUserInfo.getTo(index);
+                                    long amount = ThreadLocalRandom.current().nextInt(100);
+                                    int from = dagUserInfo.getFrom(index);
+                                    int to = dagUserInfo.getTo(index, from);
 
                                     callback.setFromUser(from);
                                     callback.setToUser(to);
                                     callback.setAmount(amount);
-                                    callback.recordStartTime();
                                     parallelOkLiquid.transfer(
-                                            from.getUser(), to.getUser(), amount, callback);
+                                            dagUserInfo.getUser(from),
+                                            dagUserInfo.getUser(to),
+                                            BigInteger.valueOf(amount),
+                                            callback);
+                                    collector.onSent();
                                     int current = sent.incrementAndGet();
                                     if (current >= division && ((current % division) == 0)) {
                                         long elapsed = System.currentTimeMillis() - startTime;
@@ -250,11 +250,13 @@ public class ParallelLiquidDemo {
                                 } catch (Exception e) {
                                     logger.error(
                                             "call transfer failed, error info: {}", e.getMessage());
-                                    TransactionReceipt receipt = new TransactionReceipt();
-                                    receipt.setStatus(-1);
-                                    receipt.setMessage(
-                                            "call transfer failed, error info: " + e.getMessage());
-                                    collector.onMessage(receipt, 0L);
+                                    TransactionReceipt receipt =
+                                            new ExceptionReceipt(
+                                                    e,
+                                                    "call transfer failed, error info: "
+                                                            + e.getMessage());
+                                    // through the callback, with the time the send took
+                                    callback.onResponse(receipt);
                                     sendFailed.incrementAndGet();
                                 }
                             });
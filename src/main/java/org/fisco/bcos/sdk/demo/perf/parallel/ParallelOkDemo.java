@@ -14,21 +14,21 @@
 package org.fisco.bcos.sdk.demo.perf.parallel;
 
 import com.google.common.util.concurrent.RateLimiter;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.fisco.bcos.sdk.demo.contract.ParallelOk;
 import org.fisco.bcos.sdk.demo.perf.callback.ParallelOkCallback;
+import org.fisco.bcos.sdk.demo.perf.collector.ExceptionReceipt;
 import org.fisco.bcos.sdk.demo.perf.collector.PerformanceCollector;
-import org.fisco.bcos.sdk.demo.perf.model.DagTransferUser;
 import org.fisco.bcos.sdk.demo.perf.model.DagUserInfo;
+import org.fisco.bcos.sdk.demo.perf.replay.PreSignPipeline;
+import org.fisco.bcos.sdk.demo.perf.replay.SignedTxWriter;
+import org.fisco.bcos.sdk.demo.perf.runner.OpenLoopScheduler;
+import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
 import org.fisco.bcos.sdk.v3.utils.ThreadPoolService;
@@ -60,8 +60,7 @@ public class ParallelOkDemo {
         AtomicInteger verifyFailed = new AtomicInteger(0);
         AtomicInteger verifySuccess = new AtomicInteger(0);
 
-        final List<DagTransferUser> userInfo = dagUserInfo.getUserList();
-        int userSize = userInfo.size();
+        int userSize = dagUserInfo.size();
         for (int i = 0; i < userSize; i++) {
             rateLimiter.acquire();
             final int userIndex = i;
@@ -72,11 +71,11 @@ public class ParallelOkDemo {
                                 @Override
                                 public void run() {
                                     try {
-                                        String user = userInfo.get(userIndex).getUser();
+                                        String user = dagUserInfo.getUser(userIndex);
                                         BigInteger balance = parallelOk.balanceOf(user);
-                                        BigInteger localAmount =
-                                                userInfo.get(userIndex).getAmount();
-                                        if (localAmount.compareTo(balance) != 0) {
+                                        long localAmount = dagUserInfo.getAmount(userIndex);
+                                        if (BigInteger.valueOf(localAmount).compareTo(balance)
+                                                != 0) {
                                             logger.error(
                                                     "local balance is not the same as the remote, user: {}, local balance: {}, remote balance: {}",
                                                     user,
@@ -130,20 +129,19 @@ public class ParallelOkDemo {
                                     String user =
                                             Long.toHexString(currentSeconds)
                                                     + Integer.toHexString(index);
-                                    BigInteger amount = new BigInteger("1000000000");
-                                    DagTransferUser dtu = new DagTransferUser();
-                                    dtu.setUser(user);
-                                    dtu.setAmount(amount);
+                                    long amount = 1000000000L;
                                     ParallelOkCallback callback =
                                             new ParallelOkCallback(
                                                     collector,
                                                     dagUserInfo,
                                                     ParallelOkCallback.ADD_USER_CALLBACK);
                                     callback.setTimeout(0);
-                                    callback.setUser(dtu);
+                                    callback.setUser(user);
+                                    callback.setAmount(amount);
                                     try {
                                         callback.recordStartTime();
-                                        parallelOk.set(user, amount, callback);
+                                        parallelOk.set(user, BigInteger.valueOf(amount), callback);
+                                        collector.onSent();
                                         int current = sended.incrementAndGet();
 
                                         if (current >= area && ((current % area) == 0)) {
@@ -163,10 +161,11 @@ public class ParallelOkDemo {
                                         logger.warn(
                                                 "addUser failed, error info: {}", e.getMessage());
                                         sendFailed.incrementAndGet();
-                                        TransactionReceipt receipt = new TransactionReceipt();
-                                        receipt.setStatus(-1);
-                                        receipt.setMessage(
-                                                "userAdd failed, error info: " + e.getMessage());
+                                        TransactionReceipt receipt =
+                                                new ExceptionReceipt(
+                                                        e,
+                                                        "userAdd failed, error info: "
+                                                                + e.getMessage());
                                         callback.onResponse(receipt);
                                     }
                                 }
@@ -186,11 +185,11 @@ public class ParallelOkDemo {
     }
 
     public void queryAccount(BigInteger qps) throws InterruptedException {
-        final List<DagTransferUser> allUsers = dagUserInfo.getUserList();
+        int userSize = dagUserInfo.size();
         RateLimiter rateLimiter = RateLimiter.create(qps.intValue());
         AtomicInteger sent = new AtomicInteger(0);
-        for (Integer i = 0; i < allUsers.size(); i++) {
-            final Integer index = i;
+        for (int i = 0; i < userSize; i++) {
+            final int index = i;
             rateLimiter.acquire();
             threadPoolService
                     .getThreadPool()
@@ -200,10 +199,10 @@ public class ParallelOkDemo {
                                 public void run() {
                                     try {
                                         BigInteger result =
-                                                parallelOk.balanceOf(allUsers.get(index).getUser());
-                                        allUsers.get(index).setAmount(result);
+                                                parallelOk.balanceOf(dagUserInfo.getUser(index));
+                                        dagUserInfo.setAmount(index, result.longValueExact());
                                         int all = sent.incrementAndGet();
-                                        if (all >= allUsers.size()) {
+                                        if (all >= userSize) {
                                             System.out.println(
                                                     dateFormat.format(new Date())
                                                             + " Query account finished");
@@ -211,25 +210,25 @@ public class ParallelOkDemo {
                                     } catch (ContractException exception) {
                                         logger.warn(
                                                 "queryAccount for {} failed, error info: {}",
-                                                allUsers.get(index).getUser(),
+                                                dagUserInfo.getUser(index),
                                                 exception.getMessage());
                                         System.exit(0);
                                     }
                                 }
                             });
         }
-        while (sent.get() < allUsers.size()) {
+        while (sent.get() < userSize) {
             Thread.sleep(50);
         }
     }
 
     public void generateTransferTxs(
-            BigInteger count, String txsFile, BigInteger qps, BigInteger conflictPercent)
-            throws InterruptedException, IOException {
-        File file = new File(txsFile);
-        if (!file.exists()) {
-            file.createNewFile();
-        }
+            Client client,
+            BigInteger count,
+            String txsFile,
+            BigInteger qps,
+            BigInteger conflictPercent)
+            throws Exception {
         System.out.println(
                 "ParallelOkDemo: test generateTransferTxs, count: "
                         + count
@@ -237,55 +236,50 @@ public class ParallelOkDemo {
                         + txsFile);
         System.out.println("===================================================================");
         queryAccount(qps);
-        FileWriter fileWriter = new FileWriter(file.getName(), true);
-        BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
+        System.out.println(
+                "Key chooser: " + dagUserInfo.getKeyChooser().describe(dagUserInfo.size()));
+        SignedTxWriter txWriter =
+                SignedTxWriter.open(txsFile, client, parallelOk.getContractAddress());
         System.out.println(
                 "ParallelOkDemo: start generateTransferTxs, count: "
                         + count
                         + ", txsFile: "
                         + txsFile);
-        AtomicInteger generated = new AtomicInteger(0);
-        Integer area = count.intValue() / 10;
-        for (Integer i = 0; i < count.intValue(); i++) {
-            final Integer index = i;
-
-            DagTransferUser from = dagUserInfo.getFrom(index);
-            DagTransferUser to = dagUserInfo.getTo(index);
-            if ((conflictPercent.intValue() > 0)
-                    && (index <= (conflictPercent.intValue() * count.intValue()) / 100)) {
-                to = dagUserInfo.getNext(index);
-            }
-            Random random = new Random();
-            int r = random.nextInt(100) + 1;
-            BigInteger amount = BigInteger.valueOf(r);
-            String txData =
-                    parallelOk.getSignedTransactionForTransfer(
-                            from.getUser(), to.getUser(), amount);
-            try {
-                bufferedWriter.write(txData);
-                bufferedWriter.newLine();
-                generated.incrementAndGet();
-                if (generated.get() >= area && ((generated.get() % area) == 0)) {
-                    System.out.println(
-                            "Already generated: "
-                                    + generated.get()
-                                    + "/"
-                                    + count
-                                    + " transactions");
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-        while (generated.intValue() < count.intValue()) {
-            Thread.sleep(2000);
-        }
+        int conflicts =
+                conflictPercent.intValue() > 0
+                        ? conflictPercent.intValue() * count.intValue() / 100
+                        : -1;
+        PreSignPipeline.fromSystemProperty()
+                .run(
+                        count.longValue(),
+                        thread -> {
+                            ParallelOk signer =
+                                    ParallelOk.load(
+                                            parallelOk.getContractAddress(),
+                                            client,
+                                            PreSignPipeline.copyKeyPair(client));
+                            signer.setEnableDAG(parallelOk.isEnableDAG());
+                            return i -> {
+                                int index = (int) i;
+                                int from = dagUserInfo.getFrom(index);
+                                int to =
+                                        index <= conflicts
+                                                ? dagUserInfo.getNext(from)
+                                                : dagUserInfo.getTo(index, from);
+                                BigInteger amount =
+                                        BigInteger.valueOf(
+                                                ThreadLocalRandom.current().nextInt(100) + 1);
+                                return signer.getSignedTransactionForTransfer(
+                                        dagUserInfo.getUser(from), dagUserInfo.getUser(to), amount);
+                            };
+                        },
+                        txWriter);
         System.out.println(
                 "ParallelOkDemo: generateTransferTxs success ! count: "
                         + count
                         + ", txsFile: "
                         + txsFile);
-        bufferedWriter.close();
+        txWriter.close();
         System.exit(0);
     }
 
@@ -293,15 +287,17 @@ public class ParallelOkDemo {
             throws InterruptedException, IOException {
         System.out.println("Querying account info...");
         queryAccount(qps);
+        System.out.println(
+                "Key chooser: " + dagUserInfo.getKeyChooser().describe(dagUserInfo.size()));
         System.out.println("Sending transfer transactions...");
-        RateLimiter limiter = RateLimiter.create(qps.intValue());
+        OpenLoopScheduler scheduler = new OpenLoopScheduler(qps.intValue());
         int division = count.intValue() / 10;
         long startTime = System.currentTimeMillis();
         collector.setStartTimestamp(startTime);
         collector.setTotal(count.intValue());
         AtomicInteger sendFailed = new AtomicInteger(0);
         for (Integer i = 0; i < count.intValue(); i++) {
-            limiter.acquire();
+            final long intendedStartTime = scheduler.acquire();
             final int index = i;
             threadPoolService
                     .getThreadPool()
@@ -309,26 +305,27 @@ public class ParallelOkDemo {
                             new Runnable() {
                                 @Override
                                 public void run() {
+                                    ParallelOkCallback callback =
+                                            new ParallelOkCallback(
+                                                    collector,
+                                                    dagUserInfo,
+                                                    ParallelOkCallback.TRANS_CALLBACK);
+                                    callback.setTimeout(0);
+                                    callback.recordStartTime(intendedStartTime);
                                     try {
-                                        Random random = new Random();
-                                        int r = random.nextInt(100);
-                                        BigInteger amount = BigInteger.valueOf(r);
-
-                                        ParallelOkCallback callback =
-                                                new ParallelOkCallback(
-                                                        collector,
-                                                        dagUserInfo,
-                                                        ParallelOkCallback.TRANS_CALLBACK);
-                                        callback.setTimeout(0);
-                                        DagTransferUser from = dagUserInfo.getFrom(index);
-                                        DagTransferUser to = dagUserInfo.getTo(index);
+                                        long amount = ThreadLocalRandom.current().nextInt(100);
+                                        int from = dagUserInfo.getFrom(index);
+                                        int to = dagUserInfo.getTo(index, from);
 
                                         callback.setFromUser(from);
                                         callback.setToUser(to);
                                         callback.setAmount(amount);
-                                        callback.recordStartTime();
                                         parallelOk.transfer(
-                                                from.getUser(), to.getUser(), amount, callback);
+                                                dagUserInfo.getUser(from),
+                                                dagUserInfo.getUser(to),
+                                                BigInteger.valueOf(amount),
+                                                callback);
+                                        collector.onSent();
                                         int current = sended.incrementAndGet();
                                         if (current >= division && ((current % division) == 0)) {
                                             long elapsed = System.currentTimeMillis() - startTime;
@@ -346,12 +343,13 @@ public class ParallelOkDemo {
                                         logger.error(
                                                 "call transfer failed, error info: {}",
                                                 e.getMessage());
-                                        TransactionReceipt receipt = new TransactionReceipt();
-                                        receipt.setStatus(-1);
-                                        receipt.setMessage(
-                                                "call transfer failed, error info: "
-                                                        + e.getMessage());
-                                        collector.onMessage(receipt, Long.valueOf(0));
+                                        TransactionReceipt receipt =
+                                                new ExceptionReceipt(
+                                                        e,
+                                                        "call transfer failed, error info: "
+                                                                + e.getMessage());
+                                        // through the callback, with the time the send took
+                                        callback.onResponse(receipt);
                                         sendFailed.incrementAndGet();
                                     }
                                 }
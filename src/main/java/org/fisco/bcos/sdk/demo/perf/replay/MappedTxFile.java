@@ -0,0 +1,156 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only, memory-mapped view of a file with one hex encoded signed transaction per line, as
+ * written by the {@code generate} mode of the perf drivers.
+ *
+ * <p>Opening the file scans it once and keeps only the offset and length of every non-empty line,
+ * so files larger than the heap can be replayed. Files above 1GB are mapped as several regions that
+ * each end on a line boundary. A line is copied out of the mapping only when {@link
+ * #getTransaction(long)} is called.
+ */
+public class MappedTxFile implements SignedTxSource {
+    private static final long MAX_REGION_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+    private final List<Long> regionStarts = new ArrayList<>();
+    private long[] lineOffsets = new long[1024];
+    private int[] lineLengths = new int[1024];
+    private int lines = 0;
+
+    private final ThreadLocal<ByteBuffer[]> views;
+    private final ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[1024]);
+
+    public MappedTxFile(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            index(channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        views = ThreadLocal.withInitial(() -> new ByteBuffer[regions.size()]);
+    }
+
+    private void index(long size) throws IOException {
+        long regionStart = 0;
+        while (regionStart < size) {
+            long length = Math.min(MAX_REGION_SIZE, size - regionStart);
+            boolean last = regionStart + length == size;
+            MappedByteBuffer region =
+                    channel.map(FileChannel.MapMode.READ_ONLY, regionStart, length);
+            int limit = (int) length;
+            int lineStart = 0;
+            for (int i = 0; i < limit; ++i) {
+                if (region.get(i) == '\n') {
+                    addLine(region, regionStart, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            if (last && lineStart < limit) {
+                addLine(region, regionStart, lineStart, limit);
+                lineStart = limit;
+            }
+            if (lineStart == 0) {
+                throw new IOException(
+                        "line at offset " + regionStart + " is longer than " + MAX_REGION_SIZE);
+            }
+            regionStarts.add(regionStart);
+            regions.add(region);
+            // an unterminated tail is mapped again at the start of the next region
+            regionStart += lineStart;
+        }
+    }
+
+    private void addLine(ByteBuffer region, long regionStart, int start, int end) {
+        if (end > start && region.get(end - 1) == '\r') {
+            --end;
+        }
+        if (end == start) {
+            return;
+        }
+        if (lines == lineOffsets.length) {
+            lineOffsets = Arrays.copyOf(lineOffsets, lines * 2);
+            lineLengths = Arrays.copyOf(lineLengths, lines * 2);
+        }
+        lineOffsets[lines] = regionStart + start;
+        lineLengths[lines] = end - start;
+        ++lines;
+    }
+
+    @Override
+    public long size() {
+        return lines;
+    }
+
+    @Override
+    public String getTransaction(long index) {
+        if (index < 0 || index >= lines) {
+            throw new IndexOutOfBoundsException(
+                    "transaction " + index + " out of range, the file has " + lines);
+        }
+        long offset = lineOffsets[(int) index];
+        int length = lineLengths[(int) index];
+        int region = findRegion(offset);
+
+        ByteBuffer[] threadViews = views.get();
+        ByteBuffer view = threadViews[region];
+        if (view == null) {
+            view = regions.get(region).duplicate();
+            threadViews[region] = view;
+        }
+        byte[] buffer = scratch.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            scratch.set(buffer);
+        }
+        view.position((int) (offset - regionStarts.get(region)));
+        view.get(buffer, 0, length);
+        // hex is ASCII, ISO-8859-1 decoding is a plain copy
+        return new String(buffer, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private int findRegion(long offset) {
+        int low = 0;
+        int high = regionStarts.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (regionStarts.get(mid) <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
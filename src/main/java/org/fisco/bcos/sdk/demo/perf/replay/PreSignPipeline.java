@@ -0,0 +1,212 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.replay;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import me.tongfei.progressbar.ProgressBar;
+import me.tongfei.progressbar.ProgressBarBuilder;
+import me.tongfei.progressbar.ProgressBarStyle;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+
+/**
+ * Signs transactions on every core and writes them in index order through one {@link
+ * SignedTxWriter}.
+ *
+ * <p>Signer threads claim chunks of the index space, each with its own {@link Signer} (and so its
+ * own key pair and contract objects), and hand finished chunks to the calling thread, which writes
+ * them in order. At most a few chunks per signer may wait for the writer, so a slow disk throttles
+ * the signers instead of filling the heap. The number of signers defaults to the number of cores
+ * and can be set with {@code -Dperf.signThreads}.
+ */
+public class PreSignPipeline {
+    public static final String THREADS_PROPERTY = "perf.signThreads";
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int PENDING_CHUNKS_PER_THREAD = 4;
+
+    private final int threads;
+    private final int chunkSize;
+
+    /** Signs transaction {@code index}; used by one signer thread only. */
+    public interface Signer {
+        String sign(long index) throws Exception;
+    }
+
+    /** Creates the signer of one thread. */
+    public interface SignerFactory {
+        Signer create(int thread) throws Exception;
+    }
+
+    public PreSignPipeline(int threads, int chunkSize) {
+        if (threads <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("threads and chunk size must be positive");
+        }
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    public static PreSignPipeline fromSystemProperty() {
+        return new PreSignPipeline(
+                Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()),
+                DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * A key pair of the same account as the client's, for a signer thread that should not share the
+     * client's instance.
+     */
+    public static CryptoKeyPair copyKeyPair(Client client) {
+        CryptoKeyPair keyPair = client.getCryptoSuite().getCryptoKeyPair();
+        return client.getCryptoSuite()
+                .getKeyPairFactory()
+                .createKeyPair(keyPair.getHexPrivateKey());
+    }
+
+    /** Signs transactions [0, count) and writes them in order; does not close {@code writer}. */
+    public void run(long count, SignerFactory factory, SignedTxWriter writer) throws Exception {
+        long chunks = (count + chunkSize - 1) / chunkSize;
+        AtomicLong nextChunk = new AtomicLong(0);
+        Map<Long, String[]> done = new ConcurrentHashMap<>();
+        Semaphore pending = new Semaphore(threads * PENDING_CHUNKS_PER_THREAD);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Object ready = new Object();
+
+        LongAdder signNanos = new LongAdder();
+        LongAdder signerBlockedNanos = new LongAdder();
+        ProgressBar signBar = progressBar("Sign   :", count);
+        ProgressBar writeBar = progressBar("Write  :", count);
+
+        long start = System.nanoTime();
+        Thread[] signers = new Thread[threads];
+        for (int t = 0; t < threads; ++t) {
+            final int thread = t;
+            signers[t] =
+                    new Thread(
+                            () -> {
+                                try {
+                                    Signer signer = factory.create(thread);
+                                    while (failure.get() == null) {
+                                        long blockStart = System.nanoTime();
+                                        pending.acquire();
+                                        signerBlockedNanos.add(System.nanoTime() - blockStart);
+                                        long chunk = nextChunk.getAndIncrement();
+                                        if (chunk >= chunks) {
+                                            pending.release();
+                                            break;
+                                        }
+                                        long first = chunk * chunkSize;
+                                        int size = (int) Math.min(chunkSize, count - first);
+                                        String[] txs = new String[size];
+                                        long signStart = System.nanoTime();
+                                        for (int i = 0; i < txs.length; ++i) {
+                                            txs[i] = signer.sign(first + i);
+                                        }
+                                        signNanos.add(System.nanoTime() - signStart);
+                                        signBar.stepBy(txs.length);
+                                        done.put(chunk, txs);
+                                        synchronized (ready) {
+                                            ready.notifyAll();
+                                        }
+                                    }
+                                } catch (Exception e) {
+                                    failure.compareAndSet(null, e);
+                                    synchronized (ready) {
+                                        ready.notifyAll();
+                                    }
+                                }
+                            },
+                            "PreSign-" + t);
+            signers[t].start();
+        }
+
+        long writeNanos = 0;
+        long writerWaitNanos = 0;
+        try {
+            for (long chunk = 0; chunk < chunks; ++chunk) {
+                long waitStart = System.nanoTime();
+                String[] txs;
+                synchronized (ready) {
+                    while ((txs = done.remove(chunk)) == null && failure.get() == null) {
+                        ready.wait(100);
+                    }
+                }
+                if (txs == null) {
+                    throw failure.get();
+                }
+                long writeStart = System.nanoTime();
+                writerWaitNanos += writeStart - waitStart;
+                for (String tx : txs) {
+                    writer.write(tx);
+                }
+                writeNanos += System.nanoTime() - writeStart;
+                writeBar.stepBy(txs.length);
+                pending.release();
+            }
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+            throw e;
+        } finally {
+            if (failure.get() != null) {
+                // wake signers waiting for the writer so that they see the failure
+                pending.release(threads);
+            }
+            for (Thread signer : signers) {
+                signer.join();
+            }
+            signBar.close();
+            writeBar.close();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // signNanos adds up the busy time of all signers
+        double perThread = perSecond(count, signNanos.sum());
+        System.out.println("===================================================================");
+        System.out.println(
+                String.format(
+                        "Sign : %d txs, %d threads, %.1f tx/s per thread, %.1f tx/s combined, blocked on write %dms",
+                        count,
+                        threads,
+                        perThread,
+                        perThread * threads,
+                        TimeUnit.NANOSECONDS.toMillis(signerBlockedNanos.sum())));
+        System.out.println(
+                String.format(
+                        "Write: %d txs, %.1f tx/s while busy, waited for signers %dms",
+                        count,
+                        perSecond(count, writeNanos),
+                        TimeUnit.NANOSECONDS.toMillis(writerWaitNanos)));
+        System.out.println(
+                String.format(
+                        "Total: %d txs in %dms, %.1f tx/s",
+                        count, TimeUnit.NANOSECONDS.toMillis(elapsed), perSecond(count, elapsed)));
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return nanos > 0 ? (double) count * TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    }
+
+    private static ProgressBar progressBar(String taskName, long max) {
+        return new ProgressBarBuilder()
+                .setTaskName(taskName)
+                .setInitialMax(max)
+                .setStyle(ProgressBarStyle.UNICODE_BLOCK)
+                .build();
+    }
+}
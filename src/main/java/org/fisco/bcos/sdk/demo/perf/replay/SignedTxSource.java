@@ -0,0 +1,38 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/** Random access to the signed transactions of a generated file. */
+public interface SignedTxSource extends Closeable {
+
+    /** @return the number of transactions */
+    long size();
+
+    /**
+     * @return transaction {@code index} as hex, ready to push. Safe to call from several threads.
+     */
+    String getTransaction(long index) throws IOException;
+
+    /** Opens a binary corpus or a hex text file, depending on the content. */
+    static SignedTxSource open(Path path) throws IOException {
+        if (TxCorpusReader.isCorpus(path)) {
+            return new TxCorpusReader(path);
+        }
+        return new MappedTxFile(path);
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.replay;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Paths;
+import org.fisco.bcos.sdk.v3.client.Client;
+
+/**
+ * Output of the {@code generate} modes. The format is picked with {@code -Dperf.txFormat}: {@code
+ * hex} (default, one hex transaction per line), {@code binary} or {@code deflate} (a {@link
+ * TxCorpusWriter} corpus, uncompressed or with deflate compressed blocks).
+ */
+public interface SignedTxWriter extends Closeable {
+    String FORMAT_PROPERTY = "perf.txFormat";
+
+    void write(String signedTx) throws IOException;
+
+    static String getFormat() {
+        return System.getProperty(FORMAT_PROPERTY, "hex");
+    }
+
+    /** @return the file extension matching the configured format */
+    static String getExtension() {
+        return "hex".equals(getFormat()) ? ".txt" : ".bin";
+    }
+
+    /** @param contractAddress the contract every transaction calls, null when there are several */
+    static SignedTxWriter open(String fileName, Client client, String contractAddress)
+            throws IOException {
+        String format = getFormat();
+        switch (format) {
+            case "hex":
+                BufferedWriter writer = new BufferedWriter(new FileWriter(fileName, true));
+                return new SignedTxWriter() {
+                    @Override
+                    public void write(String signedTx) throws IOException {
+                        writer.write(signedTx);
+                        writer.newLine();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        writer.close();
+                    }
+                };
+            case "binary":
+            case "deflate":
+                return new TxCorpusWriter(
+                        Paths.get(fileName), client, contractAddress, format.equals("deflate"));
+            default:
+                throw new IllegalArgumentException(
+                        "-D" + FORMAT_PROPERTY + " expects hex, binary or deflate, got " + format);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.replay;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+
+/**
+ * Reads a corpus written by {@link TxCorpusWriter}. Only the header and the sparse block index are
+ * kept in memory; a transaction is found by a binary search over the index and a read of its block.
+ * Every thread keeps its last decoded block, so threads replaying neighbouring transactions decode
+ * each block once.
+ */
+public class TxCorpusReader implements SignedTxSource {
+    private final FileChannel channel;
+    private final int flags;
+    private final long count;
+    private final long blockLimitStart;
+    private final long blockLimitEnd;
+    private final int recordsPerBlock;
+    private final String group;
+    private final String chainId;
+    private final String contractAddress;
+    private final long[] blockOffsets;
+    private final long[] blockFirstRecords;
+
+    private final ThreadLocal<DecodedBlock> decoded = ThreadLocal.withInitial(DecodedBlock::new);
+
+    private static class DecodedBlock {
+        private int block = -1;
+        private byte[] raw = new byte[0];
+        private int[] recordOffsets = new int[0];
+        private ByteBuffer stored = ByteBuffer.allocate(0);
+        private final Inflater inflater = new Inflater();
+    }
+
+    public TxCorpusReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, TxCorpusWriter.FIXED_HEADER_SIZE);
+            byte[] magic = new byte[TxCorpusWriter.MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, TxCorpusWriter.MAGIC)) {
+                throw new IOException(path + " is not a transaction corpus");
+            }
+            int version = header.getShort() & 0xffff;
+            if (version != TxCorpusWriter.VERSION) {
+                throw new IOException("unsupported corpus version " + version);
+            }
+            flags = header.getShort() & 0xffff;
+            count = header.getLong();
+            long indexOffset = header.getLong();
+            blockLimitStart = header.getLong();
+            blockLimitEnd = header.getLong();
+            recordsPerBlock = header.getInt();
+            if (indexOffset == 0) {
+                throw new IOException(path + " was not closed properly, the index is missing");
+            }
+
+            long position = TxCorpusWriter.FIXED_HEADER_SIZE;
+            String[] strings = new String[3];
+            for (int i = 0; i < strings.length; ++i) {
+                int length = read(position, 2).getShort() & 0xffff;
+                strings[i] = new String(read(position + 2, length).array(), StandardCharsets.UTF_8);
+                position += 2 + length;
+            }
+            group = strings[0];
+            chainId = strings[1];
+            contractAddress = strings[2].isEmpty() ? null : strings[2];
+
+            int blocks = read(indexOffset, 4).getInt();
+            ByteBuffer index = read(indexOffset + 4, blocks * 16);
+            blockOffsets = new long[blocks];
+            blockFirstRecords = new long[blocks];
+            for (int i = 0; i < blocks; ++i) {
+                blockOffsets[i] = index.getLong();
+                blockFirstRecords[i] = index.getLong();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** @return whether {@code path} starts with the corpus magic */
+    public static boolean isCorpus(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(TxCorpusWriter.MAGIC.length);
+            while (magic.hasRemaining() && file.read(magic) >= 0) {}
+            return !magic.hasRemaining() && Arrays.equals(magic.array(), TxCorpusWriter.MAGIC);
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(buffer, position);
+        buffer.flip();
+        return buffer;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("corpus truncated at " + (position + buffer.position()));
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return count;
+    }
+
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+
+    /** @return the first transaction of {@code block}, to shard a replay by block */
+    public long getBlockFirstRecord(int block) {
+        return blockFirstRecords[block];
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public String getChainId() {
+        return chainId;
+    }
+
+    /** @return the contract all transactions call, or null when they call several */
+    public String getContractAddress() {
+        return contractAddress;
+    }
+
+    /** @return the block limit when the first transaction was signed */
+    public long getBlockLimitStart() {
+        return blockLimitStart;
+    }
+
+    /** @return the block limit when the last transaction was signed */
+    public long getBlockLimitEnd() {
+        return blockLimitEnd;
+    }
+
+    public int getRecordsPerBlock() {
+        return recordsPerBlock;
+    }
+
+    public boolean isDeflated() {
+        return (flags & TxCorpusWriter.FLAG_DEFLATE) != 0;
+    }
+
+    @Override
+    public String getTransaction(long index) throws IOException {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(
+                    "transaction " + index + " out of range, the corpus has " + count);
+        }
+        int block = findBlock(index);
+        DecodedBlock current = decoded.get();
+        if (current.block != block) {
+            decode(block, current);
+        }
+        int record = (int) (index - blockFirstRecords[block]);
+        int offset = current.recordOffsets[record];
+        int length = ByteBuffer.wrap(current.raw, offset, 4).getInt();
+        String hex = Hex.toHexString(current.raw, offset + 4, length);
+        return (flags & TxCorpusWriter.FLAG_HEX_PREFIX) != 0 ? "0x" + hex : hex;
+    }
+
+    private int findBlock(long index) {
+        int found = Arrays.binarySearch(blockFirstRecords, index);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    private void decode(int block, DecodedBlock target) throws IOException {
+        ByteBuffer lengths = read(blockOffsets[block], 8);
+        int rawLength = lengths.getInt();
+        int storedLength = lengths.getInt();
+        if (target.raw.length < rawLength) {
+            target.raw = new byte[rawLength];
+        }
+        if (isDeflated()) {
+            if (target.stored.capacity() < storedLength) {
+                target.stored = ByteBuffer.allocate(storedLength);
+            }
+            target.stored.clear().limit(storedLength);
+            readFully(target.stored, blockOffsets[block] + 8);
+            target.inflater.reset();
+            target.inflater.setInput(target.stored.array(), 0, storedLength);
+            try {
+                int inflated = 0;
+                while (inflated < rawLength && !target.inflater.finished()) {
+                    inflated += target.inflater.inflate(target.raw, inflated, rawLength - inflated);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("corrupt block " + block + ": " + e.getMessage(), e);
+            }
+        } else {
+            ByteBuffer raw = ByteBuffer.wrap(target.raw, 0, rawLength);
+            readFully(raw, blockOffsets[block] + 8);
+        }
+
+        long nextFirst =
+                block + 1 < blockFirstRecords.length ? blockFirstRecords[block + 1] : count;
+        int records = (int) (nextFirst - blockFirstRecords[block]);
+        if (target.recordOffsets.length < records) {
+            target.recordOffsets = new int[records];
+        }
+        int offset = 0;
+        for (int i = 0; i < records; ++i) {
+            target.recordOffsets[i] = offset;
+            offset += 4 + ByteBuffer.wrap(target.raw, offset, 4).getInt();
+        }
+        target.block = block;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
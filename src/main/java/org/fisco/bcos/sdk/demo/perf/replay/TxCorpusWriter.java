@@ -0,0 +1,220 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+
+/**
+ * Writes signed transactions as a binary corpus, half the size of the hex text and randomly
+ * accessible through {@link TxCorpusReader}.
+ *
+ * <p>Layout, big endian:
+ *
+ * <pre>
+ * header  magic "FBTX", u16 version, u16 flags, i64 count, i64 index offset,
+ *         i64 block limit at start, i64 block limit at end, i32 records per block,
+ *         group, chain id and contract address as u16 length + UTF-8
+ * blocks  i32 raw length, i32 stored length, stored bytes; the raw bytes are
+ *         records of i32 length + transaction bytes, deflated when FLAG_DEFLATE is set
+ * index   i32 block count, then i64 offset + i64 first record of every block
+ * </pre>
+ */
+public class TxCorpusWriter implements SignedTxWriter {
+    static final byte[] MAGIC = {'F', 'B', 'T', 'X'};
+    static final int VERSION = 1;
+    static final int FLAG_DEFLATE = 1;
+    static final int FLAG_HEX_PREFIX = 1 << 1;
+    static final int FLAGS_OFFSET = 6;
+    static final int BLOCK_LIMIT_END_OFFSET = 32;
+    static final int FIXED_HEADER_SIZE = 44;
+    static final int DEFAULT_RECORDS_PER_BLOCK = 1024;
+
+    private final Path path;
+    private final Client client;
+    private final boolean deflate;
+    private final int recordsPerBlock;
+    private final DataOutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private int blockRecords = 0;
+    private byte[] deflateBuffer = new byte[64 * 1024];
+
+    private long position;
+    private long count = 0;
+    private long blockLimit;
+    private int flags;
+    private Boolean hexPrefix;
+    private final LongArray blockOffsets = new LongArray();
+    private final LongArray blockFirstRecords = new LongArray();
+
+    /** Growable long array, the index of a large corpus has millions of entries. */
+    private static class LongArray {
+        private long[] values = new long[256];
+        private int size = 0;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /** Takes group, chain id and the current block limit from {@code client}. */
+    public TxCorpusWriter(Path path, Client client, String contractAddress, boolean deflate)
+            throws IOException {
+        this(
+                path,
+                client,
+                client.getGroup(),
+                client.getChainId(),
+                contractAddress,
+                client.getBlockLimit().longValue(),
+                deflate,
+                DEFAULT_RECORDS_PER_BLOCK);
+    }
+
+    public TxCorpusWriter(
+            Path path,
+            Client client,
+            String group,
+            String chainId,
+            String contractAddress,
+            long blockLimit,
+            boolean deflate,
+            int recordsPerBlock)
+            throws IOException {
+        this.path = path;
+        this.client = client;
+        this.deflate = deflate;
+        this.recordsPerBlock = recordsPerBlock;
+        this.blockLimit = blockLimit;
+        this.flags = deflate ? FLAG_DEFLATE : 0;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+
+        out.write(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(flags);
+        out.writeLong(0); // count, patched on close
+        out.writeLong(0); // index offset, patched on close
+        out.writeLong(blockLimit);
+        out.writeLong(blockLimit); // block limit at end, patched on close
+        out.writeInt(recordsPerBlock);
+        position = FIXED_HEADER_SIZE;
+        position += writeString(group);
+        position += writeString(chainId);
+        position += writeString(contractAddress);
+    }
+
+    private int writeString(String value) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+        return 2 + bytes.length;
+    }
+
+    @Override
+    public synchronized void write(String signedTx) throws IOException {
+        boolean prefixed = Hex.hasHexPrefix(signedTx);
+        if (hexPrefix == null) {
+            hexPrefix = prefixed;
+            if (prefixed) {
+                flags |= FLAG_HEX_PREFIX;
+            }
+        } else if (hexPrefix != prefixed) {
+            throw new IOException("transactions mix hex with and without 0x prefix");
+        }
+        byte[] tx = Hex.decode(Hex.trimPrefix(signedTx));
+        blockOut.writeInt(tx.length);
+        blockOut.write(tx);
+        ++count;
+        if (++blockRecords == recordsPerBlock) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockRecords == 0) {
+            return;
+        }
+        byte[] raw = block.toByteArray();
+        byte[] stored = raw;
+        int storedLength = raw.length;
+        if (deflate) {
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            storedLength = 0;
+            while (!deflater.finished()) {
+                if (storedLength == deflateBuffer.length) {
+                    deflateBuffer = Arrays.copyOf(deflateBuffer, storedLength * 2);
+                }
+                storedLength +=
+                        deflater.deflate(
+                                deflateBuffer, storedLength, deflateBuffer.length - storedLength);
+            }
+            stored = deflateBuffer;
+        }
+        blockOffsets.add(position);
+        blockFirstRecords.add(count - blockRecords);
+        out.writeInt(raw.length);
+        out.writeInt(storedLength);
+        out.write(stored, 0, storedLength);
+        position += 8 + storedLength;
+        block.reset();
+        blockRecords = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flushBlock();
+        long indexOffset = position;
+        out.writeInt(blockOffsets.size);
+        for (int i = 0; i < blockOffsets.size; ++i) {
+            out.writeLong(blockOffsets.values[i]);
+            out.writeLong(blockFirstRecords.values[i]);
+        }
+        out.close();
+        deflater.end();
+        if (client != null) {
+            blockLimit = client.getBlockLimit().longValue();
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(FLAGS_OFFSET);
+            file.writeShort(flags);
+            file.writeLong(count);
+            file.writeLong(indexOffset);
+            file.seek(BLOCK_LIMIT_END_OFFSET);
+            file.writeLong(blockLimit);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.result;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares {@link RunResult} files: the first one is the baseline, every other one is checked
+ * against it. A TPS drop or a p99 rise beyond the threshold is a regression when Welch's t-test on
+ * the per-second samples of both runs agrees it is significant; without enough samples the
+ * threshold alone decides. Exits with status 1 when a regression is found.
+ *
+ * <p>The per-second samples of a run are not independent, so a small p-value tells a consistent
+ * shift rather than proves one; repeat the runs when the verdict is close.
+ */
+public class ResultComparator {
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5;
+    private static final double DEFAULT_ALPHA = 0.05;
+
+    public static void Usage() {
+        System.out.println(" Usage:");
+        System.out.println("===== ResultComparator ===========");
+        System.out.println(
+                " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.result.ResultComparator [--threshold=5 (percent)] [--alpha=0.05] [baseline.json] [result.json ...]");
+    }
+
+    public static void main(String[] args) {
+        double threshold = DEFAULT_THRESHOLD_PERCENT;
+        double alpha = DEFAULT_ALPHA;
+        List<String> files = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            } else if (arg.startsWith("--alpha=")) {
+                alpha = Double.parseDouble(arg.substring("--alpha=".length()));
+            } else if (arg.startsWith("--")) {
+                System.out.println("Unknown option " + arg);
+                Usage();
+                return;
+            } else {
+                files.add(arg);
+            }
+        }
+        if (files.size() < 2) {
+            Usage();
+            return;
+        }
+        try {
+            List<JsonNode> results = new ArrayList<>();
+            ObjectMapper mapper = new ObjectMapper();
+            for (String file : files) {
+                results.add(mapper.readTree(new File(file)));
+            }
+            boolean regression = compare(files, results, threshold, alpha);
+            System.exit(regression ? 1 : 0);
+        } catch (IOException e) {
+            System.out.println("====== ResultComparator failed, error message: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /** @return true if a result regressed from the first one */
+    public static boolean compare(
+            List<String> files, List<JsonNode> results, double threshold, double alpha) {
+        JsonNode baseline = results.get(0);
+        System.out.println(
+                String.format(
+                        "%-36s%-14s%-12s%-12s%-10s%-12s%-12s%s",
+                        "result",
+                        "tps",
+                        "p50(ms)",
+                        "p99(ms)",
+                        "errors",
+                        "client cpu",
+                        "client mem",
+                        "sdk / jvm"));
+        for (int i = 0; i < results.size(); ++i) {
+            JsonNode result = results.get(i);
+            System.out.println(
+                    String.format(
+                            "%-36s%-14.2f%-12.3f%-12.3f%-10d%-12s%-12s%s / %s",
+                            files.get(i),
+                            result.path("result").path("tps").asDouble(),
+                            result.path("result").path("latencyMs").path("p50").asDouble(),
+                            result.path("result").path("latencyMs").path("p99").asDouble(),
+                            result.path("result").path("errors").asLong(),
+                            result.path("client").has("processCpuMean")
+                                    ? String.format(
+                                            "%.1f%%",
+                                            result.path("client").path("processCpuMean").asDouble()
+                                                    * 100)
+                                    : "-",
+                            clientMemory(result.path("client")),
+                            result.path("environment").path("sdkVersion").asText(),
+                            result.path("environment").path("jvm").asText()));
+        }
+
+        boolean regression = false;
+        for (int i = 1; i < results.size(); ++i) {
+            JsonNode result = results.get(i);
+            System.out.println("====== " + files.get(i) + " vs " + files.get(0) + " ======");
+            regression |=
+                    check(
+                            "tps",
+                            baseline.path("result").path("tps").asDouble(),
+                            result.path("result").path("tps").asDouble(),
+                            samples(baseline, "tps"),
+                            samples(result, "tps"),
+                            false,
+                            threshold,
+                            alpha);
+            regression |=
+                    check(
+                            "p99",
+                            baseline.path("result").path("latencyMs").path("p99").asDouble(),
+                            result.path("result").path("latencyMs").path("p99").asDouble(),
+                            samples(baseline, "p99Ms"),
+                            samples(result, "p99Ms"),
+                            true,
+                            threshold,
+                            alpha);
+        }
+        System.out.println(regression ? "Result: REGRESSION" : "Result: OK");
+        return regression;
+    }
+
+    private static boolean check(
+            String metric,
+            double baseline,
+            double value,
+            double[] baselineSamples,
+            double[] samples,
+            boolean higherIsWorse,
+            double threshold,
+            double alpha) {
+        double change = baseline == 0 ? 0 : (value - baseline) / baseline * 100;
+        boolean worse = higherIsWorse ? change > threshold : change < -threshold;
+        String significance;
+        boolean significant;
+        if (baselineSamples.length < 2 || samples.length < 2) {
+            significance = "not enough samples";
+            significant = true;
+        } else {
+            double p = welchPValue(baselineSamples, samples);
+            significance = String.format("p=%.4f", p);
+            significant = p < alpha;
+        }
+        boolean regression = worse && significant;
+        System.out.println(
+                String.format(
+                        "    %-4s: %.3f -> %.3f (%+.2f%%, %s)%s",
+                        metric,
+                        baseline,
+                        value,
+                        change,
+                        significance,
+                        regression ? " REGRESSION" : ""));
+        return regression;
+    }
+
+    private static double[] samples(JsonNode result, String name) {
+        JsonNode node = result.path("samples").path(name);
+        double[] samples = new double[node.size()];
+        for (int i = 0; i < samples.length; ++i) {
+            samples[i] = node.get(i).asDouble();
+        }
+        return samples;
+    }
+
+    /** @return the peak resident memory of the client, or its peak heap off Linux */
+    private static String clientMemory(JsonNode client) {
+        JsonNode bytes =
+                client.has("residentMax") ? client.path("residentMax") : client.path("heapUsedMax");
+        return bytes.isMissingNode() ? "-" : String.format("%.0fMB", bytes.asDouble() / 1e6);
+    }
+
+    /** @return the two-sided p-value of Welch's t-test for a difference of the means */
+    static double welchPValue(double[] a, double[] b) {
+        double meanA = mean(a);
+        double meanB = mean(b);
+        double varA = variance(a, meanA) / a.length;
+        double varB = variance(b, meanB) / b.length;
+        if (varA + varB == 0) {
+            return meanA == meanB ? 1 : 0;
+        }
+        double t = (meanA - meanB) / Math.sqrt(varA + varB);
+        double df =
+                (varA + varB)
+                        * (varA + varB)
+                        / (varA * varA / (a.length - 1) + varB * varB / (b.length - 1));
+        // P(|T| > t) of Student's t with df degrees of freedom
+        return regularizedBeta(df / (df + t * t), df / 2, 0.5);
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double variance(double[] values, double mean) {
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    /** Regularized incomplete beta function I_x(a, b), by its continued fraction. */
+    static double regularizedBeta(double x, double a, double b) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        if (x > (a + 1) / (a + b + 2)) {
+            return 1 - regularizedBeta(1 - x, b, a);
+        }
+        double front =
+                Math.exp(
+                        logGamma(a + b)
+                                - logGamma(a)
+                                - logGamma(b)
+                                + a * Math.log(x)
+                                + b * Math.log(1 - x));
+        // Lentz's algorithm
+        double tiny = 1e-300;
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < tiny ? tiny : d);
+        double f = d;
+        for (int m = 1; m <= 300; ++m) {
+            double numerator = m * (b - m) * x / ((a + 2 * m - 1) * (a + 2 * m));
+            d = 1 + numerator * d;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1 + numerator / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            f *= d * c;
+            numerator = -(a + m) * (a + b + m) * x / ((a + 2 * m) * (a + 2 * m + 1));
+            d = 1 + numerator * d;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1 + numerator / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            double delta = d * c;
+            f *= delta;
+            if (Math.abs(delta - 1) < 1e-12) {
+                break;
+            }
+        }
+        return front * f / a;
+    }
+
+    /** Lanczos approximation of ln(Gamma(x)). */
+    static double logGamma(double x) {
+        double[] coefficients = {
+            76.18009172947146,
+            -86.50532032941677,
+            24.01409824083091,
+            -1.231739572450155,
+            0.1208650973866179e-2,
+            -0.5395239384953e-5
+        };
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+}
@@ -0,0 +1,309 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.result;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.security.CodeSource;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.demo.perf.collector.CollectorReport;
+import org.fisco.bcos.sdk.demo.perf.collector.LatencyHistogram;
+import org.fisco.bcos.sdk.demo.perf.collector.MetricsSource;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.v3.BcosSDK;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the outcome of a run as one JSON file: the command line and {@code perf.*} properties, the
+ * environment (CPU, JVM, SDK version), throughput, latency percentiles, errors by cause and the
+ * {@link ResourceProfiler} profile of the client, plus per-second throughput and p99 samples that
+ * {@link ResultComparator} tests for significance.
+ *
+ * <p>Enabled with {@code -Dperf.result=run.json} (or {@code --result} of the runner); {@code json}
+ * alone writes a time stamped file in the working directory.
+ */
+public class RunResult {
+    private static Logger logger = LoggerFactory.getLogger(RunResult.class);
+    public static final String PROPERTY = "perf.result";
+    public static final long SAMPLE_INTERVAL_MILLIS = 1000;
+
+    private final String file;
+    private final MetricsSource source;
+    private final long startMillis = System.currentTimeMillis();
+    private final List<Sample> tpsSamples = new ArrayList<>();
+    private final List<Sample> p99Samples = new ArrayList<>();
+    private Thread sampler;
+
+    /** A value of one sample interval, with the wall clock time the interval began. */
+    private static class Sample {
+        private final long startMillis;
+        private final double value;
+
+        Sample(long startMillis, double value) {
+            this.startMillis = startMillis;
+            this.value = value;
+        }
+    }
+
+    public RunResult(String file, MetricsSource source) {
+        this.file =
+                file.equals("json")
+                        ? "perf-result-"
+                                + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date())
+                                + ".json"
+                        : file;
+        this.source = source;
+    }
+
+    /** @return a result for the file in {@code -Dperf.result}, null if it is not set */
+    public static RunResult fromSystemProperty(MetricsSource source) {
+        String file = System.getProperty(PROPERTY);
+        if (file == null || file.trim().isEmpty()) {
+            return null;
+        }
+        return new RunResult(file.trim(), source);
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Starts taking the per-second samples. The counters of the source include the warmup, {@link
+     * #write} keeps only the samples of the measured run.
+     */
+    public synchronized void start() {
+        if (sampler != null) {
+            return;
+        }
+        sampler =
+                new Thread(
+                        () -> {
+                            long lastReceived = source.getReceived();
+                            LatencyHistogram last = new LatencyHistogram();
+                            source.addLatency(last);
+                            long lastNanos = System.nanoTime();
+                            long lastMillis = System.currentTimeMillis();
+                            try {
+                                while (!Thread.currentThread().isInterrupted()) {
+                                    TimeUnit.MILLISECONDS.sleep(SAMPLE_INTERVAL_MILLIS);
+                                    long now = System.nanoTime();
+                                    long received = source.getReceived();
+                                    LatencyHistogram latency = new LatencyHistogram();
+                                    source.addLatency(latency);
+                                    LatencyHistogram interval = latency.minus(last);
+                                    synchronized (this) {
+                                        tpsSamples.add(
+                                                new Sample(
+                                                        lastMillis,
+                                                        (received - lastReceived)
+                                                                / ((now - lastNanos) / 1e9)));
+                                        if (interval.getTotalCount() > 0) {
+                                            p99Samples.add(
+                                                    new Sample(
+                                                            lastMillis,
+                                                            CollectorReport.toMillis(
+                                                                    interval.getValueAtPercentile(
+                                                                            99))));
+                                        }
+                                    }
+                                    lastReceived = received;
+                                    last = latency;
+                                    lastNanos = now;
+                                    lastMillis = System.currentTimeMillis();
+                                }
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        },
+                        "RunResult");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    /**
+     * Stops sampling and writes the file.
+     *
+     * @param measureStartMillis wall clock time the measured run began, after the warmup; earlier
+     *     samples are left out
+     * @param transactions measured requests, warmup excluded
+     * @param durationMillis measured time
+     */
+    public void write(
+            long measureStartMillis,
+            long transactions,
+            long errors,
+            long durationMillis,
+            LatencyHistogram latency,
+            LatencyHistogram responseLatency,
+            double[] percentiles,
+            Map<String, Long> errorCauses) {
+        if (sampler != null) {
+            sampler.interrupt();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("transactions", transactions);
+        result.put("errors", errors);
+        result.put("errorRate", transactions > 0 ? (double) errors / transactions : 0);
+        result.put("durationMs", durationMillis);
+        double seconds = Math.max(1, durationMillis) / 1000.0;
+        result.put("tps", transactions / seconds);
+        result.put("tpsSuccess", (transactions - errors) / seconds);
+        result.put("latencyMs", latencyMillis(latency, percentiles));
+        if (responseLatency.getTotalCount() > 0) {
+            result.put("responseTimeMs", latencyMillis(responseLatency, percentiles));
+        }
+        result.put("errorCauses", errorCauses);
+
+        Map<String, Object> samples = new LinkedHashMap<>();
+        samples.put("intervalMs", SAMPLE_INTERVAL_MILLIS);
+        synchronized (this) {
+            samples.put("tps", measured(tpsSamples, measureStartMillis));
+            samples.put("p99Ms", measured(p99Samples, measureStartMillis));
+        }
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("driver", driver());
+        root.put("startTime", new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(startMillis));
+        root.put("parameters", parameters());
+        root.put("environment", environment());
+        root.put("result", result);
+        root.put("client", ResourceProfiler.getInstance().getSummary());
+        root.put("samples", samples);
+        try {
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(file), root);
+            System.out.println("====== Run result written to " + file + " ======");
+        } catch (IOException e) {
+            logger.warn("write run result {} failed: {}", file, e.getMessage());
+            System.out.println("WARN: write run result " + file + " failed: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> latencyMillis(
+            LatencyHistogram histogram, double[] percentiles) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", CollectorReport.toMillis(histogram.getMean()));
+        latency.put("min", CollectorReport.toMillis(histogram.getMin()));
+        for (double percentile : percentiles) {
+            latency.put(
+                    "p" + CollectorReport.formatPercentile(percentile),
+                    CollectorReport.toMillis(histogram.getValueAtPercentile(percentile)));
+        }
+        latency.put("max", CollectorReport.toMillis(histogram.getMax()));
+        return latency;
+    }
+
+    /**
+     * @return the values of the intervals that began at or after {@code measureStartMillis}, so
+     *     none covers the warmup, without the last one, which is partial
+     */
+    private static List<Double> measured(List<Sample> samples, long measureStartMillis) {
+        List<Double> values = new ArrayList<>();
+        for (Sample sample : samples) {
+            if (sample.startMillis >= measureStartMillis) {
+                values.add(sample.value);
+            }
+        }
+        if (values.size() > 1) {
+            values.remove(values.size() - 1);
+        }
+        return values;
+    }
+
+    private static String driver() {
+        String command = System.getProperty("sun.java.command", "");
+        return command.isEmpty() ? "unknown" : command.split(" ")[0];
+    }
+
+    private static Map<String, Object> parameters() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String[] command = System.getProperty("sun.java.command", "").split(" ");
+        parameters.put(
+                "args",
+                Arrays.asList(command).subList(Math.min(1, command.length), command.length));
+        Map<String, String> properties = new TreeMap<>();
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("perf.")) {
+                properties.put(name, System.getProperty(name));
+            }
+        }
+        parameters.put("properties", properties);
+        return parameters;
+    }
+
+    private static Map<String, Object> environment() {
+        Runtime runtime = Runtime.getRuntime();
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("cpuModel", cpuModel());
+        environment.put("cpuCores", runtime.availableProcessors());
+        environment.put(
+                "os",
+                System.getProperty("os.name")
+                        + " "
+                        + System.getProperty("os.version")
+                        + " "
+                        + System.getProperty("os.arch"));
+        environment.put(
+                "jvm",
+                System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        environment.put("maxHeapBytes", runtime.maxMemory());
+        environment.put("sdkVersion", sdkVersion());
+        return environment;
+    }
+
+    private static String cpuModel() {
+        File cpuInfo = new File("/proc/cpuinfo");
+        if (cpuInfo.canRead()) {
+            try (BufferedReader reader = new BufferedReader(new FileReader(cpuInfo))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("model name")) {
+                        return line.substring(line.indexOf(':') + 1).trim();
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("read /proc/cpuinfo failed: {}", e.getMessage());
+            }
+        }
+        return System.getProperty("os.arch");
+    }
+
+    private static String sdkVersion() {
+        String version = BcosSDK.class.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        // the SDK jar carries no version in its manifest, fall back to the jar name
+        CodeSource codeSource = BcosSDK.class.getProtectionDomain().getCodeSource();
+        if (codeSource != null) {
+            String jar = new File(codeSource.getLocation().getPath()).getName();
+            if (jar.endsWith(".jar")) {
+                return jar.substring(0, jar.length() - ".jar".length());
+            }
+        }
+        return "unknown";
+    }
+}
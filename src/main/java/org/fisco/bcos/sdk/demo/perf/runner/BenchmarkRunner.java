@@ -0,0 +1,486 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.fisco.bcos.sdk.demo.perf.Collector;
+import org.fisco.bcos.sdk.demo.perf.collector.BlockObserver;
+import org.fisco.bcos.sdk.demo.perf.collector.ExceptionReceipt;
+import org.fisco.bcos.sdk.demo.perf.collector.MetricsServer;
+import org.fisco.bcos.sdk.demo.perf.collector.ResourceProfiler;
+import org.fisco.bcos.sdk.demo.perf.collector.WarmupTracker;
+import org.fisco.bcos.sdk.v3.BcosSDK;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.model.ConstantConfig;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.fisco.bcos.sdk.v3.utils.ThreadPoolService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs any {@link Workload} with the same send/receive loop: open-loop rate control, a sender
+ * thread pool, count, duration or step-ramp load profiles, and the {@link Collector} report.
+ */
+public class BenchmarkRunner {
+    private static Logger logger = LoggerFactory.getLogger(BenchmarkRunner.class);
+    private static final int DEFAULT_QPS = 1000;
+    private static final int IN_FLIGHT_REPORT_ROWS = 60;
+    /** Past the transaction timeout of the SDK, a request still in flight is given up. */
+    private static final long DRAIN_MARGIN_MILLIS = 5000;
+
+    private final Workload workload;
+    private final RunnerOptions options;
+    private long requestLimit = -1;
+    private InFlightWindow window = InFlightWindow.unbounded();
+    private final Set<RequestCallback> outstanding = ConcurrentHashMap.newKeySet();
+    private long drainTimeoutMillis =
+            TransactionCallback.DEFAULT_TRANS_TIMEOUT + DRAIN_MARGIN_MILLIS;
+    private int shard = 0;
+    private int shards = 1;
+    private Listener listener = null;
+
+    /** Hooks of a run driven by a {@link Coordinator}. */
+    public interface Listener {
+        /** Called once the workload is set up; blocks until the run may start. */
+        void onReady() throws Exception;
+
+        /**
+         * Called after the report and the verification.
+         *
+         * @param endTimestamp when the last response of the measured run arrived
+         */
+        void onFinished(Collector collector, long endTimestamp, boolean verified) throws Exception;
+    }
+
+    public BenchmarkRunner(Workload workload, RunnerOptions options) {
+        this.workload = workload;
+        this.options = options;
+    }
+
+    public BenchmarkRunner setListener(Listener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public static void Usage() {
+        System.out.println(" Usage:");
+        System.out.println("===== BenchmarkRunner ===========");
+        System.out.println(
+                " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.runner.BenchmarkRunner --workload=[name] [--count=N | --duration=60s] [--qps=N, 0 for unthrottled] [--group=group0] [--threads=N] [--warmup=N|10s] [workload options]");
+        System.out.println(
+                " \t virtual threads: [--virtual-threads (a virtual thread per request instead of --threads, Java 21, or -Dperf.virtualThreads)]");
+        System.out.println(
+                " \t step ramp: [--ramp-step=qps] [--ramp-interval=30s] [--ramp-max=qps] [--slo=p99:500ms] [--max-error-rate=0.01]");
+        System.out.println(
+                " \t backpressure: [--max-in-flight=N] [--target-latency=200ms (adapts the window up to --max-in-flight)]");
+        System.out.println(
+                " \t drain: [--drain-timeout=35s (wait for the requests in flight at the end, the rest count as timeouts)]");
+        System.out.println(
+                " \t client fan-out: [--clients=N (one SDK instance each)] [--client-balance=round-robin|least-in-flight] [--pin-peers (client i to peer i of config.toml)]");
+        System.out.println(
+                " \t senders: [--senders=N (accounts signing the transactions, or -Dperf.senders)] [--sender-file=senders-ecdsa.bin] [--sender-policy=round-robin|random] [--sender-offset=K (sign with keys K to K + N - 1 of a --sender-file generated ahead, set by Coordinator)]");
+        System.out.println(
+                " \t live metrics: [--metrics-port=9100 (OpenMetrics at /metrics, or -Dperf.metricsPort)]");
+        System.out.println(
+                " \t time series: [--time-series=run.csv|run.jsonl|csv|jsonl (one row per second, or -Dperf.timeSeries)]");
+        System.out.println(
+                " \t chain TPS: [--block-observer[=100ms] (polls new blocks, or -Dperf.blockObserver)]");
+        System.out.println(
+                " \t run result: [--result=run.json|json (summary for ResultComparator, or -Dperf.result)]");
+        System.out.println(
+                " \t sharding: [--shard=i --shards=N (request indexes i, i + N, i + 2N..., set by Coordinator)]");
+        System.out.println(" Workloads:");
+        for (Workload workload : listWorkloads()) {
+            System.out.println(" \t " + workload.getName() + " " + workload.getUsage());
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            RunnerOptions options = RunnerOptions.parse(args);
+            if (!options.has("workload")) {
+                Usage();
+                return;
+            }
+            Workload workload = loadWorkload(options.get("workload"));
+            if (workload == null) {
+                System.out.println("Workload " + options.get("workload") + " not supported!");
+                Usage();
+                return;
+            }
+            String configFileName = ConstantConfig.CONFIG_FILE_NAME;
+            URL configUrl = BenchmarkRunner.class.getClassLoader().getResource(configFileName);
+            if (configUrl == null) {
+                System.out.println("The configFile " + configFileName + " doesn't exist!");
+                return;
+            }
+            BcosSDK sdk = BcosSDK.build(configUrl.getPath());
+            new BenchmarkRunner(workload, options).run(sdk);
+            System.exit(0);
+        } catch (Exception e) {
+            System.out.println("====== BenchmarkRunner failed, error message: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(0);
+        }
+    }
+
+    public static List<Workload> listWorkloads() {
+        List<Workload> workloads = new ArrayList<>();
+        for (Workload workload : ServiceLoader.load(Workload.class)) {
+            workloads.add(workload);
+        }
+        return workloads;
+    }
+
+    public static Workload loadWorkload(String name) {
+        for (Workload workload : ServiceLoader.load(Workload.class)) {
+            if (workload.getName().equalsIgnoreCase(name)) {
+                return workload;
+            }
+        }
+        return null;
+    }
+
+    public void run(BcosSDK sdk) throws Exception {
+        String groupId = options.get("group", "group0");
+        int count = options.getInt("count", 0);
+        long durationMillis = options.getDurationMillis("duration", 0);
+        shard = options.getInt("shard", 0);
+        shards = options.getInt("shards", 1);
+        double qps = options.getDouble("qps", DEFAULT_QPS);
+        int threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        WarmupTracker warmup = WarmupTracker.parse(options.get("warmup"));
+        long warmupCount = warmup.getCount();
+        long warmupMillis = warmup.getDurationMillis();
+        LoadProfile profile = LoadProfile.fromOptions(options, qps);
+        StepReport stepReport = StepReport.fromOptions(options);
+        drainTimeoutMillis = options.getDurationMillis("drain-timeout", drainTimeoutMillis);
+        window =
+                InFlightWindow.create(
+                        options.getInt("max-in-flight", 0),
+                        options.getDurationMillis("target-latency", 0));
+
+        Client client =
+                ClientPool.getClient(
+                        sdk,
+                        groupId,
+                        options.getInt("clients", Integer.getInteger(ClientPool.PROPERTY, 1)),
+                        options.get(
+                                "client-balance",
+                                System.getProperty(
+                                        ClientPool.BALANCE_PROPERTY, ClientPool.ROUND_ROBIN)),
+                        options.getBoolean(
+                                "pin-peers", Boolean.getBoolean(ClientPool.PIN_PEERS_PROPERTY)));
+        if (client == null) {
+            throw new IllegalArgumentException("client of group " + groupId + " is null");
+        }
+        System.out.println("====== BenchmarkRunner " + options);
+        int senders = options.getInt("senders", 0);
+        if (senders > 0) {
+            String senderFile = options.get("sender-file");
+            String senderPolicy = options.get("sender-policy", SenderPool.ROUND_ROBIN);
+            SenderPool.setDefault(
+                    options.has("sender-offset")
+                            ? SenderPool.slice(
+                                    client.getCryptoSuite(),
+                                    options.getInt("sender-offset", 0),
+                                    senders,
+                                    senderFile,
+                                    senderPolicy)
+                            : SenderPool.create(
+                                    client.getCryptoSuite(), senders, senderFile, senderPolicy));
+        }
+        String blockObserver = options.get("block-observer");
+        if (blockObserver != null && !blockObserver.equals("false")) {
+            BlockObserver.start(
+                    client,
+                    blockObserver.equals("true")
+                            ? 0
+                            : options.getDurationMillis("block-observer", 0));
+        } else {
+            BlockObserver.fromSystemProperty(client);
+        }
+
+        boolean virtualThreads =
+                options.getBoolean(
+                        "virtual-threads", Boolean.getBoolean(DriverThreadPool.PROPERTY));
+        ThreadPoolService threadPoolService =
+                new DriverThreadPool("BenchmarkRunner", threads, 1000000, virtualThreads);
+        int metricsPort = options.getInt("metrics-port", 0);
+        if (metricsPort > 0) {
+            MetricsServer.start(metricsPort);
+        }
+        ResourceProfiler.registerExecutor("BenchmarkRunner", threadPoolService.getThreadPool());
+        WorkloadContext context = new WorkloadContext(sdk, client, options, threadPoolService);
+
+        System.out.println("====== Setup " + workload.getName() + " ======");
+        workload.setup(context);
+        System.out.println("====== Setup " + workload.getName() + " finished ======");
+        requestLimit = workload.getRequestCount();
+        if (requestLimit >= 0) {
+            // the indexes of this shard are shard, shard + shards, shard + 2 * shards...
+            requestLimit = Math.max(0, (requestLimit - shard + shards - 1) / shards);
+        }
+        if (count <= 0
+                && durationMillis <= 0
+                && requestLimit < 0
+                && !(profile.isRamp() && (profile.isBounded() || stepReport.hasStopCondition()))) {
+            throw new IllegalArgumentException(
+                    "either --count, --duration, --ramp-max, --slo or --max-error-rate must be set");
+        }
+
+        if (listener != null) {
+            listener.onReady();
+        }
+        OpenLoopScheduler scheduler = new OpenLoopScheduler(qps);
+        // a pool of its own, stopped after the drain while verify still runs on the other one
+        ExecutorService executor =
+                new DriverThreadPool("BenchmarkRunner-send", threads, 1000000, virtualThreads)
+                        .getThreadPool();
+        ResourceProfiler.registerExecutor("BenchmarkRunner-send", executor);
+        Collector collector = new Collector();
+        // warmup is driven below, responses sent meanwhile go to its own bucket
+        WarmupTracker warmupTracker = new WarmupTracker(0, 0);
+        collector.setWarmup(warmupTracker);
+        collector.startTimeSeries(options.get("time-series"));
+        collector.setResultFile(options.get("result"));
+        collector.setStartTimestamp(System.currentTimeMillis());
+        window.startMonitor(1000);
+        long index = 0;
+        if (warmupCount > 0 || warmupMillis > 0) {
+            System.out.println("====== Warmup " + options.get("warmup") + " ======");
+            Phase phase =
+                    new Phase(
+                            "Warmup",
+                            collector,
+                            warmupCount > 0 ? warmupCount : expectedCount(qps, warmupMillis));
+            warmupTracker.begin();
+            index += send(index, warmupCount, warmupMillis, scheduler, executor, phase);
+            awaitInFlight();
+            warmupTracker.end();
+            phase.close();
+            scheduler.reset();
+        }
+
+        long expected =
+                count > 0 ? count : expectedCount(profile.isRamp() ? 0 : qps, durationMillis);
+        if (requestLimit >= 0) {
+            expected =
+                    expected < 0 ? requestLimit - index : Math.min(expected, requestLimit - index);
+        }
+        System.out.println("====== " + workload.getName() + " start, " + profile + " ======");
+        Phase phase =
+                new Phase(workload.getName(), collector, expected < 0 ? -1 : index + expected);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        long sent = 0;
+        for (int step = 0; count <= 0 || sent < count; ++step) {
+            double stepQps = profile.getStepQps(step);
+            long stepMillis = profile.getStepMillis();
+            if (durationMillis > 0) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    break;
+                }
+                stepMillis =
+                        stepMillis > 0 ? Math.min(stepMillis, remainingMillis) : remainingMillis;
+            }
+            if (stepQps < 0) {
+                break;
+            }
+            scheduler.setRate(stepQps);
+            stepReport.beginStep(collector);
+            sent +=
+                    send(
+                            index + sent,
+                            count > 0 ? count - sent : 0,
+                            stepMillis,
+                            scheduler,
+                            executor,
+                            phase);
+            if (!profile.isRamp()) {
+                break;
+            }
+            StepReport.Row row = stepReport.endStep(step, stepQps, collector);
+            if (row.getBreach() != null) {
+                System.out.println("Stop at step " + step + ": " + row.getBreach());
+                break;
+            }
+            if (requestLimit >= 0 && index + sent >= requestLimit) {
+                System.out.println("Stop at step " + step + ": no requests left");
+                break;
+            }
+        }
+        awaitInFlight();
+        // every request is recorded by now, none may still run or start during verify
+        executor.shutdownNow();
+        phase.close();
+        collector.setTotal((int) (index + sent));
+        long endTimestamp = System.currentTimeMillis();
+        window.stop();
+        collector.report();
+        window.report(IN_FLIGHT_REPORT_ROWS);
+        if (profile.isRamp()) {
+            stepReport.print();
+        }
+
+        System.out.println("====== Verify " + workload.getName() + " ======");
+        boolean verified = workload.verify(context);
+        if (verified) {
+            System.out.println("====== Verify " + workload.getName() + " success ======");
+        } else {
+            System.out.println("====== Verify " + workload.getName() + " failed ======");
+        }
+        if (listener != null) {
+            listener.onFinished(collector, endTimestamp, verified);
+        }
+        threadPoolService.stop();
+    }
+
+    /** @return the requests a run of {@code durationMillis} at {@code qps} sends, -1 if unknown */
+    private static long expectedCount(double qps, long durationMillis) {
+        return qps > 0 && durationMillis > 0 ? (long) (qps * durationMillis / 1000) : -1;
+    }
+
+    /**
+     * Issues requests until {@code count} were sent (when positive) or {@code durationMillis}
+     * elapsed (when positive) or the workload has no requests left, whichever comes first. Blocks
+     * while the in-flight window is full; the wait counts towards the response time of the request.
+     *
+     * @return the number of requests sent
+     */
+    private long send(
+            long firstIndex,
+            long count,
+            long durationMillis,
+            OpenLoopScheduler scheduler,
+            ExecutorService executor,
+            Phase phase)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        long sent = 0;
+        while ((count <= 0 || sent < count)
+                && (requestLimit < 0 || firstIndex + sent < requestLimit)) {
+            final long intendedStartTime = scheduler.acquire();
+            if (durationMillis > 0 && intendedStartTime - deadline >= 0) {
+                break;
+            }
+            final long requestIndex = firstIndex + sent;
+            window.acquire();
+            // outstanding from here, a request still queued for a thread can time out too
+            RequestCallback callback = new RequestCallback(phase, intendedStartTime);
+            outstanding.add(callback);
+            // counted first, a fast response must not outrun its send in the time series
+            phase.collector.onSent();
+            executor.execute(() -> sendRequest(requestIndex, callback));
+            ++sent;
+        }
+        return sent;
+    }
+
+    private void sendRequest(long index, RequestCallback callback) {
+        if (!callback.start()) {
+            // timed out by the drain while waiting for a thread
+            return;
+        }
+        try {
+            workload.nextRequest(index * shards + shard, callback);
+        } catch (Exception e) {
+            logger.warn("send request {} failed, error info: {}", index, e.getMessage());
+            TransactionReceipt receipt = new ExceptionReceipt(e, e.getMessage());
+            callback.onResponse(receipt);
+        }
+    }
+
+    /**
+     * Waits up to {@code --drain-timeout} for the requests in flight, queued ones included; those
+     * still without a response are recorded as {@code exception:TimeoutException}, a late response
+     * is dropped and a queued request is not sent any more.
+     */
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis);
+        while (window.getInFlight() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        if (outstanding.isEmpty()) {
+            return;
+        }
+        System.out.println(
+                "====== "
+                        + outstanding.size()
+                        + " requests without a response after "
+                        + drainTimeoutMillis
+                        + "ms, counted as timeouts ======");
+        String message = "no response within the drain timeout of " + drainTimeoutMillis + "ms";
+        for (RequestCallback callback : outstanding) {
+            callback.onResponse(new ExceptionReceipt(new TimeoutException(message), message));
+        }
+    }
+
+    /** One stretch of the run, warmup or measured, on the dashboard of the collector. */
+    private static class Phase {
+        private final Collector collector;
+
+        /** @param total requests sent by the end of this phase, warmup included, -1 if unknown */
+        Phase(String name, Collector collector, long total) {
+            this.collector = collector;
+            // the counters of the collector span the whole run, so does the total
+            collector.setTotal((int) Math.max(0, total));
+            collector.startDashboard(name);
+        }
+
+        void close() {
+            collector.stopDashboard();
+        }
+    }
+
+    private class RequestCallback extends TransactionCallback {
+        private final Phase phase;
+        private final long intendedStartTime;
+        private volatile long startTime = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean(false);
+
+        RequestCallback(Phase phase, long intendedStartTime) {
+            this.phase = phase;
+            this.intendedStartTime = intendedStartTime;
+        }
+
+        /** @return false if the request already timed out and must not be sent */
+        boolean start() {
+            startTime = System.nanoTime();
+            return !done.get();
+        }
+
+        @Override
+        public void onResponse(TransactionReceipt receipt) {
+            // once per request, either the response or the drain timeout
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            outstanding.remove(this);
+            long end = System.nanoTime();
+            phase.collector.onMessage(receipt, end - startTime, end - intendedStartTime);
+            window.release(end - startTime);
+        }
+    }
+}
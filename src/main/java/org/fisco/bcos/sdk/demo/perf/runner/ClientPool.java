@@ -0,0 +1,390 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.fisco.bcos.sdk.demo.perf.collector.CollectorReport;
+import org.fisco.bcos.sdk.demo.perf.collector.LatencyHistogram;
+import org.fisco.bcos.sdk.v3.BcosSDK;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.RespCallback;
+import org.fisco.bcos.sdk.v3.config.ConfigOption;
+import org.fisco.bcos.sdk.v3.config.exceptions.ConfigException;
+import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+import org.fisco.bcos.sdk.v3.model.Response;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+
+/**
+ * Spreads the requests of a driver over several {@link Client}s, each of its own {@link BcosSDK},
+ * i.e. its own connections and SDK I/O threads, to tell whether the single connection rather than
+ * the chain is the limit. The pool is itself a {@link Client}, so the workloads and contract
+ * wrappers run unchanged: every RPC and every call with a callback goes to the next client,
+ * round-robin or the one with the fewest requests in flight; getters such as the crypto suite or
+ * the block limit are answered by the first client.
+ *
+ * <p>With {@code pinPeers} client {@code i} only connects to peer {@code i % peers} of {@code
+ * config.toml}, otherwise every client gets all the peers. {@code -Dperf.clients=4}, {@code
+ * -Dperf.clientBalance=least-in-flight} and {@code -Dperf.pinPeers=true} configure it for the
+ * drivers; the report lists the requests, rate and latency of every client. Stopping or destroying
+ * the pool stops the SDK instances it created.
+ */
+public class ClientPool implements InvocationHandler {
+    public static final String PROPERTY = "perf.clients";
+    public static final String BALANCE_PROPERTY = "perf.clientBalance";
+    public static final String PIN_PEERS_PROPERTY = "perf.pinPeers";
+    public static final String ROUND_ROBIN = "round-robin";
+    public static final String LEAST_IN_FLIGHT = "least-in-flight";
+
+    private static final List<ClientPool> pools = new CopyOnWriteArrayList<>();
+
+    private final List<Connection> connections;
+    private final boolean leastInFlight;
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private volatile long startNanos = System.nanoTime();
+
+    private static class Connection {
+        private final Client client;
+        private final String peers;
+        // the SDK instance of the client, null if the pool does not own it
+        private final BcosSDK sdk;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger inFlightMax = new AtomicInteger();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        // counts at the last reset, the report shows the difference
+        private long requestsBase;
+        private long errorsBase;
+        private LatencyHistogram latencyBase = new LatencyHistogram();
+
+        private Connection(Client client, String peers, BcosSDK sdk) {
+            this.client = client;
+            this.peers = peers;
+            this.sdk = sdk;
+        }
+
+        private void begin() {
+            requests.increment();
+            inFlightMax.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        }
+
+        private void end(long startNanos, boolean error) {
+            inFlight.decrementAndGet();
+            latency.record(System.nanoTime() - startNanos);
+            if (error) {
+                errors.increment();
+            }
+        }
+    }
+
+    private ClientPool(List<Connection> connections, boolean leastInFlight) {
+        this.connections = connections;
+        this.leastInFlight = leastInFlight;
+    }
+
+    /**
+     * @return the client of {@code groupId} of {@code sdk} for a single unpinned client, otherwise
+     *     a pool of {@code size} clients
+     */
+    public static Client getClient(
+            BcosSDK sdk, String groupId, int size, String balance, boolean pinPeers)
+            throws ConfigException {
+        if (size <= 1 && !pinPeers) {
+            return sdk.getClient(groupId);
+        }
+        if (!ROUND_ROBIN.equals(balance) && !LEAST_IN_FLIGHT.equals(balance)) {
+            throw new IllegalArgumentException(
+                    "client balance "
+                            + balance
+                            + " not supported, expected "
+                            + ROUND_ROBIN
+                            + " or "
+                            + LEAST_IN_FLIGHT);
+        }
+        List<String> peers = sdk.getConfig().getNetworkConfig().getPeers();
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, size); ++i) {
+            ConfigOption option = new ConfigOption(sdk.getConfig().getConfigProperty());
+            if (pinPeers) {
+                option.getNetworkConfig()
+                        .setPeers(Collections.singletonList(peers.get(i % peers.size())));
+                option.setJniConfig(option.generateJniConfig());
+            }
+            BcosSDK clientSdk = new BcosSDK(option);
+            connections.add(
+                    new Connection(
+                            clientSdk.getClient(groupId),
+                            String.join(",", option.getNetworkConfig().getPeers()),
+                            clientSdk));
+        }
+        System.out.println(
+                "====== "
+                        + connections.size()
+                        + " clients of "
+                        + groupId
+                        + ", "
+                        + balance
+                        + (pinPeers ? ", pinned to " + peers : ""));
+        return proxy(connections, LEAST_IN_FLIGHT.equals(balance));
+    }
+
+    /** A pool over existing clients, which stay owned by the caller. */
+    static Client of(List<Client> clients, boolean leastInFlight) {
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < clients.size(); ++i) {
+            connections.add(new Connection(clients.get(i), "client" + i, null));
+        }
+        return proxy(connections, leastInFlight);
+    }
+
+    private static Client proxy(List<Connection> connections, boolean leastInFlight) {
+        ClientPool pool = new ClientPool(connections, leastInFlight);
+        pools.add(pool);
+        return (Client)
+                Proxy.newProxyInstance(
+                        Client.class.getClassLoader(), new Class<?>[] {Client.class}, pool);
+    }
+
+    /** @return the client configured by {@code -Dperf.clients} and its companions */
+    public static Client fromSystemProperty(BcosSDK sdk, String groupId) throws ConfigException {
+        return getClient(
+                sdk,
+                groupId,
+                Integer.getInteger(PROPERTY, 1),
+                System.getProperty(BALANCE_PROPERTY, ROUND_ROBIN),
+                Boolean.getBoolean(PIN_PEERS_PROPERTY));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "start":
+                for (Connection connection : connections) {
+                    call(connection.client, method, args);
+                }
+                return null;
+            case "stop":
+            case "destroy":
+                if (!stopped.compareAndSet(false, true)) {
+                    return null;
+                }
+                for (Connection connection : connections) {
+                    call(connection.client, method, args);
+                    if (connection.sdk != null) {
+                        connection.sdk.stopAll();
+                    }
+                }
+                return null;
+            case "toString":
+                return "ClientPool" + connections.size();
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                break;
+        }
+        int callback = callbackIndex(method);
+        if (callback < 0 && !JsonRpcResponse.class.isAssignableFrom(method.getReturnType())) {
+            // a getter, same answer from every client
+            return call(connections.get(0).client, method, args);
+        }
+
+        Connection connection = choose();
+        long start = System.nanoTime();
+        connection.begin();
+        if (callback >= 0) {
+            Object[] wrapped = args.clone();
+            wrapped[callback] = wrap(args[callback], connection, start);
+            try {
+                return call(connection.client, method, wrapped);
+            } catch (Throwable e) {
+                connection.end(start, true);
+                throw e;
+            }
+        }
+        boolean error = true;
+        try {
+            Object response = call(connection.client, method, args);
+            error = response != null && ((JsonRpcResponse) response).hasError();
+            return response;
+        } finally {
+            connection.end(start, error);
+        }
+    }
+
+    private static Object call(Client client, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(client, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static int callbackIndex(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; ++i) {
+            if (TransactionCallback.class.isAssignableFrom(types[i])
+                    || RespCallback.class.isAssignableFrom(types[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Connection choose() {
+        int size = connections.size();
+        int first = (int) (next.getAndIncrement() % size);
+        if (!leastInFlight) {
+            return connections.get(first);
+        }
+        // start the scan at the round-robin position so ties do not all land on client 0
+        Connection best = connections.get(first);
+        for (int i = 1; i < size && best.inFlight.get() > 0; ++i) {
+            Connection candidate = connections.get((first + i) % size);
+            if (candidate.inFlight.get() < best.inFlight.get()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object wrap(Object callback, Connection connection, long start) {
+        if (callback == null) {
+            return null;
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        if (callback instanceof TransactionCallback) {
+            TransactionCallback transactionCallback = (TransactionCallback) callback;
+            return new TransactionCallback() {
+                @Override
+                public void onResponse(TransactionReceipt receipt) {
+                    if (done.compareAndSet(false, true)) {
+                        connection.end(start, false);
+                    }
+                    transactionCallback.onResponse(receipt);
+                }
+
+                @Override
+                public void onError(int errorCode, String errorMessage) {
+                    if (done.compareAndSet(false, true)) {
+                        connection.end(start, true);
+                    }
+                    transactionCallback.onError(errorCode, errorMessage);
+                }
+
+                @Override
+                public void onTimeout() {
+                    if (done.compareAndSet(false, true)) {
+                        connection.end(start, true);
+                    }
+                    transactionCallback.onTimeout();
+                }
+
+                @Override
+                public void setTimeout(Integer timeout) {
+                    transactionCallback.setTimeout(timeout);
+                }
+
+                @Override
+                public Integer getTimeout() {
+                    return transactionCallback.getTimeout();
+                }
+            };
+        }
+        RespCallback<Object> respCallback = (RespCallback<Object>) callback;
+        return new RespCallback<Object>() {
+            @Override
+            public void onResponse(Object response) {
+                if (done.compareAndSet(false, true)) {
+                    connection.end(start, false);
+                }
+                respCallback.onResponse(response);
+            }
+
+            @Override
+            public void onError(Response response) {
+                if (done.compareAndSet(false, true)) {
+                    connection.end(start, true);
+                }
+                respCallback.onError(response);
+            }
+        };
+    }
+
+    /** Drops what was counted so far, so the report covers the measured run only. */
+    public static void reset() {
+        for (ClientPool pool : pools) {
+            pool.startNanos = System.nanoTime();
+            for (Connection connection : pool.connections) {
+                connection.requestsBase = connection.requests.sum();
+                connection.errorsBase = connection.errors.sum();
+                connection.latencyBase = connection.latency.copy();
+                connection.inFlightMax.set(connection.inFlight.get());
+            }
+        }
+    }
+
+    /** Prints the requests, rate and latency of every client of every pool. */
+    public static void report() {
+        for (ClientPool pool : pools) {
+            pool.print();
+        }
+    }
+
+    private void print() {
+        double seconds = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+        long total = 0;
+        for (Connection connection : connections) {
+            total += connection.requests.sum() - connection.requestsBase;
+        }
+        System.out.println(
+                "Clients ("
+                        + connections.size()
+                        + ", "
+                        + (leastInFlight ? LEAST_IN_FLIGHT : ROUND_ROBIN)
+                        + "):");
+        for (int i = 0; i < connections.size(); ++i) {
+            Connection connection = connections.get(i);
+            long requests = connection.requests.sum() - connection.requestsBase;
+            LatencyHistogram latency = connection.latency.minus(connection.latencyBase);
+            System.out.println(
+                    String.format(
+                            "    #%d %s: %d requests (%.1f%%), %.2f/s, errors %d, in flight max %d, mean %s, p99 %s",
+                            i,
+                            connection.peers,
+                            requests,
+                            total > 0 ? requests * 100.0 / total : 0,
+                            requests / seconds,
+                            connection.errors.sum() - connection.errorsBase,
+                            connection.inFlightMax.get(),
+                            CollectorReport.formatMillis(latency.getMean()),
+                            CollectorReport.formatMillis(latency.getValueAtPercentile(99))));
+        }
+    }
+}
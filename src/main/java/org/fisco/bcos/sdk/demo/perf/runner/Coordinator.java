@@ -0,0 +1,364 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.demo.perf.collector.CollectorReport;
+import org.fisco.bcos.sdk.demo.perf.collector.LatencyHistogram;
+
+/**
+ * Spreads one {@link BenchmarkRunner} run over several {@link Worker} processes, started locally or
+ * attached from other hosts over TCP, for when a single JVM cannot saturate the chain.
+ *
+ * <p>Worker i of N gets the request indexes i, i + N, i + 2N... and an N-th of the rate, count,
+ * users and in-flight window. All workers set up their workload first and start the measured run
+ * together; their counters and latency histograms are merged into one report.
+ */
+public class Coordinator {
+    private static final int DEFAULT_PORT = 7070;
+    private static final long DEFAULT_START_DELAY_MILLIS = 3000;
+    private static final long WORKER_EXIT_TIMEOUT_SECONDS = 30;
+
+    /** Options of the coordinator itself, not passed on to the workers. */
+    private static final List<String> COORDINATOR_OPTIONS =
+            Arrays.asList(
+                    "workers", "local", "port", "accept-timeout", "start-delay", "channel-timeout");
+    /** Totals, divided between the workers. */
+    private static final List<String> SPLIT_INTEGERS =
+            Arrays.asList("count", "users", "max-in-flight", "senders");
+
+    private static final List<String> SPLIT_RATES = Arrays.asList("qps", "ramp-step", "ramp-max");
+    /** Output files, one per worker. */
+    private static final List<String> WORKER_FILES = Arrays.asList("result", "time-series");
+
+    private final RunnerOptions options;
+
+    public Coordinator(RunnerOptions options) {
+        this.options = options;
+    }
+
+    public static void Usage() {
+        System.out.println(" Usage:");
+        System.out.println("===== Coordinator ===========");
+        System.out.println(
+                " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.runner.Coordinator --workers=N [--local=N (workers to start on this host)] [--port="
+                        + DEFAULT_PORT
+                        + "] [--accept-timeout=120s] [--start-delay=3s] [--channel-timeout=30s (worker silent that long counts as lost)] --workload=[name] [BenchmarkRunner options]");
+        System.out.println(
+                " \t remote workers: java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.runner.Worker --coordinator=host:port");
+        System.out.println(
+                " \t split between the workers: --count, --qps, --ramp-step, --ramp-max, --max-in-flight, --users, --senders and a count --warmup");
+        System.out.println(
+                " \t e.g. ParallelOkPerf transfer: --workload=parallelok, PerformanceTransferDMC: --workload=transferdmc, SmallBank payments over generated users: --workload=smallbank");
+        BenchmarkRunner.Usage();
+    }
+
+    public static void main(String[] args) {
+        try {
+            RunnerOptions options = RunnerOptions.parse(args);
+            if (!options.has("workload")
+                    || options.getInt("workers", options.getInt("local", 0)) <= 0) {
+                Usage();
+                return;
+            }
+            if (BenchmarkRunner.loadWorkload(options.get("workload")) == null) {
+                System.out.println("Workload " + options.get("workload") + " not supported!");
+                Usage();
+                return;
+            }
+            new Coordinator(options).run();
+            System.exit(0);
+        } catch (Exception e) {
+            System.out.println("====== Coordinator failed, error message: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    public void run() throws Exception {
+        int local = options.getInt("local", 0);
+        int workers = options.getInt("workers", local);
+        if (local < 0 || local > workers) {
+            throw new IllegalArgumentException("--local must be in [0, --workers]");
+        }
+        int port = options.getInt("port", local == workers ? 0 : DEFAULT_PORT);
+        List<WorkerChannel> channels = new ArrayList<>();
+        List<Process> processes = new ArrayList<>();
+        long channelTimeout =
+                options.getDurationMillis("channel-timeout", WorkerChannel.DEFAULT_TIMEOUT_MILLIS);
+        try {
+            try (ServerSocket server = new ServerSocket(port)) {
+                server.setSoTimeout((int) options.getDurationMillis("accept-timeout", 120000));
+                System.out.println(
+                        "====== Coordinator listening on port "
+                                + server.getLocalPort()
+                                + ", waiting for "
+                                + workers
+                                + " workers ======");
+                for (int i = 0; i < local; ++i) {
+                    processes.add(startLocalWorker(i, server.getLocalPort()));
+                }
+                while (channels.size() < workers) {
+                    WorkerChannel channel;
+                    try {
+                        channel = new WorkerChannel(server.accept(), channelTimeout);
+                    } catch (SocketTimeoutException e) {
+                        throw new IOException(
+                                "only " + channels.size() + " of " + workers + " workers attached");
+                    }
+                    channels.add(channel);
+                    Object host = channel.receive(WorkerChannel.HELLO).get("host");
+                    System.out.println(
+                            "Worker "
+                                    + (channels.size() - 1)
+                                    + " attached from "
+                                    + host
+                                    + " ("
+                                    + channel.getRemote()
+                                    + ")");
+                }
+            }
+
+            for (int i = 0; i < workers; ++i) {
+                Map<String, Object> run = WorkerChannel.message(WorkerChannel.RUN);
+                run.put("args", workerArgs(i, workers));
+                channels.get(i).send(run);
+            }
+            System.out.println(
+                    "====== Setup " + options.get("workload") + " on every worker ======");
+            for (int i = 0; i < workers; ++i) {
+                channels.get(i).receive(WorkerChannel.READY);
+                System.out.println("Worker " + i + " ready");
+            }
+            // a delay instead of a time of day, the clocks of the hosts may differ
+            long startDelay = options.getDurationMillis("start-delay", DEFAULT_START_DELAY_MILLIS);
+            for (WorkerChannel channel : channels) {
+                Map<String, Object> start = WorkerChannel.message(WorkerChannel.START);
+                start.put("delayMs", startDelay);
+                channel.send(start);
+            }
+            System.out.println(
+                    "====== "
+                            + options.get("workload")
+                            + " start on "
+                            + workers
+                            + " workers in "
+                            + startDelay
+                            + "ms ======");
+
+            List<WorkerResult> results = new ArrayList<>();
+            for (int i = 0; i < workers; ++i) {
+                try {
+                    results.add(new WorkerResult(i, channels.get(i).receive(WorkerChannel.RESULT)));
+                } catch (IOException e) {
+                    System.out.println("Worker " + i + " failed: " + e.getMessage());
+                }
+            }
+            report(results, workers);
+            if (results.size() < workers) {
+                // the merged report is partial, fail the run
+                throw new IOException(
+                        (workers - results.size()) + " of " + workers + " workers failed");
+            }
+            long unverified = results.stream().filter(result -> !result.verified).count();
+            if (unverified > 0) {
+                throw new IllegalStateException(
+                        "verify failed on " + unverified + " of " + workers + " workers");
+            }
+        } finally {
+            for (WorkerChannel channel : channels) {
+                channel.close();
+            }
+            for (Process process : processes) {
+                if (!process.waitFor(WORKER_EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroy();
+                }
+            }
+        }
+    }
+
+    /** Starts worker {@code shard} with the JVM options of this one, its output goes to a log. */
+    private static Process startLocalWorker(int shard, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Worker.class.getName());
+        command.add("--coordinator=127.0.0.1:" + port);
+        File log = new File("worker-" + shard + ".log");
+        System.out.println("Start local worker " + shard + ", output to " + log);
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+    }
+
+    /** The options of worker {@code shard}: the share of every total, the shard and own files. */
+    List<String> workerArgs(int shard, int workers) {
+        List<String> args = new ArrayList<>();
+        for (Map.Entry<String, String> entry : options.asMap().entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue();
+            if (COORDINATOR_OPTIONS.contains(key)) {
+                continue;
+            }
+            if (SPLIT_INTEGERS.contains(key) || (key.equals("warmup") && value.matches("\\d+"))) {
+                value = String.valueOf(share(options.getLong(key, 0), shard, workers));
+            } else if (SPLIT_RATES.contains(key)) {
+                value = String.valueOf(options.getDouble(key, 0) / workers);
+            } else if (WORKER_FILES.contains(key) && !value.equals("false")) {
+                value = workerFile(value, shard);
+            } else if (key.equals("metrics-port")) {
+                // local workers share the host
+                value = String.valueOf(options.getInt(key, 0) + shard);
+            }
+            args.add("--" + key + "=" + value);
+        }
+        if (options.has("senders")) {
+            if (options.has("sender-file")) {
+                // one shared key file, every worker signs with a range of keys of its own
+                args.add(
+                        "--sender-offset=" + offset(options.getLong("senders", 0), shard, workers));
+            } else {
+                // workers sign with accounts of their own
+                args.add("--sender-file=senders-worker" + shard + ".bin");
+            }
+        }
+        args.add("--shard=" + shard);
+        args.add("--shards=" + workers);
+        return args;
+    }
+
+    /** @return an even share of {@code total}, the first workers take the remainder */
+    static long share(long total, int shard, int workers) {
+        if (total <= 0) {
+            return total;
+        }
+        // 0 would mean unbounded for most of the split options
+        return Math.max(1, total / workers + (shard < total % workers ? 1 : 0));
+    }
+
+    /** @return the sum of the shares of the workers before {@code shard} */
+    static long offset(long total, int shard, int workers) {
+        long offset = 0;
+        for (int i = 0; i < shard; ++i) {
+            offset += share(total, i, workers);
+        }
+        return offset;
+    }
+
+    /** run.json becomes run-worker0.json; a bare format such as json gets a name of its own. */
+    static String workerFile(String file, int shard) {
+        if (!file.contains(".")) {
+            return "worker" + shard + "." + file;
+        }
+        int dot = file.lastIndexOf('.');
+        return file.substring(0, dot) + "-worker" + shard + file.substring(dot);
+    }
+
+    private static void report(List<WorkerResult> results, int workers) {
+        System.out.println(
+                "====== Coordinator: "
+                        + results.size()
+                        + " of "
+                        + workers
+                        + " workers reported ======");
+        LatencyHistogram latency = new LatencyHistogram();
+        LatencyHistogram responseLatency = new LatencyHistogram();
+        Map<String, Long> errorCauses = new TreeMap<>();
+        long transactions = 0;
+        long errors = 0;
+        long totalTime = 0;
+        for (WorkerResult result : results) {
+            System.out.println(
+                    String.format(
+                            "worker %-3d transactions: %d, errors: %d, time: %dms, TPS: %.2f, p99: %s, verify: %s",
+                            result.shard,
+                            result.transactions,
+                            result.errors,
+                            result.durationMillis,
+                            result.transactions / (Math.max(1, result.durationMillis) / 1000.0),
+                            CollectorReport.formatMillis(result.latency.getValueAtPercentile(99)),
+                            result.verified ? "success" : "failed"));
+            latency.add(result.latency);
+            responseLatency.add(result.responseLatency);
+            for (Map.Entry<String, Long> entry : result.errorCauses.entrySet()) {
+                errorCauses.merge(entry.getKey(), entry.getValue(), Long::sum);
+            }
+            transactions += result.transactions;
+            errors += result.errors;
+            // the workers started together, the run lasts as long as the slowest
+            totalTime = Math.max(totalTime, result.durationMillis);
+        }
+        if (results.isEmpty()) {
+            return;
+        }
+        System.out.println("total");
+        System.out.println("===================================================================");
+        System.out.println("Total transactions:  " + transactions);
+        System.out.println("Total time: " + totalTime + "ms");
+        System.out.println(
+                "TPS(include error requests): " + transactions / ((double) totalTime / 1000));
+        System.out.println(
+                "TPS(exclude error requests): "
+                        + (transactions - errors) / ((double) totalTime / 1000));
+        System.out.println("Errors: " + errors);
+        if (!errorCauses.isEmpty()) {
+            System.out.println("Responses by cause:");
+            for (Map.Entry<String, Long> entry : errorCauses.entrySet()) {
+                System.out.println("    " + entry.getKey() + ": " + entry.getValue());
+            }
+        }
+        CollectorReport.printLatency(latency, responseLatency, CollectorReport.DEFAULT_PERCENTILES);
+    }
+
+    /** The result message of one worker. */
+    private static class WorkerResult {
+        private final int shard;
+        private final long transactions;
+        private final long errors;
+        private final long durationMillis;
+        private final boolean verified;
+        private final LatencyHistogram latency;
+        private final LatencyHistogram responseLatency;
+        private final Map<String, Long> errorCauses = new TreeMap<>();
+
+        @SuppressWarnings("unchecked")
+        WorkerResult(int shard, Map<String, Object> message) {
+            this.shard = shard;
+            this.transactions = ((Number) message.get("transactions")).longValue();
+            this.errors = ((Number) message.get("errors")).longValue();
+            this.durationMillis = ((Number) message.get("durationMs")).longValue();
+            this.verified = Boolean.TRUE.equals(message.get("verified"));
+            this.latency = LatencyHistogram.decode((Map<String, Object>) message.get("latency"));
+            this.responseLatency =
+                    LatencyHistogram.decode((Map<String, Object>) message.get("responseLatency"));
+            Map<String, Object> causes = (Map<String, Object>) message.get("errorCauses");
+            if (causes != null) {
+                for (Map.Entry<String, Object> entry : causes.entrySet()) {
+                    errorCauses.put(entry.getKey(), ((Number) entry.getValue()).longValue());
+                }
+            }
+        }
+    }
+}
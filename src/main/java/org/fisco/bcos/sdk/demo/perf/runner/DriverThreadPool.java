@@ -0,0 +1,77 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.util.concurrent.ExecutorService;
+import org.fisco.bcos.sdk.v3.utils.ThreadPoolService;
+
+/**
+ * The {@link ThreadPoolService} of a perf driver, optionally backed by virtual threads. Drivers
+ * that block a thread per request (synchronous calls, RPCs or deployments) are otherwise capped at
+ * one request in flight per pool thread, i.e. per core.
+ *
+ * <p>{@code -Dperf.virtualThreads=true} (or {@code --virtual-threads} of the {@link
+ * BenchmarkRunner}) starts a virtual thread per task instead of queueing the tasks for the pool.
+ * That needs a Java 21 runtime and a jar built with {@code -Pjava21Home}, see {@link
+ * VirtualThreads}; otherwise the driver says so and keeps the platform threads.
+ */
+public class DriverThreadPool extends ThreadPoolService {
+    public static final String PROPERTY = "perf.virtualThreads";
+
+    private final ExecutorService virtualThreads;
+
+    public DriverThreadPool(String name, Integer maxBlockingQueueSize) {
+        this(
+                name,
+                Runtime.getRuntime().availableProcessors(),
+                maxBlockingQueueSize,
+                Boolean.getBoolean(PROPERTY));
+    }
+
+    public DriverThreadPool(
+            String name, Integer threads, Integer maxBlockingQueueSize, boolean virtual) {
+        super(name, threads, maxBlockingQueueSize);
+        virtualThreads = virtual ? VirtualThreads.newExecutor(name) : null;
+        if (virtualThreads != null) {
+            // no task ever reaches the platform pool
+            super.stop();
+            System.out.println("====== " + name + " runs its tasks on virtual threads");
+        } else if (virtual) {
+            System.out.println(
+                    "====== "
+                            + name
+                            + ": virtual threads need Java 21 and a jar built with -Pjava21Home, using "
+                            + threads
+                            + " platform threads");
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtualThreads != null;
+    }
+
+    @Override
+    public ExecutorService getThreadPool() {
+        return virtualThreads != null ? virtualThreads : super.getThreadPool();
+    }
+
+    @Override
+    public void stop() {
+        if (virtualThreads != null) {
+            stopThreadPool(virtualThreads);
+        } else {
+            super.stop();
+        }
+    }
+}
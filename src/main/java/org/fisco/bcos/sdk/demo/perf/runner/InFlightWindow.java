@@ -0,0 +1,252 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of requests waiting for a receipt. The send loop calls {@link #acquire()} before
+ * each request and blocks while the window is full; the receipt callback calls {@link
+ * #release(long)}.
+ *
+ * <p>In adaptive mode the limit is recomputed once per window's worth of receipts: it grows by 10%
+ * while the mean latency stays under the target, and otherwise shrinks to {@code limit * target /
+ * latency}, the in-flight depth that would hold the target at the current throughput.
+ */
+public class InFlightWindow {
+    private static final int ADAPTIVE_INITIAL_LIMIT = 64;
+    private static final int ADAPTIVE_MAX_LIMIT = 100000;
+
+    private final ResizableSemaphore semaphore;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private volatile int limit;
+
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final AtomicInteger maxInFlight = new AtomicInteger(0);
+    private final LongAdder windowLatency = new LongAdder();
+    private final AtomicLong windowCount = new AtomicLong(0);
+    private final AtomicBoolean adjusting = new AtomicBoolean(false);
+
+    private final List<long[]> samples = new ArrayList<>();
+    private ScheduledExecutorService monitor;
+    private long monitorStart;
+
+    private static class ResizableSemaphore extends Semaphore {
+        ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+
+    /** A fixed window of {@code limit} requests. */
+    public InFlightWindow(int limit) {
+        this(limit, limit, limit, 0);
+    }
+
+    /** An adaptive window kept within [minLimit, maxLimit] to hold {@code targetLatencyNanos}. */
+    public InFlightWindow(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException(
+                    "invalid in-flight limits [" + minLimit + ", " + maxLimit + "]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+        this.semaphore = new ResizableSemaphore(limit);
+    }
+
+    public static InFlightWindow unbounded() {
+        return new InFlightWindow(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxInFlight upper bound, 0 for none
+     * @param targetLatencyMillis latency the adaptive mode holds, 0 for a fixed window
+     */
+    public static InFlightWindow create(int maxInFlight, long targetLatencyMillis) {
+        if (targetLatencyMillis > 0) {
+            int max = maxInFlight > 0 ? maxInFlight : ADAPTIVE_MAX_LIMIT;
+            return new InFlightWindow(
+                    Math.min(ADAPTIVE_INITIAL_LIMIT, max),
+                    1,
+                    max,
+                    TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis));
+        }
+        return maxInFlight > 0 ? new InFlightWindow(maxInFlight) : unbounded();
+    }
+
+    public boolean isBounded() {
+        return targetLatencyNanos > 0 || limit < Integer.MAX_VALUE;
+    }
+
+    public boolean isAdaptive() {
+        return targetLatencyNanos > 0;
+    }
+
+    /** Blocks until the request fits into the window. */
+    public void acquire() throws InterruptedException {
+        semaphore.acquire();
+        int depth = inFlight.incrementAndGet();
+        int max = maxInFlight.get();
+        while (depth > max && !maxInFlight.compareAndSet(max, depth)) {
+            max = maxInFlight.get();
+        }
+    }
+
+    /** @param latencyNanos service time of the completed request, feeds the adaptive mode */
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        semaphore.release();
+        if (targetLatencyNanos <= 0) {
+            return;
+        }
+        windowLatency.add(latencyNanos);
+        if (windowCount.incrementAndGet() >= limit && adjusting.compareAndSet(false, true)) {
+            try {
+                adjust();
+            } finally {
+                adjusting.set(false);
+            }
+        }
+    }
+
+    private void adjust() {
+        long count = windowCount.getAndSet(0);
+        long sum = windowLatency.sumThenReset();
+        if (count <= 0) {
+            return;
+        }
+        double meanLatency = (double) sum / count;
+        int current = limit;
+        long next;
+        if (meanLatency <= targetLatencyNanos) {
+            next = current + Math.max(1, current / 10);
+        } else {
+            next = (long) (current * targetLatencyNanos / meanLatency);
+        }
+        resize((int) Math.min(Math.max(next, minLimit), maxLimit));
+    }
+
+    private synchronized void resize(int newLimit) {
+        int delta = newLimit - limit;
+        if (delta > 0) {
+            semaphore.release(delta);
+        } else if (delta < 0) {
+            semaphore.reduce(-delta);
+        }
+        limit = newLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /** Samples the in-flight depth and limit every {@code intervalMillis} until {@link #stop()}. */
+    public synchronized void startMonitor(long intervalMillis) {
+        if (monitor != null) {
+            return;
+        }
+        monitorStart = System.currentTimeMillis();
+        monitor =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "InFlightWindowMonitor");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        monitor.scheduleAtFixedRate(
+                () -> {
+                    synchronized (samples) {
+                        samples.add(
+                                new long[] {
+                                    System.currentTimeMillis() - monitorStart, inFlight.get(), limit
+                                });
+                    }
+                },
+                intervalMillis,
+                intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+        }
+    }
+
+    public List<long[]> getSamples() {
+        synchronized (samples) {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    /** Prints the limit, the deepest window seen and at most {@code maxRows} sampled depths. */
+    public void report(int maxRows) {
+        System.out.println("------------------------------ In-flight ---------------------------");
+        if (isAdaptive()) {
+            System.out.println(
+                    "Window: adaptive, target latency "
+                            + TimeUnit.NANOSECONDS.toMillis(targetLatencyNanos)
+                            + "ms, limit ["
+                            + minLimit
+                            + ", "
+                            + maxLimit
+                            + "], final limit "
+                            + limit);
+        } else if (isBounded()) {
+            System.out.println("Window: fixed, limit " + limit);
+        } else {
+            System.out.println("Window: unbounded");
+        }
+        System.out.println("Max in-flight: " + maxInFlight.get());
+        List<long[]> snapshot = getSamples();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        int stride = Math.max(1, (snapshot.size() + maxRows - 1) / maxRows);
+        System.out.println(String.format("%-10s%-12s%s", "Time(s)", "In-flight", "Limit"));
+        for (int i = 0; i < snapshot.size(); i += stride) {
+            long[] sample = snapshot.get(i);
+            System.out.println(
+                    String.format(
+                            "%-10.1f%-12d%s",
+                            sample[0] / 1000.0,
+                            sample[1],
+                            sample[2] == Integer.MAX_VALUE ? "-" : String.valueOf(sample[2])));
+        }
+    }
+}
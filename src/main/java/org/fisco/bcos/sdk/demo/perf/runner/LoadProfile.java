@@ -0,0 +1,99 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Target rate over time: either one constant step, or a step ramp that starts at {@code --qps} and
+ * adds {@code --ramp-step} every {@code --ramp-interval} until {@code --ramp-max}.
+ */
+public class LoadProfile {
+    private static final long DEFAULT_RAMP_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final double startQps;
+    private final double stepQps;
+    private final double maxQps;
+    private final long stepMillis;
+
+    public LoadProfile(double startQps, double stepQps, double maxQps, long stepMillis) {
+        if (startQps < 0 || (startQps == 0 && stepQps > 0)) {
+            throw new IllegalArgumentException("qps must be positive, got " + startQps);
+        }
+        if (stepQps > 0 && stepMillis <= 0) {
+            throw new IllegalArgumentException("a ramp needs a positive step interval");
+        }
+        this.startQps = startQps;
+        this.stepQps = stepQps;
+        this.maxQps = maxQps;
+        this.stepMillis = stepMillis;
+    }
+
+    /**
+     * A single step at {@code qps}, 0 for unthrottled; {@code durationMillis} of 0 means unbounded.
+     */
+    public static LoadProfile constant(double qps, long durationMillis) {
+        return new LoadProfile(qps, 0, qps, durationMillis);
+    }
+
+    public static LoadProfile fromOptions(RunnerOptions options, double qps) {
+        double stepQps = options.getDouble("ramp-step", 0);
+        if (stepQps <= 0) {
+            return constant(qps, options.getDurationMillis("duration", 0));
+        }
+        return new LoadProfile(
+                qps,
+                stepQps,
+                options.getDouble("ramp-max", Double.MAX_VALUE),
+                options.getDurationMillis("ramp-interval", DEFAULT_RAMP_INTERVAL_MILLIS));
+    }
+
+    public boolean isRamp() {
+        return stepQps > 0;
+    }
+
+    /** Whether the profile ends by itself, i.e. is not an open ended ramp or constant run. */
+    public boolean isBounded() {
+        return isRamp() ? maxQps < Double.MAX_VALUE : stepMillis > 0;
+    }
+
+    /** @return the target rate of {@code step}, or a negative value once the profile is over */
+    public double getStepQps(int step) {
+        if (!isRamp()) {
+            return step == 0 ? startQps : -1;
+        }
+        double qps = startQps + step * stepQps;
+        return qps > maxQps ? -1 : qps;
+    }
+
+    /** @return length of every step in milliseconds, 0 when unbounded */
+    public long getStepMillis() {
+        return stepMillis;
+    }
+
+    @Override
+    public String toString() {
+        if (!isRamp()) {
+            return startQps == 0 ? "unthrottled" : "constant " + startQps + " qps";
+        }
+        return "ramp from "
+                + startQps
+                + " qps, +"
+                + stepQps
+                + " qps every "
+                + stepMillis
+                + "ms"
+                + (maxQps < Double.MAX_VALUE ? " up to " + maxQps + " qps" : "");
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop request scheduler, a drop-in for {@code RateLimiter.acquire()}.
+ *
+ * <p>Request n is due at {@code start + n / qps}. {@link #acquire()} waits for that instant and
+ * returns it, even when the caller is already late, so latency measured from the returned value
+ * (the response time) includes any time the request spent queued behind a saturated client or node.
+ * Latency measured from the actual send is the service time.
+ *
+ * <p>A rate of 0 disables pacing: {@link #acquire()} returns the current time right away.
+ */
+public class OpenLoopScheduler {
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private volatile long intervalNanos;
+    private final AtomicLong nextNanos = new AtomicLong(Long.MIN_VALUE);
+
+    public OpenLoopScheduler(double qps) {
+        setRate(qps);
+    }
+
+    /** Changes the rate for requests not yet scheduled; already issued slots are kept. */
+    public void setRate(double qps) {
+        if (qps < 0) {
+            throw new IllegalArgumentException("qps must not be negative, got " + qps);
+        }
+        this.intervalNanos = qps == 0 ? 0 : Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / qps));
+    }
+
+    public double getRate() {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        return (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos;
+    }
+
+    /** Restarts the schedule so that the next request is due immediately. */
+    public void reset() {
+        nextNanos.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * Blocks until the next request is due. Safe to call from several threads.
+     *
+     * @return the intended send time of the request, in {@link System#nanoTime()} units
+     */
+    public long acquire() {
+        if (intervalNanos == 0) {
+            return System.nanoTime();
+        }
+        long intended = reserve();
+        long remaining;
+        while ((remaining = intended - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.yield();
+            }
+        }
+        return intended;
+    }
+
+    private long reserve() {
+        while (true) {
+            long next = nextNanos.get();
+            long interval = intervalNanos;
+            long intended = next == Long.MIN_VALUE ? System.nanoTime() : next;
+            if (nextNanos.compareAndSet(next, intended + interval)) {
+                return intended;
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Command line options of the form {@code --key=value}; a bare {@code --key} means true. */
+public class RunnerOptions {
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    public static RunnerOptions parse(String... args) {
+        RunnerOptions options = new RunnerOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.length() == 2) {
+                throw new IllegalArgumentException(
+                        "invalid option: " + arg + ", expected --key=value");
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                options.set(arg.substring(2), "true");
+            } else {
+                options.set(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    public RunnerOptions set(String key, String value) {
+        values.put(key, value);
+        return this;
+    }
+
+    public boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + key + " expects an integer, got " + value);
+        }
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + key + " expects an integer, got " + value);
+        }
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + key + " expects a number, got " + value);
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /** Accepts {@code 500ms}, {@code 30s}, {@code 5m} or {@code 1h}; a bare number is seconds. */
+    public long getDurationMillis(String key, long defaultMillis) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultMillis;
+        }
+        return parseDurationMillis(key, value.trim());
+    }
+
+    public Map<String, String> asMap() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    public static long parseDurationMillis(String key, String value) {
+        TimeUnit unit = TimeUnit.SECONDS;
+        String number = value;
+        if (value.endsWith("ms")) {
+            unit = TimeUnit.MILLISECONDS;
+            number = value.substring(0, value.length() - 2);
+        } else if (value.endsWith("s")) {
+            number = value.substring(0, value.length() - 1);
+        } else if (value.endsWith("m")) {
+            unit = TimeUnit.MINUTES;
+            number = value.substring(0, value.length() - 1);
+        } else if (value.endsWith("h")) {
+            unit = TimeUnit.HOURS;
+            number = value.substring(0, value.length() - 1);
+        }
+        try {
+            return (long) (Double.parseDouble(number) * unit.toMillis(1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + key + " expects a duration, got " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append("--").append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return builder.toString();
+    }
+}
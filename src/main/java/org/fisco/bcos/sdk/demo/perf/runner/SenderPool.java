@@ -0,0 +1,345 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+
+/**
+ * A pool of sender accounts, so the load of a driver does not come from the single account of the
+ * client. The private keys are kept on disk in a compact file, 32 bytes each behind a short header,
+ * and reused by later runs; a {@link CryptoKeyPair} is only built when its sender signs the first
+ * time. Each transaction takes the next sender round-robin or at random.
+ *
+ * <p>{@code -Dperf.senders=N} (or {@code --senders} of the runner) installs a default pool that
+ * every {@link org.fisco.bcos.sdk.demo.contract.TracedContract} wrapper signs its asynchronous
+ * transactions with, so {@code load(address, client, keyPair)} wrappers are built once and not per
+ * sender. {@code -Dperf.senderFile} names the key file, {@code senders-ecdsa.bin} or {@code
+ * senders-sm.bin} by default, and {@code -Dperf.senderPolicy} the policy.
+ */
+public class SenderPool {
+    public static final String PROPERTY = "perf.senders";
+    public static final String FILE_PROPERTY = "perf.senderFile";
+    public static final String POLICY_PROPERTY = "perf.senderPolicy";
+    public static final String ROUND_ROBIN = "round-robin";
+    public static final String RANDOM = "random";
+
+    private static final byte[] MAGIC = "BCOSKEY1".getBytes(StandardCharsets.US_ASCII);
+    private static final int KEY_SIZE = 32;
+
+    private static SenderPool defaultPool = null;
+    private static boolean defaultLoaded = false;
+
+    private final CryptoSuite cryptoSuite;
+    private final byte[] privateKeys;
+    private final AtomicReferenceArray<CryptoKeyPair> keyPairs;
+    private final AtomicLongArray transactions;
+    private final boolean random;
+    private final String file;
+    private final AtomicLong next = new AtomicLong();
+
+    private SenderPool(CryptoSuite cryptoSuite, byte[] privateKeys, String policy, String file) {
+        if (!policy.equals(ROUND_ROBIN) && !policy.equals(RANDOM)) {
+            throw new IllegalArgumentException("sender policy " + policy + " not supported!");
+        }
+        this.cryptoSuite = cryptoSuite;
+        this.privateKeys = privateKeys;
+        this.keyPairs = new AtomicReferenceArray<>(privateKeys.length / KEY_SIZE);
+        this.transactions = new AtomicLongArray(privateKeys.length / KEY_SIZE);
+        this.random = policy.equals(RANDOM);
+        this.file = file;
+    }
+
+    public static void Usage() {
+        System.out.println(" Usage:");
+        System.out.println("===== SenderPool ===========");
+        System.out.println(
+                " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.runner.SenderPool --generate=N [--type=ecdsa|sm] [--file=senders-ecdsa.bin]");
+        System.out.println(
+                " \t use: -Dperf.senders=N [-Dperf.senderFile=file] [-Dperf.senderPolicy=round-robin|random], or --senders of BenchmarkRunner");
+    }
+
+    /** Generates a key file ahead of the runs, e.g. to copy it to every worker host. */
+    public static void main(String[] args) {
+        try {
+            RunnerOptions options = RunnerOptions.parse(args);
+            int count = options.getInt("generate", 0);
+            if (count <= 0) {
+                Usage();
+                return;
+            }
+            String type = options.get("type", "ecdsa");
+            if (!type.equals("ecdsa") && !type.equals("sm")) {
+                System.out.println("type " + type + " not supported!");
+                Usage();
+                return;
+            }
+            CryptoSuite cryptoSuite =
+                    new CryptoSuite(type.equals("sm") ? CryptoType.SM_TYPE : CryptoType.ECDSA_TYPE);
+            SenderPool pool =
+                    create(
+                            cryptoSuite,
+                            count,
+                            options.get("file", defaultFile(cryptoSuite)),
+                            ROUND_ROBIN);
+            System.out.println(
+                    "====== "
+                            + pool.size()
+                            + " "
+                            + type
+                            + " senders in "
+                            + pool.file
+                            + ", first address: "
+                            + pool.get(0).getAddress()
+                            + " ======");
+            System.exit(0);
+        } catch (Exception e) {
+            System.out.println("====== SenderPool failed, error message: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Loads {@code size} senders from {@code file}, generating and saving the keys it lacks.
+     *
+     * @param file null for the default file of the crypto type
+     */
+    public static SenderPool create(CryptoSuite cryptoSuite, int size, String file, String policy)
+            throws IOException {
+        if (size <= 0) {
+            throw new IllegalArgumentException("the sender pool needs at least one sender");
+        }
+        String path = file == null || file.isEmpty() ? defaultFile(cryptoSuite) : file;
+        byte[] stored = read(path, cryptoSuite.getCryptoTypeConfig());
+        byte[] privateKeys = Arrays.copyOf(stored, size * KEY_SIZE);
+        int generated = size - stored.length / KEY_SIZE;
+        if (generated > 0) {
+            System.out.println(
+                    "====== Generate " + generated + " senders into " + path + " ======");
+            CryptoKeyPair factory = cryptoSuite.getKeyPairFactory();
+            IntStream.range(stored.length / KEY_SIZE, size)
+                    .parallel()
+                    .forEach(
+                            i -> {
+                                byte[] key =
+                                        Numeric.toBytesPadded(
+                                                Numeric.toBigInt(
+                                                        factory.generateKeyPair()
+                                                                .getHexPrivateKey()),
+                                                KEY_SIZE);
+                                System.arraycopy(key, 0, privateKeys, i * KEY_SIZE, KEY_SIZE);
+                            });
+            write(path, cryptoSuite.getCryptoTypeConfig(), privateKeys);
+        }
+        return new SenderPool(cryptoSuite, privateKeys, policy, path);
+    }
+
+    /**
+     * Loads the {@code size} senders from {@code offset} on of a file generated ahead, e.g. by
+     * {@code --generate}. The file is shared by the workers of a distributed run and never
+     * rewritten, each worker signs with a disjoint range of its keys.
+     */
+    public static SenderPool slice(
+            CryptoSuite cryptoSuite, int offset, int size, String file, String policy)
+            throws IOException {
+        if (size <= 0 || offset < 0) {
+            throw new IllegalArgumentException("the sender pool needs at least one sender");
+        }
+        String path = file == null || file.isEmpty() ? defaultFile(cryptoSuite) : file;
+        byte[] stored = read(path, cryptoSuite.getCryptoTypeConfig());
+        long end = (long) offset + size;
+        if (stored.length / KEY_SIZE < end) {
+            throw new IOException(
+                    path
+                            + " holds "
+                            + stored.length / KEY_SIZE
+                            + " senders, senders "
+                            + offset
+                            + " to "
+                            + (end - 1)
+                            + " are needed, generate them ahead with --generate="
+                            + end);
+        }
+        return new SenderPool(
+                cryptoSuite,
+                Arrays.copyOfRange(stored, offset * KEY_SIZE, (int) end * KEY_SIZE),
+                policy,
+                path);
+    }
+
+    /** @return the pool of {@code -Dperf.senders}, null if it is not set */
+    public static SenderPool fromSystemProperty(CryptoSuite cryptoSuite) throws IOException {
+        int size = Integer.getInteger(PROPERTY, 0);
+        if (size <= 0) {
+            return null;
+        }
+        return create(
+                cryptoSuite,
+                size,
+                System.getProperty(FILE_PROPERTY),
+                System.getProperty(POLICY_PROPERTY, ROUND_ROBIN));
+    }
+
+    /**
+     * @return the pool the contract wrappers sign with, created from {@code -Dperf.senders} on the
+     *     first call unless {@link #setDefault} came first; null for the account of the client
+     */
+    public static synchronized SenderPool getDefault(CryptoSuite cryptoSuite) {
+        if (!defaultLoaded) {
+            defaultLoaded = true;
+            try {
+                defaultPool = fromSystemProperty(cryptoSuite);
+            } catch (IOException e) {
+                throw new UncheckedIOException("load sender pool failed", e);
+            }
+        }
+        return defaultPool;
+    }
+
+    public static synchronized void setDefault(SenderPool pool) {
+        defaultPool = pool;
+        defaultLoaded = true;
+    }
+
+    private static String defaultFile(CryptoSuite cryptoSuite) {
+        return cryptoSuite.getCryptoTypeConfig() == CryptoType.SM_TYPE
+                ? "senders-sm.bin"
+                : "senders-ecdsa.bin";
+    }
+
+    private static byte[] read(String path, int cryptoType) throws IOException {
+        File file = new File(path);
+        if (!file.exists()) {
+            return new byte[0];
+        }
+        try (DataInputStream input =
+                new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            byte[] magic = new byte[MAGIC.length];
+            input.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException(path + " is not a sender key file");
+            }
+            int type = input.readInt();
+            if (type != cryptoType) {
+                throw new IOException(
+                        path + " holds keys of crypto type " + type + ", expect " + cryptoType);
+            }
+            byte[] privateKeys = new byte[input.readInt() * KEY_SIZE];
+            input.readFully(privateKeys);
+            return privateKeys;
+        }
+    }
+
+    private static void write(String path, int cryptoType, byte[] privateKeys) throws IOException {
+        File file = new File(path);
+        File temp = new File(path + ".tmp");
+        try (DataOutputStream output =
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            output.write(MAGIC);
+            output.writeInt(cryptoType);
+            output.writeInt(privateKeys.length / KEY_SIZE);
+            output.write(privateKeys);
+        }
+        if (file.exists() && !file.delete() || !temp.renameTo(file)) {
+            throw new IOException("replace " + path + " failed");
+        }
+    }
+
+    public int size() {
+        return keyPairs.length();
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    /** @return sender {@code index}, built from its private key on first use */
+    public CryptoKeyPair get(int index) {
+        CryptoKeyPair keyPair = keyPairs.get(index);
+        if (keyPair == null) {
+            byte[] key = Arrays.copyOfRange(privateKeys, index * KEY_SIZE, (index + 1) * KEY_SIZE);
+            keyPair = cryptoSuite.getKeyPairFactory().createKeyPair(new BigInteger(1, key));
+            if (!keyPairs.compareAndSet(index, null, keyPair)) {
+                keyPair = keyPairs.get(index);
+            }
+        }
+        return keyPair;
+    }
+
+    /** @return the sender of the next transaction, by the policy of the pool */
+    public CryptoKeyPair next() {
+        int index =
+                random
+                        ? ThreadLocalRandom.current().nextInt(size())
+                        : (int) (next.getAndIncrement() % size());
+        transactions.incrementAndGet(index);
+        return get(index);
+    }
+
+    /** Prints how evenly the transactions of the default pool spread over its senders. */
+    public static void report() {
+        SenderPool pool;
+        synchronized (SenderPool.class) {
+            pool = defaultPool;
+        }
+        if (pool != null) {
+            pool.print();
+        }
+    }
+
+    private void print() {
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        int used = 0;
+        for (int i = 0; i < transactions.length(); ++i) {
+            long count = transactions.get(i);
+            total += count;
+            min = Math.min(min, count);
+            max = Math.max(max, count);
+            used += count > 0 ? 1 : 0;
+        }
+        System.out.println(
+                String.format(
+                        "Senders (%d, %s, %s): %d transactions from %d senders, per sender min %d, mean %.1f, max %d",
+                        size(),
+                        random ? RANDOM : ROUND_ROBIN,
+                        file,
+                        total,
+                        used,
+                        min,
+                        (double) total / size(),
+                        max));
+    }
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.demo.perf.Collector;
+import org.fisco.bcos.sdk.demo.perf.collector.CollectorReport;
+import org.fisco.bcos.sdk.demo.perf.collector.LatencyHistogram;
+
+/**
+ * Per-step throughput and latency of a {@link LoadProfile}, the stop conditions checked after each
+ * step, and the knee point: the highest step that still kept up with its target rate within the
+ * SLO.
+ */
+public class StepReport {
+    /** A step keeps up when it completes at least this share of its target rate. */
+    private static final double KEEP_UP_RATIO = 0.9;
+
+    private static final double DEFAULT_PERCENTILE = 99;
+
+    private final double percentile;
+    private final long sloNanos;
+    private final double maxErrorRate;
+    private final List<Row> rows = new ArrayList<>();
+
+    private LatencyHistogram stepLatency;
+    private LatencyHistogram stepResponseLatency;
+    private int stepErrors;
+    private long stepStartNanos;
+
+    public static class Row {
+        private final int step;
+        private final double targetQps;
+        private final long received;
+        private final long errors;
+        private final double tps;
+        private final long p50;
+        private final long tail;
+        private final String breach;
+
+        Row(
+                int step,
+                double targetQps,
+                long received,
+                long errors,
+                double tps,
+                long p50,
+                long tail,
+                String breach) {
+            this.step = step;
+            this.targetQps = targetQps;
+            this.received = received;
+            this.errors = errors;
+            this.tps = tps;
+            this.p50 = p50;
+            this.tail = tail;
+            this.breach = breach;
+        }
+
+        public int getStep() {
+            return step;
+        }
+
+        public double getTargetQps() {
+            return targetQps;
+        }
+
+        public long getReceived() {
+            return received;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getTps() {
+            return tps;
+        }
+
+        public double getErrorRate() {
+            return received == 0 ? 0 : (double) errors / received;
+        }
+
+        /** @return the reason this step stopped the run, or null */
+        public String getBreach() {
+            return breach;
+        }
+
+        boolean keptUp() {
+            return breach == null && tps >= targetQps * KEEP_UP_RATIO;
+        }
+    }
+
+    /**
+     * @param slo latency objective such as {@code p99:500ms}, null for none
+     * @param maxErrorRate error ratio in [0, 1] above which the run stops, negative for none
+     */
+    public StepReport(String slo, double maxErrorRate) {
+        if (slo == null) {
+            this.percentile = DEFAULT_PERCENTILE;
+            this.sloNanos = 0;
+        } else {
+            int separator = slo.indexOf(':');
+            if (!slo.startsWith("p") || separator < 0) {
+                throw new IllegalArgumentException(
+                        "--slo expects percentile:latency, e.g. p99:500ms, got " + slo);
+            }
+            this.percentile = Double.parseDouble(slo.substring(1, separator));
+            this.sloNanos =
+                    TimeUnit.MILLISECONDS.toNanos(
+                            RunnerOptions.parseDurationMillis("slo", slo.substring(separator + 1)));
+        }
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public static StepReport fromOptions(RunnerOptions options) {
+        return new StepReport(options.get("slo"), options.getDouble("max-error-rate", -1));
+    }
+
+    public boolean hasStopCondition() {
+        return sloNanos > 0 || maxErrorRate >= 0;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    public void beginStep(Collector collector) {
+        stepLatency = collector.getLatency().copy();
+        stepResponseLatency = collector.getResponseLatency().copy();
+        stepErrors = collector.getError().get();
+        stepStartNanos = System.nanoTime();
+    }
+
+    /** Closes the current step and checks the stop conditions against it. */
+    public Row endStep(int step, double targetQps, Collector collector) {
+        double seconds =
+                (double) (System.nanoTime() - stepStartNanos) / TimeUnit.SECONDS.toNanos(1);
+        LatencyHistogram service = collector.getLatency().minus(stepLatency);
+        LatencyHistogram response = collector.getResponseLatency().minus(stepResponseLatency);
+        LatencyHistogram latency = response.getTotalCount() > 0 ? response : service;
+        long received = service.getTotalCount();
+        long errors = collector.getError().get() - stepErrors;
+        long tail = latency.getValueAtPercentile(percentile);
+
+        String breach = null;
+        if (sloNanos > 0 && tail > sloNanos) {
+            breach = "p" + CollectorReport.formatPercentile(percentile) + " above SLO";
+        } else if (maxErrorRate >= 0 && received > 0 && (double) errors / received > maxErrorRate) {
+            breach = "error rate above " + maxErrorRate;
+        }
+        Row row =
+                new Row(
+                        step,
+                        targetQps,
+                        received,
+                        errors,
+                        seconds > 0 ? received / seconds : 0,
+                        latency.getValueAtPercentile(50),
+                        tail,
+                        breach);
+        rows.add(row);
+        return row;
+    }
+
+    /** @return the highest step that kept up with its target before the first breach, or null */
+    public Row getKnee() {
+        Row knee = null;
+        for (Row row : rows) {
+            if (!row.keptUp()) {
+                break;
+            }
+            knee = row;
+        }
+        return knee;
+    }
+
+    public void print() {
+        String tailName = "p" + CollectorReport.formatPercentile(percentile);
+        System.out.println("===================================================================");
+        System.out.println(
+                String.format(
+                        "%-6s%-12s%-12s%-10s%-9s%-12s%-12s%s",
+                        "Step", "Target", "TPS", "Errors", "Error%", "p50", tailName, "Result"));
+        Row knee = getKnee();
+        for (Row row : rows) {
+            String result = row.getBreach() != null ? row.getBreach() : row.keptUp() ? "ok" : "lag";
+            if (row == knee) {
+                result += " <- knee";
+            }
+            System.out.println(
+                    String.format(
+                            "%-6d%-12.1f%-12.1f%-10d%-9.2f%-12s%-12s%s",
+                            row.step,
+                            row.targetQps,
+                            row.tps,
+                            row.errors,
+                            row.getErrorRate() * 100,
+                            CollectorReport.formatMillis(row.p50),
+                            CollectorReport.formatMillis(row.tail),
+                            result));
+        }
+        if (knee == null) {
+            System.out.println("Knee point: none, the first step already fell behind");
+        } else if (knee == rows.get(rows.size() - 1)) {
+            System.out.println(
+                    "Knee point: not reached, highest sustained rate "
+                            + String.format("%.1f", knee.tps)
+                            + " TPS at step "
+                            + knee.step);
+        } else {
+            System.out.println(
+                    "Knee point: step "
+                            + knee.step
+                            + ", target "
+                            + String.format("%.1f", knee.targetQps)
+                            + " qps, "
+                            + String.format("%.1f", knee.tps)
+                            + " TPS, "
+                            + tailName
+                            + " "
+                            + CollectorReport.formatMillis(knee.tail));
+        }
+    }
+}
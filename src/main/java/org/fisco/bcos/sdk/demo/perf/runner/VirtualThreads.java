@@ -0,0 +1,30 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Virtual threads, which need Java 21. This is the Java 8 version, it reports them unavailable;
+ * built with {@code -Pjava21Home}, the jar carries the real one under {@code META-INF/versions/21}
+ * and a Java 21 runtime picks that instead (multi-release jar, see build.gradle).
+ */
+public final class VirtualThreads {
+    private VirtualThreads() {}
+
+    /** @return an executor starting a virtual thread per task, null if the runtime has none */
+    public static ExecutorService newExecutor(String name) {
+        return null;
+    }
+}
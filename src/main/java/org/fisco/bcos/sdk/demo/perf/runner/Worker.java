@@ -0,0 +1,172 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import org.fisco.bcos.sdk.demo.perf.Collector;
+import org.fisco.bcos.sdk.v3.BcosSDK;
+import org.fisco.bcos.sdk.v3.model.ConstantConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One load generating process of a {@link Coordinator} run. Attaches to the coordinator, runs the
+ * {@link BenchmarkRunner} options it hands out on the shard it was given, waits for the common
+ * start after setup and sends back its counters and histograms.
+ */
+public class Worker {
+    private static Logger logger = LoggerFactory.getLogger(Worker.class);
+    private static final long CONNECT_RETRY_MILLIS = 1000;
+
+    public static void Usage() {
+        System.out.println(" Usage:");
+        System.out.println("===== Worker ===========");
+        System.out.println(
+                " \t java -cp 'conf/:lib/*:apps/*' org.fisco.bcos.sdk.demo.perf.runner.Worker --coordinator=host:port [--connect-timeout=60s] [--channel-timeout=30s (coordinator silent that long counts as lost)]");
+        System.out.println(
+                " \t the workload and its options come from the Coordinator, conf/ must point to the same chain");
+    }
+
+    public static void main(String[] args) {
+        try {
+            RunnerOptions options = RunnerOptions.parse(args);
+            if (!options.has("coordinator")) {
+                Usage();
+                return;
+            }
+            try (WorkerChannel channel =
+                    connect(
+                            options.get("coordinator"),
+                            options.getDurationMillis("connect-timeout", 60000),
+                            options.getDurationMillis(
+                                    "channel-timeout", WorkerChannel.DEFAULT_TIMEOUT_MILLIS))) {
+                run(channel);
+            }
+            System.exit(0);
+        } catch (Exception e) {
+            System.out.println("====== Worker failed, error message: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /** Retries until {@code timeoutMillis}, a remote worker may come up before its coordinator. */
+    private static WorkerChannel connect(
+            String address, long timeoutMillis, long channelTimeoutMillis)
+            throws IOException, InterruptedException {
+        int separator = address.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("--coordinator expects host:port, got " + address);
+        }
+        String host = address.substring(0, separator);
+        int port = Integer.parseInt(address.substring(separator + 1));
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            try {
+                return new WorkerChannel(new Socket(host, port), channelTimeoutMillis);
+            } catch (ConnectException e) {
+                if (System.currentTimeMillis() >= deadline) {
+                    throw e;
+                }
+                logger.debug("connect {} failed, retry: {}", address, e.getMessage());
+                Thread.sleep(CONNECT_RETRY_MILLIS);
+            }
+        }
+    }
+
+    private static void run(WorkerChannel channel) throws Exception {
+        Map<String, Object> hello = WorkerChannel.message(WorkerChannel.HELLO);
+        hello.put("host", InetAddress.getLocalHost().getHostName());
+        channel.send(hello);
+        List<?> args = (List<?>) channel.receive(WorkerChannel.RUN).get("args");
+        String[] runArgs = new String[args.size()];
+        for (int i = 0; i < runArgs.length; ++i) {
+            runArgs[i] = args.get(i).toString();
+        }
+        RunnerOptions options = RunnerOptions.parse(runArgs);
+        System.out.println(
+                "====== Worker "
+                        + options.get("shard")
+                        + " of "
+                        + options.get("shards")
+                        + ", coordinator "
+                        + channel.getRemote()
+                        + " ======");
+        try {
+            Workload workload = BenchmarkRunner.loadWorkload(options.get("workload", ""));
+            if (workload == null) {
+                throw new IllegalArgumentException(
+                        "Workload " + options.get("workload") + " not supported!");
+            }
+            String configFileName = ConstantConfig.CONFIG_FILE_NAME;
+            URL configUrl = Worker.class.getClassLoader().getResource(configFileName);
+            if (configUrl == null) {
+                throw new IllegalStateException(
+                        "The configFile " + configFileName + " doesn't exist!");
+            }
+            BcosSDK sdk = BcosSDK.build(configUrl.getPath());
+            new BenchmarkRunner(workload, options).setListener(new Listener(channel)).run(sdk);
+        } catch (Exception e) {
+            Map<String, Object> failed = WorkerChannel.message(WorkerChannel.FAILED);
+            failed.put("message", e.getMessage());
+            try {
+                channel.send(failed);
+            } catch (IOException sendError) {
+                logger.warn("report failure to coordinator failed: {}", sendError.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private static class Listener implements BenchmarkRunner.Listener {
+        private final WorkerChannel channel;
+
+        Listener(WorkerChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void onReady() throws Exception {
+            channel.send(WorkerChannel.message(WorkerChannel.READY));
+            long delayMillis =
+                    ((Number) channel.receive(WorkerChannel.START).get("delayMs")).longValue();
+            System.out.println("====== Start in " + delayMillis + "ms ======");
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+        }
+
+        @Override
+        public void onFinished(Collector collector, long endTimestamp, boolean verified)
+                throws Exception {
+            long measureStart =
+                    collector.getWarmup().getMeasureStart(collector.getStartTimestamp());
+            Map<String, Object> result = WorkerChannel.message(WorkerChannel.RESULT);
+            result.put("transactions", collector.getTotal() - collector.getWarmup().getMessages());
+            result.put("errors", collector.getError().get());
+            result.put("durationMs", endTimestamp - measureStart);
+            result.put("verified", verified);
+            result.put("latency", collector.getLatency().encode());
+            result.put("responseLatency", collector.getResponseLatency().encode());
+            result.put("errorCauses", collector.getErrorBreakdown().getCounts());
+            channel.send(result);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The connection between a {@link Coordinator} and one {@link Worker}: one JSON object per line,
+ * with its kind in the {@code type} field.
+ *
+ * <p>Both ends send a heartbeat every few seconds, so a peer that is gone without closing the
+ * connection, e.g. behind a network partition, fails {@link #receive(String)} after the read
+ * timeout instead of blocking it forever, however long the setup or the run takes.
+ */
+class WorkerChannel implements Closeable {
+    static final String HELLO = "hello";
+    static final String RUN = "run";
+    static final String READY = "ready";
+    static final String START = "start";
+    static final String RESULT = "result";
+    static final String FAILED = "failed";
+    static final String HEARTBEAT = "heartbeat";
+
+    static final long DEFAULT_TIMEOUT_MILLIS = 30000;
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 5000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ScheduledExecutorService HEARTBEATS =
+            Executors.newSingleThreadScheduledExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "WorkerChannel-heartbeat");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final OutputStream output;
+    private final long timeoutMillis;
+    private final ScheduledFuture<?> heartbeat;
+
+    /** @param timeoutMillis how long {@link #receive(String)} waits without even a heartbeat */
+    WorkerChannel(Socket socket, long timeoutMillis) throws IOException {
+        this.socket = socket;
+        this.timeoutMillis = timeoutMillis;
+        this.socket.setTcpNoDelay(true);
+        this.socket.setSoTimeout((int) timeoutMillis);
+        this.reader =
+                new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.output = socket.getOutputStream();
+        this.heartbeat =
+                HEARTBEATS.scheduleWithFixedDelay(
+                        this::sendHeartbeat,
+                        HEARTBEAT_INTERVAL_MILLIS,
+                        HEARTBEAT_INTERVAL_MILLIS,
+                        TimeUnit.MILLISECONDS);
+    }
+
+    private void sendHeartbeat() {
+        try {
+            send(message(HEARTBEAT));
+        } catch (IOException e) {
+            // the next receive reports the broken connection
+        }
+    }
+
+    static Map<String, Object> message(String type) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", type);
+        return message;
+    }
+
+    synchronized void send(Map<String, Object> message) throws IOException {
+        output.write(MAPPER.writeValueAsBytes(message));
+        output.write('\n');
+        output.flush();
+    }
+
+    /**
+     * Blocks for the next message, which must be of {@code type}; a failure is rethrown, so is a
+     * silence longer than the timeout.
+     */
+    Map<String, Object> receive(String type) throws IOException {
+        Map<String, Object> message;
+        Object received;
+        do {
+            String line;
+            try {
+                line = reader.readLine();
+            } catch (SocketTimeoutException e) {
+                throw new IOException(
+                        "no message from " + getRemote() + " in " + timeoutMillis + "ms", e);
+            }
+            if (line == null) {
+                throw new EOFException("connection to " + getRemote() + " closed");
+            }
+            message = MAPPER.readValue(line, new TypeReference<Map<String, Object>>() {});
+            received = message.get("type");
+        } while (HEARTBEAT.equals(received));
+        if (FAILED.equals(received)) {
+            throw new IOException(getRemote() + " failed: " + message.get("message"));
+        }
+        if (!type.equals(received)) {
+            throw new IOException(
+                    "expect message " + type + " from " + getRemote() + ", got " + received);
+        }
+        return message;
+    }
+
+    String getRemote() {
+        return socket.getInetAddress().getHostAddress() + ":" + socket.getPort();
+    }
+
+    @Override
+    public void close() {
+        heartbeat.cancel(false);
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+    }
+}
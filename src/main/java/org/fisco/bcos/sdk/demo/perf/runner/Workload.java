@@ -0,0 +1,58 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+
+/**
+ * A benchmark workload driven by {@link BenchmarkRunner}.
+ *
+ * <p>Implementations are discovered with {@link java.util.ServiceLoader} and selected by {@link
+ * #getName()}. The runner owns rate control, concurrency, stop conditions and reporting, a workload
+ * only prepares its contracts and issues requests.
+ */
+public interface Workload {
+
+    /** Name used to select the workload, e.g. {@code --workload=ok}. */
+    String getName();
+
+    /** Workload specific options, printed by the runner usage. */
+    String getUsage();
+
+    /** Deploys or loads contracts and accounts, called once before the first request. */
+    void setup(WorkloadContext context) throws Exception;
+
+    /**
+     * Sends request {@code index} and reports its result through {@code callback}. Called
+     * concurrently from the runner's sender threads, so it must not wait for the receipt. Calls
+     * without a receipt may complete the callback before returning.
+     *
+     * <p>Under a {@link Coordinator} each worker only gets the indexes of its shard, see {@link
+     * WorkloadContext#getShard()}.
+     */
+    void nextRequest(long index, TransactionCallback callback) throws Exception;
+
+    /**
+     * Number of requests the workload can issue, read after {@link #setup}. The runner never asks
+     * for an index beyond it. Negative when unbounded.
+     */
+    default long getRequestCount() {
+        return -1;
+    }
+
+    /** Checks the chain state once every request has completed. */
+    default boolean verify(WorkloadContext context) throws Exception {
+        return true;
+    }
+}
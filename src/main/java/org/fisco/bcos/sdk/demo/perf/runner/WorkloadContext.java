@@ -0,0 +1,97 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.fisco.bcos.sdk.v3.BcosSDK;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.utils.ThreadPoolService;
+
+/** What a {@link Workload} gets from the runner. */
+public class WorkloadContext {
+    private final BcosSDK sdk;
+    private final Client client;
+    private final RunnerOptions options;
+    private final ThreadPoolService threadPoolService;
+
+    public interface IndexedTask {
+        void run(int index) throws Exception;
+    }
+
+    public WorkloadContext(
+            BcosSDK sdk,
+            Client client,
+            RunnerOptions options,
+            ThreadPoolService threadPoolService) {
+        this.sdk = sdk;
+        this.client = client;
+        this.options = options;
+        this.threadPoolService = threadPoolService;
+    }
+
+    public BcosSDK getSdk() {
+        return sdk;
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public RunnerOptions getOptions() {
+        return options;
+    }
+
+    public ThreadPoolService getThreadPoolService() {
+        return threadPoolService;
+    }
+
+    /** @return the shard of this process in a {@link Coordinator} run, 0 otherwise */
+    public int getShard() {
+        return options.getInt("shard", 0);
+    }
+
+    /** @return the number of worker processes of a {@link Coordinator} run, 1 otherwise */
+    public int getShardCount() {
+        return options.getInt("shards", 1);
+    }
+
+    /**
+     * Runs {@code task} for every index in [0, count) on the runner's thread pool and waits for all
+     * of them. Rethrows the first failure, if any.
+     */
+    public void runParallel(int count, IndexedTask task) throws Exception {
+        CountDownLatch latch = new CountDownLatch(count);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        for (int i = 0; i < count; ++i) {
+            final int index = i;
+            threadPoolService
+                    .getThreadPool()
+                    .execute(
+                            () -> {
+                                try {
+                                    task.run(index);
+                                } catch (Exception e) {
+                                    failure.compareAndSet(null, e);
+                                } finally {
+                                    latch.countDown();
+                                }
+                            });
+        }
+        latch.await();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+}
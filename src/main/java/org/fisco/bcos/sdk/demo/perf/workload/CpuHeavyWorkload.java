@@ -0,0 +1,90 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.workload;
+
+import java.math.BigInteger;
+import org.fisco.bcos.sdk.demo.contract.CpuHeavyContract;
+import org.fisco.bcos.sdk.demo.contract.CpuHeavyPrecompiled;
+import org.fisco.bcos.sdk.demo.contract.ParallelCpuHeavy;
+import org.fisco.bcos.sdk.demo.perf.runner.RunnerOptions;
+import org.fisco.bcos.sdk.demo.perf.runner.Workload;
+import org.fisco.bcos.sdk.demo.perf.runner.WorkloadContext;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+
+/** Sorts an array on chain, with the solidity contract or the precompiled one. */
+public class CpuHeavyWorkload implements Workload {
+    private static final int DEFAULT_SORT_ARRAY_SIZE = 100000;
+
+    private CpuHeavyContract[] contracts;
+    private BigInteger sortArraySize;
+    private int shards;
+
+    @Override
+    public String getName() {
+        return "cpuheavy";
+    }
+
+    @Override
+    public String getUsage() {
+        return "[--type=solidity|precompiled] [--contracts=1] [--parallel=false] [--sort-size="
+                + DEFAULT_SORT_ARRAY_SIZE
+                + "]";
+    }
+
+    @Override
+    public void setup(WorkloadContext context) throws Exception {
+        RunnerOptions options = context.getOptions();
+        String type = options.get("type", "solidity");
+        if (!type.equals("precompiled") && !type.equals("solidity")) {
+            throw new IllegalArgumentException("type " + type + " not supported!");
+        }
+        int contractsNum = options.getInt("contracts", 1);
+        boolean enableParallel = options.getBoolean("parallel", false);
+        shards = context.getShardCount();
+        sortArraySize = BigInteger.valueOf(options.getInt("sort-size", DEFAULT_SORT_ARRAY_SIZE));
+
+        Client client = context.getClient();
+        contracts = new CpuHeavyContract[contractsNum];
+        if (type.equals("precompiled")) {
+            for (int i = 0; i < contractsNum; ++i) {
+                contracts[i] =
+                        CpuHeavyPrecompiled.load(
+                                i, client, client.getCryptoSuite().getCryptoKeyPair());
+                contracts[i].setEnableDAG(enableParallel);
+            }
+            return;
+        }
+        System.out.println("Create contract...");
+        context.runParallel(
+                contractsNum,
+                index -> {
+                    ParallelCpuHeavy contract =
+                            ParallelCpuHeavy.deploy(
+                                    client, client.getCryptoSuite().getCryptoKeyPair());
+                    if (enableParallel) {
+                        contract.enableParallel();
+                    }
+                    contracts[index] = contract;
+                });
+        System.out.println("Create contract finished!");
+    }
+
+    @Override
+    public void nextRequest(long index, TransactionCallback callback) {
+        // the signature only has to differ per transaction, see ParallelCpuHeavy.sol
+        contracts[(int) ((index / shards) % contracts.length)].sort(
+                sortArraySize, BigInteger.valueOf(index), callback);
+    }
+}
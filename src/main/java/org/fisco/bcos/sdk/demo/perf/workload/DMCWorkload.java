@@ -0,0 +1,112 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.workload;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.demo.contract.Account;
+import org.fisco.bcos.sdk.demo.perf.model.KeyChooser;
+import org.fisco.bcos.sdk.demo.perf.runner.Workload;
+import org.fisco.bcos.sdk.demo.perf.runner.WorkloadContext;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+
+/**
+ * Adds balance to one {@code Account} contract per user, round robin over the users or by {@code
+ * -Dperf.keyChooser}.
+ */
+public class DMCWorkload implements Workload {
+    private static final int MAX_INIT_BALANCE = 1000000;
+
+    private Account[] accounts;
+    private AtomicLong[] expectBalances;
+    private int shards;
+    private KeyChooser keyChooser;
+
+    @Override
+    public String getName() {
+        return "dmc";
+    }
+
+    @Override
+    public String getUsage() {
+        return "[--users=100] [-Dperf.keyChooser=sequential]";
+    }
+
+    @Override
+    public void setup(WorkloadContext context) throws Exception {
+        int userCount = context.getOptions().getInt("users", 100);
+        shards = context.getShardCount();
+        keyChooser = KeyChooser.fromSystemProperty(KeyChooser.SEQUENTIAL);
+        Client client = context.getClient();
+        accounts = new Account[userCount];
+        expectBalances = new AtomicLong[userCount];
+        System.out.println("Create account...");
+        context.runParallel(
+                userCount,
+                index -> {
+                    long initBalance = ThreadLocalRandom.current().nextInt(MAX_INIT_BALANCE);
+                    Account account =
+                            Account.deploy(client, client.getCryptoSuite().getCryptoKeyPair());
+                    account.addBalance(BigInteger.valueOf(initBalance));
+                    accounts[index] = account;
+                    expectBalances[index] = new AtomicLong(initBalance);
+                });
+        System.out.println("Create account finished!");
+        System.out.println("Key chooser: " + keyChooser.describe(userCount));
+    }
+
+    @Override
+    public void nextRequest(long index, TransactionCallback callback) {
+        // the accounts are this worker's own, spread its share of the indexes over all of them
+        final int user = keyChooser.choose(index / shards, accounts.length);
+        final long value = ThreadLocalRandom.current().nextInt(1000);
+        accounts[user].addBalance(
+                BigInteger.valueOf(value),
+                new TransactionCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt receipt) {
+                        if (receipt.isStatusOK()) {
+                            expectBalances[user].addAndGet(value);
+                        }
+                        callback.onResponse(receipt);
+                    }
+                });
+    }
+
+    @Override
+    public boolean verify(WorkloadContext context) throws Exception {
+        AtomicInteger failed = new AtomicInteger(0);
+        context.runParallel(
+                accounts.length,
+                index -> {
+                    BigInteger balance = accounts[index].balance();
+                    long expectBalance = expectBalances[index].get();
+                    if (balance.longValue() != expectBalance) {
+                        failed.incrementAndGet();
+                        System.out.println(
+                                "Check failed! Account["
+                                        + index
+                                        + "] balance: "
+                                        + balance
+                                        + " not equal to expected: "
+                                        + expectBalance);
+                    }
+                });
+        return failed.get() == 0;
+    }
+}
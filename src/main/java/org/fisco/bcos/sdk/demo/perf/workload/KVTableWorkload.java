@@ -0,0 +1,76 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.workload;
+
+import java.util.UUID;
+import org.fisco.bcos.sdk.demo.contract.KVTableTest;
+import org.fisco.bcos.sdk.demo.perf.runner.Workload;
+import org.fisco.bcos.sdk.demo.perf.runner.WorkloadContext;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceiptStatus;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
+
+/** Sets or gets entries of {@code KVTableTest}, keyed by request index. */
+public class KVTableWorkload implements Workload {
+    private boolean get;
+    private KVTableTest kvTableTest;
+
+    @Override
+    public String getName() {
+        return "kvtable";
+    }
+
+    @Override
+    public String getUsage() {
+        return "[--op=set|get]";
+    }
+
+    @Override
+    public void setup(WorkloadContext context) throws Exception {
+        String op = context.getOptions().get("op", "set").toLowerCase();
+        if (!op.equals("set") && !op.equals("get")) {
+            throw new IllegalArgumentException("op " + op + " not supported!");
+        }
+        get = op.equals("get");
+        Client client = context.getClient();
+        kvTableTest = KVTableTest.deploy(client, client.getCryptoSuite().getCryptoKeyPair());
+        if (kvTableTest.getDeployReceipt().getStatus()
+                != TransactionReceiptStatus.Success.getCode()) {
+            throw new ContractException(
+                    "deploy failed: " + kvTableTest.getDeployReceipt().getMessage());
+        }
+        System.out.println(
+                "====== Deploy KVTableTest success, address: "
+                        + kvTableTest.getContractAddress()
+                        + " ====== ");
+    }
+
+    @Override
+    public void nextRequest(long index, TransactionCallback callback) throws Exception {
+        if (!get) {
+            kvTableTest.set(String.valueOf(index), "apple" + getId(), callback);
+            return;
+        }
+        kvTableTest.get(String.valueOf(index));
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setStatus(0);
+        callback.onResponse(receipt);
+    }
+
+    private static String getId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
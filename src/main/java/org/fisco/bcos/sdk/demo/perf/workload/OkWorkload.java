@@ -0,0 +1,51 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.workload;
+
+import java.math.BigInteger;
+import org.fisco.bcos.sdk.demo.contract.Ok;
+import org.fisco.bcos.sdk.demo.perf.runner.Workload;
+import org.fisco.bcos.sdk.demo.perf.runner.WorkloadContext;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+
+/** Calls {@code Ok.trans} on a single freshly deployed contract. */
+public class OkWorkload implements Workload {
+    private static final BigInteger VALUE = BigInteger.valueOf(4);
+
+    private Ok ok;
+
+    @Override
+    public String getName() {
+        return "ok";
+    }
+
+    @Override
+    public String getUsage() {
+        return "";
+    }
+
+    @Override
+    public void setup(WorkloadContext context) throws Exception {
+        Client client = context.getClient();
+        ok = Ok.deploy(client, client.getCryptoSuite().getCryptoKeyPair());
+        System.out.println(
+                "====== Deploy Ok succ, address: " + ok.getContractAddress() + " ====== ");
+    }
+
+    @Override
+    public void nextRequest(long index, TransactionCallback callback) {
+        ok.trans(VALUE, callback);
+    }
+}
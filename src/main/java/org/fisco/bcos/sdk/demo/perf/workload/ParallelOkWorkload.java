@@ -0,0 +1,139 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.workload;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.sdk.demo.contract.ParallelOk;
+import org.fisco.bcos.sdk.demo.perf.model.DagUserInfo;
+import org.fisco.bcos.sdk.demo.perf.model.KeyChooser;
+import org.fisco.bcos.sdk.demo.perf.runner.RunnerOptions;
+import org.fisco.bcos.sdk.demo.perf.runner.Workload;
+import org.fisco.bcos.sdk.demo.perf.runner.WorkloadContext;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+
+/**
+ * The transfer test of {@code ParallelOkPerf}: {@code ParallelOk.transfer} between the users of a
+ * {@link DagUserInfo}, picked by its {@link KeyChooser}. Setup deploys the contract and adds the
+ * users, which belong to this worker alone in a distributed run.
+ */
+public class ParallelOkWorkload implements Workload {
+    private static final long INIT_BALANCE = 1000000000L;
+
+    private final DagUserInfo dagUserInfo = new DagUserInfo();
+    private ParallelOk parallelOk;
+    private int shards;
+
+    @Override
+    public String getName() {
+        return "parallelok";
+    }
+
+    @Override
+    public String getUsage() {
+        return "[--users=1000] [--parallel=true] [-Dperf.keyChooser=sequential]";
+    }
+
+    @Override
+    public void setup(WorkloadContext context) throws Exception {
+        RunnerOptions options = context.getOptions();
+        int userCount = options.getInt("users", 1000);
+        boolean isParallel = options.getBoolean("parallel", true);
+        shards = context.getShardCount();
+        if (userCount < 2) {
+            throw new IllegalArgumentException("at least 2 users are required");
+        }
+
+        Client client = context.getClient();
+        parallelOk =
+                ParallelOk.deploy(client, client.getCryptoSuite().getCryptoKeyPair(), isParallel);
+        dagUserInfo.setContractAddr(parallelOk.getContractAddress());
+        System.out.println(
+                "====== Deploy ParallelOk succ, address: "
+                        + parallelOk.getContractAddress()
+                        + " ====== ");
+
+        String prefix = Long.toHexString(System.currentTimeMillis() / 1000L);
+        if (shards > 1) {
+            // workers of a distributed run start in the same second
+            prefix += "s" + context.getShard() + "u";
+        }
+        for (int i = 0; i < userCount; ++i) {
+            dagUserInfo.addUser(prefix + Integer.toHexString(i), INIT_BALANCE);
+        }
+        System.out.println("Create " + userCount + " users...");
+        context.runParallel(
+                userCount,
+                index -> {
+                    TransactionReceipt receipt =
+                            parallelOk.set(
+                                    dagUserInfo.getUser(index), BigInteger.valueOf(INIT_BALANCE));
+                    if (!receipt.isStatusOK()) {
+                        throw new IllegalStateException(
+                                "create user failed, status: " + receipt.getStatus());
+                    }
+                });
+        System.out.println("Create users finished!");
+        System.out.println(
+                "Key chooser: " + dagUserInfo.getKeyChooser().describe(dagUserInfo.size()));
+    }
+
+    @Override
+    public void nextRequest(long index, TransactionCallback callback) {
+        // the users are this worker's own, spread its share of the indexes over all of them
+        long localIndex = index / shards;
+        KeyChooser chooser = dagUserInfo.getKeyChooser();
+        final int from = chooser.choose(localIndex, dagUserInfo.size());
+        final int to = chooser.chooseOther(localIndex, from, dagUserInfo.size());
+        final long amount = ThreadLocalRandom.current().nextInt(100) + 1;
+        parallelOk.transfer(
+                dagUserInfo.getUser(from),
+                dagUserInfo.getUser(to),
+                BigInteger.valueOf(amount),
+                new TransactionCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt receipt) {
+                        if (receipt.isStatusOK()) {
+                            dagUserInfo.transfer(from, to, amount);
+                        }
+                        callback.onResponse(receipt);
+                    }
+                });
+    }
+
+    @Override
+    public boolean verify(WorkloadContext context) throws Exception {
+        AtomicInteger failed = new AtomicInteger(0);
+        context.runParallel(
+                dagUserInfo.size(),
+                index -> {
+                    BigInteger balance = parallelOk.balanceOf(dagUserInfo.getUser(index));
+                    long expectBalance = dagUserInfo.getAmount(index);
+                    if (balance.longValue() != expectBalance) {
+                        failed.incrementAndGet();
+                        System.out.println(
+                                "Check failed! User "
+                                        + dagUserInfo.getUser(index)
+                                        + " balance: "
+                                        + balance
+                                        + " not equal to expected: "
+                                        + expectBalance);
+                    }
+                });
+        return failed.get() == 0;
+    }
+}
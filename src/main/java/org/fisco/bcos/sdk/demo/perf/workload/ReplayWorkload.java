@@ -0,0 +1,116 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.workload;
+
+import java.nio.file.Paths;
+import org.fisco.bcos.sdk.demo.perf.replay.SignedTxSource;
+import org.fisco.bcos.sdk.demo.perf.replay.TxCorpusReader;
+import org.fisco.bcos.sdk.demo.perf.runner.Workload;
+import org.fisco.bcos.sdk.demo.perf.runner.WorkloadContext;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.fisco.bcos.sdk.v3.transaction.pusher.TransactionPusherService;
+
+/**
+ * Pushes pre-signed transactions from a file written by a {@code generate} mode, hex text or a
+ * binary corpus, so the client spends nothing on encoding and signing. Every transaction is sent
+ * once, in file order.
+ */
+public class ReplayWorkload implements Workload {
+    private SignedTxSource file;
+    private TransactionPusherService pusher;
+
+    @Override
+    public String getName() {
+        return "replay";
+    }
+
+    @Override
+    public String getUsage() {
+        return "--file=[signed transactions, hex per line or binary corpus] (use --qps=0 to send as fast as possible)";
+    }
+
+    @Override
+    public void setup(WorkloadContext context) throws Exception {
+        String path = context.getOptions().get("file");
+        if (path == null) {
+            throw new IllegalArgumentException("--file is required");
+        }
+        long start = System.currentTimeMillis();
+        file = SignedTxSource.open(Paths.get(path));
+        System.out.println(
+                "====== Indexed "
+                        + file.size()
+                        + " transactions of "
+                        + path
+                        + " in "
+                        + (System.currentTimeMillis() - start)
+                        + "ms ======");
+        if (file instanceof TxCorpusReader) {
+            checkCorpus((TxCorpusReader) file, context);
+        }
+        pusher = new TransactionPusherService(context.getClient());
+    }
+
+    private static void checkCorpus(TxCorpusReader corpus, WorkloadContext context) {
+        System.out.println(
+                "====== Corpus group: "
+                        + corpus.getGroup()
+                        + ", chain: "
+                        + corpus.getChainId()
+                        + ", contract: "
+                        + (corpus.getContractAddress() == null
+                                ? "several"
+                                : corpus.getContractAddress())
+                        + ", block limit: ["
+                        + corpus.getBlockLimitStart()
+                        + ", "
+                        + corpus.getBlockLimitEnd()
+                        + "], "
+                        + corpus.getBlockCount()
+                        + (corpus.isDeflated() ? " deflated" : "")
+                        + " blocks ======");
+        if (!corpus.getGroup().equals(context.getClient().getGroup())) {
+            System.out.println(
+                    "WARN: corpus was signed for group "
+                            + corpus.getGroup()
+                            + ", replaying to "
+                            + context.getClient().getGroup());
+        }
+        long blockNumber = context.getClient().getBlockNumber().getBlockNumber().longValue();
+        if (blockNumber >= corpus.getBlockLimitStart()) {
+            System.out.println(
+                    "WARN: current block "
+                            + blockNumber
+                            + " reached the block limit of the first transactions ("
+                            + corpus.getBlockLimitStart()
+                            + "), expired transactions will be rejected");
+        }
+    }
+
+    @Override
+    public long getRequestCount() {
+        return file.size();
+    }
+
+    @Override
+    public void nextRequest(long index, TransactionCallback callback) throws Exception {
+        pusher.pushAsync(file.getTransaction(index), callback);
+    }
+
+    @Override
+    public boolean verify(WorkloadContext context) throws Exception {
+        file.close();
+        return true;
+    }
+}
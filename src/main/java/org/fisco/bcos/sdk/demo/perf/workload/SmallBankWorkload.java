@@ -0,0 +1,117 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.workload;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import org.fisco.bcos.sdk.demo.contract.SmallBankPrecompiled;
+import org.fisco.bcos.sdk.demo.perf.model.KeyChooser;
+import org.fisco.bcos.sdk.demo.perf.runner.RunnerOptions;
+import org.fisco.bcos.sdk.demo.perf.runner.Workload;
+import org.fisco.bcos.sdk.demo.perf.runner.WorkloadContext;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+
+/**
+ * Payments between users of the precompiled SmallBank. Setup funds every user on every contract,
+ * then request n pays from user n to user n + 1, or between the users {@code -Dperf.keyChooser}
+ * picks when it is set.
+ */
+public class SmallBankWorkload implements Workload {
+    private static final BigInteger INIT_BALANCE = BigInteger.valueOf(1000000000);
+
+    private SmallBankPrecompiled[] contracts;
+    private String[] users;
+    private int shards;
+    private KeyChooser keyChooser = null;
+
+    @Override
+    public String getName() {
+        return "smallbank";
+    }
+
+    @Override
+    public String getUsage() {
+        return "[--contracts=1] [--users=1000] [--parallel=false] [-Dperf.keyChooser=sequential]";
+    }
+
+    @Override
+    public void setup(WorkloadContext context) throws Exception {
+        RunnerOptions options = context.getOptions();
+        int contractsNum = options.getInt("contracts", 1);
+        int userCount = options.getInt("users", 1000);
+        boolean enableParallel = options.getBoolean("parallel", false);
+        shards = context.getShardCount();
+        if (userCount < 2) {
+            throw new IllegalArgumentException("at least 2 users are required");
+        }
+
+        if (System.getProperty(KeyChooser.PROPERTY) != null) {
+            keyChooser = KeyChooser.fromSystemProperty(KeyChooser.SEQUENTIAL);
+            System.out.println("Key chooser: " + keyChooser.describe(userCount));
+        }
+
+        Client client = context.getClient();
+        contracts = new SmallBankPrecompiled[contractsNum];
+        for (int i = 0; i < contractsNum; ++i) {
+            contracts[i] =
+                    SmallBankPrecompiled.load(
+                            i, client, client.getCryptoSuite().getCryptoKeyPair());
+            contracts[i].setEnableDAG(enableParallel);
+        }
+
+        String prefix = Long.toHexString(System.currentTimeMillis() / 1000L);
+        if (context.getShardCount() > 1) {
+            // workers of a distributed run start in the same second
+            prefix += "s" + context.getShard() + "u";
+        }
+        users = new String[userCount];
+        for (int i = 0; i < userCount; ++i) {
+            users[i] = prefix + Integer.toHexString(i);
+        }
+        System.out.println("Create " + userCount + " users...");
+        context.runParallel(
+                userCount * contractsNum,
+                index -> {
+                    TransactionReceipt receipt =
+                            contracts[index % contractsNum].updateBalance(
+                                    users[index / contractsNum], INIT_BALANCE);
+                    if (!receipt.isStatusOK()) {
+                        throw new IllegalStateException(
+                                "create user failed, status: " + receipt.getStatus());
+                    }
+                });
+        System.out.println("Create users finished!");
+    }
+
+    @Override
+    public void nextRequest(long index, TransactionCallback callback) {
+        // the users are this worker's own, spread its share of the indexes over all of them
+        long localIndex = index / shards;
+        SmallBankPrecompiled contract = contracts[(int) (localIndex % contracts.length)];
+        long userIndex = localIndex / contracts.length;
+        int from;
+        int to;
+        if (keyChooser == null) {
+            from = (int) (userIndex % users.length);
+            to = (from + 1) % users.length;
+        } else {
+            from = keyChooser.choose(userIndex, users.length);
+            to = keyChooser.chooseOther(userIndex, from, users.length);
+        }
+        BigInteger amount = BigInteger.valueOf(ThreadLocalRandom.current().nextInt(10) + 1);
+        contract.sendPayment(users[from], users[to], amount, callback);
+    }
+}
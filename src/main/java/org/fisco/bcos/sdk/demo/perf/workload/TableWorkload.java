@@ -0,0 +1,91 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.workload;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.fisco.bcos.sdk.demo.contract.TableTest;
+import org.fisco.bcos.sdk.demo.perf.runner.Workload;
+import org.fisco.bcos.sdk.demo.perf.runner.WorkloadContext;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceiptStatus;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
+
+/** Insert, update, remove or select rows of {@code TableTest}, keyed by request index. */
+public class TableWorkload implements Workload {
+    private static final List<String> SUPPORT_OPS =
+            Arrays.asList("insert", "update", "remove", "select");
+
+    private String op;
+    private TableTest tableTest;
+
+    @Override
+    public String getName() {
+        return "table";
+    }
+
+    @Override
+    public String getUsage() {
+        return "[--op=insert|update|remove|select]";
+    }
+
+    @Override
+    public void setup(WorkloadContext context) throws Exception {
+        op = context.getOptions().get("op", "insert").toLowerCase();
+        if (!SUPPORT_OPS.contains(op)) {
+            throw new IllegalArgumentException("op " + op + " not supported!");
+        }
+        Client client = context.getClient();
+        tableTest = TableTest.deploy(client, client.getCryptoSuite().getCryptoKeyPair());
+        if (tableTest.getDeployReceipt().getStatus()
+                != TransactionReceiptStatus.Success.getCode()) {
+            throw new ContractException(
+                    "deploy failed: " + tableTest.getDeployReceipt().getMessage());
+        }
+        System.out.println(
+                "====== Deploy TableTest success, address: "
+                        + tableTest.getContractAddress()
+                        + " ====== ");
+    }
+
+    @Override
+    public void nextRequest(long index, TransactionCallback callback) throws Exception {
+        switch (op) {
+            case "insert":
+                tableTest.insert(
+                        "fruit" + index, String.valueOf(index), "apple" + getId(), callback);
+                break;
+            case "update":
+                tableTest.update(
+                        "fruit" + index, String.valueOf(index), "apple" + getId(), callback);
+                break;
+            case "remove":
+                tableTest.remove("fruit" + index, callback);
+                break;
+            default:
+                tableTest.select("fruit" + index);
+                TransactionReceipt receipt = new TransactionReceipt();
+                receipt.setStatus(0);
+                callback.onResponse(receipt);
+                break;
+        }
+    }
+
+    private static String getId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
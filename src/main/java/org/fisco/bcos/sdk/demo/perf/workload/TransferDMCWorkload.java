@@ -0,0 +1,128 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.workload;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.demo.contract.Account;
+import org.fisco.bcos.sdk.demo.perf.model.KeyChooser;
+import org.fisco.bcos.sdk.demo.perf.runner.Workload;
+import org.fisco.bcos.sdk.demo.perf.runner.WorkloadContext;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+
+/**
+ * The transfer test of {@code PerformanceTransferDMC}: {@code Account.transfer} between one {@code
+ * Account} contract per user, sender and receiver picked by {@code -Dperf.keyChooser} (uniform by
+ * default). The accounts belong to this worker alone in a distributed run.
+ */
+public class TransferDMCWorkload implements Workload {
+    private static final long INIT_BALANCE = 1000000000L;
+
+    private Account[] accounts;
+    private AtomicLong[] expectBalances;
+    private KeyChooser keyChooser;
+    private int shards;
+
+    @Override
+    public String getName() {
+        return "transferdmc";
+    }
+
+    @Override
+    public String getUsage() {
+        return "[--users=100] [-Dperf.keyChooser=uniform]";
+    }
+
+    @Override
+    public void setup(WorkloadContext context) throws Exception {
+        int userCount = context.getOptions().getInt("users", 100);
+        shards = context.getShardCount();
+        if (userCount < 2) {
+            throw new IllegalArgumentException("at least 2 users are required");
+        }
+        Client client = context.getClient();
+        accounts = new Account[userCount];
+        expectBalances = new AtomicLong[userCount];
+        System.out.println("Create account...");
+        context.runParallel(
+                userCount,
+                index -> {
+                    Account account =
+                            Account.deploy(client, client.getCryptoSuite().getCryptoKeyPair());
+                    TransactionReceipt receipt =
+                            account.addBalance(BigInteger.valueOf(INIT_BALANCE));
+                    if (!receipt.isStatusOK()) {
+                        throw new IllegalStateException(
+                                "create account failed, status: " + receipt.getStatus());
+                    }
+                    accounts[index] = account;
+                    expectBalances[index] = new AtomicLong(INIT_BALANCE);
+                });
+        System.out.println("Create account finished!");
+        keyChooser = KeyChooser.fromSystemProperty(KeyChooser.UNIFORM);
+        System.out.println("Key chooser: " + keyChooser.describe(userCount));
+    }
+
+    @Override
+    public void nextRequest(long index, TransactionCallback callback) {
+        // the accounts are this worker's own, spread its share of the indexes over all of them
+        long localIndex = index / shards;
+        final int from = keyChooser.choose(localIndex, accounts.length);
+        final int to = keyChooser.chooseOther(localIndex, from, accounts.length);
+        final long value = ThreadLocalRandom.current().nextInt(1000);
+        accounts[from].transfer(
+                accounts[to].getContractAddress(),
+                BigInteger.valueOf(value),
+                new TransactionCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt receipt) {
+                        if (receipt.isStatusOK()) {
+                            expectBalances[from].addAndGet(-value);
+                            expectBalances[to].addAndGet(value);
+                        }
+                        callback.onResponse(receipt);
+                    }
+                });
+    }
+
+    @Override
+    public boolean verify(WorkloadContext context) throws Exception {
+        AtomicInteger failed = new AtomicInteger(0);
+        AtomicLong totalBalance = new AtomicLong(0);
+        context.runParallel(
+                accounts.length,
+                index -> {
+                    BigInteger balance = accounts[index].balance();
+                    totalBalance.addAndGet(balance.longValue());
+                    long expectBalance = expectBalances[index].get();
+                    if (balance.longValue() != expectBalance) {
+                        failed.incrementAndGet();
+                        System.out.println(
+                                "Check failed! Account["
+                                        + index
+                                        + "] balance: "
+                                        + balance
+                                        + " not equal to expected: "
+                                        + expectBalance);
+                    }
+                });
+        long expect = accounts.length * INIT_BALANCE;
+        System.out.println("Total balance: " + totalBalance + " expect: " + expect);
+        return failed.get() == 0 && totalBalance.get() == expect;
+    }
+}
@@ -3,6 +3,7 @@ package org.fisco.bcos.sdk.demo.transaction;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import org.bouncycastle.util.encoders.Hex;
+import org.fisco.bcos.sdk.demo.perf.collector.PhaseTracer;
 import org.fisco.bcos.sdk.jni.common.JniException;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
@@ -36,6 +37,8 @@ public class LegoTransaction {
         TransactionResponse response;
         BasicAbiTransaction abiTx;
         TransactionCallback txCallback;
+        // set when the transaction is sampled for the phase breakdown
+        PhaseTracer.Trace trace;
         /**
          * 签名结果回调的实现
          *
@@ -71,9 +74,18 @@ public class LegoTransaction {
             byte[] signedTransaction =
                     abiTx.encodeRawTransactionWithSignature(
                             rawTransaction, signature, bcosClientWrapper.getClient().isWASM());
+            if (trace != null) {
+                trace.mark(PhaseTracer.Phase.SIGN);
+            }
             System.out.println("3:signedTransaction: " + new String(Hex.encode(signedTransaction)));
             // 发送交易，传入调用者的TransactionCallback
-            txPusher.pushAsync(Hex.toHexString(signedTransaction), txCallback);
+            String signedTx = Hex.toHexString(signedTransaction);
+            if (trace == null) {
+                txPusher.pushAsync(signedTx, txCallback);
+            } else {
+                txPusher.pushAsync(signedTx, trace.push(txCallback));
+                trace.pushed();
+            }
             return 0;
         }
     }
@@ -162,15 +174,19 @@ public class LegoTransaction {
             throws ContractCodecException, JsonProcessingException, TransactionException,
                     IOException, JniException {
         // 创建RawTransaction
-
+        PhaseTracer.Trace trace = PhaseTracer.getInstance().sample();
         long rawTransaction =
                 abiTx.makeMethodRawTransaction(
                         bcosClientWrapper.getClient(),
                         chainId,
                         bcosClientWrapper.getClient().getGroup());
+        if (trace != null) {
+            trace.mark(PhaseTracer.Phase.ENCODE);
+        }
         SignedTxCallback afterSignedTxCallback =
                 new SignedTxCallback(
                         bcosClientWrapper.getClient(), abiTx, rawTransaction, txCallback);
+        afterSignedTxCallback.trace = trace;
         // 请求签名服务，获取交易HASH的签名
         byte[] rawTxHash = abiTx.calcRawTransactionHash(rawTransaction);
         signTxImpl.requestForSignAsync(
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+    @Test
+    public void smallValuesAreExact() {
+        for (long value = 0; value < 128; ++value) {
+            int index = LatencyHistogram.indexOf(value);
+            assertEquals(value, index);
+            assertEquals(value, LatencyHistogram.valueFromIndex(index));
+            assertEquals(value, LatencyHistogram.highestEquivalentValue(index));
+        }
+    }
+
+    @Test
+    public void bucketsCoverValuesWithinResolution() {
+        long[] values = {128, 129, 255, 256, 1000, 123456789L, 1L << 40, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            long lowest = LatencyHistogram.valueFromIndex(index);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(value + " below its bucket", lowest <= value);
+            assertTrue(value + " above its bucket", value <= highest);
+            assertTrue(value + " bucket too wide", (highest - lowest) <= lowest / 64);
+            // the next bucket starts right after this one
+            if (value != Long.MAX_VALUE) {
+                assertEquals(highest + 1, LatencyHistogram.valueFromIndex(index + 1));
+            }
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10000; ++i) {
+            histogram.record(i, TimeUnit.MICROSECONDS);
+        }
+        assertEquals(10000, histogram.getTotalCount());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(10000), histogram.getMax());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(5000) + 500, histogram.getMean(), 1e-6);
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(1), histogram.getMin());
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(5000), histogram.getValueAtPercentile(50));
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(9900), histogram.getValueAtPercentile(99));
+        assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+        assertEquals(0, new LatencyHistogram().getValueAtPercentile(99));
+    }
+
+    @Test
+    public void countBelowIsBucketAccurate() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; ++i) {
+            histogram.record(i * 1000);
+        }
+        long below = histogram.getCountBelow(500000);
+        assertTrue(below <= 499);
+        assertTrue(below >= 499 - 500 / 64 - 1);
+        assertEquals(0, histogram.getCountBelow(0));
+        assertEquals(1000, histogram.getCountBelow(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void minusKeepsOnlyLaterValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100; ++i) {
+            histogram.record(i * 1000000);
+        }
+        LatencyHistogram earlier = histogram.copy();
+        histogram.record(5000);
+        histogram.record(7000);
+
+        LatencyHistogram delta = histogram.minus(earlier);
+        assertEquals(2, delta.getTotalCount());
+        assertEquals(12000, delta.getSum());
+        assertWithin(7000, delta.getMax());
+        assertWithin(5000, delta.getValueAtPercentile(50));
+        assertEquals(0, histogram.minus(histogram.copy()).getTotalCount());
+    }
+
+    @Test
+    public void encodeDecodeRoundTrip() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 0; i < 5000; ++i) {
+            histogram.record((i * 7919) % 100000000);
+        }
+        Map<String, Object> encoded = histogram.encode();
+        LatencyHistogram decoded = LatencyHistogram.decode(encoded);
+        assertEquals(histogram.getTotalCount(), decoded.getTotalCount());
+        assertEquals(histogram.getSum(), decoded.getSum());
+        assertEquals(histogram.getMax(), decoded.getMax());
+        assertEquals(histogram.getMin(), decoded.getMin());
+        for (double p : new double[] {1, 50, 90, 99, 99.9}) {
+            assertEquals(histogram.getValueAtPercentile(p), decoded.getValueAtPercentile(p));
+        }
+        assertEquals(encoded, decoded.encode());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertEquals((double) expected, (double) actual, expected / 64.0);
+    }
+}
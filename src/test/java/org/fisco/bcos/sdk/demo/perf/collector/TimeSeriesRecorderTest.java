@@ -0,0 +1,110 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.collector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TimeSeriesRecorderTest {
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<String, Long> causes = new TreeMap<>();
+    private long sent;
+
+    private final MetricsSource source =
+            new MetricsSource() {
+                @Override
+                public long getSent() {
+                    return sent;
+                }
+
+                @Override
+                public long getReceived() {
+                    return latency.getTotalCount();
+                }
+
+                @Override
+                public long getErrors() {
+                    return causes.values().stream().mapToLong(Long::longValue).sum();
+                }
+
+                @Override
+                public void addLatency(LatencyHistogram into) {
+                    into.add(latency);
+                }
+
+                @Override
+                public void addResponseLatency(LatencyHistogram into) {}
+
+                @Override
+                public Map<String, Long> getErrorCounts() {
+                    return causes;
+                }
+            };
+
+    @Test
+    public void jsonLines() throws Exception {
+        File file = new File(folder.getRoot(), "run.jsonl");
+        record(file);
+
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertTrue(lines.size() >= 1);
+        JsonNode row = new ObjectMapper().readTree(lines.get(lines.size() - 1));
+        assertEquals(10, row.get("sent").asLong());
+        assertEquals(8, row.get("received").asLong());
+        assertEquals(2, row.get("errors").asLong());
+        assertEquals(2, row.get("in_flight").asLong());
+        assertTrue(row.get("latency_max_ms").isNumber());
+        assertEquals(2, row.get("error_causes").get("exception:\"quoted\"").asLong());
+    }
+
+    @Test
+    public void csv() throws Exception {
+        File file = new File(folder.getRoot(), "run.csv");
+        record(file);
+
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertTrue(lines.get(0).startsWith("timestamp,elapsed_s,sent,received,errors"));
+        String[] row = lines.get(lines.size() - 1).split(",", -1);
+        assertEquals("10", row[2]);
+        assertEquals("8", row[3]);
+        assertTrue(row[12], row[12].matches("\\d+\\.\\d{3}"));
+        assertEquals("exception:\"quoted\"=2", row[14]);
+    }
+
+    private void record(File file) throws Exception {
+        TimeSeriesRecorder recorder = new TimeSeriesRecorder(file.getPath(), source, 100000);
+        recorder.start();
+        sent = 10;
+        for (int i = 1; i <= 8; ++i) {
+            latency.record(i * 1000000L);
+        }
+        // a cause that needs escaping in JSON
+        causes.put("exception:\"quoted\"", 2L);
+        Thread.sleep(10);
+        recorder.stop();
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class KeyChooserTest {
+    private static final int SAMPLES = 200000;
+
+    @Test
+    public void parse() {
+        assertEquals("sequential", KeyChooser.parse("sequential").toString());
+        assertEquals("uniform", KeyChooser.parse(" Uniform ").toString());
+        assertEquals("zipfian:0.99", KeyChooser.parse("zipfian").toString());
+        assertEquals("zipfian:0.5", KeyChooser.parse("zipfian:0.5").toString());
+        assertEquals("hotspot:0.9:0.1", KeyChooser.parse("hotspot").toString());
+        assertEquals("hotspot:0.8:0.01", KeyChooser.parse("hotspot:0.8:0.01").toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownChooser() {
+        KeyChooser.parse("gaussian");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidTheta() {
+        KeyChooser.parse("zipfian:1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidHotspot() {
+        KeyChooser.parse("hotspot:0.9:0");
+    }
+
+    @Test
+    public void sequential() {
+        KeyChooser chooser = KeyChooser.parse("sequential");
+        for (long index = 0; index < 100; ++index) {
+            assertEquals(index % 10, chooser.choose(index, 10));
+            int from = chooser.choose(index, 10);
+            assertEquals((index + 5) % 10, chooser.chooseOther(index, from, 10));
+        }
+    }
+
+    @Test
+    public void otherKeyDiffersFromTheFirst() {
+        for (String spec : new String[] {"sequential", "uniform", "zipfian", "hotspot:1:0.01"}) {
+            KeyChooser chooser = KeyChooser.parse(spec);
+            for (long index = 0; index < 10000; ++index) {
+                int from = chooser.choose(index, 10);
+                int to = chooser.chooseOther(index, from, 10);
+                assertTrue(spec + " chose " + to, to != from && to >= 0 && to < 10);
+            }
+            assertEquals(0, chooser.chooseOther(0, 0, 1));
+        }
+    }
+
+    @Test
+    public void uniform() {
+        int[] hits = sample(KeyChooser.parse("uniform"), 10);
+        for (int hit : hits) {
+            assertEquals(0.1, share(hit), 0.01);
+        }
+    }
+
+    @Test
+    public void zipfian() {
+        int size = 1000;
+        double theta = 0.99;
+        int[] hits = sample(KeyChooser.parse("zipfian:" + theta), size);
+        double zetan = 0;
+        for (int i = 1; i <= size; ++i) {
+            zetan += 1 / Math.pow(i, theta);
+        }
+        assertEquals(1 / zetan, share(hits[0]), 0.01);
+        assertEquals(1 / (zetan * Math.pow(2, theta)), share(hits[1]), 0.01);
+        for (int i = 1; i < 10; ++i) {
+            assertTrue("key " + i + " hotter than key 0", hits[i] < hits[0]);
+        }
+    }
+
+    @Test
+    public void hotspot() {
+        int[] hits = sample(KeyChooser.parse("hotspot:0.8:0.1"), 100);
+        long hot = 0;
+        for (int i = 0; i < 10; ++i) {
+            hot += hits[i];
+        }
+        assertEquals(0.8, share(hot), 0.01);
+    }
+
+    @Test
+    public void describe() {
+        String description = KeyChooser.parse("hotspot:1:0.01").describe(100);
+        assertTrue(description, description.contains("hottest 1% (1 keys) 100.00%"));
+    }
+
+    private static int[] sample(KeyChooser chooser, int size) {
+        int[] hits = new int[size];
+        for (int i = 0; i < SAMPLES; ++i) {
+            int key = chooser.choose(i, size);
+            assertTrue(key >= 0 && key < size);
+            hits[key]++;
+        }
+        return hits;
+    }
+
+    private static double share(long hits) {
+        return (double) hits / SAMPLES;
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TxCorpusTest {
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTrip() throws IOException {
+        roundTrip(false, "0x");
+    }
+
+    @Test
+    public void roundTripDeflated() throws IOException {
+        roundTrip(true, "");
+    }
+
+    private void roundTrip(boolean deflate, String prefix) throws IOException {
+        Path path = folder.newFile().toPath();
+        List<String> transactions = new ArrayList<>();
+        Random random = new Random(42);
+        // 2.5 blocks of 4 records, of varying length
+        for (int i = 0; i < 10; ++i) {
+            StringBuilder tx = new StringBuilder(prefix);
+            for (int j = 0; j < 20 + random.nextInt(200); ++j) {
+                tx.append(String.format("%02x", random.nextInt(256)));
+            }
+            transactions.add(tx.toString());
+        }
+
+        try (TxCorpusWriter writer =
+                new TxCorpusWriter(path, null, "group0", "chain0", "0x1234", 500, deflate, 4)) {
+            for (String tx : transactions) {
+                writer.write(tx);
+            }
+            assertEquals(transactions.size(), writer.getCount());
+        }
+
+        assertTrue(TxCorpusReader.isCorpus(path));
+        try (TxCorpusReader reader = new TxCorpusReader(path)) {
+            assertEquals(transactions.size(), reader.size());
+            assertEquals(3, reader.getBlockCount());
+            assertEquals(8, reader.getBlockFirstRecord(2));
+            assertEquals("group0", reader.getGroup());
+            assertEquals("chain0", reader.getChainId());
+            assertEquals("0x1234", reader.getContractAddress());
+            assertEquals(500, reader.getBlockLimitStart());
+            assertEquals(500, reader.getBlockLimitEnd());
+            assertEquals(4, reader.getRecordsPerBlock());
+            assertEquals(deflate, reader.isDeflated());
+            // backwards, so that every read switches blocks
+            for (int i = transactions.size() - 1; i >= 0; --i) {
+                assertEquals(transactions.get(i), reader.getTransaction(i));
+            }
+        }
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, "0xabcdef\n".getBytes());
+        assertFalse(TxCorpusReader.isCorpus(path));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsMixedPrefixes() throws IOException {
+        Path path = folder.newFile().toPath();
+        try (TxCorpusWriter writer =
+                new TxCorpusWriter(path, null, "group0", "chain0", "", 0, false, 4)) {
+            writer.write("0xabcd");
+            writer.write("abcd");
+        }
+    }
+}
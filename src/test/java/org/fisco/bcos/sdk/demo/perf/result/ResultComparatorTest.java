@@ -0,0 +1,79 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.result;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ResultComparatorTest {
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    public void logGamma() {
+        assertEquals(0, ResultComparator.logGamma(1), 1e-9);
+        assertEquals(0, ResultComparator.logGamma(2), 1e-9);
+        assertEquals(0.5 * Math.log(Math.PI), ResultComparator.logGamma(0.5), 1e-9);
+        // ln(9!)
+        assertEquals(Math.log(362880), ResultComparator.logGamma(10), 1e-9);
+        // Gamma(5.5) = 4.5 * 3.5 * 2.5 * 1.5 * 0.5 * sqrt(pi)
+        assertEquals(
+                Math.log(945.0 / 32 * Math.sqrt(Math.PI)), ResultComparator.logGamma(5.5), 1e-9);
+    }
+
+    @Test
+    public void regularizedBeta() {
+        assertEquals(0, ResultComparator.regularizedBeta(0, 2, 3), 0);
+        assertEquals(1, ResultComparator.regularizedBeta(1, 2, 3), 0);
+        assertEquals(0.3, ResultComparator.regularizedBeta(0.3, 1, 1), EPSILON);
+        // I_x(a, 1) = x^a, I_x(1, b) = 1 - (1 - x)^b
+        assertEquals(Math.pow(0.7, 4), ResultComparator.regularizedBeta(0.7, 4, 1), EPSILON);
+        assertEquals(1 - Math.pow(0.8, 3), ResultComparator.regularizedBeta(0.2, 1, 3), EPSILON);
+        // symmetric around 1/2
+        assertEquals(0.5, ResultComparator.regularizedBeta(0.5, 2.5, 2.5), EPSILON);
+    }
+
+    @Test
+    public void studentT() {
+        // df = 1 is the Cauchy distribution: P(|T| > 1) = 1/2
+        assertEquals(0.5, twoSided(1, 1), EPSILON);
+        // df = 2 has the closed form P(|T| > t) = 1 - t / sqrt(2 + t^2)
+        assertEquals(1 - 2 / Math.sqrt(6), twoSided(2, 2), EPSILON);
+        // critical values of the t table
+        assertEquals(0.05, twoSided(2.228139, 10), EPSILON);
+        assertEquals(0.01, twoSided(4.032143, 5), EPSILON);
+        assertEquals(0.05, twoSided(1.959964, 1e7), 1e-5);
+    }
+
+    @Test
+    public void welchPValue() {
+        // the first example of the Welch's t-test article on Wikipedia: t = -2.46, df = 24.99
+        double[] a = {
+            27.5, 21.0, 19.0, 23.6, 17.0, 17.9, 16.9, 20.1, 21.9, 22.6, 23.1, 19.6, 19.0, 21.7, 21.4
+        };
+        double[] b = {
+            27.1, 22.0, 20.8, 23.4, 23.4, 23.5, 25.8, 22.0, 24.8, 20.2, 21.9, 22.1, 22.9, 20.5, 24.4
+        };
+        assertEquals(0.021378, ResultComparator.welchPValue(a, b), EPSILON);
+        assertEquals(0.021378, ResultComparator.welchPValue(b, a), EPSILON);
+        assertEquals(1, ResultComparator.welchPValue(a, a), EPSILON);
+        assertEquals(1, ResultComparator.welchPValue(new double[] {3, 3}, new double[] {3, 3}), 0);
+        assertEquals(0, ResultComparator.welchPValue(new double[] {3, 3}, new double[] {4, 4}), 0);
+    }
+
+    /** P(|T| > t) of Student's t with {@code df} degrees of freedom, as welchPValue computes it. */
+    private static double twoSided(double t, double df) {
+        return ResultComparator.regularizedBeta(df / (df + t * t), df / 2, 0.5);
+    }
+}
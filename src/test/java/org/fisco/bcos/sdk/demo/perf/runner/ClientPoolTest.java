@@ -0,0 +1,149 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.RespCallback;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BlockNumber;
+import org.fisco.bcos.sdk.v3.model.Response;
+import org.junit.Test;
+
+public class ClientPoolTest {
+    /** A client that counts its requests and answers them at once when {@code fast}. */
+    private static class StubClient {
+        private final String group;
+        private final boolean fast;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger stops = new AtomicInteger();
+        private final Client client;
+
+        @SuppressWarnings("unchecked")
+        StubClient(String group, boolean fast) {
+            this.group = group;
+            this.fast = fast;
+            this.client =
+                    (Client)
+                            Proxy.newProxyInstance(
+                                    Client.class.getClassLoader(),
+                                    new Class<?>[] {Client.class},
+                                    (proxy, method, args) -> {
+                                        switch (method.getName()) {
+                                            case "getGroup":
+                                                return this.group;
+                                            case "stop":
+                                                stops.incrementAndGet();
+                                                return null;
+                                            case "getBlockNumber":
+                                                requests.incrementAndGet();
+                                                return new BlockNumber();
+                                            case "getBlockNumberAsync":
+                                                requests.incrementAndGet();
+                                                if (this.fast) {
+                                                    ((RespCallback<BlockNumber>) args[0])
+                                                            .onResponse(new BlockNumber());
+                                                }
+                                                return null;
+                                            default:
+                                                throw new UnsupportedOperationException(
+                                                        method.getName());
+                                        }
+                                    });
+        }
+    }
+
+    private static final RespCallback<BlockNumber> IGNORE =
+            new RespCallback<BlockNumber>() {
+                @Override
+                public void onResponse(BlockNumber blockNumber) {}
+
+                @Override
+                public void onError(Response errorResponse) {}
+            };
+
+    private static Client pool(List<StubClient> stubs, boolean leastInFlight) {
+        List<Client> clients = new ArrayList<>();
+        for (StubClient stub : stubs) {
+            clients.add(stub.client);
+        }
+        return ClientPool.of(clients, leastInFlight);
+    }
+
+    private static List<StubClient> stubs(boolean... fast) {
+        List<StubClient> stubs = new ArrayList<>();
+        for (int i = 0; i < fast.length; ++i) {
+            stubs.add(new StubClient("group" + i, fast[i]));
+        }
+        return stubs;
+    }
+
+    @Test
+    public void roundRobin() {
+        List<StubClient> stubs = stubs(false, true, false);
+        Client client = pool(stubs, false);
+        for (int i = 0; i < 30; ++i) {
+            client.getBlockNumberAsync(IGNORE);
+            client.getBlockNumber();
+        }
+        for (StubClient stub : stubs) {
+            assertEquals(20, stub.requests.get());
+        }
+    }
+
+    @Test
+    public void leastInFlightPrefersTheClientWithoutBacklog() {
+        // clients 0 and 2 never answer, client 1 answers at once
+        List<StubClient> stubs = stubs(false, true, false);
+        Client client = pool(stubs, true);
+        for (int i = 0; i < 30; ++i) {
+            client.getBlockNumberAsync(IGNORE);
+        }
+        // 0 and 2 get one request each, before their first one is in flight
+        assertEquals(1, stubs.get(0).requests.get());
+        assertEquals(28, stubs.get(1).requests.get());
+        assertEquals(1, stubs.get(2).requests.get());
+    }
+
+    @Test
+    public void leastInFlightBreaksTiesRoundRobin() {
+        List<StubClient> stubs = stubs(true, true, true);
+        Client client = pool(stubs, true);
+        for (int i = 0; i < 30; ++i) {
+            client.getBlockNumberAsync(IGNORE);
+        }
+        for (StubClient stub : stubs) {
+            assertEquals(10, stub.requests.get());
+        }
+    }
+
+    @Test
+    public void gettersAndStop() {
+        List<StubClient> stubs = stubs(true, true);
+        Client client = pool(stubs, false);
+        for (int i = 0; i < 3; ++i) {
+            assertEquals("group0", client.getGroup());
+        }
+        client.stop();
+        client.stop();
+        for (StubClient stub : stubs) {
+            assertEquals(0, stub.requests.get());
+            assertEquals(1, stub.stops.get());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Test;
+
+public class CoordinatorTest {
+    @Test
+    public void shareSplitsTheRemainderOverTheFirstWorkers() {
+        long total = 0;
+        for (int shard = 0; shard < 3; ++shard) {
+            total += Coordinator.share(10, shard, 3);
+        }
+        assertEquals(10, total);
+        assertEquals(4, Coordinator.share(10, 0, 3));
+        assertEquals(3, Coordinator.share(10, 2, 3));
+    }
+
+    @Test
+    public void shareNeverDropsToUnbounded() {
+        assertEquals(1, Coordinator.share(2, 3, 4));
+        assertEquals(0, Coordinator.share(0, 1, 4));
+        assertEquals(-1, Coordinator.share(-1, 1, 4));
+    }
+
+    @Test
+    public void offsetIsTheSumOfTheEarlierShares() {
+        assertEquals(0, Coordinator.offset(10, 0, 3));
+        assertEquals(4, Coordinator.offset(10, 1, 3));
+        assertEquals(7, Coordinator.offset(10, 2, 3));
+        assertEquals(10, Coordinator.offset(10, 2, 3) + Coordinator.share(10, 2, 3));
+    }
+
+    @Test
+    public void sharedSenderFileIsPassedThroughWithDisjointRanges() {
+        Coordinator coordinator =
+                new Coordinator(
+                        RunnerOptions.parse(
+                                new String[] {
+                                    "--workers=3", "--senders=10", "--sender-file=keys.bin"
+                                }));
+        List<String> args = coordinator.workerArgs(2, 3);
+        assertTrue(args.contains("--sender-file=keys.bin"));
+        assertTrue(args.contains("--senders=3"));
+        assertTrue(args.contains("--sender-offset=7"));
+        assertFalse(args.contains("--workers=3"));
+    }
+
+    @Test
+    public void workersGetSenderFilesOfTheirOwnByDefault() {
+        Coordinator coordinator =
+                new Coordinator(RunnerOptions.parse(new String[] {"--workers=2", "--senders=10"}));
+        List<String> args = coordinator.workerArgs(1, 2);
+        assertTrue(args.contains("--sender-file=senders-worker1.bin"));
+        for (String arg : args) {
+            assertFalse(arg.startsWith("--sender-offset"));
+        }
+    }
+
+    @Test
+    public void workerFile() {
+        assertEquals("run-worker0.json", Coordinator.workerFile("run.json", 0));
+        assertEquals("out/run.a-worker2.csv", Coordinator.workerFile("out/run.a.csv", 2));
+        assertEquals("worker1.json", Coordinator.workerFile("json", 1));
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.demo.perf.runner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import org.junit.Test;
+
+public class WorkerChannelTest {
+    @Test
+    public void receiveSkipsHeartbeats() throws Exception {
+        try (ServerSocket server = new ServerSocket(0);
+                WorkerChannel worker =
+                        new WorkerChannel(new Socket("127.0.0.1", server.getLocalPort()), 2000);
+                WorkerChannel coordinator = new WorkerChannel(server.accept(), 2000)) {
+            // idle for longer than the read timeout, kept alive by the heartbeats
+            Thread.sleep(6000);
+            Map<String, Object> start = WorkerChannel.message(WorkerChannel.START);
+            start.put("delayMs", 5);
+            coordinator.send(start);
+            assertEquals(
+                    5, ((Number) worker.receive(WorkerChannel.START).get("delayMs")).intValue());
+        }
+    }
+
+    @Test
+    public void silentPeerTimesOut() throws Exception {
+        try (ServerSocket server = new ServerSocket(0);
+                Socket silent = new Socket("127.0.0.1", server.getLocalPort());
+                WorkerChannel coordinator = new WorkerChannel(server.accept(), 500)) {
+            // connected, but never sends anything, not even a heartbeat
+            assertTrue(silent.isConnected());
+            long start = System.currentTimeMillis();
+            try {
+                coordinator.receive(WorkerChannel.RESULT);
+                fail("expect a timeout");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("in 500ms"));
+            }
+            assertTrue(System.currentTimeMillis() - start < 5000);
+        }
+    }
+
+    @Test
+    public void failureIsRethrown() throws Exception {
+        try (ServerSocket server = new ServerSocket(0);
+                WorkerChannel worker =
+                        new WorkerChannel(new Socket("127.0.0.1", server.getLocalPort()), 2000);
+                WorkerChannel coordinator = new WorkerChannel(server.accept(), 2000)) {
+            Map<String, Object> failed = WorkerChannel.message(WorkerChannel.FAILED);
+            failed.put("message", "no config");
+            worker.send(failed);
+            try {
+                coordinator.receive(WorkerChannel.READY);
+                fail("expect the failure of the worker");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().endsWith("failed: no config"));
+            }
+        }
+    }
+}